@@ -6,7 +6,6 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
 
 @SpringBootApplication
 @EnableFeignClients
-// @EnableCaching
 public class ApiApplication {
 
     public static void main(String[] args) {
@@ -1,5 +1,6 @@
 package com.reliaquest.api.aspect;
 
+import com.reliaquest.api.exception.custom.EmployeeNotFoundException;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.AfterThrowing;
@@ -40,6 +41,14 @@ public class LoggingAspect {
 
     @AfterThrowing(pointcut = "employeeServiceMethods()", throwing = "exception")
     public void logExceptions(JoinPoint joinPoint, Throwable exception) {
+        if (exception instanceof EmployeeNotFoundException) {
+            // An expected answer rather than a failure, and often thrown without a stack trace
+            logger.info(
+                    "No employee found in method: {} with message: {}",
+                    joinPoint.getSignature().toShortString(),
+                    exception.getMessage());
+            return;
+        }
         logger.error(
                 "Exception in method: {} with message: {}",
                 joinPoint.getSignature().toShortString(),
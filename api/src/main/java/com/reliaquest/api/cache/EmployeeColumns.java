@@ -0,0 +1,41 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+
+/**
+ * Column-oriented copy of the fields of an employee list that scans and aggregates read, identifying each employee by
+ * its position in the list.
+ *
+ * <p>Salaries are a primitive array, so a scan over them walks one contiguous array instead of following a pointer to
+ * every employee. Names are not copied here: only a name search needs them side by side, and {@link TrigramIndex}
+ * copies them when it is built.
+ */
+final class EmployeeColumns {
+
+    private final int[] salaries;
+
+    private EmployeeColumns(int[] salaries) {
+        this.salaries = salaries;
+    }
+
+    /**
+     * @param employees the employees to copy
+     * @return the columns of the list
+     */
+    static EmployeeColumns build(List<Employee> employees) {
+        int[] salaries = new int[employees.size()];
+        for (int row = 0; row < salaries.length; row++) {
+            salaries[row] = employees.get(row).getEmployee_salary();
+        }
+        return new EmployeeColumns(salaries);
+    }
+
+    int size() {
+        return salaries.length;
+    }
+
+    int salary(int row) {
+        return salaries[row];
+    }
+}
@@ -0,0 +1,204 @@
+package com.reliaquest.api.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.EmployeeChange;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Subscribes to the server-sent events of the external service and applies the creates and deletes it pushes to the
+ * {@link EmployeeSnapshotCache} as they happen, so that the snapshot stays fresh without polling.
+ *
+ * <p>The service sends a {@code change} event for every create or delete, a {@code heartbeat} with the list version of
+ * the latest change it sent, and a {@code resync} when it no longer knows the changes a reconnecting subscriber missed.
+ * On every reconnect the list version of the current snapshot is sent as {@code Last-Event-ID}, so the service first
+ * replays the changes made while the stream was down. A stream without heartbeats for longer than the read timeout is
+ * dropped and reconnected, backing off exponentially while the service is unreachable; until it is back, the snapshot
+ * expires and is reloaded as usual.
+ */
+@Component
+public class EmployeeEventStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeEventStream.class);
+
+    private final EmployeeSnapshotCache snapshotCache;
+    private final CloseableHttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final URI uri;
+    private final boolean enabled;
+    private final Duration readTimeout;
+    private final Duration reconnectBackoff;
+    private final Duration maxReconnectBackoff;
+
+    private volatile boolean running;
+    private volatile HttpGet request;
+    private Thread thread;
+
+    // Only accessed from the stream thread
+    private boolean subscribed;
+
+    public EmployeeEventStream(
+            EmployeeSnapshotCache snapshotCache,
+            CloseableHttpClient employeeHttpClient,
+            ObjectMapper objectMapper,
+            @Value("${employee.events.url:${employee.client.url:http://localhost:8112/api/v1/employee}/events}")
+                    URI uri,
+            @Value("${employee.events.enabled:true}") boolean enabled,
+            @Value("${employee.events.read-timeout:15s}") Duration readTimeout,
+            @Value("${employee.events.reconnect-backoff:1s}") Duration reconnectBackoff,
+            @Value("${employee.events.max-reconnect-backoff:30s}") Duration maxReconnectBackoff) {
+        this.snapshotCache = snapshotCache;
+        this.httpClient = employeeHttpClient;
+        this.objectMapper = objectMapper;
+        this.uri = uri;
+        this.enabled = enabled;
+        this.readTimeout = readTimeout;
+        this.reconnectBackoff = reconnectBackoff;
+        this.maxReconnectBackoff = maxReconnectBackoff;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.info("Employee event stream is disabled, the snapshot is kept fresh by reloading it.");
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "employee-event-stream");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        HttpGet current = request;
+        if (current != null) {
+            current.cancel();
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        Duration backoff = reconnectBackoff;
+        while (running) {
+            subscribed = false;
+            try {
+                subscribe();
+            } catch (IOException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Employee event stream failed: {}", e.getMessage());
+            }
+
+            // A stream that was up before it ended starts backing off anew
+            if (subscribed) {
+                backoff = reconnectBackoff;
+            }
+            try {
+                Thread.sleep(backoff.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!subscribed) {
+                Duration doubled = backoff.multipliedBy(2);
+                backoff = doubled.compareTo(maxReconnectBackoff) < 0 ? doubled : maxReconnectBackoff;
+            }
+        }
+    }
+
+    /**
+     * Reads the stream until the service closes it.
+     */
+    private void subscribe() throws IOException {
+        HttpGet get = new HttpGet(uri);
+        get.setConfig(RequestConfig.custom()
+                .setResponseTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                .build());
+        get.setHeader(HttpHeaders.ACCEPT, "text/event-stream");
+        Long listVersion = snapshotCache.getListVersion();
+        if (listVersion != null) {
+            get.setHeader("Last-Event-ID", listVersion);
+        }
+
+        request = get;
+        httpClient.execute(get, response -> {
+            if (response.getCode() != HttpStatus.SC_OK || response.getEntity() == null) {
+                logger.warn("Employee event stream was refused with status {}.", response.getCode());
+                return null;
+            }
+            subscribed = true;
+            logger.debug("Subscribed to employee events from list version {}.", listVersion);
+            readEvents(new InputStreamReader(response.getEntity().getContent(), StandardCharsets.UTF_8));
+            return null;
+        });
+    }
+
+    /**
+     * Parses the events of a stream and dispatches them as they complete. Event ids are not tracked, as the list
+     * version of the snapshot is what a reconnect resumes from.
+     */
+    void readEvents(Reader stream) throws IOException {
+        BufferedReader reader = new BufferedReader(stream);
+        String name = null;
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                if (name != null) {
+                    dispatch(name, data.toString());
+                }
+                name = null;
+                data.setLength(0);
+            } else if (line.startsWith("event:")) {
+                name = fieldValue(line, "event:");
+            } else if (line.startsWith("data:")) {
+                if (!data.isEmpty()) {
+                    data.append('\n');
+                }
+                data.append(fieldValue(line, "data:"));
+            }
+        }
+    }
+
+    private void dispatch(String name, String data) {
+        try {
+            switch (name) {
+                case "change" -> snapshotCache.applyChange(objectMapper.readValue(data, EmployeeChange.class));
+                case "heartbeat" -> snapshotCache.confirmListVersion(Long.parseLong(data));
+                case "resync" -> snapshotCache.invalidate();
+                default -> logger.debug("Ignored employee event {}.", name);
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Without the event, the snapshot can no longer tell which changes it holds
+            logger.warn("Malformed employee event {}, invalidating the snapshot: {}", name, e.getMessage());
+            snapshotCache.invalidate();
+        }
+    }
+
+    private static String fieldValue(String line, String field) {
+        String value = line.substring(field.length());
+        return value.startsWith(" ") ? value.substring(1) : value;
+    }
+}
@@ -0,0 +1,61 @@
+package com.reliaquest.api.cache;
+
+/**
+ * Compact key of an employee, holding the two halves of the employee's UUID instead of its 36-character string form.
+ *
+ * @param mostSignificantBits the first 64 bits of the UUID
+ * @param leastSignificantBits the last 64 bits of the UUID
+ */
+public record EmployeeKey(long mostSignificantBits, long leastSignificantBits) {
+
+    private static final int UUID_LENGTH = 36;
+
+    /**
+     * Parses an employee id in the canonical 8-4-4-4-12 UUID form. Unlike {@link java.util.UUID#fromString(String)},
+     * a malformed id is reported by returning null rather than by throwing, so bogus ids are cheap to reject.
+     *
+     * @param id the employee id
+     * @return the key, or null if the id is not a canonical UUID
+     */
+    public static EmployeeKey parse(String id) {
+        if (id == null || id.length() != UUID_LENGTH) {
+            return null;
+        }
+
+        long most = 0;
+        long least = 0;
+        for (int i = 0; i < UUID_LENGTH; i++) {
+            char c = id.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return null;
+                }
+                continue;
+            }
+
+            int digit = hexValue(c);
+            if (digit < 0) {
+                return null;
+            }
+            if (i < 19) {
+                most = (most << 4) | digit;
+            } else {
+                least = (least << 4) | digit;
+            }
+        }
+        return new EmployeeKey(most, least);
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,653 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable, versioned view of the employee list as it was returned by the external service.
+ * A snapshot is never modified once published; a newer version replaces it instead.
+ *
+ * <p>Each snapshot indexes its employees by {@link EmployeeKey}, so lookups by id are answered without a scan, builds
+ * a {@link TrigramIndex} over their names on the first name search and keeps the {@link TopEarners}, a
+ * {@link SalaryIndex} and a {@link WholeNameIndex} of the fetched list once they are first asked for. Creates and
+ * deletes made through this API are applied as a small overlay on top of the fetched list, so a write costs a copy of
+ * the overlay rather than of the whole list. Once the overlay grows past a fraction of the list, it is folded into a
+ * freshly indexed list.
+ *
+ * <p>A snapshot carries the ETag of the version of the service's list it reflects, along with any later creates and
+ * deletes made through this API. The next refresh then asks only for the changes after that version and applies
+ * them as overlay through {@link #withChanges}, or asks for the list only if it has changed and {@link #renew}s the
+ * snapshot with all its indexes when it has not.
+ */
+public final class EmployeeSnapshot {
+
+    private static final int MIN_OVERLAY_SIZE = 64;
+    private static final int OVERLAY_FRACTION = 8;
+    private static final Comparator<Employee> BY_SALARY_ASCENDING =
+            Comparator.comparingInt(Employee::getEmployee_salary);
+    private static final Comparator<Employee> BY_SALARY_DESCENDING = BY_SALARY_ASCENDING.reversed();
+
+    private final long version;
+    private final Base base;
+    private final Map<EmployeeKey, Employee> added;
+    private final Set<EmployeeKey> removed;
+    private final String eTag;
+    private final Instant loadedAt;
+    private final Instant expiresAt;
+
+    // Merged view of base and overlay, built on first use
+    private volatile List<Employee> employees;
+
+    // Salaries the overlay adds to and hides from the salary index, built on the first salary query
+    private volatile SalaryOverlay salaryOverlay;
+
+    public EmployeeSnapshot(long version, List<Employee> employees, Instant loadedAt, Instant expiresAt) {
+        this(version, employees, null, loadedAt, expiresAt);
+    }
+
+    /**
+     * @param eTag the ETag the external service sent with the employees, or null if it sent none
+     */
+    public EmployeeSnapshot(long version, List<Employee> employees, String eTag, Instant loadedAt, Instant expiresAt) {
+        this(version, new Base(employees), Map.of(), Set.of(), eTag, loadedAt, expiresAt);
+    }
+
+    private EmployeeSnapshot(
+            long version,
+            Base base,
+            Map<EmployeeKey, Employee> added,
+            Set<EmployeeKey> removed,
+            String eTag,
+            Instant loadedAt,
+            Instant expiresAt) {
+        this.version = version;
+        this.base = base;
+        this.added = added;
+        this.removed = removed;
+        this.eTag = eTag;
+        this.loadedAt = loadedAt;
+        this.expiresAt = expiresAt;
+        if (added.isEmpty() && removed.isEmpty()) {
+            this.employees = base.employees;
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Employee> getEmployees() {
+        List<Employee> merged = employees;
+        if (merged == null) {
+            merged = merge();
+            employees = merged;
+        }
+        return merged;
+    }
+
+    /**
+     * @return the ETag of the version of the service's list this snapshot reflects, or null if it is unknown
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    /**
+     * Checks whether the snapshot has entered the window in which it should be reloaded ahead of its expiry.
+     *
+     * @param now the current time
+     * @param refreshAhead how long before expiry a background reload should start
+     * @return true if a background reload should be started
+     */
+    public boolean isRefreshDue(Instant now, Duration refreshAhead) {
+        return !now.isBefore(expiresAt.minus(refreshAhead));
+    }
+
+    /**
+     * Looks up an employee by id through the index.
+     *
+     * @param id the employee id
+     * @return the employee, or empty if this snapshot holds no employee with that id
+     */
+    public Optional<Employee> findById(String id) {
+        EmployeeKey key = EmployeeKey.parse(id);
+        if (key == null || removed.contains(key)) {
+            return Optional.empty();
+        }
+
+        Employee employee = added.get(key);
+        return Optional.ofNullable(employee != null ? employee : base.index.get(key));
+    }
+
+    /**
+     * Finds the employees whose name contains the search string, through the trigram index of the fetched list plus a
+     * scan of the employees created since.
+     *
+     * @param searchString the string to look for in employee names
+     * @param mode how names and search string are compared
+     * @return the matching employees, in the order of {@link #getEmployees()}
+     */
+    public List<Employee> searchByName(String searchString, NameSearchMode mode) {
+        String query = mode.normalize(searchString);
+        List<Employee> matches = new ArrayList<>();
+
+        for (int row : base.nameIndex(mode).search(query)) {
+            if (!isShadowed(row)) {
+                matches.add(base.employees.get(row));
+            }
+        }
+        for (Employee employee : added.values()) {
+            String name = employee.getEmployee_name();
+            if (name != null && mode.normalize(name).contains(query)) {
+                matches.add(employee);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Finds the best-paid employees, merging the ranked rows of the fetched list with the employees created since.
+     * Employees with equal salaries are returned in the order of {@link #getEmployees()}.
+     *
+     * @param count how many employees to return
+     * @param capacity how many of the best-paid employees of the fetched list are kept ranked; must not be below
+     *     {@code count}
+     * @return up to {@code count} employees, highest salary first
+     */
+    public List<Employee> getTopEarners(int count, int capacity) {
+        if (count > capacity) {
+            throw new IllegalArgumentException("Count " + count + " exceeds the ranked capacity of " + capacity);
+        }
+
+        int[] rows = base.topEarners(capacity).rows();
+        List<Employee> fromBase = new ArrayList<>(Math.min(count, rows.length));
+        for (int i = 0; i < rows.length && fromBase.size() < count; i++) {
+            if (!isShadowed(rows[i])) {
+                fromBase.add(base.employees.get(rows[i]));
+            }
+        }
+        if (fromBase.size() < count && rows.length < base.employees.size()) {
+            // Deletes took out more of the ranked employees than the rest of the ranking can make up for
+            return getEmployees().stream().sorted(BY_SALARY_DESCENDING).limit(count).toList();
+        }
+
+        List<Employee> fromAdded = new ArrayList<>(added.values());
+        fromAdded.sort(BY_SALARY_DESCENDING);
+        return mergeSorted(fromBase, fromAdded, BY_SALARY_DESCENDING, count);
+    }
+
+    /**
+     * Counts the employees with the given name, ignoring case, through the whole-name index of the fetched list plus a
+     * scan of the employees created since.
+     *
+     * @param name the whole name to look for
+     * @param limit the count at which to stop looking
+     * @return how many employees have that name, at most {@code limit}
+     */
+    public int countByName(String name, int limit) {
+        int count = 0;
+        for (int row : base.wholeNameIndex().candidates(name)) {
+            if (count == limit) {
+                return count;
+            }
+            if (!isShadowed(row) && name.equalsIgnoreCase(base.employees.get(row).getEmployee_name())) {
+                count++;
+            }
+        }
+        for (Employee employee : added.values()) {
+            if (count == limit) {
+                return count;
+            }
+            if (name.equalsIgnoreCase(employee.getEmployee_name())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of employees in this snapshot, without merging the overlay into the list
+     */
+    public int getEmployeeCount() {
+        SalaryOverlay overlay = salaryOverlay();
+        return base.employees.size() - overlay.hidden.length + overlay.added.length;
+    }
+
+    /**
+     * @return the highest salary, or empty if this snapshot holds no employees
+     */
+    public Optional<Integer> getHighestSalary() {
+        return getSalaryAtRank(getEmployeeCount() - 1);
+    }
+
+    /**
+     * @return the lowest salary, or empty if this snapshot holds no employees
+     */
+    public Optional<Integer> getLowestSalary() {
+        return getSalaryAtRank(0);
+    }
+
+    /**
+     * Finds the salary at a position in the ascending order of all salaries. Without an overlay this is a read from
+     * the salary index; with one, the salary is found by bisecting the salary range, counting through binary searches.
+     *
+     * @param rank the position, counting from 0 for the lowest salary
+     * @return the salary at that position, or empty if the position is out of range
+     */
+    public Optional<Integer> getSalaryAtRank(int rank) {
+        if (rank < 0 || rank >= getEmployeeCount()) {
+            return Optional.empty();
+        }
+
+        SalaryOverlay overlay = salaryOverlay();
+        if (overlay.isEmpty()) {
+            return Optional.of(base.salaryIndex().salaryAt(rank));
+        }
+
+        // The lowest salary that more than rank salaries are lower than or equal to
+        long low = Integer.MIN_VALUE;
+        long high = Integer.MAX_VALUE;
+        while (low < high) {
+            long middle = (low + high) >> 1;
+            if (countSalariesAtMost((int) middle) > rank) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return Optional.of((int) low);
+    }
+
+    /**
+     * @param salary the salary to compare with
+     * @return how many employees earn less than the given salary
+     */
+    public int countSalariesBelow(int salary) {
+        SalaryOverlay overlay = salaryOverlay();
+        return base.salaryIndex().countBelow(salary)
+                - SalaryIndex.countBelow(overlay.hidden, salary)
+                + SalaryIndex.countBelow(overlay.added, salary);
+    }
+
+    /**
+     * Finds the employees whose salary lies within the given bounds, through the salary index of the fetched list
+     * plus a scan of the employees created since.
+     *
+     * @param minSalary the lowest salary to include
+     * @param maxSalary the highest salary to include
+     * @return the matching employees, lowest salary first and in the order of {@link #getEmployees()} on equal salaries
+     */
+    public List<Employee> findBySalaryRange(int minSalary, int maxSalary) {
+        if (minSalary > maxSalary) {
+            return List.of();
+        }
+
+        SalaryIndex index = base.salaryIndex();
+        int from = index.countBelow(minSalary);
+        int to = index.countAtMost(maxSalary);
+        List<Employee> fromBase = new ArrayList<>(to - from);
+        for (int rank = from; rank < to; rank++) {
+            if (!isShadowed(index.rowAt(rank))) {
+                fromBase.add(base.employees.get(index.rowAt(rank)));
+            }
+        }
+
+        List<Employee> fromAdded = new ArrayList<>();
+        for (Employee employee : added.values()) {
+            if (employee.getEmployee_salary() >= minSalary && employee.getEmployee_salary() <= maxSalary) {
+                fromAdded.add(employee);
+            }
+        }
+        fromAdded.sort(BY_SALARY_ASCENDING);
+        return mergeSorted(fromBase, fromAdded, BY_SALARY_ASCENDING, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a copy of this snapshot that is already expired, keeping the same data and version.
+     *
+     * @return the expired snapshot
+     */
+    public EmployeeSnapshot expire() {
+        return new EmployeeSnapshot(version, base, added, removed, eTag, loadedAt, Instant.EPOCH);
+    }
+
+    /**
+     * Returns a copy of this snapshot with a new lifetime, for a refresh that found the service's list unchanged since
+     * the version of its ETag. The copy shares the list and its indexes, and keeps the version, since its content is
+     * the same: anything recorded against this version, such as ids known to be missing, still holds for it.
+     *
+     * @param newLoadedAt when the list was confirmed unchanged
+     * @param newExpiresAt when the renewed snapshot expires
+     * @return the renewed snapshot
+     */
+    public EmployeeSnapshot renew(Instant newLoadedAt, Instant newExpiresAt) {
+        return new EmployeeSnapshot(version, base, added, removed, eTag, newLoadedAt, newExpiresAt);
+    }
+
+    /**
+     * Returns a new version of this snapshot with the changes the service recorded after the version of its ETag.
+     * Changes it already holds, such as creates and deletes made through this API, are applied again without effect.
+     *
+     * @param newVersion the version of the new snapshot
+     * @param changes the changes in the order the service recorded them
+     * @param newETag the ETag of the version of the service's list after the changes
+     * @param newLoadedAt when the changes were fetched
+     * @param newExpiresAt when the new snapshot expires
+     * @return the new snapshot
+     */
+    public EmployeeSnapshot withChanges(
+            long newVersion, List<EmployeeChange> changes, String newETag, Instant newLoadedAt, Instant newExpiresAt) {
+        Map<EmployeeKey, Employee> newAdded = new LinkedHashMap<>(added);
+        Set<EmployeeKey> newRemoved = new HashSet<>(removed);
+        for (EmployeeChange change : changes) {
+            Employee employee = change.getEmployee();
+            EmployeeKey key = requireKey(employee.getId());
+            if (change.getType() == EmployeeChange.Type.CREATED) {
+                newAdded.put(key, employee);
+                newRemoved.remove(key);
+            } else {
+                newAdded.remove(key);
+                if (base.index.containsKey(key)) {
+                    newRemoved.add(key);
+                }
+            }
+        }
+        return withOverlay(newVersion, newAdded, newRemoved, newETag, newLoadedAt, newExpiresAt);
+    }
+
+    /**
+     * Returns a new version of this snapshot that includes the given employee.
+     *
+     * @param newVersion the version of the new snapshot
+     * @param employee the created employee; its id must be a UUID
+     * @return the new snapshot
+     */
+    public EmployeeSnapshot withAdded(long newVersion, Employee employee) {
+        EmployeeKey key = requireKey(employee.getId());
+
+        Map<EmployeeKey, Employee> newAdded = new LinkedHashMap<>(added);
+        newAdded.put(key, employee);
+        Set<EmployeeKey> newRemoved = removed;
+        if (removed.contains(key)) {
+            newRemoved = new HashSet<>(removed);
+            newRemoved.remove(key);
+        }
+        return withOverlay(newVersion, newAdded, newRemoved, eTag, loadedAt, expiresAt);
+    }
+
+    /**
+     * Returns a new version of this snapshot without the employee with the given id.
+     *
+     * @param newVersion the version of the new snapshot
+     * @param id the id of the deleted employee; it must be a UUID
+     * @return the new snapshot
+     */
+    public EmployeeSnapshot withRemoved(long newVersion, String id) {
+        EmployeeKey key = requireKey(id);
+
+        Map<EmployeeKey, Employee> newAdded = added;
+        if (added.containsKey(key)) {
+            newAdded = new LinkedHashMap<>(added);
+            newAdded.remove(key);
+        }
+        Set<EmployeeKey> newRemoved = removed;
+        if (base.index.containsKey(key)) {
+            newRemoved = new HashSet<>(removed);
+            newRemoved.add(key);
+        }
+        return withOverlay(newVersion, newAdded, newRemoved, eTag, loadedAt, expiresAt);
+    }
+
+    private EmployeeSnapshot withOverlay(
+            long newVersion,
+            Map<EmployeeKey, Employee> newAdded,
+            Set<EmployeeKey> newRemoved,
+            String newETag,
+            Instant newLoadedAt,
+            Instant newExpiresAt) {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(
+                newVersion,
+                base,
+                Collections.unmodifiableMap(newAdded),
+                Collections.unmodifiableSet(newRemoved),
+                newETag,
+                newLoadedAt,
+                newExpiresAt);
+
+        int overlaySize = newAdded.size() + newRemoved.size();
+        if (overlaySize > Math.max(MIN_OVERLAY_SIZE, base.employees.size() / OVERLAY_FRACTION)) {
+            return new EmployeeSnapshot(
+                    newVersion,
+                    new Base(snapshot.getEmployees()),
+                    Map.of(),
+                    Set.of(),
+                    newETag,
+                    newLoadedAt,
+                    newExpiresAt);
+        }
+        return snapshot;
+    }
+
+    private int countSalariesAtMost(int salary) {
+        return salary == Integer.MAX_VALUE ? getEmployeeCount() : countSalariesBelow(salary + 1);
+    }
+
+    /**
+     * Merges two lists sorted by the given order, taking the first list's employee first on ties, as
+     * {@link #getEmployees()} lists fetched employees before created ones.
+     */
+    private static List<Employee> mergeSorted(
+            List<Employee> fromBase, List<Employee> fromAdded, Comparator<Employee> order, int limit) {
+        List<Employee> merged = new ArrayList<>(Math.min(limit, fromBase.size() + fromAdded.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < fromBase.size() || j < fromAdded.size())) {
+            boolean baseFirst = j == fromAdded.size()
+                    || (i < fromBase.size() && order.compare(fromBase.get(i), fromAdded.get(j)) <= 0);
+            merged.add(baseFirst ? fromBase.get(i++) : fromAdded.get(j++));
+        }
+        return merged;
+    }
+
+    /**
+     * @return true if the fetched employee at the given row was deleted or replaced through the overlay
+     */
+    private boolean isShadowed(int row) {
+        EmployeeKey key = base.keys[row];
+        return key != null && (removed.contains(key) || added.containsKey(key));
+    }
+
+    private SalaryOverlay salaryOverlay() {
+        SalaryOverlay overlay = salaryOverlay;
+        if (overlay == null) {
+            overlay = new SalaryOverlay(addedSalaries(), hiddenSalaries());
+            salaryOverlay = overlay;
+        }
+        return overlay;
+    }
+
+    private int[] addedSalaries() {
+        int[] salaries = added.values().stream().mapToInt(Employee::getEmployee_salary).toArray();
+        Arrays.sort(salaries);
+        return salaries;
+    }
+
+    private int[] hiddenSalaries() {
+        List<Employee> hidden = new ArrayList<>();
+        for (EmployeeKey key : removed) {
+            base.collectRows(key, hidden);
+        }
+        for (EmployeeKey key : added.keySet()) {
+            if (!removed.contains(key)) {
+                base.collectRows(key, hidden);
+            }
+        }
+        int[] salaries = hidden.stream().mapToInt(Employee::getEmployee_salary).toArray();
+        Arrays.sort(salaries);
+        return salaries;
+    }
+
+    private List<Employee> merge() {
+        List<Employee> merged = new ArrayList<>(base.employees.size() + added.size());
+        for (int i = 0; i < base.employees.size(); i++) {
+            if (!isShadowed(i)) {
+                merged.add(base.employees.get(i));
+            }
+        }
+        merged.addAll(added.values());
+        return Collections.unmodifiableList(merged);
+    }
+
+    private static EmployeeKey requireKey(String id) {
+        EmployeeKey key = EmployeeKey.parse(id);
+        if (key == null) {
+            throw new IllegalArgumentException("Employee id is not a UUID: " + id);
+        }
+        return key;
+    }
+
+    /**
+     * Employee list as fetched from the external service, with its id index and its {@link EmployeeColumns}.
+     */
+    private static final class Base {
+
+        private final List<Employee> employees;
+        private final EmployeeKey[] keys;
+        private final Map<EmployeeKey, Employee> index;
+
+        // Columns of the fields that scans and aggregates read, built with the list
+        private final EmployeeColumns columns;
+
+        // Further employees sharing an id with an indexed one, which the external service would never return
+        private final Map<EmployeeKey, List<Employee>> duplicates = new HashMap<>();
+
+        // Built on the first name search, since not every snapshot is searched
+        private volatile TrigramIndex nameIndex;
+
+        // Ranked on the first top earners query, and again only when the capacity changes
+        private volatile TopEarners topEarners;
+
+        // Sorted on the first salary query
+        private volatile SalaryIndex salaryIndex;
+
+        // Sorted on the first delete, to find out whether the deleted name is unique
+        private volatile WholeNameIndex wholeNameIndex;
+
+        private Base(List<Employee> employees) {
+            this.employees = Collections.unmodifiableList(new ArrayList<>(employees));
+            this.keys = new EmployeeKey[this.employees.size()];
+            this.index = new HashMap<>((int) (keys.length / 0.75f) + 1);
+            for (int i = 0; i < keys.length; i++) {
+                Employee employee = this.employees.get(i);
+                keys[i] = EmployeeKey.parse(employee.getId());
+                // Keep the first match, as the external service does when looking up by id
+                if (keys[i] != null && index.putIfAbsent(keys[i], employee) != null) {
+                    duplicates.computeIfAbsent(keys[i], key -> new ArrayList<>()).add(employee);
+                }
+            }
+            this.columns = EmployeeColumns.build(this.employees);
+        }
+
+        private TrigramIndex nameIndex(NameSearchMode mode) {
+            TrigramIndex built = nameIndex;
+            if (built == null || built.mode() != mode) {
+                synchronized (this) {
+                    built = nameIndex;
+                    if (built == null || built.mode() != mode) {
+                        built = TrigramIndex.build(employees, mode);
+                        nameIndex = built;
+                    }
+                }
+            }
+            return built;
+        }
+
+        /**
+         * Adds every fetched employee with the given id to the list.
+         */
+        private void collectRows(EmployeeKey key, List<Employee> rows) {
+            Employee employee = index.get(key);
+            if (employee != null) {
+                rows.add(employee);
+                rows.addAll(duplicates.getOrDefault(key, List.of()));
+            }
+        }
+
+        private SalaryIndex salaryIndex() {
+            SalaryIndex built = salaryIndex;
+            if (built == null) {
+                synchronized (this) {
+                    built = salaryIndex;
+                    if (built == null) {
+                        built = SalaryIndex.build(columns);
+                        salaryIndex = built;
+                    }
+                }
+            }
+            return built;
+        }
+
+        private WholeNameIndex wholeNameIndex() {
+            WholeNameIndex built = wholeNameIndex;
+            if (built == null) {
+                synchronized (this) {
+                    built = wholeNameIndex;
+                    if (built == null) {
+                        built = WholeNameIndex.build(employees);
+                        wholeNameIndex = built;
+                    }
+                }
+            }
+            return built;
+        }
+
+        private TopEarners topEarners(int capacity) {
+            TopEarners built = topEarners;
+            if (built == null || built.capacity() != capacity) {
+                synchronized (this) {
+                    built = topEarners;
+                    if (built == null || built.capacity() != capacity) {
+                        built = TopEarners.build(columns, capacity);
+                        topEarners = built;
+                    }
+                }
+            }
+            return built;
+        }
+    }
+
+    /**
+     * Sorted salaries of the employees created through the overlay, and of the fetched employees it hides.
+     */
+    private record SalaryOverlay(int[] added, int[] hidden) {
+
+        boolean isEmpty() {
+            return added.length == 0 && hidden.length == 0;
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.EmployeeClient;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeeResponse;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the most recently fetched employee list as an immutable {@link EmployeeSnapshot} behind an atomic reference.
+ * Reads are served from the snapshot until it expires. Once a snapshot enters its refresh-ahead window, a single
+ * background reload is started so that callers rarely have to wait on the external service.
+ *
+ * <p>If a reload fails, for example because the circuit breaker around the external service is open, the
+ * last-known-good snapshot keeps being served for up to the configured maximum staleness, and the request is flagged
+ * through {@link StaleSnapshotMarker}.
+ *
+ * <p>Reloads ask the service for the changes after the list version of the current snapshot and apply them to it,
+ * so a reload costs in proportion to the changes rather than to the list. Only when the service no longer knows all
+ * of them is the full list fetched, sending the ETag of the current snapshot, so that an unchanged list is confirmed
+ * with a 304 response instead of being downloaded, parsed and indexed again.
+ *
+ * <p>While {@link EmployeeEventStream} is connected, the changes the service pushes are applied as they happen, and
+ * each change or heartbeat extends the lifetime of the snapshot, so it does not reach its refresh-ahead window and is
+ * kept fresh without polling.
+ */
+@Component
+public class EmployeeSnapshotCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSnapshotCache.class);
+
+    private final EmployeeClient employeeClient;
+    private final Duration ttl;
+    private final Duration refreshAhead;
+    private final Duration maxStale;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+
+    private final AtomicReference<EmployeeSnapshot> current = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicBoolean refreshInProgress = new AtomicBoolean();
+    private final Object loadLock = new Object();
+
+    @Autowired
+    public EmployeeSnapshotCache(
+            EmployeeClient employeeClient,
+            @Value("${employee.cache.ttl:30s}") Duration ttl,
+            @Value("${employee.cache.refresh-ahead:10s}") Duration refreshAhead,
+            @Value("${employee.cache.max-stale:10m}") Duration maxStale) {
+        this(employeeClient, ttl, refreshAhead, maxStale, newRefreshExecutor(), Clock.systemUTC());
+    }
+
+    public EmployeeSnapshotCache(
+            EmployeeClient employeeClient,
+            Duration ttl,
+            Duration refreshAhead,
+            Duration maxStale,
+            Executor refreshExecutor,
+            Clock clock) {
+        if (refreshAhead.compareTo(ttl) >= 0) {
+            throw new IllegalArgumentException("Refresh-ahead window must be shorter than the cache TTL");
+        }
+        this.employeeClient = employeeClient;
+        this.ttl = ttl;
+        this.refreshAhead = refreshAhead;
+        this.maxStale = maxStale;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the current snapshot, loading it synchronously if there is none or it has expired.
+     * A snapshot that is close to expiry is returned as is, and a background reload is scheduled.
+     * If the load fails, the last-known-good snapshot is returned instead when there is one.
+     *
+     * @return the current employee snapshot
+     */
+    public EmployeeSnapshot get() {
+        EmployeeSnapshot snapshot = current.get();
+        Instant now = clock.instant();
+
+        if (snapshot == null || snapshot.isExpired(now)) {
+            return loadOrServeStale();
+        }
+
+        if (snapshot.isRefreshDue(now, refreshAhead)) {
+            refreshAsync();
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Returns the current snapshot like {@link #get()}, but never waits for a load. If there is no unexpired snapshot,
+     * a background load is started and null is returned, so that the caller can ask the external service for just the
+     * employees it needs instead of waiting for the full list.
+     *
+     * @return the current employee snapshot, or null if there is none or it has expired
+     */
+    public EmployeeSnapshot getIfFresh() {
+        EmployeeSnapshot snapshot = current.get();
+        Instant now = clock.instant();
+
+        if (snapshot == null || snapshot.isExpired(now) || snapshot.isRefreshDue(now, refreshAhead)) {
+            refreshAsync();
+            // The refresh executor may have run the load already
+            snapshot = current.get();
+        }
+
+        return snapshot == null || snapshot.isExpired(clock.instant()) ? null : snapshot;
+    }
+
+    /**
+     * Returns the most recently loaded snapshot without contacting the external service, even if it has expired.
+     *
+     * @return the last-known-good snapshot, or null if there is none or it is older than the maximum staleness
+     */
+    public EmployeeSnapshot getLastKnownGood() {
+        EmployeeSnapshot snapshot = current.get();
+        if (snapshot == null || snapshot.getLoadedAt().plus(maxStale).isBefore(clock.instant())) {
+            return null;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Adds an employee created through this API to the current snapshot, so that it is visible without a reload.
+     *
+     * @param employee the created employee, as returned by the external service
+     */
+    public void applyCreated(Employee employee) {
+        if (EmployeeKey.parse(employee.getId()) == null) {
+            invalidate();
+            return;
+        }
+        current.updateAndGet(
+                snapshot -> snapshot == null ? null : snapshot.withAdded(versions.incrementAndGet(), employee));
+    }
+
+    /**
+     * Removes an employee deleted through this API from the current snapshot, so that it disappears without a reload.
+     *
+     * @param employee the deleted employee
+     */
+    public void applyDeleted(Employee employee) {
+        EmployeeSnapshot snapshot = current.get();
+        // The external service deletes the first employee with a matching name, so the local copy only knows which
+        // employee is gone when the name is unique
+        if (snapshot == null
+                || EmployeeKey.parse(employee.getId()) == null
+                || !hasUniqueName(snapshot, employee.getEmployee_name())) {
+            invalidate();
+            return;
+        }
+        current.updateAndGet(
+                latest -> latest == null ? null : latest.withRemoved(versions.incrementAndGet(), employee.getId()));
+    }
+
+    /**
+     * Applies a create or delete pushed by the external service to the current snapshot and extends its lifetime.
+     * A change the snapshot already holds is ignored. If the change is not the next one after the list version of the
+     * snapshot, a change in between was missed, and the snapshot is invalidated so that the next read reloads it.
+     *
+     * @param change the change, with the list version it produced
+     */
+    public void applyChange(EmployeeChange change) {
+        Instant now = clock.instant();
+        EmployeeSnapshot snapshot = current.updateAndGet(latest -> {
+            Long listVersion = liveListVersionOf(latest, now);
+            if (listVersion == null || change.getVersion() != listVersion + 1) {
+                return latest;
+            }
+            return latest.withChanges(
+                    versions.incrementAndGet(), List.of(change), eTagOf(change.getVersion()), now, now.plus(ttl));
+        });
+        invalidateIfBehind(snapshot, change.getVersion(), now);
+    }
+
+    /**
+     * Extends the lifetime of the current snapshot when the external service confirms that no change was made after
+     * its list version. A snapshot behind that version is invalidated instead, as in {@link #applyChange}.
+     *
+     * @param listVersion the version of the latest change the external service has pushed
+     */
+    public void confirmListVersion(long listVersion) {
+        Instant now = clock.instant();
+        EmployeeSnapshot snapshot = current.updateAndGet(latest -> {
+            Long snapshotListVersion = liveListVersionOf(latest, now);
+            if (snapshotListVersion == null || snapshotListVersion != listVersion) {
+                return latest;
+            }
+            return latest.renew(now, now.plus(ttl));
+        });
+        invalidateIfBehind(snapshot, listVersion, now);
+    }
+
+    /**
+     * @return the list version of the current snapshot, or null if there is no unexpired snapshot or its ETag does not
+     *     carry a list version
+     */
+    public Long getListVersion() {
+        return liveListVersionOf(current.get(), clock.instant());
+    }
+
+    /**
+     * Marks the current snapshot as expired so that the next read reloads it from the external service.
+     */
+    public void invalidate() {
+        invalidations.incrementAndGet();
+        current.updateAndGet(snapshot -> snapshot == null ? null : snapshot.expire());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private EmployeeSnapshot loadOrServeStale() {
+        try {
+            return load();
+        } catch (RuntimeException e) {
+            EmployeeSnapshot lastKnownGood = getLastKnownGood();
+            if (lastKnownGood == null) {
+                throw e;
+            }
+
+            logger.warn(
+                    "Serving stale employee snapshot version {} loaded at {}: {}",
+                    lastKnownGood.getVersion(),
+                    lastKnownGood.getLoadedAt(),
+                    e.getMessage());
+            StaleSnapshotMarker.mark(lastKnownGood);
+            return lastKnownGood;
+        }
+    }
+
+    private EmployeeSnapshot load() {
+        synchronized (loadLock) {
+            // Another thread may have loaded a fresh snapshot while this one was waiting for the lock
+            EmployeeSnapshot snapshot = current.get();
+            if (snapshot != null && !snapshot.isExpired(clock.instant())) {
+                return snapshot;
+            }
+            return fetch();
+        }
+    }
+
+    private void refreshAsync() {
+        if (!refreshInProgress.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    fetch();
+                } catch (RuntimeException e) {
+                    logger.warn("Background refresh of the employee snapshot failed: {}", e.getMessage());
+                } finally {
+                    refreshInProgress.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshInProgress.set(false);
+        }
+    }
+
+    private EmployeeSnapshot fetch() {
+        long version = versions.incrementAndGet();
+        long generation = invalidations.get();
+
+        EmployeeSnapshot previous = current.get();
+        EmployeeSnapshot fetched = previous == null ? null : fetchChanges(previous, version);
+        if (fetched == null) {
+            fetched = fetchList(previous, version);
+        }
+        if (generation != invalidations.get()) {
+            // A create or delete completed while this fetch was in flight, so the result may already be outdated
+            fetched = fetched.expire();
+        }
+
+        // Never let a slow fetch overwrite a snapshot that was started later
+        return current.accumulateAndGet(fetched, EmployeeSnapshotCache::newest);
+    }
+
+    /**
+     * Applies the changes the service recorded after the list version of the previous snapshot.
+     *
+     * @return the updated snapshot, or null if the service cannot tell the changes since that version
+     */
+    private EmployeeSnapshot fetchChanges(EmployeeSnapshot previous, long version) {
+        Long listVersion = listVersionOf(previous.getETag());
+        if (listVersion == null) {
+            return null;
+        }
+
+        EmployeeResponse<EmployeeChanges> response = employeeClient.getChangesSince(listVersion);
+        EmployeeChanges changes = response == null ? null : response.getData();
+        if (changes == null || changes.isResyncRequired()) {
+            logger.debug("Changes since list version {} are no longer known, fetching the full list.", listVersion);
+            return null;
+        }
+
+        List<EmployeeChange> applied = changes.getChanges() == null ? List.of() : changes.getChanges();
+        Instant loadedAt = clock.instant();
+        logger.debug(
+                "Applied {} changes up to list version {} as snapshot version {}.",
+                applied.size(),
+                changes.getVersion(),
+                version);
+        return previous.withChanges(version, applied, eTagOf(changes.getVersion()), loadedAt, loadedAt.plus(ttl));
+    }
+
+    /**
+     * Fetches the full list, unless it is unchanged since the previous snapshot was fetched.
+     */
+    private EmployeeSnapshot fetchList(EmployeeSnapshot previous, long version) {
+        String eTag = previous == null ? null : previous.getETag();
+        ResponseEntity<EmployeeResponse<List<Employee>>> response = employeeClient.getAllEmployeesIfChanged(eTag);
+
+        Instant loadedAt = clock.instant();
+        if (eTag != null && response != null && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+            logger.debug(
+                    "Employee list unchanged since ETag {}, renewed snapshot version {}.", eTag, previous.getVersion());
+            return previous.renew(loadedAt, loadedAt.plus(ttl));
+        }
+
+        EmployeeResponse<List<Employee>> body = response == null ? null : response.getBody();
+        List<Employee> employees = body == null || body.getData() == null ? List.of() : body.getData();
+        String fetchedETag = response == null ? null : response.getHeaders().getETag();
+        logger.debug("Fetched employee snapshot version {} with {} employees.", version, employees.size());
+        return new EmployeeSnapshot(version, employees, fetchedETag, loadedAt, loadedAt.plus(ttl));
+    }
+
+    /**
+     * @return the list version in an ETag of the form {@code W/"<version>"}, or null for any other tag
+     */
+    private static Long listVersionOf(String eTag) {
+        if (eTag == null || !eTag.startsWith("W/\"") || !eTag.endsWith("\"") || eTag.length() < 4) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eTag.substring(3, eTag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void invalidateIfBehind(EmployeeSnapshot snapshot, long listVersion, Instant now) {
+        Long snapshotListVersion = liveListVersionOf(snapshot, now);
+        if (snapshotListVersion != null && snapshotListVersion < listVersion) {
+            logger.debug(
+                    "Snapshot at list version {} missed changes up to {}, invalidating it.",
+                    snapshotListVersion,
+                    listVersion);
+            invalidate();
+        }
+    }
+
+    /**
+     * @return the list version of the snapshot, or null if it is null, has expired or carries no list version
+     */
+    private static Long liveListVersionOf(EmployeeSnapshot snapshot, Instant now) {
+        return snapshot == null || snapshot.isExpired(now) ? null : listVersionOf(snapshot.getETag());
+    }
+
+    private static String eTagOf(long listVersion) {
+        return "W/\"" + listVersion + "\"";
+    }
+
+    private static boolean hasUniqueName(EmployeeSnapshot snapshot, String name) {
+        return name != null && snapshot.countByName(name, 2) == 1;
+    }
+
+    private static EmployeeSnapshot newest(EmployeeSnapshot previous, EmployeeSnapshot next) {
+        return previous != null && previous.getVersion() > next.getVersion() ? previous : next;
+    }
+
+    private static ExecutorService newRefreshExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-snapshot-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
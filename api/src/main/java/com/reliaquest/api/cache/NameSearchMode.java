@@ -0,0 +1,59 @@
+package com.reliaquest.api.cache;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * How employee names are compared with a search string.
+ */
+public enum NameSearchMode {
+
+    /**
+     * Names must contain the search string exactly as typed.
+     */
+    EXACT {
+        @Override
+        public String normalize(String value) {
+            return value;
+        }
+    },
+
+    /**
+     * Names and search string are compared ignoring case.
+     */
+    CASE_INSENSITIVE {
+        @Override
+        public String normalize(String value) {
+            return value.toLowerCase(Locale.ROOT);
+        }
+    },
+
+    /**
+     * Names and search string are compared ignoring case, accents and compatibility forms, so that a search typed
+     * without accents finds accented names and full-width letters match their ASCII counterparts.
+     */
+    NORMALIZED {
+        @Override
+        public String normalize(String value) {
+            String decomposed = Normalizer.normalize(value, Normalizer.Form.NFKD);
+            return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+        }
+    };
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    /**
+     * @param value a name or search string
+     * @return the form in which it is indexed and compared
+     */
+    public abstract String normalize(String value);
+
+    /**
+     * @return whether every name this mode matches also contains the search string when case is ignored, so that the
+     *     matches of a case-insensitive search include all of its matches
+     */
+    public boolean isCoveredByIgnoringCase() {
+        return this != NORMALIZED;
+    }
+}
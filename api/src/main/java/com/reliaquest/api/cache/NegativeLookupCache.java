@@ -0,0 +1,79 @@
+package com.reliaquest.api.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers employee ids the external service recently reported as missing, so that repeated lookups of unknown ids
+ * are answered locally instead of with another remote call.
+ *
+ * <p>An entry only holds for the snapshot version it was recorded against and for a short time. Any new snapshot,
+ * whether reloaded or changed by a create through this API, makes every earlier entry void, so a newly created
+ * employee is never hidden by a stale miss. A snapshot renewed because the list is unchanged keeps its version, and
+ * with it the entries.
+ */
+@Component
+public class NegativeLookupCache {
+
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Clock clock;
+
+    private final Map<EmployeeKey, Miss> misses = new ConcurrentHashMap<>();
+
+    @Autowired
+    public NegativeLookupCache(
+            @Value("${employee.cache.miss-ttl:5s}") Duration ttl,
+            @Value("${employee.cache.miss-max-entries:10000}") int maxEntries) {
+        this(ttl, maxEntries, Clock.systemUTC());
+    }
+
+    public NegativeLookupCache(Duration ttl, int maxEntries, Clock clock) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * @param key the key of the employee id
+     * @param snapshotVersion the version of the snapshot the lookup was made against
+     * @return true if the id was reported missing while the same snapshot version was current
+     */
+    public boolean isKnownMissing(EmployeeKey key, long snapshotVersion) {
+        Miss miss = misses.get(key);
+        if (miss == null) {
+            return false;
+        }
+        if (miss.snapshotVersion() != snapshotVersion || clock.instant().isAfter(miss.expiresAt())) {
+            misses.remove(key, miss);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Records that the external service reported the id as missing.
+     *
+     * @param key the key of the employee id
+     * @param snapshotVersion the version of the snapshot the lookup was made against
+     */
+    public void recordMissing(EmployeeKey key, long snapshotVersion) {
+        if (misses.size() >= maxEntries) {
+            // A flood of distinct ids; start over rather than scan for entries to evict
+            misses.clear();
+        }
+        misses.put(key, new Miss(snapshotVersion, clock.instant().plus(ttl)));
+    }
+
+    public int size() {
+        return misses.size();
+    }
+
+    private record Miss(long snapshotVersion, Instant expiresAt) {}
+}
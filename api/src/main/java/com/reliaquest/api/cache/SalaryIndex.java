@@ -0,0 +1,95 @@
+package com.reliaquest.api.cache;
+
+import java.util.Arrays;
+
+/**
+ * Salaries of an employee list sorted in ascending order, each with the row of the employee it belongs to.
+ * Employees with equal salaries keep their order in the list.
+ *
+ * <p>Lowest and highest salary are read from the ends of the array, and counting or ranking salaries is a binary
+ * search, so none of these queries touches the employees themselves.
+ */
+final class SalaryIndex {
+
+    private final int[] salaries;
+    private final int[] rows;
+
+    private SalaryIndex(int[] salaries, int[] rows) {
+        this.salaries = salaries;
+        this.rows = rows;
+    }
+
+    /**
+     * @param columns the columns of the employees to index
+     * @return the index, identifying each employee by its row
+     */
+    static SalaryIndex build(EmployeeColumns columns) {
+        // Salary in the high half and row in the low half sort by salary first and row second, without boxing
+        long[] packed = new long[columns.size()];
+        for (int row = 0; row < packed.length; row++) {
+            packed[row] = ((long) columns.salary(row) << 32) | row;
+        }
+        Arrays.sort(packed);
+
+        int[] salaries = new int[packed.length];
+        int[] rows = new int[packed.length];
+        for (int i = 0; i < packed.length; i++) {
+            salaries[i] = (int) (packed[i] >> 32);
+            rows[i] = (int) packed[i];
+        }
+        return new SalaryIndex(salaries, rows);
+    }
+
+    int size() {
+        return salaries.length;
+    }
+
+    /**
+     * @param rank a position between 0 and {@link #size()} (exclusive)
+     * @return the salary at that position, counting from the lowest
+     */
+    int salaryAt(int rank) {
+        return salaries[rank];
+    }
+
+    /**
+     * @param rank a position between 0 and {@link #size()} (exclusive)
+     * @return the row of the employee whose salary is at that position
+     */
+    int rowAt(int rank) {
+        return rows[rank];
+    }
+
+    /**
+     * @return how many indexed salaries are lower than the given salary
+     */
+    int countBelow(int salary) {
+        return countBelow(salaries, salary);
+    }
+
+    /**
+     * @return how many indexed salaries are lower than or equal to the given salary
+     */
+    int countAtMost(int salary) {
+        return salary == Integer.MAX_VALUE ? salaries.length : countBelow(salaries, salary + 1);
+    }
+
+    /**
+     * @param sorted salaries in ascending order
+     * @param salary the salary to compare with
+     * @return how many of the salaries are lower than the given salary
+     */
+    static int countBelow(int[] sorted, int salary) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] < salary) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
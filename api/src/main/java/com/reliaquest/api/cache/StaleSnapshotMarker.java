@@ -0,0 +1,40 @@
+package com.reliaquest.api.cache;
+
+import java.time.Instant;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Remembers, for the current web request, that its response is built from a snapshot the external service could not
+ * refresh, so that the response can be flagged as stale.
+ */
+public final class StaleSnapshotMarker {
+
+    private static final String ATTRIBUTE = StaleSnapshotMarker.class.getName() + ".loadedAt";
+
+    private StaleSnapshotMarker() {}
+
+    /**
+     * Marks the current request as served from the given snapshot. Does nothing outside of a web request.
+     *
+     * @param snapshot the stale snapshot being served
+     */
+    public static void mark(EmployeeSnapshot snapshot) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(ATTRIBUTE, snapshot.getLoadedAt(), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * @return when the stale snapshot served to the current request was loaded, or null if the request was not
+     *     served from a stale snapshot
+     */
+    public static Instant staleSince() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (Instant) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+}
@@ -0,0 +1,101 @@
+package com.reliaquest.api.cache;
+
+/**
+ * The rows of the best-paid employees of a list, up to a fixed capacity, ordered by salary from highest to lowest.
+ * Employees with equal salaries keep their order in the list, as a stable sort of the whole list would.
+ *
+ * <p>The rows are selected with a bounded heap over the salary column, in O(n log k) for a capacity of k, instead of
+ * sorting the whole list.
+ */
+final class TopEarners {
+
+    private final int capacity;
+    private final int[] rows;
+
+    private TopEarners(int capacity, int[] rows) {
+        this.capacity = capacity;
+        this.rows = rows;
+    }
+
+    /**
+     * @param columns the columns of the employees to rank
+     * @param capacity how many of the best-paid employees to keep
+     * @return the best-paid employees of the list
+     */
+    static TopEarners build(EmployeeColumns columns, int capacity) {
+        // Min-heap whose root is the lowest ranked of the rows kept so far
+        int[] heap = new int[Math.min(capacity, columns.size())];
+        int size = 0;
+        for (int row = 0; row < columns.size(); row++) {
+            if (size < heap.length) {
+                heap[size] = row;
+                siftUp(heap, size++, columns);
+            } else if (heap.length > 0 && ranksAbove(row, heap[0], columns)) {
+                heap[0] = row;
+                siftDown(heap, size, columns);
+            }
+        }
+
+        // Repeatedly removing the lowest ranked row fills the result from the back
+        int[] rows = new int[size];
+        while (size > 0) {
+            rows[size - 1] = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, size, columns);
+        }
+        return new TopEarners(capacity, rows);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the kept rows, best-paid first
+     */
+    int[] rows() {
+        return rows;
+    }
+
+    private static boolean ranksAbove(int row, int other, EmployeeColumns columns) {
+        int salary = columns.salary(row);
+        int otherSalary = columns.salary(other);
+        return salary > otherSalary || (salary == otherSalary && row < other);
+    }
+
+    private static void siftUp(int[] heap, int index, EmployeeColumns columns) {
+        int row = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!ranksAbove(heap[parent], row, columns)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = row;
+    }
+
+    private static void siftDown(int[] heap, int size, EmployeeColumns columns) {
+        if (size == 0) {
+            return;
+        }
+        int row = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && ranksAbove(heap[child], heap[child + 1], columns)) {
+                child++;
+            }
+            if (!ranksAbove(row, heap[child], columns)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = row;
+    }
+}
@@ -0,0 +1,265 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Inverted index from every three-character sequence of an employee name to the rows whose name contains it.
+ *
+ * <p>A substring search looks up the trigrams of the search string and intersects their posting lists, starting
+ * with the shortest. Since sharing all trigrams does not guarantee the substring itself, the remaining candidates are
+ * verified against the name. Search strings shorter than three characters have no trigram and scan the names.
+ *
+ * <p>Names are normalized with the index's mode and copied back to back into one char buffer when the index is built,
+ * so a search walks that buffer instead of the strings of every employee.
+ */
+final class TrigramIndex {
+
+    private static final int[] NO_ROWS = new int[0];
+
+    private final NameSearchMode mode;
+    private final char[] names;
+    private final int[] offsets;
+    private final TrigramTable trigrams;
+    private final int[][] postings;
+
+    private TrigramIndex(NameSearchMode mode, char[] names, int[] offsets, TrigramTable trigrams, int[][] postings) {
+        this.mode = mode;
+        this.names = names;
+        this.offsets = offsets;
+        this.trigrams = trigrams;
+        this.postings = postings;
+    }
+
+    /**
+     * Indexes the names of the given employees, identifying each by its row.
+     *
+     * @param employees the employees to index; an employee without a name matches no search string
+     * @param mode how names are normalized before indexing
+     * @return the index
+     */
+    static TrigramIndex build(List<Employee> employees, NameSearchMode mode) {
+        StringBuilder normalized = new StringBuilder(employees.size() * 16);
+        int[] offsets = new int[employees.size() + 1];
+        for (int row = 0; row < employees.size(); row++) {
+            String name = employees.get(row).getEmployee_name();
+            if (name != null) {
+                normalized.append(mode.normalize(name));
+            }
+            offsets[row + 1] = normalized.length();
+        }
+        char[] names = new char[normalized.length()];
+        normalized.getChars(0, names.length, names, 0);
+
+        TrigramTable trigrams = new TrigramTable();
+        int[][] postings = new int[64][];
+        int[] sizes = new int[64];
+
+        for (int row = 0; row < employees.size(); row++) {
+            for (int i = offsets[row]; i + 3 <= offsets[row + 1]; i++) {
+                int id = trigrams.add(trigram(names, i));
+                if (id == postings.length) {
+                    postings = Arrays.copyOf(postings, id * 2);
+                    sizes = Arrays.copyOf(sizes, id * 2);
+                }
+                if (postings[id] == null) {
+                    postings[id] = new int[4];
+                }
+
+                // Rows arrive in ascending order, so a trigram repeated within a name only needs comparing to the last
+                int size = sizes[id];
+                if (size > 0 && postings[id][size - 1] == row) {
+                    continue;
+                }
+                if (size == postings[id].length) {
+                    postings[id] = Arrays.copyOf(postings[id], size * 2);
+                }
+                postings[id][size] = row;
+                sizes[id] = size + 1;
+            }
+        }
+
+        int[][] trimmed = new int[trigrams.size()][];
+        for (int id = 0; id < trimmed.length; id++) {
+            trimmed[id] = Arrays.copyOf(postings[id], sizes[id]);
+        }
+        return new TrigramIndex(mode, names, offsets, trigrams, trimmed);
+    }
+
+    NameSearchMode mode() {
+        return mode;
+    }
+
+    /**
+     * @param query the search string, already normalized with this index's mode
+     * @return the rows whose name contains the search string, in ascending order
+     */
+    int[] search(String query) {
+        if (query.length() < 3) {
+            return scan(query);
+        }
+
+        int trigramCount = query.length() - 2;
+        int[][] lists = new int[trigramCount][];
+        for (int i = 0; i < trigramCount; i++) {
+            int id = trigrams.find(trigram(query, i));
+            if (id < 0) {
+                return NO_ROWS;
+            }
+            lists[i] = postings[id];
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+
+        int[] candidates = lists[0];
+        for (int i = 1; i < lists.length && candidates.length > 0; i++) {
+            if (lists[i] != lists[i - 1]) {
+                candidates = intersect(candidates, lists[i]);
+            }
+        }
+
+        int matches = 0;
+        int[] rows = new int[candidates.length];
+        for (int row : candidates) {
+            if (nameContains(row, query)) {
+                rows[matches++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, matches);
+    }
+
+    private int[] scan(String query) {
+        int matches = 0;
+        int[] rows = new int[offsets.length - 1];
+        for (int row = 0; row < rows.length; row++) {
+            if (nameContains(row, query)) {
+                rows[matches++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, matches);
+    }
+
+    private boolean nameContains(int row, String query) {
+        int last = offsets[row + 1] - query.length();
+        for (int start = offsets[row]; start <= last; start++) {
+            int i = 0;
+            while (i < query.length() && names[start + i] == query.charAt(i)) {
+                i++;
+            }
+            if (i == query.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] intersect(int[] smaller, int[] larger) {
+        int matches = 0;
+        int[] result = new int[smaller.length];
+
+        if (larger.length / 8 > smaller.length) {
+            // Far apart in size: binary search the few candidates instead of walking the long list
+            int from = 0;
+            for (int row : smaller) {
+                int found = Arrays.binarySearch(larger, from, larger.length, row);
+                if (found >= 0) {
+                    result[matches++] = row;
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < smaller.length && j < larger.length) {
+                if (smaller[i] < larger[j]) {
+                    i++;
+                } else if (smaller[i] > larger[j]) {
+                    j++;
+                } else {
+                    result[matches++] = smaller[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return Arrays.copyOf(result, matches);
+    }
+
+    private static long trigram(String value, int offset) {
+        return ((long) value.charAt(offset) << 32) | ((long) value.charAt(offset + 1) << 16) | value.charAt(offset + 2);
+    }
+
+    private static long trigram(char[] chars, int offset) {
+        return ((long) chars[offset] << 32) | ((long) chars[offset + 1] << 16) | chars[offset + 2];
+    }
+
+    /**
+     * Open-addressing hash table numbering distinct trigrams from zero, without boxing them.
+     */
+    private static final class TrigramTable {
+
+        private long[] keys = new long[1024];
+        private int[] ids = filledWithEmpty(1024);
+        private int size;
+
+        /**
+         * @return the number of the trigram, assigning the next free number if it is new
+         */
+        int add(long trigram) {
+            int slot = slotOf(trigram);
+            if (ids[slot] >= 0) {
+                return ids[slot];
+            }
+
+            keys[slot] = trigram;
+            ids[slot] = size++;
+            if (size * 2 > keys.length) {
+                grow();
+            }
+            return size - 1;
+        }
+
+        /**
+         * @return the number of the trigram, or -1 if it was never added
+         */
+        int find(long trigram) {
+            return ids[slotOf(trigram)];
+        }
+
+        int size() {
+            return size;
+        }
+
+        private int slotOf(long trigram) {
+            int mask = keys.length - 1;
+            int slot = Long.hashCode(trigram * 0x9E3779B97F4A7C15L) & mask;
+            while (ids[slot] >= 0 && keys[slot] != trigram) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldIds = ids;
+            keys = new long[oldKeys.length * 2];
+            ids = filledWithEmpty(oldKeys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldIds[i] >= 0) {
+                    int slot = slotOf(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    ids[slot] = oldIds[i];
+                }
+            }
+        }
+
+        private static int[] filledWithEmpty(int length) {
+            int[] array = new int[length];
+            Arrays.fill(array, -1);
+            return array;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rows of an employee list sorted by a hash of their name that ignores case, for looking up employees by their whole
+ * name as the external service deletes them.
+ *
+ * <p>A lookup is a binary search for the hash of the name. Different names can share a hash, so callers compare the
+ * names of the rows found.
+ */
+final class WholeNameIndex {
+
+    private static final int[] NO_ROWS = new int[0];
+
+    // Hash in the high half and row in the low half, sorted, so the rows of a hash are adjacent and in list order
+    private final long[] packed;
+
+    private WholeNameIndex(long[] packed) {
+        this.packed = packed;
+    }
+
+    /**
+     * @param employees the employees to index
+     * @return the index, identifying each employee by its row
+     */
+    static WholeNameIndex build(List<Employee> employees) {
+        long[] packed = new long[employees.size()];
+        for (int row = 0; row < packed.length; row++) {
+            String name = employees.get(row).getEmployee_name();
+            packed[row] = ((long) (name == null ? 0 : hash(name)) << 32) | row;
+        }
+        Arrays.sort(packed);
+        return new WholeNameIndex(packed);
+    }
+
+    /**
+     * @param name the name to look up
+     * @return the rows whose name may equal the given one ignoring case, in ascending order
+     */
+    int[] candidates(String name) {
+        long hash = (long) hash(name) << 32;
+        int from = firstAtLeast(hash);
+        // No row is -1, so nothing packs to the hash with all low bits set
+        int to = firstAtLeast(hash | 0xFFFFFFFFL);
+        if (from == to) {
+            return NO_ROWS;
+        }
+        int[] rows = new int[to - from];
+        for (int i = from; i < to; i++) {
+            rows[i - from] = (int) packed[i];
+        }
+        return rows;
+    }
+
+    private int firstAtLeast(long value) {
+        int low = 0;
+        int high = packed.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (packed[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Hashes the characters as {@link String#equalsIgnoreCase} compares them, so names that are equal ignoring case
+     * always share a hash.
+     */
+    private static int hash(String name) {
+        int hash = 0;
+        for (int i = 0; i < name.length(); i++) {
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+        }
+        return hash;
+    }
+}
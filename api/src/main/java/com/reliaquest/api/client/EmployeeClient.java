@@ -3,19 +3,68 @@ package com.reliaquest.api.client;
 import com.reliaquest.api.dto.CreateRequest;
 import com.reliaquest.api.dto.DeleteRequest;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChanges;
 import com.reliaquest.api.model.EmployeeResponse;
 import java.util.List;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.*;
 
 @Component
-@FeignClient(name = "employeeService", url = "http://localhost:8112/api/v1/employee")
+@FeignClient(
+        name = "employeeService",
+        url = "${employee.client.url:http://localhost:8112/api/v1/employee}",
+        qualifiers = EmployeeClient.FEIGN_QUALIFIER,
+        primary = false)
 public interface EmployeeClient {
 
+    /**
+     * Qualifier of the raw Feign client. Everything else should depend on the primary {@link ResilientEmployeeClient}.
+     */
+    String FEIGN_QUALIFIER = "employeeFeignClient";
+
     @GetMapping
     EmployeeResponse<List<Employee>> getAllEmployees();
 
+    /**
+     * Fetches all employees unless the list still carries the given entity tag. Feign only decodes successful
+     * responses, so the Feign client reports the service's 304 Not Modified as a {@link feign.FeignException} with
+     * that status; {@link ResilientEmployeeClient} returns it as a 304 response without a body instead.
+     *
+     * @param eTag the ETag of the last fetched list, or null to fetch the list unconditionally
+     * @return the employees together with the ETag of the list
+     */
+    @GetMapping
+    ResponseEntity<EmployeeResponse<List<Employee>>> getAllEmployeesIfChanged(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String eTag);
+
+    /**
+     * Fetches the changes of the employee list after the given version, or a marker that they are no longer all known
+     * and the full list has to be fetched instead.
+     *
+     * @param since the list version, as found in the ETag of the list
+     * @return the changes and the version of the list after them
+     */
+    @GetMapping("/changes")
+    EmployeeResponse<EmployeeChanges> getChangesSince(@RequestParam("since") long since);
+
+    /**
+     * Fetches the employees matching the given filters, which the service evaluates against its own indexes, so that
+     * only the matches are transferred. Null arguments are left out of the request.
+     *
+     * @param nameContains a string the names must contain, ignoring case, or null to match all names
+     * @param sort the order of the employees, such as {@code salary:desc}, or null to keep the order of the list
+     * @param limit the largest number of employees to return, or null to return all matches
+     * @return the matching employees, in the requested order
+     */
+    @GetMapping
+    EmployeeResponse<List<Employee>> findEmployees(
+            @RequestParam(value = "nameContains", required = false) String nameContains,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "limit", required = false) Integer limit);
+
     @GetMapping("/{id}")
     EmployeeResponse<Employee> getEmployeeById(@PathVariable String id);
 
@@ -0,0 +1,25 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.client.resilience.RetryPolicy;
+
+/**
+ * Retry policy of each {@link EmployeeClient} method.
+ * Reads are idempotent; creating and deleting employees are not, so they are only retried when the service
+ * provably did not process the request.
+ */
+public record EmployeeClientRetryPolicies(
+        RetryPolicy getAllEmployees,
+        RetryPolicy getChangesSince,
+        RetryPolicy findEmployees,
+        RetryPolicy getEmployeeById,
+        RetryPolicy createEmployee,
+        RetryPolicy deleteEmployeeByName) {
+
+    public static EmployeeClientRetryPolicies of(RetryPolicy readPolicy, RetryPolicy writePolicy) {
+        if (writePolicy.idempotent()) {
+            throw new IllegalArgumentException("Creating and deleting employees must not use an idempotent policy");
+        }
+        return new EmployeeClientRetryPolicies(
+                readPolicy, readPolicy, readPolicy, readPolicy, writePolicy, writePolicy);
+    }
+}
@@ -0,0 +1,226 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.client.resilience.AdaptiveRateLimiter;
+import com.reliaquest.api.client.resilience.CircuitBreaker;
+import com.reliaquest.api.client.resilience.Retrier;
+import com.reliaquest.api.client.resilience.RetryAfterHeader;
+import com.reliaquest.api.client.resilience.RetryPolicy;
+import com.reliaquest.api.client.resilience.SingleFlight;
+import com.reliaquest.api.constants.ErrorMessages;
+import com.reliaquest.api.dto.CreateRequest;
+import com.reliaquest.api.dto.DeleteRequest;
+import com.reliaquest.api.exception.custom.UpstreamRateLimitedException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeeResponse;
+import feign.FeignException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Primary {@link EmployeeClient} that guards the Feign client talking to the external employee service.
+ * Concurrent identical reads share a single upstream call, so a burst of requests on a cold cache costs one round trip.
+ * Failed calls are retried according to their method's {@link RetryPolicy}, and every attempt that reaches the
+ * service is paced by the {@link AdaptiveRateLimiter}, which learns from 429 responses. A {@link CircuitBreaker} in
+ * front of it all rejects calls immediately while the service is rate limiting us, failing or timing out.
+ */
+@Primary
+@Component
+public class ResilientEmployeeClient implements EmployeeClient {
+
+    private static final String ALL_EMPLOYEES_KEY = "all";
+
+    private final EmployeeClient delegate;
+
+    private final AdaptiveRateLimiter rateLimiter;
+
+    private final Retrier retrier;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final EmployeeClientRetryPolicies retryPolicies;
+
+    private final SingleFlight<String, EmployeeResponse<List<Employee>>> allEmployeesFlight = new SingleFlight<>();
+
+    private final SingleFlight<String, ResponseEntity<EmployeeResponse<List<Employee>>>> allEmployeesIfChangedFlight =
+            new SingleFlight<>();
+
+    private final SingleFlight<String, EmployeeResponse<Employee>> employeeByIdFlight = new SingleFlight<>();
+
+    @Autowired
+    public ResilientEmployeeClient(
+            @Qualifier(EmployeeClient.FEIGN_QUALIFIER) EmployeeClient delegate,
+            AdaptiveRateLimiter rateLimiter,
+            Retrier retrier,
+            EmployeeClientRetryPolicies retryPolicies,
+            CircuitBreaker circuitBreaker,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.rateLimiter = rateLimiter;
+        this.retrier = retrier;
+        this.circuitBreaker = circuitBreaker;
+        this.retryPolicies = retryPolicies;
+        bindSingleFlightMetrics(meterRegistry, "getAllEmployees", allEmployeesFlight);
+        bindSingleFlightMetrics(meterRegistry, "getAllEmployeesIfChanged", allEmployeesIfChangedFlight);
+        bindSingleFlightMetrics(meterRegistry, "getEmployeeById", employeeByIdFlight);
+        bindResilienceMetrics(meterRegistry);
+    }
+
+    @Override
+    public EmployeeResponse<List<Employee>> getAllEmployees() {
+        return allEmployeesFlight.execute(
+                ALL_EMPLOYEES_KEY, () -> call(retryPolicies.getAllEmployees(), delegate::getAllEmployees));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Unlike the Feign client, this returns the service's 304 Not Modified as a response without a body.
+     */
+    @Override
+    public ResponseEntity<EmployeeResponse<List<Employee>>> getAllEmployeesIfChanged(String eTag) {
+        return allEmployeesIfChangedFlight.execute(
+                eTag == null ? ALL_EMPLOYEES_KEY : eTag,
+                () -> call(retryPolicies.getAllEmployees(), () -> notModifiedAsResponse(eTag)));
+    }
+
+    @Override
+    public EmployeeResponse<EmployeeChanges> getChangesSince(long since) {
+        return call(retryPolicies.getChangesSince(), () -> delegate.getChangesSince(since));
+    }
+
+    @Override
+    public EmployeeResponse<List<Employee>> findEmployees(String nameContains, String sort, Integer limit) {
+        return call(retryPolicies.findEmployees(), () -> delegate.findEmployees(nameContains, sort, limit));
+    }
+
+    @Override
+    public EmployeeResponse<Employee> getEmployeeById(String id) {
+        return employeeByIdFlight.execute(
+                id, () -> call(retryPolicies.getEmployeeById(), () -> delegate.getEmployeeById(id)));
+    }
+
+    @Override
+    public EmployeeResponse<Employee> createEmployee(CreateRequest createRequest) {
+        return call(retryPolicies.createEmployee(), () -> delegate.createEmployee(createRequest));
+    }
+
+    @Override
+    public EmployeeResponse<Boolean> deleteEmployeeByName(DeleteRequest deleteRequest) {
+        return call(retryPolicies.deleteEmployeeByName(), () -> delegate.deleteEmployeeByName(deleteRequest));
+    }
+
+    private ResponseEntity<EmployeeResponse<List<Employee>>> notModifiedAsResponse(String eTag) {
+        try {
+            return delegate.getAllEmployeesIfChanged(eTag);
+        } catch (FeignException e) {
+            if (e.status() != HttpStatus.NOT_MODIFIED.value()) {
+                throw e;
+            }
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+    }
+
+    private <T> T call(RetryPolicy retryPolicy, Supplier<T> call) {
+        CircuitBreaker.Permit permit = circuitBreaker.acquirePermission();
+        try {
+            T result = retrier.execute(retryPolicy, () -> rateLimited(call));
+            circuitBreaker.onSuccess(permit);
+            return result;
+        } catch (FeignException e) {
+            recordOutcome(permit, e);
+            if (e.status() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                // Surface the service's rate limit to our own callers instead of failing with a generic error
+                Duration retryAfter = rateLimiter.estimatedWait();
+                long retryAfterSeconds = UpstreamRateLimitedException.toRetryAfterSeconds(retryAfter);
+                throw new UpstreamRateLimitedException(
+                        String.format(ErrorMessages.UPSTREAM_RATE_LIMITED, retryAfterSeconds), retryAfter, e);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            // Rejected locally, so the call tells nothing about the health of the service
+            circuitBreaker.onIgnored(permit);
+            throw e;
+        }
+    }
+
+    private void recordOutcome(CircuitBreaker.Permit permit, FeignException e) {
+        int status = e.status();
+        if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            circuitBreaker.onFailure(permit, RetryAfterHeader.parse(e));
+        } else if (status < 0 || status >= 500) {
+            // Connection failures and timeouts carry no status
+            circuitBreaker.onFailure(permit, null);
+        } else {
+            circuitBreaker.onSuccess(permit);
+        }
+    }
+
+    private <T> T rateLimited(Supplier<T> call) {
+        rateLimiter.acquire();
+        try {
+            T result = call.get();
+            rateLimiter.onAccepted();
+            return result;
+        } catch (FeignException e) {
+            if (e.status() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                rateLimiter.onThrottled(RetryAfterHeader.parse(e));
+            } else if (e.status() > 0) {
+                // Any other response still counts against the service's request limit
+                rateLimiter.onAccepted();
+            }
+            throw e;
+        }
+    }
+
+    private void bindResilienceMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("employee.client.rate.limit.permits", rateLimiter, AdaptiveRateLimiter::getPermitsPerSecond)
+                .description("Current pace, in calls per second, allowed towards the employee service")
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.client.retries", retrier, Retrier::getRetryCount)
+                .description("Retried calls to the employee service")
+                .tag("result", "retried")
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.client.retries", retrier, Retrier::getBudgetExhaustedCount)
+                .description("Retries skipped because the retry budget was exhausted")
+                .tag("result", "budget_exhausted")
+                .register(meterRegistry);
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("employee.client.circuit.breaker.state", circuitBreaker, b -> b.getState() == state ? 1 : 0)
+                    .description("Whether the circuit breaker around the employee service is in the given state")
+                    .tag("state", state.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        FunctionCounter.builder(
+                        "employee.client.circuit.breaker.rejected", circuitBreaker, CircuitBreaker::getRejectedCount)
+                .description("Calls rejected without reaching the employee service because the breaker was open")
+                .register(meterRegistry);
+    }
+
+    private static void bindSingleFlightMetrics(MeterRegistry meterRegistry, String method, SingleFlight<?, ?> flight) {
+        FunctionCounter.builder("employee.client.single.flight.calls", flight, SingleFlight::getExecutedCount)
+                .description("Upstream calls executed by the single-flight layer")
+                .tag("method", method)
+                .tag("result", "executed")
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.client.single.flight.calls", flight, SingleFlight::getCoalescedCount)
+                .description("Calls that joined an identical upstream call already in flight")
+                .tag("method", method)
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("employee.client.single.flight.in.flight", flight, SingleFlight::getInFlightCount)
+                .description("Distinct upstream calls currently in flight")
+                .tag("method", method)
+                .register(meterRegistry);
+    }
+}
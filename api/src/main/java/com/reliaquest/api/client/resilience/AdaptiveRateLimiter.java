@@ -0,0 +1,223 @@
+package com.reliaquest.api.client.resilience;
+
+import com.reliaquest.api.constants.ErrorMessages;
+import com.reliaquest.api.exception.custom.UpstreamRateLimitedException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side limiter that learns how much traffic the external employee service accepts and paces calls to stay
+ * under it.
+ *
+ * <p>Two mechanisms work together:
+ * <ul>
+ *   <li>AIMD pacing: permits are spaced at the current rate, which grows additively on every accepted call and is cut
+ *   multiplicatively on every 429.</li>
+ *   <li>A learned window budget: the number of calls accepted between two 429s is remembered together with how long
+ *   the service stayed closed afterwards. Once a window's budget is spent, the next permit is held back until that
+ *   cooldown has passed, so the service's backoff is not tripped again.</li>
+ * </ul>
+ *
+ * <p>Callers queue by reserving the next free slot and sleeping until it arrives. A caller whose slot lies beyond the
+ * maximum wait is rejected immediately with an {@link UpstreamRateLimitedException}.
+ */
+public class AdaptiveRateLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double minRate;
+    private final double maxRate;
+    private final double increasePerSuccess;
+    private final double decreaseFactor;
+    private final long probeBackoffNanos;
+    private final long maxProbeBackoffNanos;
+    private final long maxWaitNanos;
+    private final long originNanos = System.nanoTime();
+
+    // All timestamps below are relative to originNanos, so they start at zero and never overflow
+    private double permitsPerSecond;
+    private long nextPermitNanos;
+    private long blockedUntilNanos;
+
+    private int learnedBudget = Integer.MAX_VALUE;
+    private long learnedCooldownNanos;
+    private int windowGrants;
+    private int windowSuccesses;
+    private long lastGrantNanos;
+    private long lastSuccessNanos;
+    private boolean hasSucceeded;
+    private int consecutiveThrottles;
+
+    /**
+     * @param minRate the lowest rate, in permits per second, that pacing may fall to
+     * @param maxRate the starting and highest rate, in permits per second
+     * @param increasePerSuccess how much the rate grows after every accepted call
+     * @param decreaseFactor the factor, between 0 and 1, the rate is multiplied by after every 429
+     * @param probeBackoff how long to hold calls back after a 429 that carries no Retry-After, doubled on every
+     *     consecutive 429
+     * @param maxProbeBackoff upper bound of the doubled probe backoff
+     * @param maxWait how long a caller may queue for a permit before being rejected
+     */
+    public AdaptiveRateLimiter(
+            double minRate,
+            double maxRate,
+            double increasePerSuccess,
+            double decreaseFactor,
+            Duration probeBackoff,
+            Duration maxProbeBackoff,
+            Duration maxWait) {
+        if (minRate <= 0 || maxRate < minRate) {
+            throw new IllegalArgumentException("Rates must be positive and the maximum must not be below the minimum");
+        }
+        if (decreaseFactor <= 0 || decreaseFactor >= 1) {
+            throw new IllegalArgumentException("Decrease factor must be between 0 and 1");
+        }
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.increasePerSuccess = increasePerSuccess;
+        this.decreaseFactor = decreaseFactor;
+        this.probeBackoffNanos = probeBackoff.toNanos();
+        this.maxProbeBackoffNanos = maxProbeBackoff.toNanos();
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permitsPerSecond = maxRate;
+    }
+
+    /**
+     * Waits for a permit to call the external service.
+     *
+     * @throws UpstreamRateLimitedException if no permit becomes available within the maximum wait
+     */
+    public void acquire() {
+        long waitNanos = reserve(elapsedNanos(), maxWaitNanos);
+        if (waitNanos < 0) {
+            throw rejected();
+        }
+        if (waitNanos == 0) {
+            return;
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw rejected();
+        }
+    }
+
+    /**
+     * Records that the service answered a call with anything other than 429.
+     */
+    public void onAccepted() {
+        onAccepted(elapsedNanos());
+    }
+
+    /**
+     * Records that the service rejected a call with 429.
+     *
+     * @param retryAfter how long the service asked the client to wait, or null if it did not say
+     */
+    public void onThrottled(Duration retryAfter) {
+        onThrottled(elapsedNanos(), retryAfter);
+    }
+
+    /**
+     * @return how long a caller arriving now would have to wait for a permit
+     */
+    public Duration estimatedWait() {
+        long nowNanos = elapsedNanos();
+        synchronized (this) {
+            return Duration.ofNanos(Math.max(0, nextAvailableNanos() - nowNanos));
+        }
+    }
+
+    public synchronized double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    /**
+     * @return the number of calls the service is known to accept per window, or {@link Integer#MAX_VALUE} before the
+     *     first 429 has been observed
+     */
+    public synchronized int getLearnedBudget() {
+        return learnedBudget;
+    }
+
+    /**
+     * Reserves the next permit slot.
+     *
+     * @return how long the caller must wait for its slot, or -1 if that would exceed the maximum wait
+     */
+    synchronized long reserve(long nowNanos, long maxWaitNanos) {
+        boolean budgetSpent = windowGrants >= learnedBudget;
+        long grantAt = Math.max(nowNanos, nextAvailableNanos());
+        long waitNanos = grantAt - nowNanos;
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+
+        if (budgetSpent) {
+            windowGrants = 0;
+        }
+        windowGrants++;
+        lastGrantNanos = grantAt;
+        nextPermitNanos = grantAt + intervalNanos();
+        return waitNanos;
+    }
+
+    synchronized void onAccepted(long nowNanos) {
+        if (consecutiveThrottles > 0 && hasSucceeded) {
+            // First accepted call after a rejection: the service was closed from the last success until now
+            learnedCooldownNanos = nowNanos - lastSuccessNanos;
+        }
+        consecutiveThrottles = 0;
+        windowSuccesses++;
+        hasSucceeded = true;
+        lastSuccessNanos = nowNanos;
+        permitsPerSecond = Math.min(maxRate, permitsPerSecond + increasePerSuccess);
+    }
+
+    synchronized void onThrottled(long nowNanos, Duration retryAfter) {
+        if (windowSuccesses > 0) {
+            learnedBudget = windowSuccesses;
+        }
+        windowSuccesses = 0;
+        windowGrants = 0;
+        permitsPerSecond = Math.max(minRate, permitsPerSecond * decreaseFactor);
+
+        long cooldownNanos;
+        if (retryAfter != null) {
+            cooldownNanos = retryAfter.toNanos();
+            if (hasSucceeded) {
+                learnedCooldownNanos = nowNanos + cooldownNanos - lastSuccessNanos;
+            }
+        } else {
+            cooldownNanos = Math.min(maxProbeBackoffNanos, probeBackoffNanos << Math.min(consecutiveThrottles, 30));
+        }
+        consecutiveThrottles++;
+        blockedUntilNanos = Math.max(blockedUntilNanos, nowNanos + cooldownNanos);
+    }
+
+    private long nextAvailableNanos() {
+        long availableAt = Math.max(nextPermitNanos, blockedUntilNanos);
+        if (windowGrants >= learnedBudget) {
+            // The service stays closed for its cooldown after the last call of a spent window
+            availableAt = Math.max(availableAt, lastGrantNanos + learnedCooldownNanos);
+        }
+        return availableAt;
+    }
+
+    private long elapsedNanos() {
+        return System.nanoTime() - originNanos;
+    }
+
+    private long intervalNanos() {
+        return (long) (NANOS_PER_SECOND / permitsPerSecond);
+    }
+
+    private UpstreamRateLimitedException rejected() {
+        Duration retryAfter = estimatedWait();
+        long retryAfterSeconds = UpstreamRateLimitedException.toRetryAfterSeconds(retryAfter);
+        return new UpstreamRateLimitedException(
+                String.format(ErrorMessages.UPSTREAM_RATE_LIMITED, retryAfterSeconds), retryAfter);
+    }
+}
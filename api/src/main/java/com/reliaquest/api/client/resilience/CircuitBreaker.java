@@ -0,0 +1,179 @@
+package com.reliaquest.api.client.resilience;
+
+import com.reliaquest.api.constants.ErrorMessages;
+import com.reliaquest.api.exception.custom.UpstreamUnavailableException;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stops calling the external employee service while it is known to be failing.
+ *
+ * <p>The breaker opens after a number of consecutive failures, or immediately when the service says how long it will
+ * stay unavailable through Retry-After. While open, calls are rejected without touching the network. Once the open
+ * period has passed, the breaker lets a single probe call through; its outcome decides whether the breaker closes
+ * again or reopens. Other callers keep being rejected while the probe is in flight.
+ *
+ * <p>Each permission is a {@link Permit} of the generation of the breaker it was given in, which moves on with every
+ * change of state. An outcome only counts for the generation of its permit, so a call that started before the breaker
+ * opened and ends after does not count again, and only the probe's own outcome closes or reopens a half-open breaker.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Permission for one call, to be passed back with its outcome.
+     *
+     * @param generation the generation of the breaker the permission was given in
+     * @param probe whether the call is the probe of a half-open breaker
+     */
+    public record Permit(long generation, boolean probe) {}
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final long originNanos = System.nanoTime();
+
+    private final LongAdder rejected = new LongAdder();
+
+    // Timestamps below are relative to originNanos
+    private State state = State.CLOSED;
+    private long generation;
+    private int consecutiveFailures;
+    private long openUntilNanos;
+    private boolean probeInFlight;
+
+    /**
+     * @param failureThreshold consecutive failures after which the breaker opens
+     * @param openDuration how long the breaker stays open before letting a probe through, unless the service asked
+     *     for a different delay
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Failure threshold must be at least one");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Asks for permission to call the external service.
+     *
+     * @return the permit to pass back with the outcome of the call
+     * @throws UpstreamUnavailableException if the breaker is open or a half-open probe is already in flight
+     */
+    public Permit acquirePermission() {
+        long nowNanos = elapsedNanos();
+        Permit permit = tryAcquire(nowNanos);
+        if (permit == null) {
+            rejected.increment();
+            Duration retryAfter = remainingOpen(nowNanos);
+            throw new UpstreamUnavailableException(
+                    String.format(
+                            ErrorMessages.UPSTREAM_UNAVAILABLE,
+                            UpstreamUnavailableException.toRetryAfterSeconds(retryAfter)),
+                    retryAfter);
+        }
+        return permit;
+    }
+
+    /**
+     * Records that a permitted call reached a healthy service.
+     *
+     * @param permit the permit the call was given
+     */
+    public synchronized void onSuccess(Permit permit) {
+        if (permit.generation() != generation) {
+            return;
+        }
+        if (permit.probe()) {
+            moveTo(State.CLOSED);
+            probeInFlight = false;
+        }
+        consecutiveFailures = 0;
+    }
+
+    /**
+     * Records that a permitted call failed because the service is unhealthy.
+     *
+     * @param permit the permit the call was given
+     * @param retryAfter how long the service said it will stay unavailable, or null if it did not say
+     */
+    public void onFailure(Permit permit, Duration retryAfter) {
+        onFailure(elapsedNanos(), permit, retryAfter);
+    }
+
+    /**
+     * Records that a permitted call ended without telling anything about the service's health, for example because
+     * it was rejected locally before being sent.
+     *
+     * @param permit the permit the call was given
+     */
+    public synchronized void onIgnored(Permit permit) {
+        if (permit.probe() && permit.generation() == generation) {
+            probeInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return the number of calls rejected without reaching the service
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return the permit, or null if the breaker is open or a half-open probe is already in flight
+     */
+    synchronized Permit tryAcquire(long nowNanos) {
+        switch (state) {
+            case CLOSED:
+                return new Permit(generation, false);
+            case OPEN:
+                if (nowNanos < openUntilNanos) {
+                    return null;
+                }
+                moveTo(State.HALF_OPEN);
+                probeInFlight = true;
+                return new Permit(generation, true);
+            default:
+                if (probeInFlight) {
+                    return null;
+                }
+                probeInFlight = true;
+                return new Permit(generation, true);
+        }
+    }
+
+    synchronized void onFailure(long nowNanos, Permit permit, Duration retryAfter) {
+        if (permit.generation() != generation) {
+            return;
+        }
+        consecutiveFailures++;
+        if (permit.probe() || retryAfter != null || consecutiveFailures >= failureThreshold) {
+            moveTo(State.OPEN);
+            openUntilNanos = nowNanos + (retryAfter != null ? retryAfter.toNanos() : openNanos);
+            probeInFlight = false;
+        }
+    }
+
+    private void moveTo(State newState) {
+        state = newState;
+        generation++;
+    }
+
+    private synchronized Duration remainingOpen(long nowNanos) {
+        return Duration.ofNanos(Math.max(0, openUntilNanos - nowNanos));
+    }
+
+    private long elapsedNanos() {
+        return System.nanoTime() - originNanos;
+    }
+}
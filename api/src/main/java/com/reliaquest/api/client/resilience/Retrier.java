@@ -0,0 +1,89 @@
+package com.reliaquest.api.client.resilience;
+
+import feign.FeignException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes calls to the external employee service under a {@link RetryPolicy}, drawing every retry from a shared
+ * {@link RetryBudget}. A Retry-After sent by the service is honored exactly instead of the exponential backoff.
+ */
+public class Retrier {
+
+    private static final Logger logger = LoggerFactory.getLogger(Retrier.class);
+
+    private final RetryBudget budget;
+
+    private final LongAdder retries = new LongAdder();
+
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    public Retrier(RetryBudget budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Runs the call, retrying failures allowed by the policy while the budget lasts.
+     *
+     * @param policy the retry policy of the call
+     * @param call the call to run
+     * @return the result of the first successful attempt
+     * @throws FeignException the failure of the last attempt when no further retry is allowed
+     */
+    public <T> T execute(RetryPolicy policy, Supplier<T> call) {
+        budget.recordCall();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.get();
+            } catch (FeignException e) {
+                if (attempt >= policy.maxAttempts() || !policy.isRetryable(e)) {
+                    throw e;
+                }
+
+                Duration delay = policy.backoff(attempt, RetryAfterHeader.parse(e));
+                if (delay == null) {
+                    logger.debug("Not retrying: the service asked to wait longer than the retry policy allows.");
+                    throw e;
+                }
+                if (!budget.tryWithdraw()) {
+                    budgetExhausted.increment();
+                    logger.debug("Not retrying: the retry budget is exhausted.");
+                    throw e;
+                }
+
+                retries.increment();
+                logger.debug(
+                        "Retrying after HTTP {} in {} ms (attempt {}).", e.status(), delay.toMillis(), attempt + 1);
+                sleep(delay, e);
+            }
+        }
+    }
+
+    /**
+     * @return the number of retries made
+     */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * @return the number of retries skipped because the budget was exhausted
+     */
+    public long getBudgetExhaustedCount() {
+        return budgetExhausted.sum();
+    }
+
+    private static void sleep(Duration delay, FeignException failure) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(delay.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.reliaquest.api.client.resilience;
+
+import feign.FeignException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Reads the Retry-After header from a failed Feign call.
+ */
+public final class RetryAfterHeader {
+
+    private RetryAfterHeader() {}
+
+    /**
+     * Returns how long the service asked the client to wait before retrying.
+     * Feign turns responses that carry Retry-After into a RetryableException whose cause holds the original response,
+     * so the cause is inspected as well.
+     *
+     * @param exception the failed call
+     * @return the requested delay, or null if the response carried no valid Retry-After header
+     */
+    public static Duration parse(FeignException exception) {
+        Duration retryAfter = parse(exception.responseHeaders());
+        if (retryAfter == null && exception.getCause() instanceof FeignException cause) {
+            retryAfter = parse(cause.responseHeaders());
+        }
+        return retryAfter;
+    }
+
+    static Duration parse(Map<String, Collection<String>> headers) {
+        if (headers == null) {
+            return null;
+        }
+
+        for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            if (HttpHeaders.RETRY_AFTER.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                return parse(header.getValue().iterator().next().trim());
+            }
+        }
+        return null;
+    }
+
+    private static Duration parse(String value) {
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            // Not delay-seconds, so it should be an HTTP-date
+        }
+
+        try {
+            ZonedDateTime retryAt = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration delay = Duration.between(Instant.now(), retryAt.toInstant());
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.reliaquest.api.client.resilience;
+
+/**
+ * Caps retries to a fraction of the traffic sent to the external service.
+ * Every original call deposits {@code ratio} tokens, up to {@code maxTokens}, and every retry withdraws one token.
+ * When the service is failing broadly, the budget runs dry and retries stop adding load to it.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+
+    private final double maxTokens;
+
+    private double tokens;
+
+    /**
+     * @param ratio the fraction of original calls that may be retried
+     * @param maxTokens the number of retries that may be saved up while traffic is healthy
+     */
+    public RetryBudget(double ratio, int maxTokens) {
+        if (ratio < 0 || maxTokens < 0) {
+            throw new IllegalArgumentException("Retry budget ratio and capacity must not be negative");
+        }
+        this.ratio = ratio;
+        this.maxTokens = maxTokens;
+        this.tokens = maxTokens;
+    }
+
+    public synchronized void recordCall() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    /**
+     * @return true if a retry may be made, in which case its token has been withdrawn
+     */
+    public synchronized boolean tryWithdraw() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    public synchronized double getAvailableTokens() {
+        return tokens;
+    }
+}
@@ -0,0 +1,72 @@
+package com.reliaquest.api.client.resilience;
+
+import feign.FeignException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Describes when and how often a call to the external employee service may be retried.
+ *
+ * <p>Idempotent calls are retried on 429, 5xx and I/O failures. Calls that are not idempotent are only retried when
+ * the service provably did not process them: the request was rejected with 429 before reaching the handler, or the
+ * connection could not be established at all.
+ *
+ * @param maxAttempts total attempts including the first one
+ * @param baseBackoff backoff before the first retry; doubled for every further retry
+ * @param maxBackoff upper bound of the exponential backoff
+ * @param maxRetryAfter longest Retry-After the caller is willing to wait for; longer requests fail immediately
+ * @param idempotent whether the call may safely be repeated after the service may have processed it
+ */
+public record RetryPolicy(
+        int maxAttempts, Duration baseBackoff, Duration maxBackoff, Duration maxRetryAfter, boolean idempotent) {
+
+    public RetryPolicy {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("A retry policy needs at least one attempt");
+        }
+    }
+
+    /**
+     * @return a policy that never retries
+     */
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, Duration.ZERO, Duration.ZERO, Duration.ZERO, false);
+    }
+
+    /**
+     * Checks whether the failure may be retried under this policy.
+     *
+     * @param exception the failure of the previous attempt
+     * @return true if another attempt may be made
+     */
+    public boolean isRetryable(FeignException exception) {
+        int status = exception.status();
+        if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return true;
+        }
+        if (status < 0 && exception.getCause() instanceof ConnectException) {
+            return true;
+        }
+        return idempotent && (status < 0 || status >= 500);
+    }
+
+    /**
+     * Computes the delay before the next attempt.
+     *
+     * @param retry the number of the retry about to be made, starting at 1
+     * @param retryAfter the delay requested by the service, or null if it did not ask for one
+     * @return the delay, or null if the service asked for a longer wait than this policy allows
+     */
+    public Duration backoff(int retry, Duration retryAfter) {
+        if (retryAfter != null) {
+            return retryAfter.compareTo(maxRetryAfter) <= 0 ? retryAfter : null;
+        }
+
+        // Full jitter: a random delay up to the exponential bound spreads retries of concurrent callers apart
+        long boundNanos = baseBackoff.toNanos() << Math.min(retry - 1, 30);
+        boundNanos = Math.min(Math.max(boundNanos, 0), maxBackoff.toNanos());
+        return Duration.ofNanos(boundNanos == 0 ? 0 : ThreadLocalRandom.current().nextLong(boundNanos + 1));
+    }
+}
@@ -0,0 +1,61 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.EmployeeClientRetryPolicies;
+import com.reliaquest.api.client.resilience.AdaptiveRateLimiter;
+import com.reliaquest.api.client.resilience.CircuitBreaker;
+import com.reliaquest.api.client.resilience.Retrier;
+import com.reliaquest.api.client.resilience.RetryBudget;
+import com.reliaquest.api.client.resilience.RetryPolicy;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the policies applied around calls to the external employee service.
+ */
+@Configuration
+public class EmployeeClientConfiguration {
+
+    @Bean
+    public AdaptiveRateLimiter employeeRateLimiter(
+            @Value("${employee.client.rate-limit.min-rate:0.1}") double minRate,
+            @Value("${employee.client.rate-limit.max-rate:50}") double maxRate,
+            @Value("${employee.client.rate-limit.increase-per-success:1}") double increasePerSuccess,
+            @Value("${employee.client.rate-limit.decrease-factor:0.5}") double decreaseFactor,
+            @Value("${employee.client.rate-limit.probe-backoff:1s}") Duration probeBackoff,
+            @Value("${employee.client.rate-limit.max-probe-backoff:60s}") Duration maxProbeBackoff,
+            @Value("${employee.client.rate-limit.max-wait:2s}") Duration maxWait) {
+        return new AdaptiveRateLimiter(
+                minRate, maxRate, increasePerSuccess, decreaseFactor, probeBackoff, maxProbeBackoff, maxWait);
+    }
+
+    @Bean
+    public Retrier employeeRetrier(
+            @Value("${employee.client.retry.budget-ratio:0.2}") double budgetRatio,
+            @Value("${employee.client.retry.budget-max-tokens:10}") int budgetMaxTokens) {
+        return new Retrier(new RetryBudget(budgetRatio, budgetMaxTokens));
+    }
+
+    @Bean
+    public EmployeeClientRetryPolicies employeeClientRetryPolicies(
+            @Value("${employee.client.retry.read.max-attempts:3}") int readMaxAttempts,
+            @Value("${employee.client.retry.read.base-backoff:100ms}") Duration readBaseBackoff,
+            @Value("${employee.client.retry.read.max-backoff:2s}") Duration readMaxBackoff,
+            @Value("${employee.client.retry.read.max-retry-after:3s}") Duration readMaxRetryAfter,
+            @Value("${employee.client.retry.write.max-attempts:2}") int writeMaxAttempts,
+            @Value("${employee.client.retry.write.base-backoff:100ms}") Duration writeBaseBackoff,
+            @Value("${employee.client.retry.write.max-backoff:1s}") Duration writeMaxBackoff,
+            @Value("${employee.client.retry.write.max-retry-after:3s}") Duration writeMaxRetryAfter) {
+        return EmployeeClientRetryPolicies.of(
+                new RetryPolicy(readMaxAttempts, readBaseBackoff, readMaxBackoff, readMaxRetryAfter, true),
+                new RetryPolicy(writeMaxAttempts, writeBaseBackoff, writeMaxBackoff, writeMaxRetryAfter, false));
+    }
+
+    @Bean
+    public CircuitBreaker employeeCircuitBreaker(
+            @Value("${employee.client.circuit-breaker.failure-threshold:3}") int failureThreshold,
+            @Value("${employee.client.circuit-breaker.open-duration:10s}") Duration openDuration) {
+        return new CircuitBreaker(failureThreshold, openDuration);
+    }
+}
@@ -0,0 +1,107 @@
+package com.reliaquest.api.config;
+
+import feign.Client;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.function.ToIntFunction;
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the HTTP transport behind the Feign {@code EmployeeClient}. Calls go through a pool of kept-alive
+ * Apache HttpClient 5 connections instead of a new {@code HttpURLConnection} per call, so a burst of calls reuses
+ * connections rather than opening one each. Connect and read timeouts stay on the Feign client configuration, which
+ * applies them to every request.
+ */
+@Configuration
+public class EmployeeHttpClientConfiguration {
+
+    @Bean
+    public PoolingHttpClientConnectionManager employeeConnectionManager(
+            @Value("${employee.client.http.max-connections:50}") int maxConnections,
+            @Value("${employee.client.http.max-connections-per-route:50}") int maxConnectionsPerRoute,
+            @Value("${employee.client.http.validate-after-inactivity:2s}") Duration validateAfterInactivity,
+            @Value("${employee.client.http.time-to-live:10m}") Duration timeToLive,
+            MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setValidateAfterInactivity(toTimeValue(validateAfterInactivity))
+                        .setTimeToLive(toTimeValue(timeToLive))
+                        .build())
+                .build();
+        bindPoolMetrics(meterRegistry, connectionManager);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient employeeHttpClient(
+            PoolingHttpClientConnectionManager employeeConnectionManager,
+            @Value("${employee.client.http.keep-alive:30s}") Duration keepAlive,
+            @Value("${employee.client.http.max-idle-time:1m}") Duration maxIdleTime) {
+        return HttpClients.custom()
+                .setConnectionManager(employeeConnectionManager)
+                .setKeepAliveStrategy(keepAliveStrategy(toTimeValue(keepAlive)))
+                .evictIdleConnections(toTimeValue(maxIdleTime))
+                .evictExpiredConnections()
+                // Failed calls are retried by ResilientEmployeeClient, within its retry budget
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    @Bean
+    public Client feignClient(CloseableHttpClient employeeHttpClient) {
+        return new ApacheHttp5Client(employeeHttpClient);
+    }
+
+    /**
+     * @return a strategy keeping connections alive for as long as the server allows, but no longer than the given
+     *     duration
+     */
+    static ConnectionKeepAliveStrategy keepAliveStrategy(TimeValue keepAlive) {
+        return (response, context) -> {
+            TimeValue offered = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return TimeValue.isPositive(offered) && offered.compareTo(keepAlive) < 0 ? offered : keepAlive;
+        };
+    }
+
+    static void bindPoolMetrics(MeterRegistry meterRegistry, PoolingHttpClientConnectionManager connectionManager) {
+        bindPoolGauge(meterRegistry, connectionManager, "leased", PoolStats::getLeased);
+        bindPoolGauge(meterRegistry, connectionManager, "idle", PoolStats::getAvailable);
+        bindPoolGauge(meterRegistry, connectionManager, "pending", PoolStats::getPending);
+        Gauge.builder(
+                        "employee.client.connections.max",
+                        connectionManager,
+                        PoolingHttpClientConnectionManager::getMaxTotal)
+                .description("Largest number of connections kept to the employee service")
+                .register(meterRegistry);
+    }
+
+    private static void bindPoolGauge(
+            MeterRegistry meterRegistry,
+            PoolingHttpClientConnectionManager connectionManager,
+            String state,
+            ToIntFunction<PoolStats> statistic) {
+        Gauge.builder("employee.client.connections", connectionManager, m -> statistic.applyAsInt(m.getTotalStats()))
+                .description("Connections to the employee service that are leased, idle, or being waited for")
+                .tag("state", state)
+                .register(meterRegistry);
+    }
+
+    private static TimeValue toTimeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
+}
@@ -11,7 +11,17 @@ public class ErrorMessages {
             "Failed to create employee due to an internal server error (HTTP %d)";
     public static final String NO_EMPLOYEES_TO_CALCULATE_HIGHEST_SALARY =
             "No employees found to calculate the highest salary.";
+    public static final String NO_EMPLOYEES_TO_CALCULATE_LOWEST_SALARY =
+            "No employees found to calculate the lowest salary.";
+    public static final String NO_EMPLOYEES_TO_CALCULATE_SALARY_STATISTICS =
+            "No employees found to calculate salary statistics.";
+    public static final String NO_EMPLOYEES_IN_SALARY_RANGE = "No employees found with a salary between %d and %d";
     public static final String NO_EMPLOYEES_TO_FETCH_TOP_EARNERS =
-            "No employees found to fetch top 10 highest earning employee names.";
+            "No employees found to fetch the highest earning employee names.";
+    public static final String INVALID_TOP_EARNERS_COUNT = "Number of top earners must be between 1 and %d";
     public static final String EMPLOYEE_ALREADY_DELETED = "Employee with ID %s already deleted";
+    public static final String UPSTREAM_RATE_LIMITED =
+            "Employee service is rate limiting requests. Retry after %d seconds";
+    public static final String UPSTREAM_UNAVAILABLE =
+            "Employee service is currently unavailable. Retry after %d seconds";
 }
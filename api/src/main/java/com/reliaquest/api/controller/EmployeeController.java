@@ -1,6 +1,7 @@
 package com.reliaquest.api.controller;
 
 import com.reliaquest.api.dto.CreateRequest;
+import com.reliaquest.api.dto.SalaryRank;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.interfaces.EmployeeService;
 import jakarta.validation.Valid;
@@ -108,6 +109,96 @@ public class EmployeeController implements IEmployeeController<Employee, CreateR
         return ResponseEntity.ok(highestSalary.get()); // 200 OK with the highest salary
     }
 
+    /**
+     * Handles the request to fetch the lowest salary of all employees.
+     *
+     * @return a ResponseEntity containing the lowest salary or 404 if no employees exist
+     */
+    @GetMapping("/lowestSalary")
+    public ResponseEntity<Integer> getLowestSalaryOfEmployees() {
+        logger.info("Received request to fetch the lowest salary of employees.");
+
+        // Fetch the lowest salary from service
+        Optional<Integer> lowestSalary = employeeService.getLowestSalaryOfEmployees();
+
+        if (lowestSalary.isEmpty()) {
+            logger.warn("No employees found. Unable to calculate the lowest salary.");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null); // 404 Not Found
+        }
+
+        logger.info("Successfully fetched the lowest salary: {}", lowestSalary.get());
+        return ResponseEntity.ok(lowestSalary.get()); // 200 OK with the lowest salary
+    }
+
+    /**
+     * Handles the request to fetch the employees whose salary lies within the given bounds.
+     *
+     * @param min the lowest salary to include
+     * @param max the highest salary to include
+     * @return a ResponseEntity containing the matching employees, lowest salary first
+     */
+    @GetMapping("/salaryRange")
+    public ResponseEntity<List<Employee>> getEmployeesBySalaryRange(@RequestParam int min, @RequestParam int max) {
+        logger.info("Received request to fetch employees with a salary between {} and {}", min, max);
+
+        // Check for an empty range
+        if (min > max) {
+            logger.warn("Invalid salary range received: {} to {}", min, max);
+            return ResponseEntity.badRequest().build(); // 400 Bad Request for invalid salary range
+        }
+
+        // Fetch employees using the service
+        List<Employee> employees = employeeService.getEmployeesBySalaryRange(min, max);
+
+        logger.info("Found {} employees with a salary between {} and {}", employees.size(), min, max);
+        return ResponseEntity.ok(employees); // 200 OK with the list of employees
+    }
+
+    /**
+     * Handles the request to fetch the salary at a given percentile.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return a ResponseEntity containing the salary at the percentile
+     */
+    @GetMapping("/salaryPercentile")
+    public ResponseEntity<Integer> getSalaryAtPercentile(@RequestParam double percentile) {
+        logger.info("Received request to fetch the salary at percentile {}", percentile);
+
+        // Check for a percentile out of range
+        if (!(percentile >= 0 && percentile <= 100)) {
+            logger.warn("Invalid percentile received: {}", percentile);
+            return ResponseEntity.badRequest().build(); // 400 Bad Request for invalid percentile
+        }
+
+        // Fetch the salary at the percentile from service
+        Optional<Integer> salary = employeeService.getSalaryAtPercentile(percentile);
+
+        if (salary.isEmpty()) {
+            logger.warn("No employees found. Unable to calculate the salary at percentile {}", percentile);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null); // 404 Not Found
+        }
+
+        logger.info("Successfully fetched the salary at percentile {}: {}", percentile, salary.get());
+        return ResponseEntity.ok(salary.get()); // 200 OK with the salary
+    }
+
+    /**
+     * Handles the request to rank a salary among the salaries of all employees.
+     *
+     * @param salary the salary to rank
+     * @return a ResponseEntity containing how many employees earn less and the resulting percentile
+     */
+    @GetMapping("/salaryRank")
+    public ResponseEntity<SalaryRank> getSalaryRank(@RequestParam int salary) {
+        logger.info("Received request to rank the salary {}", salary);
+
+        // Fetch the rank of the salary from service
+        SalaryRank salaryRank = employeeService.getSalaryRank(salary);
+
+        logger.info("Salary {} ranks above {} employees.", salary, salaryRank.getEmployeesBelow());
+        return ResponseEntity.ok(salaryRank); // 200 OK with the salary rank
+    }
+
     /**
      * Handles the request to fetch the top 10 highest earning employee names.
      *
@@ -130,6 +221,29 @@ public class EmployeeController implements IEmployeeController<Employee, CreateR
         return ResponseEntity.ok(employeeNames); // 200 OK with the list of employee names
     }
 
+    /**
+     * Handles the request to fetch a given number of the highest earning employee names, selected when the
+     * {@code count} query parameter is present.
+     *
+     * @param count how many names to return, up to the configured maximum
+     * @return a ResponseEntity containing a list of the highest earning employee names
+     */
+    @GetMapping(value = "/topTenHighestEarningEmployeeNames", params = "count")
+    public ResponseEntity<List<String>> getTopHighestEarningEmployeeNames(@RequestParam int count) {
+        logger.info("Received request to fetch top {} highest earning employee names.", count);
+
+        // Fetch the requested number of highest earning employee names from service
+        List<String> employeeNames = employeeService.getTopHighestEarningEmployeeNames(count);
+
+        if (employeeNames.isEmpty()) {
+            logger.info("No top earning employees found.");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null); // 404 Not Found
+        }
+
+        logger.info("Successfully fetched top {} highest earning employee names.", employeeNames.size());
+        return ResponseEntity.ok(employeeNames); // 200 OK with the list of employee names
+    }
+
     /**
      * Handles the request to create a new employee.
      *
@@ -0,0 +1,46 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.cache.StaleSnapshotMarker;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Flags responses served from the last-known-good employee snapshot while the external service is unavailable.
+ * The {@code Age} header tells how many seconds ago the data was fetched, and a {@code Warning} header marks the
+ * response as stale.
+ */
+@RestControllerAdvice
+public class StaleResponseHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        Instant staleSince = StaleSnapshotMarker.staleSince();
+        if (staleSince != null) {
+            long ageSeconds = Math.max(0, Duration.between(staleSince, Instant.now()).toSeconds());
+            response.getHeaders().set(HttpHeaders.AGE, String.valueOf(ageSeconds));
+            response.getHeaders().set(HttpHeaders.WARNING, STALE_WARNING);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,21 @@
+package com.reliaquest.api.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class SalaryRank {
+
+    private int salary;
+    private int employeesBelow;
+    private int totalEmployees;
+    private double percentile;
+
+    public SalaryRank(int salary, int employeesBelow, int totalEmployees, double percentile) {
+        this.salary = salary;
+        this.employeesBelow = employeesBelow;
+        this.totalEmployees = totalEmployees;
+        this.percentile = percentile;
+    }
+}
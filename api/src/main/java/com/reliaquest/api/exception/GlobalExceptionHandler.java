@@ -4,8 +4,12 @@ import com.reliaquest.api.dto.ErrorResponse;
 import com.reliaquest.api.exception.custom.EmployeeAlreadyDeletedException;
 import com.reliaquest.api.exception.custom.EmployeeCreationException;
 import com.reliaquest.api.exception.custom.EmployeeNotFoundException;
+import com.reliaquest.api.exception.custom.InvalidTopEarnersCountException;
+import com.reliaquest.api.exception.custom.UpstreamRateLimitedException;
+import com.reliaquest.api.exception.custom.UpstreamUnavailableException;
 import java.util.HashMap;
 import java.util.Map;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -37,6 +41,31 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
+    @ExceptionHandler(InvalidTopEarnersCountException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidTopEarnersCountException(InvalidTopEarnersCountException ex) {
+        // Custom error response for InvalidTopEarnersCountException
+        ErrorResponse errorResponse = new ErrorResponse("Bad Request", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler(UpstreamRateLimitedException.class)
+    public ResponseEntity<ErrorResponse> handleUpstreamRateLimitedException(UpstreamRateLimitedException ex) {
+        // Custom error response for UpstreamRateLimitedException, telling the caller when to retry
+        ErrorResponse errorResponse = new ErrorResponse("Too Many Requests", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleUpstreamUnavailableException(UpstreamUnavailableException ex) {
+        // Custom error response for UpstreamUnavailableException, raised while the circuit breaker is open
+        ErrorResponse errorResponse = new ErrorResponse("Service Unavailable", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         // Handle generic exceptions
@@ -4,4 +4,19 @@ public class EmployeeNotFoundException extends RuntimeException {
     public EmployeeNotFoundException(String message) {
         super(message);
     }
+
+    private EmployeeNotFoundException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * Creates the exception without capturing a stack trace. Used on lookup paths where a missing employee is an
+     * expected answer, so that floods of unknown ids do not pay for stack walking.
+     *
+     * @param message the detail message
+     * @return the exception
+     */
+    public static EmployeeNotFoundException withoutStackTrace(String message) {
+        return new EmployeeNotFoundException(message, false);
+    }
 }
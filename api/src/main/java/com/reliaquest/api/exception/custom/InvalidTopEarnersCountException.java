@@ -0,0 +1,8 @@
+package com.reliaquest.api.exception.custom;
+
+public class InvalidTopEarnersCountException extends RuntimeException {
+
+    public InvalidTopEarnersCountException(String message) {
+        super(message);
+    }
+}
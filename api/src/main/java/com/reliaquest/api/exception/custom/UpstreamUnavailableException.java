@@ -0,0 +1,32 @@
+package com.reliaquest.api.exception.custom;
+
+import java.time.Duration;
+
+public class UpstreamUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public UpstreamUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * @return the retry delay rounded up to whole seconds, as used by the Retry-After header
+     */
+    public long getRetryAfterSeconds() {
+        return toRetryAfterSeconds(retryAfter);
+    }
+
+    /**
+     * @param retryAfter a retry delay
+     * @return the delay rounded up to whole seconds, and at least one second
+     */
+    public static long toRetryAfterSeconds(Duration retryAfter) {
+        return UpstreamRateLimitedException.toRetryAfterSeconds(retryAfter);
+    }
+}
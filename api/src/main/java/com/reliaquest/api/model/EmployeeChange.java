@@ -0,0 +1,29 @@
+package com.reliaquest.api.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A create or delete recorded by the external service, with the version of the employee list it produced.
+ */
+@Setter
+@Getter
+public class EmployeeChange {
+
+    private long version;
+    private Type type;
+    private Employee employee;
+
+    public EmployeeChange() {}
+
+    public EmployeeChange(long version, Type type, Employee employee) {
+        this.version = version;
+        this.type = type;
+        this.employee = employee;
+    }
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
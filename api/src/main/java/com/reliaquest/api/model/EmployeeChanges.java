@@ -0,0 +1,26 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Changes of the employee list after a given version, up to its current version. When the external service no longer
+ * holds all of them, {@code resyncRequired} is set and the full list has to be fetched instead.
+ */
+@Setter
+@Getter
+public class EmployeeChanges {
+
+    private long version;
+    private boolean resyncRequired;
+    private List<EmployeeChange> changes;
+
+    public EmployeeChanges() {}
+
+    public EmployeeChanges(long version, boolean resyncRequired, List<EmployeeChange> changes) {
+        this.version = version;
+        this.resyncRequired = resyncRequired;
+        this.changes = changes;
+    }
+}
@@ -1,21 +1,29 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.cache.EmployeeKey;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.cache.NameSearchMode;
+import com.reliaquest.api.cache.NegativeLookupCache;
 import com.reliaquest.api.client.EmployeeClient;
 import com.reliaquest.api.constants.ErrorMessages;
 import com.reliaquest.api.dto.CreateRequest;
 import com.reliaquest.api.dto.DeleteRequest;
+import com.reliaquest.api.dto.SalaryRank;
 import com.reliaquest.api.exception.custom.EmployeeAlreadyDeletedException;
 import com.reliaquest.api.exception.custom.EmployeeCreationException;
 import com.reliaquest.api.exception.custom.EmployeeNotFoundException;
+import com.reliaquest.api.exception.custom.InvalidTopEarnersCountException;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeResponse;
 import com.reliaquest.api.service.interfaces.EmployeeService;
 import feign.FeignException;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
@@ -26,46 +34,79 @@ import org.springframework.stereotype.Service;
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
 
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeServiceImpl.class);
+
+    private static final int TOP_TEN = 10;
+
+    private static final String SALARY_DESCENDING = "salary:desc";
+
     private final EmployeeClient employeeClient;
 
+    private final EmployeeSnapshotCache snapshotCache;
+
+    private final NegativeLookupCache negativeLookupCache;
+
+    private final NameSearchMode nameSearchMode;
+
+    private final int maxTopEarnersCount;
+
     /**
-     * Constructor to inject the EmployeeClient dependency.
+     * Constructor to inject the EmployeeClient, EmployeeSnapshotCache and NegativeLookupCache dependencies.
      *
      * @param employeeClient the EmployeeClient used to interact with the external service
+     * @param snapshotCache the cache holding the latest snapshot of all employees
+     * @param negativeLookupCache the cache of employee ids recently reported as missing
+     * @param nameSearchMode how employee names are compared with search strings
+     * @param maxTopEarnersCount the largest number of top earners that can be requested
      */
     @Autowired
-    public EmployeeServiceImpl(EmployeeClient employeeClient) {
+    public EmployeeServiceImpl(
+            EmployeeClient employeeClient,
+            EmployeeSnapshotCache snapshotCache,
+            NegativeLookupCache negativeLookupCache,
+            @Value("${employee.search.mode:exact}") NameSearchMode nameSearchMode,
+            @Value("${employee.top-earners.max-count:100}") int maxTopEarnersCount) {
+        if (maxTopEarnersCount < TOP_TEN) {
+            throw new IllegalArgumentException("Maximum top earners count must be at least " + TOP_TEN);
+        }
         this.employeeClient = employeeClient;
+        this.snapshotCache = snapshotCache;
+        this.negativeLookupCache = negativeLookupCache;
+        this.nameSearchMode = nameSearchMode;
+        this.maxTopEarnersCount = maxTopEarnersCount;
     }
 
     /**
-     * Fetches all employees from the external service.
+     * Fetches all employees from the cached snapshot, loading it from the external service when needed.
      *
      * @return a list of all employees
      * @throws EmployeeNotFoundException if no employees are found
      */
-    // @Cacheable(value = "allEmployeesCache")
     public List<Employee> getEmployees() {
-        EmployeeResponse<List<Employee>> response = employeeClient.getAllEmployees();
+        List<Employee> employees = snapshotCache.get().getEmployees();
 
-        if (response == null || response.getData() == null || response.getData().isEmpty()) {
+        if (employees.isEmpty()) {
             throw new EmployeeNotFoundException(ErrorMessages.NO_EMPLOYEES_FOUND);
         }
 
-        return response.getData();
+        return employees;
     }
 
     /**
-     * Fetches employees that match the search string based on their name.
+     * Fetches employees that match the search string based on their name, using the trigram index of the cached
+     * snapshot. While the cache holds no fresh snapshot, the search is sent to the external service instead, so that
+     * only the matches are transferred, and the snapshot is loaded in the background.
      *
      * @param searchString the name search criteria
      * @return a list of employees whose names match the search string
      * @throws EmployeeNotFoundException if no matching employees are found
      */
     public List<Employee> getEmployeesByNameSearch(String searchString) {
-        List<Employee> matchingEmployees = getEmployees().stream()
-                .filter(employee -> employee.getEmployee_name().contains(searchString))
-                .collect(Collectors.toList());
+        List<Employee> matchingEmployees =
+                snapshotCache.getIfFresh() == null ? searchByNameRemotely(searchString) : null;
+        if (matchingEmployees == null) {
+            matchingEmployees = snapshotCache.get().searchByName(searchString, nameSearchMode);
+        }
 
         if (matchingEmployees.isEmpty()) {
             throw new EmployeeNotFoundException(ErrorMessages.NO_EMPLOYEES_FOR_SEARCH + searchString);
@@ -75,24 +116,39 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     /**
-     * Fetches an employee by their ID.
+     * Fetches an employee by their ID. The employee is looked up in the cached snapshot first, and only fetched from
+     * the external service if the snapshot does not hold it. Ids that are not UUIDs, or that the external service
+     * recently reported as missing, are rejected without a remote call.
      *
      * @param id the employee ID
      * @return the employee with the given ID
      * @throws EmployeeNotFoundException if no employee with the given ID is found
      */
     public Employee getEmployeeById(String id) {
+        EmployeeSnapshot snapshot = snapshotCache.get();
+        Optional<Employee> cachedEmployee = snapshot.findById(id);
+        if (cachedEmployee.isPresent()) {
+            return cachedEmployee.get();
+        }
+
+        EmployeeKey key = EmployeeKey.parse(id);
+        if (key == null || negativeLookupCache.isKnownMissing(key, snapshot.getVersion())) {
+            throw employeeNotFound(id);
+        }
+
         try {
             EmployeeResponse<Employee> response = employeeClient.getEmployeeById(id);
 
             if (response == null || response.getData() == null) {
-                throw new EmployeeNotFoundException(String.format(ErrorMessages.EMPLOYEE_NOT_FOUND, id));
+                negativeLookupCache.recordMissing(key, snapshot.getVersion());
+                throw employeeNotFound(id);
             }
 
             return response.getData();
 
         } catch (FeignException.NotFound e) {
-            throw new EmployeeNotFoundException(String.format(ErrorMessages.EMPLOYEE_NOT_FOUND, id));
+            negativeLookupCache.recordMissing(key, snapshot.getVersion());
+            throw employeeNotFound(id);
 
         } catch (FeignException e) {
             throw new RuntimeException("Error while fetching employee details", e);
@@ -100,19 +156,136 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     /**
-     * Fetches the highest salary among the employees.
+     * Asks the external service for the employees whose names contain the search string ignoring case, and keeps those
+     * that match it in the configured mode.
+     *
+     * @return the matching employees, or null if the configured mode cannot be answered by the external service or
+     *     the call failed
+     */
+    private List<Employee> searchByNameRemotely(String searchString) {
+        if (!nameSearchMode.isCoveredByIgnoringCase()) {
+            return null;
+        }
+
+        List<Employee> candidates = findRemotely(searchString, null, null);
+        if (candidates == null) {
+            return null;
+        }
+
+        String search = nameSearchMode.normalize(searchString);
+        return candidates.stream()
+                .filter(employee -> employee.getEmployee_name() != null
+                        && nameSearchMode.normalize(employee.getEmployee_name()).contains(search))
+                .toList();
+    }
+
+    /**
+     * @return the employees the external service returns for the query, or null if the call failed, in which case the
+     *     caller falls back to the cached snapshot, which may still be served when stale
+     */
+    private List<Employee> findRemotely(String nameContains, String sort, Integer limit) {
+        try {
+            EmployeeResponse<List<Employee>> response = employeeClient.findEmployees(nameContains, sort, limit);
+            return response == null ? null : response.getData();
+        } catch (RuntimeException e) {
+            logger.debug("Query of the external service failed, using the employee snapshot: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static EmployeeNotFoundException employeeNotFound(String id) {
+        return EmployeeNotFoundException.withoutStackTrace(String.format(ErrorMessages.EMPLOYEE_NOT_FOUND, id));
+    }
+
+    /**
+     * Fetches the highest salary among the employees from the salary index of the cached snapshot.
      *
      * @return the highest salary of the employees, wrapped in an Optional
      * @throws EmployeeNotFoundException if no employees are found to calculate the salary
      */
     public Optional<Integer> getHighestSalaryOfEmployees() {
-        List<Employee> employees = getEmployees();
+        Optional<Integer> highestSalary = snapshotCache.get().getHighestSalary();
 
-        if (employees == null || employees.isEmpty()) {
+        if (highestSalary.isEmpty()) {
             throw new EmployeeNotFoundException(ErrorMessages.NO_EMPLOYEES_TO_CALCULATE_HIGHEST_SALARY);
         }
 
-        return employees.stream().map(Employee::getEmployee_salary).reduce(Integer::max);
+        return highestSalary;
+    }
+
+    /**
+     * Fetches the lowest salary among the employees from the salary index of the cached snapshot.
+     *
+     * @return the lowest salary of the employees, wrapped in an Optional
+     * @throws EmployeeNotFoundException if no employees are found to calculate the salary
+     */
+    public Optional<Integer> getLowestSalaryOfEmployees() {
+        Optional<Integer> lowestSalary = snapshotCache.get().getLowestSalary();
+
+        if (lowestSalary.isEmpty()) {
+            throw new EmployeeNotFoundException(ErrorMessages.NO_EMPLOYEES_TO_CALCULATE_LOWEST_SALARY);
+        }
+
+        return lowestSalary;
+    }
+
+    /**
+     * Fetches the employees whose salary lies within the given bounds, through the salary index of the cached
+     * snapshot.
+     *
+     * @param minSalary the lowest salary to include
+     * @param maxSalary the highest salary to include
+     * @return the matching employees, lowest salary first
+     * @throws EmployeeNotFoundException if no employee earns a salary within the bounds
+     */
+    public List<Employee> getEmployeesBySalaryRange(int minSalary, int maxSalary) {
+        List<Employee> employees = snapshotCache.get().findBySalaryRange(minSalary, maxSalary);
+
+        if (employees.isEmpty()) {
+            throw new EmployeeNotFoundException(
+                    String.format(ErrorMessages.NO_EMPLOYEES_IN_SALARY_RANGE, minSalary, maxSalary));
+        }
+
+        return employees;
+    }
+
+    /**
+     * Fetches the salary at the given percentile, using the nearest-rank method: the lowest salary that at least the
+     * given percentage of employees earn no more than.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the salary at the percentile, wrapped in an Optional
+     * @throws EmployeeNotFoundException if no employees are found to calculate the salary
+     */
+    public Optional<Integer> getSalaryAtPercentile(double percentile) {
+        EmployeeSnapshot snapshot = snapshotCache.get();
+        int rank = Math.max(0, (int) Math.ceil(percentile / 100 * snapshot.getEmployeeCount()) - 1);
+        Optional<Integer> salary = snapshot.getSalaryAtRank(rank);
+
+        if (salary.isEmpty()) {
+            throw new EmployeeNotFoundException(ErrorMessages.NO_EMPLOYEES_TO_CALCULATE_SALARY_STATISTICS);
+        }
+
+        return salary;
+    }
+
+    /**
+     * Fetches how the given salary ranks among the salaries of all employees.
+     *
+     * @param salary the salary to rank
+     * @return the number of employees earning less, the number of employees and the resulting percentile
+     * @throws EmployeeNotFoundException if no employees are found to rank the salary against
+     */
+    public SalaryRank getSalaryRank(int salary) {
+        EmployeeSnapshot snapshot = snapshotCache.get();
+        int totalEmployees = snapshot.getEmployeeCount();
+
+        if (totalEmployees == 0) {
+            throw new EmployeeNotFoundException(ErrorMessages.NO_EMPLOYEES_TO_CALCULATE_SALARY_STATISTICS);
+        }
+
+        int employeesBelow = snapshot.countSalariesBelow(salary);
+        return new SalaryRank(salary, employeesBelow, totalEmployees, 100.0 * employeesBelow / totalEmployees);
     }
 
     /**
@@ -122,17 +295,36 @@ public class EmployeeServiceImpl implements EmployeeService {
      * @throws EmployeeNotFoundException if no employees are found to calculate the top earners
      */
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        List<Employee> employees = getEmployees();
+        return getTopHighestEarningEmployeeNames(TOP_TEN);
+    }
+
+    /**
+     * Fetches the names of the highest earning employees from the ranking kept by the cached snapshot, which is
+     * adjusted for employees created or deleted through this API instead of sorting all employees again. While the
+     * cache holds no fresh snapshot, the external service is asked for just the highest earners instead.
+     *
+     * @param count how many names to return, between 1 and the configured maximum
+     * @return a list of the highest earning employee names, highest salary first
+     * @throws InvalidTopEarnersCountException if the count is out of range
+     * @throws EmployeeNotFoundException if no employees are found to calculate the top earners
+     */
+    public List<String> getTopHighestEarningEmployeeNames(int count) {
+        if (count < 1 || count > maxTopEarnersCount) {
+            throw new InvalidTopEarnersCountException(
+                    String.format(ErrorMessages.INVALID_TOP_EARNERS_COUNT, maxTopEarnersCount));
+        }
+
+        List<Employee> topEarners =
+                snapshotCache.getIfFresh() == null ? findRemotely(null, SALARY_DESCENDING, count) : null;
+        if (topEarners == null) {
+            topEarners = snapshotCache.get().getTopEarners(count, maxTopEarnersCount);
+        }
 
-        if (employees == null || employees.isEmpty()) {
+        if (topEarners.isEmpty()) {
             throw new EmployeeNotFoundException(ErrorMessages.NO_EMPLOYEES_TO_FETCH_TOP_EARNERS);
         }
 
-        return employees.stream()
-                .sorted(Comparator.comparing(Employee::getEmployee_salary).reversed())
-                .limit(10)
-                .map(Employee::getEmployee_name)
-                .collect(Collectors.toList());
+        return topEarners.stream().map(Employee::getEmployee_name).toList();
     }
 
     /**
@@ -142,7 +334,6 @@ public class EmployeeServiceImpl implements EmployeeService {
      * @return the created employee
      * @throws EmployeeCreationException if the employee creation fails
      */
-    // @CacheEvict(value = "allEmployeesCache", allEntries = true)
     public Employee createEmployee(CreateRequest employeeRequest) {
         if (employeeRequest == null) {
             throw new IllegalArgumentException("Employee request cannot be null");
@@ -152,6 +343,7 @@ public class EmployeeServiceImpl implements EmployeeService {
             EmployeeResponse<Employee> response = employeeClient.createEmployee(employeeRequest);
 
             if (response != null && response.getData() != null) {
+                snapshotCache.applyCreated(response.getData());
                 return response.getData();
             } else {
                 throw new EmployeeCreationException(ErrorMessages.EMPLOYEE_CREATION_FAILED);
@@ -171,7 +363,6 @@ public class EmployeeServiceImpl implements EmployeeService {
      * @throws EmployeeNotFoundException if no employee with the given ID is found
      * @throws EmployeeAlreadyDeletedException if the employee has already been deleted
      */
-    // @CacheEvict(value = "allEmployeesCache", allEntries = true)
     public String deleteEmployeeById(String id) {
         Employee employee = getEmployeeById(id);
 
@@ -185,8 +376,11 @@ public class EmployeeServiceImpl implements EmployeeService {
         EmployeeResponse<Boolean> response = employeeClient.deleteEmployeeByName(deleteRequest);
 
         if (response.getData()) {
+            snapshotCache.applyDeleted(employee);
             return employeeName;
         } else {
+            // The external service no longer has the employee, so the snapshot that still listed it is outdated
+            snapshotCache.invalidate();
             throw new EmployeeAlreadyDeletedException(String.format(ErrorMessages.EMPLOYEE_ALREADY_DELETED, id));
         }
     }
@@ -1,6 +1,7 @@
 package com.reliaquest.api.service.interfaces;
 
 import com.reliaquest.api.dto.CreateRequest;
+import com.reliaquest.api.dto.SalaryRank;
 import com.reliaquest.api.model.Employee;
 import java.util.List;
 import java.util.Optional;
@@ -15,8 +16,18 @@ public interface EmployeeService {
 
     Optional<Integer> getHighestSalaryOfEmployees();
 
+    Optional<Integer> getLowestSalaryOfEmployees();
+
+    List<Employee> getEmployeesBySalaryRange(int minSalary, int maxSalary);
+
+    Optional<Integer> getSalaryAtPercentile(double percentile);
+
+    SalaryRank getSalaryRank(int salary);
+
     List<String> getTopTenHighestEarningEmployeeNames();
 
+    List<String> getTopHighestEarningEmployeeNames(int count);
+
     Employee createEmployee(CreateRequest employeeRequest);
 
     String deleteEmployeeById(String id);
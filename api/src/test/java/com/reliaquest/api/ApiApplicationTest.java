@@ -3,7 +3,8 @@ package com.reliaquest.api;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// Without the mock server running, the event stream would keep reconnecting for the whole test run
+@SpringBootTest(properties = "employee.events.enabled=false")
 class ApiApplicationTest {
 
     @Test
@@ -0,0 +1,31 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class EmployeeColumnsTest {
+
+    @Test
+    void build_CopiesSalariesInListOrder() {
+        EmployeeColumns columns = EmployeeColumns.build(List.of(
+                employee("Rajesh", 500000), employee(null, 200000), employee("Ramesh", 300000)));
+
+        assertEquals(3, columns.size());
+        assertEquals(500000, columns.salary(0));
+        assertEquals(200000, columns.salary(1));
+        assertEquals(300000, columns.salary(2));
+    }
+
+    @Test
+    void build_EmptyList() {
+        assertEquals(0, EmployeeColumns.build(List.of()).size());
+    }
+
+    private static Employee employee(String name, int salary) {
+        return new Employee(UUID.randomUUID().toString(), name, salary, 30, "Engineer", "employee@gmail.com");
+    }
+}
@@ -0,0 +1,80 @@
+package com.reliaquest.api.cache;
+
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.EmployeeChange;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URI;
+import java.time.Duration;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+class EmployeeEventStreamTest {
+
+    @Mock
+    private EmployeeSnapshotCache snapshotCache;
+
+    @Mock
+    private CloseableHttpClient httpClient;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    private AutoCloseable mocks;
+
+    private EmployeeEventStream eventStream;
+
+    @BeforeEach
+    void setUp() {
+        mocks = openMocks(this);
+        eventStream = new EmployeeEventStream(
+                snapshotCache,
+                httpClient,
+                objectMapper,
+                URI.create("http://localhost:8112/api/v1/employee/events"),
+                false,
+                Duration.ofSeconds(15),
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    @Test
+    void readEvents_DispatchesEventsByName() throws IOException {
+        EmployeeChange change = new EmployeeChange(6, EmployeeChange.Type.CREATED, null);
+        when(objectMapper.readValue("{\"version\":6,\n\"type\":\"CREATED\"}", EmployeeChange.class))
+                .thenReturn(change);
+
+        eventStream.readEvents(new StringReader("event:heartbeat\nid:5\ndata:5\n\n"
+                + ": comment\n\n"
+                + "id:6\nevent: change\ndata:{\"version\":6,\ndata:\"type\":\"CREATED\"}\n\n"
+                + "event:resync\ndata:7\n\n"
+                + "event:unknown\ndata:8\n\n"));
+
+        verify(snapshotCache).confirmListVersion(5);
+        verify(snapshotCache).applyChange(change);
+        verify(snapshotCache).invalidate();
+        verifyNoMoreInteractions(snapshotCache);
+    }
+
+    @Test
+    void readEvents_MalformedEvent_InvalidatesSnapshot() throws IOException {
+        when(objectMapper.readValue("{", EmployeeChange.class)).thenThrow(JsonProcessingException.class);
+
+        eventStream.readEvents(new StringReader("event:change\ndata:{\n\nevent:heartbeat\ndata:x\n\n"));
+
+        verify(snapshotCache, times(2)).invalidate();
+        verifyNoMoreInteractions(snapshotCache);
+    }
+}
@@ -0,0 +1,37 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class EmployeeKeyTest {
+
+    @Test
+    void parse_MatchesUuidBits() {
+        for (int i = 0; i < 1000; i++) {
+            UUID uuid = UUID.randomUUID();
+
+            EmployeeKey key = EmployeeKey.parse(uuid.toString());
+
+            assertEquals(uuid.getMostSignificantBits(), key.mostSignificantBits());
+            assertEquals(uuid.getLeastSignificantBits(), key.leastSignificantBits());
+        }
+    }
+
+    @Test
+    void parse_IgnoresCase() {
+        assertEquals(
+                EmployeeKey.parse("7d073989-95f2-4119-bd05-7196046a45a4"),
+                EmployeeKey.parse("7D073989-95F2-4119-BD05-7196046A45A4"));
+    }
+
+    @Test
+    void parse_RejectsMalformedIds() {
+        assertNull(EmployeeKey.parse(null));
+        assertNull(EmployeeKey.parse("1"));
+        assertNull(EmployeeKey.parse("7d073989-95f2-4119-bd05-7196046a45a"));
+        assertNull(EmployeeKey.parse("7d073989x95f2-4119-bd05-7196046a45a4"));
+        assertNull(EmployeeKey.parse("7d073989-95f2-4119-bd05-7196046a45g4"));
+    }
+}
@@ -0,0 +1,307 @@
+package com.reliaquest.api.cache;
+
+import static com.reliaquest.api.testdata.EmployeeClientStubs.stubAllEmployees;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+import com.reliaquest.api.client.EmployeeClient;
+import com.reliaquest.api.exception.custom.UpstreamUnavailableException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.testdata.EmployeeTestDataHolder;
+import com.reliaquest.api.testdata.MutableClock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+class EmployeeSnapshotCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    private static final Duration REFRESH_AHEAD = Duration.ofSeconds(10);
+
+    private static final Duration MAX_STALE = Duration.ofMinutes(10);
+
+    @Mock
+    private EmployeeClient employeeClient;
+
+    private AutoCloseable mocks;
+
+    private MutableClock clock;
+
+    private Queue<Runnable> refreshTasks;
+
+    private EmployeeSnapshotCache snapshotCache;
+
+    @BeforeEach
+    void setUp() {
+        mocks = openMocks(this);
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        refreshTasks = new ArrayDeque<>();
+        snapshotCache = new EmployeeSnapshotCache(
+                employeeClient, TTL, REFRESH_AHEAD, MAX_STALE, refreshTasks::add, clock);
+
+        List<Employee> mockEmployees = EmployeeTestDataHolder.getMockEmployees();
+        stubAllEmployees(employeeClient, new EmployeeResponse<>(mockEmployees, "success"));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    @Test
+    void get_LoadsOnceWhileFresh() {
+        EmployeeSnapshot first = snapshotCache.get();
+        EmployeeSnapshot second = snapshotCache.get();
+
+        assertSame(first, second);
+        assertEquals(3, first.getEmployees().size());
+        assertTrue(refreshTasks.isEmpty());
+        verify(employeeClient, times(1)).getAllEmployeesIfChanged(any());
+    }
+
+    @Test
+    void get_ReloadsExpiredSnapshot() {
+        EmployeeSnapshot first = snapshotCache.get();
+
+        clock.advance(TTL);
+        EmployeeSnapshot second = snapshotCache.get();
+
+        assertTrue(second.getVersion() > first.getVersion());
+        verify(employeeClient, times(2)).getAllEmployeesIfChanged(any());
+    }
+
+    @Test
+    void get_RenewsSnapshotWhenListIsNotModified() {
+        List<Employee> mockEmployees = EmployeeTestDataHolder.getMockEmployees();
+        when(employeeClient.getAllEmployeesIfChanged(null))
+                .thenReturn(ResponseEntity.ok().eTag("\"v1\"").body(new EmployeeResponse<>(mockEmployees, "success")));
+        when(employeeClient.getAllEmployeesIfChanged("\"v1\""))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        EmployeeSnapshot first = snapshotCache.get();
+
+        clock.advance(TTL);
+        EmployeeSnapshot second = snapshotCache.get();
+
+        assertEquals(first.getVersion(), second.getVersion());
+        assertFalse(second.isExpired(clock.instant()));
+        assertEquals("\"v1\"", second.getETag());
+        assertSame(first.getEmployees(), second.getEmployees());
+        verify(employeeClient, times(1)).getAllEmployeesIfChanged("\"v1\"");
+    }
+
+    @Test
+    void get_AppliesChangesSinceListVersion() {
+        List<Employee> mockEmployees = EmployeeTestDataHolder.getMockEmployees();
+        Employee created = new Employee(
+                "4a3a170b-22cd-4ac2-aad1-9bb5b34a1508", "Mahesh", 90000, 40, "Manager", "mahesh@gmail.com");
+        when(employeeClient.getAllEmployeesIfChanged(null))
+                .thenReturn(ResponseEntity.ok().eTag("W/\"5\"").body(new EmployeeResponse<>(mockEmployees, "success")));
+        EmployeeChanges changes =
+                new EmployeeChanges(6, false, List.of(new EmployeeChange(6, EmployeeChange.Type.CREATED, created)));
+        when(employeeClient.getChangesSince(5)).thenReturn(new EmployeeResponse<>(changes, "success"));
+        snapshotCache.get();
+
+        clock.advance(TTL);
+        EmployeeSnapshot synced = snapshotCache.get();
+
+        assertEquals(4, synced.getEmployees().size());
+        assertSame(created, synced.findById(created.getId()).orElseThrow());
+        assertEquals("W/\"6\"", synced.getETag());
+        assertFalse(synced.isExpired(clock.instant()));
+        verify(employeeClient, times(1)).getAllEmployeesIfChanged(any());
+    }
+
+    @Test
+    void get_FetchesFullListWhenResyncRequired() {
+        List<Employee> mockEmployees = EmployeeTestDataHolder.getMockEmployees();
+        when(employeeClient.getAllEmployeesIfChanged(any()))
+                .thenReturn(ResponseEntity.ok().eTag("W/\"5\"").body(new EmployeeResponse<>(mockEmployees, "success")));
+        when(employeeClient.getChangesSince(5))
+                .thenReturn(new EmployeeResponse<>(new EmployeeChanges(2000, true, List.of()), "success"));
+        snapshotCache.get();
+
+        clock.advance(TTL);
+        snapshotCache.get();
+
+        verify(employeeClient, times(1)).getChangesSince(5);
+        verify(employeeClient, times(2)).getAllEmployeesIfChanged(any());
+    }
+
+    @Test
+    void get_RefreshesAheadOfExpiryInBackground() {
+        EmployeeSnapshot first = snapshotCache.get();
+
+        clock.advance(TTL.minus(REFRESH_AHEAD));
+        assertSame(first, snapshotCache.get());
+        assertSame(first, snapshotCache.get());
+        assertEquals(1, refreshTasks.size());
+
+        refreshTasks.poll().run();
+
+        EmployeeSnapshot refreshed = snapshotCache.get();
+        assertTrue(refreshed.getVersion() > first.getVersion());
+        assertFalse(refreshed.isExpired(clock.instant()));
+        verify(employeeClient, times(2)).getAllEmployeesIfChanged(any());
+    }
+
+    @Test
+    void getIfFresh_ColdCache_LoadsInBackground() {
+        assertNull(snapshotCache.getIfFresh());
+        assertNull(snapshotCache.getIfFresh());
+        assertEquals(1, refreshTasks.size());
+
+        refreshTasks.poll().run();
+
+        assertNotNull(snapshotCache.getIfFresh());
+        verify(employeeClient, times(1)).getAllEmployeesIfChanged(any());
+    }
+
+    @Test
+    void invalidate_ForcesReloadOnNextRead() {
+        EmployeeSnapshot first = snapshotCache.get();
+
+        snapshotCache.invalidate();
+        EmployeeSnapshot second = snapshotCache.get();
+
+        assertNotSame(first, second);
+        verify(employeeClient, times(2)).getAllEmployeesIfChanged(any());
+    }
+
+    @Test
+    void applyCreated_PublishesNewVersionWithoutReload() {
+        EmployeeSnapshot first = snapshotCache.get();
+        Employee created =
+                new Employee("0b8ac9e8-4bb4-4c39-8d6e-4c2b4e8a5f31", "Suresh", 400000, 35, "Lead", "suresh@gmail.com");
+
+        snapshotCache.applyCreated(created);
+        EmployeeSnapshot second = snapshotCache.get();
+
+        assertTrue(second.getVersion() > first.getVersion());
+        assertSame(created, second.findById(created.getId()).orElseThrow());
+        verify(employeeClient, times(1)).getAllEmployeesIfChanged(any());
+    }
+
+    @Test
+    void applyDeleted_DuplicateName_InvalidatesInstead() {
+        List<Employee> employees = EmployeeTestDataHolder.getMockEmployees();
+        Employee duplicate = new Employee(
+                "0b8ac9e8-4bb4-4c39-8d6e-4c2b4e8a5f31", "RAJESH", 400000, 35, "Lead", "rajesh2@gmail.com");
+        employees.add(duplicate);
+        stubAllEmployees(employeeClient, new EmployeeResponse<>(employees, "success"));
+
+        snapshotCache.get();
+        snapshotCache.applyDeleted(duplicate);
+        snapshotCache.get();
+
+        verify(employeeClient, times(2)).getAllEmployeesIfChanged(any());
+    }
+
+    @Test
+    void applyChange_AppliesNextChangeAndExtendsLifetime() {
+        stubVersionedEmployees(5);
+        snapshotCache.get();
+        Employee created =
+                new Employee("0b8ac9e8-4bb4-4c39-8d6e-4c2b4e8a5f31", "Suresh", 400000, 35, "Lead", "suresh@gmail.com");
+
+        clock.advance(TTL.minus(REFRESH_AHEAD));
+        snapshotCache.applyChange(new EmployeeChange(6, EmployeeChange.Type.CREATED, created));
+        snapshotCache.applyChange(new EmployeeChange(6, EmployeeChange.Type.CREATED, created));
+        clock.advance(REFRESH_AHEAD);
+        EmployeeSnapshot updated = snapshotCache.get();
+
+        assertEquals(4, updated.getEmployees().size());
+        assertEquals(Long.valueOf(6), snapshotCache.getListVersion());
+        assertTrue(refreshTasks.isEmpty());
+        verify(employeeClient, times(1)).getAllEmployeesIfChanged(any());
+    }
+
+    @Test
+    void applyChange_MissedChange_InvalidatesSnapshot() {
+        stubVersionedEmployees(5);
+        snapshotCache.get();
+        Employee deleted = EmployeeTestDataHolder.getMockEmployees().get(0);
+
+        snapshotCache.applyChange(new EmployeeChange(7, EmployeeChange.Type.DELETED, deleted));
+
+        assertNull(snapshotCache.getListVersion());
+        assertTrue(snapshotCache.getLastKnownGood().isExpired(clock.instant()));
+    }
+
+    @Test
+    void confirmListVersion_RenewsSnapshotAtThatVersion() {
+        stubVersionedEmployees(5);
+        EmployeeSnapshot first = snapshotCache.get();
+
+        clock.advance(TTL.minus(REFRESH_AHEAD));
+        snapshotCache.confirmListVersion(5);
+        clock.advance(REFRESH_AHEAD);
+        EmployeeSnapshot renewed = snapshotCache.get();
+
+        assertEquals(first.getVersion(), renewed.getVersion());
+        assertFalse(renewed.isExpired(clock.instant()));
+        assertSame(first.getEmployees(), renewed.getEmployees());
+        assertTrue(refreshTasks.isEmpty());
+        verify(employeeClient, times(1)).getAllEmployeesIfChanged(any());
+    }
+
+    @Test
+    void confirmListVersion_NewerVersion_InvalidatesSnapshot() {
+        stubVersionedEmployees(5);
+        snapshotCache.get();
+
+        snapshotCache.confirmListVersion(6);
+
+        assertNull(snapshotCache.getListVersion());
+    }
+
+    @Test
+    void get_ServesLastKnownGoodWhenReloadFails() {
+        EmployeeSnapshot first = snapshotCache.get();
+        when(employeeClient.getAllEmployeesIfChanged(any()))
+                .thenThrow(new UpstreamUnavailableException("unavailable", Duration.ofSeconds(5)));
+
+        clock.advance(TTL);
+
+        assertSame(first, snapshotCache.get());
+        assertSame(first, snapshotCache.getLastKnownGood());
+    }
+
+    @Test
+    void get_RethrowsWhenLastKnownGoodIsTooOld() {
+        snapshotCache.get();
+        when(employeeClient.getAllEmployeesIfChanged(any()))
+                .thenThrow(new UpstreamUnavailableException("unavailable", Duration.ofSeconds(5)));
+
+        clock.advance(MAX_STALE.plusSeconds(1));
+
+        assertNull(snapshotCache.getLastKnownGood());
+        assertThrows(UpstreamUnavailableException.class, () -> snapshotCache.get());
+    }
+
+    @Test
+    void constructor_RejectsRefreshAheadLongerThanTtl() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new EmployeeSnapshotCache(employeeClient, TTL, TTL, MAX_STALE, refreshTasks::add, clock));
+    }
+
+    private void stubVersionedEmployees(long listVersion) {
+        EmployeeResponse<List<Employee>> response =
+                new EmployeeResponse<>(EmployeeTestDataHolder.getMockEmployees(), "success");
+        when(employeeClient.getAllEmployeesIfChanged(any()))
+                .thenReturn(ResponseEntity.ok().eTag("W/\"" + listVersion + "\"").body(response));
+    }
+}
@@ -0,0 +1,272 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.testdata.EmployeeTestDataHolder;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class EmployeeSnapshotTest {
+
+    private static final Instant LOADED_AT = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final List<Employee> mockEmployees = EmployeeTestDataHolder.getMockEmployees();
+
+    @Test
+    void findById_UsesIndex() {
+        EmployeeSnapshot snapshot = snapshotOf(mockEmployees);
+
+        assertSame(mockEmployees.get(1), snapshot.findById(mockEmployees.get(1).getId()).orElseThrow());
+        assertTrue(snapshot.findById(UUID.randomUUID().toString()).isEmpty());
+        assertTrue(snapshot.findById("not-a-uuid").isEmpty());
+    }
+
+    @Test
+    void withAdded_AddsEmployeeAndKeepsOriginal() {
+        EmployeeSnapshot snapshot = snapshotOf(mockEmployees);
+        Employee created = newEmployee("Suresh");
+
+        EmployeeSnapshot updated = snapshot.withAdded(2, created);
+
+        assertEquals(2, updated.getVersion());
+        assertEquals(4, updated.getEmployees().size());
+        assertSame(created, updated.findById(created.getId()).orElseThrow());
+        assertEquals(3, snapshot.getEmployees().size());
+        assertTrue(snapshot.findById(created.getId()).isEmpty());
+        assertEquals(snapshot.getExpiresAt(), updated.getExpiresAt());
+    }
+
+    @Test
+    void withRemoved_RemovesFetchedAndAddedEmployees() {
+        Employee created = newEmployee("Suresh");
+        String removedId = mockEmployees.get(0).getId();
+
+        EmployeeSnapshot updated = snapshotOf(mockEmployees)
+                .withAdded(2, created)
+                .withRemoved(3, removedId)
+                .withRemoved(4, created.getId());
+
+        assertEquals(2, updated.getEmployees().size());
+        assertTrue(updated.findById(removedId).isEmpty());
+        assertTrue(updated.findById(created.getId()).isEmpty());
+    }
+
+    @Test
+    void renew_KeepsEmployeesETagAndVersion() {
+        EmployeeSnapshot snapshot =
+                new EmployeeSnapshot(1, mockEmployees, "W/\"1\"", LOADED_AT, LOADED_AT.plusSeconds(30));
+        EmployeeSnapshot updated = snapshot.withAdded(2, newEmployee("Suresh"));
+        Instant renewedAt = LOADED_AT.plusSeconds(60);
+
+        EmployeeSnapshot renewed = updated.renew(renewedAt, renewedAt.plusSeconds(30));
+
+        assertEquals(2, renewed.getVersion());
+        assertEquals("W/\"1\"", renewed.getETag());
+        assertEquals(updated.getEmployees(), renewed.getEmployees());
+        assertEquals(renewedAt, renewed.getLoadedAt());
+        assertFalse(renewed.isExpired(renewedAt));
+    }
+
+    @Test
+    void withChanges_AppliesChangesAndSkipsOnesAlreadyApplied() {
+        EmployeeSnapshot snapshot =
+                new EmployeeSnapshot(1, mockEmployees, "W/\"1\"", LOADED_AT, LOADED_AT.plusSeconds(30));
+        Employee createdHere = newEmployee("Suresh");
+        Employee createdElsewhere = newEmployee("Mahesh");
+        EmployeeSnapshot updated = snapshot.withAdded(2, createdHere);
+        Instant syncedAt = LOADED_AT.plusSeconds(60);
+
+        EmployeeSnapshot synced = updated.withChanges(
+                3,
+                List.of(
+                        new EmployeeChange(2, EmployeeChange.Type.CREATED, createdHere),
+                        new EmployeeChange(3, EmployeeChange.Type.CREATED, createdElsewhere),
+                        new EmployeeChange(4, EmployeeChange.Type.DELETED, mockEmployees.get(0))),
+                "W/\"4\"",
+                syncedAt,
+                syncedAt.plusSeconds(30));
+
+        assertEquals(
+                List.of(mockEmployees.get(1), mockEmployees.get(2), createdHere, createdElsewhere),
+                synced.getEmployees());
+        assertEquals("W/\"4\"", synced.getETag());
+        assertEquals(syncedAt, synced.getLoadedAt());
+        assertTrue(synced.findById(mockEmployees.get(0).getId()).isEmpty());
+        assertEquals(4, updated.getEmployees().size());
+    }
+
+    @Test
+    void withAdded_FoldsLargeOverlayIntoNewIndex() {
+        EmployeeSnapshot snapshot = snapshotOf(mockEmployees);
+        List<Employee> created = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Employee employee = newEmployee("Employee " + i);
+            created.add(employee);
+            snapshot = snapshot.withAdded(i + 2, employee);
+        }
+
+        assertEquals(203, snapshot.getEmployees().size());
+        for (Employee employee : created) {
+            assertSame(employee, snapshot.findById(employee.getId()).orElseThrow());
+        }
+        assertEquals(mockEmployees.get(0).getId(), snapshot.getEmployees().get(0).getId());
+    }
+
+    @Test
+    void searchByName_CoversFetchedAndAddedEmployees() {
+        Employee created = newEmployee("Rajiv");
+        EmployeeSnapshot snapshot = snapshotOf(mockEmployees)
+                .withAdded(2, created)
+                .withRemoved(3, mockEmployees.get(1).getId());
+
+        List<Employee> matches = snapshot.searchByName("Ra", NameSearchMode.EXACT);
+
+        assertEquals(List.of(mockEmployees.get(0), mockEmployees.get(2), created), matches);
+        assertEquals(List.of(created), snapshot.searchByName("RAJIV", NameSearchMode.CASE_INSENSITIVE));
+        assertTrue(snapshot.searchByName("Ravi", NameSearchMode.EXACT).isEmpty());
+    }
+
+    @Test
+    void countByName_IgnoresCaseAndCoversFetchedAndAddedEmployees() {
+        Employee created = newEmployee("RAJESH");
+        EmployeeSnapshot snapshot = snapshotOf(mockEmployees).withAdded(2, created);
+
+        assertEquals(2, snapshot.countByName("rajesh", 5));
+        assertEquals(1, snapshot.countByName("rajesh", 1));
+        assertEquals(1, snapshot.withRemoved(3, created.getId()).countByName("Rajesh", 2));
+        assertEquals(0, snapshot.withRemoved(3, mockEmployees.get(1).getId()).countByName("Ravi", 2));
+        assertEquals(0, snapshot.countByName("Raj", 2));
+    }
+
+    @Test
+    void withAdded_RejectsNonUuidId() {
+        EmployeeSnapshot snapshot = snapshotOf(mockEmployees);
+        Employee employee = new Employee("1", "Suresh", 1, 30, "Lead", "suresh@gmail.com");
+
+        assertThrows(IllegalArgumentException.class, () -> snapshot.withAdded(2, employee));
+    }
+
+    @Test
+    void expire_KeepsDataAndOverlay() {
+        Employee created = newEmployee("Suresh");
+        EmployeeSnapshot expired = snapshotOf(mockEmployees).withAdded(2, created).expire();
+
+        assertTrue(expired.isExpired(LOADED_AT));
+        assertEquals(2, expired.getVersion());
+        assertSame(created, expired.findById(created.getId()).orElseThrow());
+    }
+
+    @Test
+    void getTopEarners_MergesFetchedAndAddedEmployees() {
+        Employee created = newEmployee("Suresh", 300000);
+        EmployeeSnapshot snapshot = snapshotOf(mockEmployees)
+                .withAdded(2, created)
+                .withRemoved(3, mockEmployees.get(0).getId());
+
+        // Ramesh and Suresh earn the same; the fetched employee comes first, as in getEmployees()
+        assertEquals(List.of(mockEmployees.get(2), created, mockEmployees.get(1)), snapshot.getTopEarners(3, 10));
+        assertEquals(List.of(mockEmployees.get(2)), snapshot.getTopEarners(1, 10));
+        assertEquals(
+                List.of(mockEmployees.get(0), mockEmployees.get(2)),
+                snapshotOf(mockEmployees).getTopEarners(2, 10));
+    }
+
+    @Test
+    void getTopEarners_FallsBackWhenRankedEmployeesWereRemoved() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            employees.add(newEmployee("Employee " + i, 1000 * (20 - i)));
+        }
+        EmployeeSnapshot snapshot = snapshotOf(employees);
+        assertEquals(employees.subList(0, 2), snapshot.getTopEarners(2, 2));
+
+        EmployeeSnapshot updated = snapshot.withRemoved(2, employees.get(0).getId());
+
+        assertEquals(employees.subList(1, 3), updated.getTopEarners(2, 2));
+    }
+
+    @Test
+    void getTopEarners_RejectsCountAboveCapacity() {
+        EmployeeSnapshot snapshot = snapshotOf(mockEmployees);
+
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getTopEarners(11, 10));
+    }
+
+    @Test
+    void salaryQueries_MatchMergedListWithOverlay() {
+        Random random = new Random(7);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            employees.add(newEmployee("Employee " + i, random.nextInt(100) * 1000));
+        }
+        EmployeeSnapshot snapshot = snapshotOf(employees);
+
+        for (int version = 2; version < 60; version++) {
+            if (random.nextBoolean()) {
+                snapshot = snapshot.withAdded(version, newEmployee("Created", random.nextInt(100) * 1000));
+            } else {
+                List<Employee> current = snapshot.getEmployees();
+                snapshot = snapshot.withRemoved(
+                        version, current.get(random.nextInt(current.size())).getId());
+            }
+            assertSalaryQueriesMatch(snapshot, random.nextInt(100) * 1000, random.nextInt(100) * 1000);
+        }
+    }
+
+    @Test
+    void salaryQueries_EmptySnapshot() {
+        EmployeeSnapshot snapshot = snapshotOf(List.of());
+
+        assertEquals(0, snapshot.getEmployeeCount());
+        assertTrue(snapshot.getHighestSalary().isEmpty());
+        assertTrue(snapshot.getLowestSalary().isEmpty());
+        assertEquals(0, snapshot.countSalariesBelow(1000));
+        assertTrue(snapshot.findBySalaryRange(0, Integer.MAX_VALUE).isEmpty());
+    }
+
+    private static void assertSalaryQueriesMatch(EmployeeSnapshot snapshot, int from, int to) {
+        List<Employee> employees = snapshot.getEmployees();
+        int[] salaries = employees.stream()
+                .mapToInt(Employee::getEmployee_salary)
+                .sorted()
+                .toArray();
+
+        assertEquals(salaries.length, snapshot.getEmployeeCount());
+        assertEquals(Optional.of(salaries[salaries.length - 1]), snapshot.getHighestSalary());
+        assertEquals(Optional.of(salaries[0]), snapshot.getLowestSalary());
+        for (int rank = 0; rank < salaries.length; rank += 37) {
+            assertEquals(Optional.of(salaries[rank]), snapshot.getSalaryAtRank(rank));
+        }
+        assertEquals(
+                (int) employees.stream().filter(e -> e.getEmployee_salary() < from).count(),
+                snapshot.countSalariesBelow(from));
+
+        int min = Math.min(from, to);
+        int max = Math.max(from, to);
+        List<Employee> expected = employees.stream()
+                .filter(e -> e.getEmployee_salary() >= min && e.getEmployee_salary() <= max)
+                .sorted(Comparator.comparingInt(Employee::getEmployee_salary))
+                .toList();
+        assertEquals(expected, snapshot.findBySalaryRange(min, max));
+    }
+
+    private static EmployeeSnapshot snapshotOf(List<Employee> employees) {
+        return new EmployeeSnapshot(1, employees, LOADED_AT, LOADED_AT.plusSeconds(30));
+    }
+
+    private static Employee newEmployee(String name) {
+        return newEmployee(name, 100000);
+    }
+
+    private static Employee newEmployee(String name, int salary) {
+        return new Employee(UUID.randomUUID().toString(), name, salary, 30, "Engineer", "employee@gmail.com");
+    }
+}
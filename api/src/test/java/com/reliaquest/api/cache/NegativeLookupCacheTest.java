@@ -0,0 +1,58 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.testdata.MutableClock;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class NegativeLookupCacheTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final EmployeeKey key = EmployeeKey.parse(UUID.randomUUID().toString());
+
+    @Test
+    void isKnownMissing_OnlyForSameSnapshotVersion() {
+        NegativeLookupCache cache = new NegativeLookupCache(Duration.ofSeconds(5), 100, fixedClock(NOW));
+
+        assertFalse(cache.isKnownMissing(key, 1));
+        cache.recordMissing(key, 1);
+
+        assertTrue(cache.isKnownMissing(key, 1));
+        assertFalse(cache.isKnownMissing(key, 2));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void isKnownMissing_ExpiresAfterTtl() {
+        MutableClock clock = new MutableClock(NOW);
+        NegativeLookupCache cache = new NegativeLookupCache(Duration.ofSeconds(5), 100, clock);
+        cache.recordMissing(key, 1);
+
+        clock.advance(Duration.ofSeconds(5));
+        assertTrue(cache.isKnownMissing(key, 1));
+
+        clock.advance(Duration.ofSeconds(1));
+        assertFalse(cache.isKnownMissing(key, 1));
+    }
+
+    @Test
+    void recordMissing_StaysWithinMaxEntries() {
+        NegativeLookupCache cache = new NegativeLookupCache(Duration.ofSeconds(5), 10, fixedClock(NOW));
+
+        for (int i = 0; i < 25; i++) {
+            cache.recordMissing(EmployeeKey.parse(UUID.randomUUID().toString()), 1);
+        }
+
+        assertTrue(cache.size() <= 10);
+    }
+
+    private static Clock fixedClock(Instant instant) {
+        return Clock.fixed(instant, ZoneOffset.UTC);
+    }
+}
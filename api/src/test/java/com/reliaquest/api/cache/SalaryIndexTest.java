@@ -0,0 +1,41 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class SalaryIndexTest {
+
+    @Test
+    void build_SortsSalariesKeepingListOrderOnTies() {
+        SalaryIndex index = SalaryIndex.build(columnsOf(300, 100, 300, -5));
+
+        assertEquals(4, index.size());
+        assertEquals(-5, index.salaryAt(0));
+        assertEquals(300, index.salaryAt(3));
+        assertArrayEquals(
+                new int[] {3, 1, 0, 2},
+                new int[] {index.rowAt(0), index.rowAt(1), index.rowAt(2), index.rowAt(3)});
+    }
+
+    @Test
+    void countBelowAndAtMost() {
+        SalaryIndex index = SalaryIndex.build(columnsOf(100, 200, 200, 300));
+
+        assertEquals(0, index.countBelow(100));
+        assertEquals(1, index.countBelow(200));
+        assertEquals(3, index.countAtMost(200));
+        assertEquals(4, index.countAtMost(Integer.MAX_VALUE));
+        assertEquals(0, index.countAtMost(Integer.MIN_VALUE));
+    }
+
+    private static EmployeeColumns columnsOf(int... salaries) {
+        return EmployeeColumns.build(IntStream.of(salaries)
+                .mapToObj(salary -> new Employee(
+                        UUID.randomUUID().toString(), "Employee", salary, 30, "Engineer", "employee@gmail.com"))
+                .toList());
+    }
+}
@@ -0,0 +1,47 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class TopEarnersTest {
+
+    @Test
+    void build_MatchesStableSortIncludingTies() {
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            // Few distinct salaries, so many employees tie
+            employees.add(employee(random.nextInt(50) * 1000));
+        }
+
+        EmployeeColumns columns = EmployeeColumns.build(employees);
+
+        for (int capacity : new int[] {1, 10, 100, 5000, 6000}) {
+            int[] expected = IntStream.range(0, employees.size())
+                    .boxed()
+                    .sorted(Comparator.comparingInt(row -> -employees.get(row).getEmployee_salary()))
+                    .limit(capacity)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+
+            assertArrayEquals(expected, TopEarners.build(columns, capacity).rows(), "capacity " + capacity);
+        }
+    }
+
+    @Test
+    void build_EmptyList() {
+        assertEquals(0, TopEarners.build(EmployeeColumns.build(List.of()), 10).rows().length);
+    }
+
+    private static Employee employee(int salary) {
+        return new Employee(UUID.randomUUID().toString(), "Employee", salary, 30, "Engineer", "employee@gmail.com");
+    }
+}
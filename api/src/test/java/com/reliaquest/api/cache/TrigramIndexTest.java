@@ -0,0 +1,90 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class TrigramIndexTest {
+
+    private static final String[] FIRST_NAMES = {
+        "Rajesh", "Ravi", "Ramesh", "Anna", "Annabelle", "Jos\u00e9", "Zo\u00eb"
+    };
+
+    private static final String[] LAST_NAMES = {"Kumar", "Sharma", "Smith", "Nordstr\u00f6m", "Garc\u00eda", "O'Neil"};
+
+    @Test
+    void search_MatchesLinearScan() {
+        List<Employee> employees = randomEmployees(2000);
+        TrigramIndex index = TrigramIndex.build(employees, NameSearchMode.EXACT);
+
+        List<String> queries =
+                List.of("a", "Ra", "Ram", "mesh", "Anna Smith", "esh Ku", "xyz", "aaa", "\u00f6", "Garc\u00eda");
+        for (String query : queries) {
+            assertArrayEquals(scan(employees, query, NameSearchMode.EXACT), index.search(query), query);
+        }
+    }
+
+    @Test
+    void search_CaseInsensitive() {
+        List<Employee> employees = List.of(employee("Rajesh Kumar"), employee("RAJ Sharma"), employee("Ravi"));
+        TrigramIndex index = TrigramIndex.build(employees, NameSearchMode.CASE_INSENSITIVE);
+
+        assertArrayEquals(new int[] {0, 1}, index.search(NameSearchMode.CASE_INSENSITIVE.normalize("rAj")));
+    }
+
+    @Test
+    void search_NormalizedIgnoresAccents() {
+        List<Employee> employees =
+                List.of(employee("Jos\u00e9 Garc\u00eda"), employee("Jose Garcia"), employee("Zo\u00eb"));
+        TrigramIndex index = TrigramIndex.build(employees, NameSearchMode.NORMALIZED);
+
+        assertArrayEquals(new int[] {0, 1}, index.search(NameSearchMode.NORMALIZED.normalize("GARC\u00cdA")));
+        assertArrayEquals(new int[] {2}, index.search(NameSearchMode.NORMALIZED.normalize("zoe")));
+    }
+
+    @Test
+    void search_RepeatedTrigramsInQuery() {
+        List<Employee> employees = List.of(employee("aaaa"), employee("aaab"), employee("baaa"));
+        TrigramIndex index = TrigramIndex.build(employees, NameSearchMode.EXACT);
+
+        assertArrayEquals(new int[] {0}, index.search("aaaa"));
+        assertArrayEquals(new int[] {0, 1, 2}, index.search("aaa"));
+    }
+
+    @Test
+    void build_SkipsMissingNames() {
+        List<Employee> employees = List.of(employee(null), employee("Ravi"));
+        TrigramIndex index = TrigramIndex.build(employees, NameSearchMode.EXACT);
+
+        assertArrayEquals(new int[] {1}, index.search("Rav"));
+        assertArrayEquals(new int[] {1}, index.search("R"));
+    }
+
+    private static int[] scan(List<Employee> employees, String query, NameSearchMode mode) {
+        return IntStream.range(0, employees.size())
+                .filter(row -> mode.normalize(employees.get(row).getEmployee_name())
+                        .contains(mode.normalize(query)))
+                .toArray();
+    }
+
+    private static List<Employee> randomEmployees(int count) {
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            employees.add(employee(name));
+        }
+        return employees;
+    }
+
+    private static Employee employee(String name) {
+        return new Employee(UUID.randomUUID().toString(), name, 100000, 30, "Engineer", "employee@gmail.com");
+    }
+}
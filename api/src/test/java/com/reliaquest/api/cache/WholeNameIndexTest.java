@@ -0,0 +1,41 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class WholeNameIndexTest {
+
+    @Test
+    void candidates_FindsRowsIgnoringCaseInListOrder() {
+        WholeNameIndex index = WholeNameIndex.build(employeesNamed("Ravi", "Rajesh", "RAVI", "ravi kumar", "rAvI"));
+
+        assertArrayEquals(new int[] {0, 2, 4}, index.candidates("ravi"));
+        assertArrayEquals(new int[] {1}, index.candidates("RAJESH"));
+        assertEquals(0, index.candidates("Suresh").length);
+    }
+
+    @Test
+    void candidates_ReturnsNamesSharingTheHash() {
+        // 31 * '1' + '!' == 31 * '0' + '@', so both names hash alike and callers must compare them
+        WholeNameIndex index = WholeNameIndex.build(employeesNamed("Agent 1!", "Agent 0@", "Agent"));
+
+        assertArrayEquals(new int[] {0, 1}, index.candidates("Agent 1!"));
+    }
+
+    @Test
+    void candidates_EmptyList() {
+        assertEquals(0, WholeNameIndex.build(employeesNamed()).candidates("Ravi").length);
+    }
+
+    private static List<Employee> employeesNamed(String... names) {
+        return Arrays.stream(names)
+                .map(name -> new Employee(
+                        UUID.randomUUID().toString(), name, 100000, 30, "Engineer", "employee@gmail.com"))
+                .toList();
+    }
+}
@@ -0,0 +1,223 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+import com.reliaquest.api.client.resilience.AdaptiveRateLimiter;
+import com.reliaquest.api.client.resilience.CircuitBreaker;
+import com.reliaquest.api.client.resilience.Retrier;
+import com.reliaquest.api.client.resilience.RetryBudget;
+import com.reliaquest.api.client.resilience.RetryPolicy;
+import com.reliaquest.api.dto.CreateRequest;
+import com.reliaquest.api.dto.DeleteRequest;
+import com.reliaquest.api.exception.custom.UpstreamRateLimitedException;
+import com.reliaquest.api.exception.custom.UpstreamUnavailableException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.testdata.EmployeeTestDataHolder;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+class ResilientEmployeeClientTest {
+
+    private static final String EMPLOYEE_URL = "http://localhost:8112/api/v1/employee";
+
+    @Mock
+    private EmployeeClient delegate;
+
+    private AutoCloseable mocks;
+
+    private MeterRegistry meterRegistry;
+
+    private ResilientEmployeeClient resilientClient;
+
+    private List<Employee> mockEmployees;
+
+    @BeforeEach
+    void setUp() {
+        mocks = openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(
+                1, 1000, 1, 0.5, Duration.ofSeconds(1), Duration.ofSeconds(60), Duration.ofSeconds(1));
+        RetryPolicy readPolicy = new RetryPolicy(3, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(1), true);
+        RetryPolicy writePolicy = new RetryPolicy(2, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(1), false);
+        resilientClient = new ResilientEmployeeClient(
+                delegate,
+                rateLimiter,
+                new Retrier(new RetryBudget(0.2, 10)),
+                EmployeeClientRetryPolicies.of(readPolicy, writePolicy),
+                new CircuitBreaker(3, Duration.ofSeconds(10)),
+                meterRegistry);
+        mockEmployees = EmployeeTestDataHolder.getMockEmployees();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    @Test
+    void getAllEmployees_DelegatesAndRecordsExecution() {
+        EmployeeResponse<List<Employee>> mockResponse = new EmployeeResponse<>(mockEmployees, "success");
+        when(delegate.getAllEmployees()).thenReturn(mockResponse);
+
+        assertSame(mockResponse, resilientClient.getAllEmployees());
+
+        verify(delegate, times(1)).getAllEmployees();
+        assertEquals(1.0, singleFlightCount("getAllEmployees", "executed"));
+        assertEquals(0.0, singleFlightCount("getAllEmployees", "coalesced"));
+    }
+
+    @Test
+    void getEmployeeById_Delegates() {
+        Employee mockEmployee = mockEmployees.get(0);
+        EmployeeResponse<Employee> mockResponse = new EmployeeResponse<>(mockEmployee, "success");
+        when(delegate.getEmployeeById(mockEmployee.getId())).thenReturn(mockResponse);
+
+        assertSame(mockResponse, resilientClient.getEmployeeById(mockEmployee.getId()));
+        assertEquals(1.0, singleFlightCount("getEmployeeById", "executed"));
+    }
+
+    @Test
+    void writes_AreNeverCoalesced() {
+        CreateRequest createRequest = EmployeeTestDataHolder.getMockCreateRequest();
+        DeleteRequest deleteRequest = new DeleteRequest("Rajesh");
+        when(delegate.createEmployee(createRequest)).thenReturn(new EmployeeResponse<>(mockEmployees.get(0), "ok"));
+        when(delegate.deleteEmployeeByName(deleteRequest)).thenReturn(new EmployeeResponse<>(true, "ok"));
+
+        resilientClient.createEmployee(createRequest);
+        resilientClient.createEmployee(createRequest);
+        resilientClient.deleteEmployeeByName(deleteRequest);
+
+        verify(delegate, times(2)).createEmployee(createRequest);
+        verify(delegate, times(1)).deleteEmployeeByName(deleteRequest);
+    }
+
+    @Test
+    void getAllEmployeesIfChanged_ReturnsNotModifiedAsResponse() {
+        when(delegate.getAllEmployeesIfChanged("\"v1\"")).thenThrow(notModified());
+
+        ResponseEntity<EmployeeResponse<List<Employee>>> response = resilientClient.getAllEmployeesIfChanged("\"v1\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatusCode().value());
+        assertNull(response.getBody());
+        verify(delegate, times(1)).getAllEmployeesIfChanged("\"v1\"");
+        assertEquals(1.0, singleFlightCount("getAllEmployeesIfChanged", "executed"));
+    }
+
+    @Test
+    void getAllEmployees_RetriesServerError() {
+        EmployeeResponse<List<Employee>> mockResponse = new EmployeeResponse<>(mockEmployees, "success");
+        when(delegate.getAllEmployees()).thenThrow(serverError()).thenReturn(mockResponse);
+
+        assertSame(mockResponse, resilientClient.getAllEmployees());
+
+        verify(delegate, times(2)).getAllEmployees();
+        assertEquals(1.0, retryCount("retried"));
+    }
+
+    @Test
+    void createEmployee_ServerError_IsNotRetried() {
+        CreateRequest createRequest = EmployeeTestDataHolder.getMockCreateRequest();
+        when(delegate.createEmployee(createRequest)).thenThrow(serverError());
+
+        assertThrows(FeignException.class, () -> resilientClient.createEmployee(createRequest));
+
+        verify(delegate, times(1)).createEmployee(createRequest);
+    }
+
+    @Test
+    void createEmployee_TooManyRequests_IsRetried() {
+        CreateRequest createRequest = EmployeeTestDataHolder.getMockCreateRequest();
+        EmployeeResponse<Employee> mockResponse = new EmployeeResponse<>(mockEmployees.get(0), "ok");
+        when(delegate.createEmployee(createRequest))
+                .thenThrow(tooManyRequests("0"))
+                .thenReturn(mockResponse);
+
+        assertSame(mockResponse, resilientClient.createEmployee(createRequest));
+
+        verify(delegate, times(2)).createEmployee(createRequest);
+    }
+
+    @Test
+    void getEmployeeById_RetryAfterTooLong_ThrowsUpstreamRateLimitedException() {
+        when(delegate.getEmployeeById("1")).thenThrow(tooManyRequests("30"));
+
+        UpstreamRateLimitedException exception =
+                assertThrows(UpstreamRateLimitedException.class, () -> resilientClient.getEmployeeById("1"));
+
+        verify(delegate, times(1)).getEmployeeById("1");
+        assertTrue(exception.getRetryAfterSeconds() > 1);
+    }
+
+    @Test
+    void circuitBreaker_OpensOnRetryAfterAndRejectsWithoutCallingService() {
+        when(delegate.getEmployeeById("1")).thenThrow(tooManyRequests("30"));
+
+        assertThrows(UpstreamRateLimitedException.class, () -> resilientClient.getEmployeeById("1"));
+        UpstreamUnavailableException exception =
+                assertThrows(UpstreamUnavailableException.class, () -> resilientClient.getAllEmployees());
+
+        verify(delegate, never()).getAllEmployees();
+        assertTrue(exception.getRetryAfterSeconds() > 1);
+        double rejected = meterRegistry
+                .get("employee.client.circuit.breaker.rejected")
+                .functionCounter()
+                .count();
+        assertEquals(1.0, rejected);
+    }
+
+    private static FeignException notModified() {
+        Response response = Response.builder()
+                .status(HttpStatus.NOT_MODIFIED.value())
+                .reason("Not Modified")
+                .request(request())
+                .headers(Map.of())
+                .build();
+        return FeignException.errorStatus("EmployeeClient#getAllEmployeesIfChanged(String)", response);
+    }
+
+    private static FeignException serverError() {
+        return new FeignException.InternalServerError("Internal Server Error", request(), null, Map.of());
+    }
+
+    private static FeignException tooManyRequests(String retryAfter) {
+        return new FeignException.TooManyRequests(
+                "Too Many Requests", request(), null, Map.of("Retry-After", List.of(retryAfter)));
+    }
+
+    private static Request request() {
+        return Request.create(Request.HttpMethod.GET, EMPLOYEE_URL, Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+
+    private double retryCount(String result) {
+        return meterRegistry
+                .get("employee.client.retries")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private double singleFlightCount(String method, String result) {
+        return meterRegistry
+                .get("employee.client.single.flight.calls")
+                .tag("method", method)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,146 @@
+package com.reliaquest.api.client.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.custom.UpstreamRateLimitedException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void reserve_PacesAtCurrentRate() {
+        AdaptiveRateLimiter limiter = newLimiter(10, Duration.ofSeconds(1));
+
+        assertEquals(0, limiter.reserve(0, Long.MAX_VALUE));
+        assertEquals(SECOND / 10, limiter.reserve(0, Long.MAX_VALUE));
+        assertEquals(2 * SECOND / 10, limiter.reserve(0, Long.MAX_VALUE));
+    }
+
+    @Test
+    void reserve_RejectsCallersBeyondMaxWait() {
+        AdaptiveRateLimiter limiter = newLimiter(10, Duration.ofSeconds(1));
+        limiter.reserve(0, Long.MAX_VALUE);
+
+        assertEquals(-1, limiter.reserve(0, SECOND / 20));
+        assertEquals(SECOND / 10, limiter.reserve(0, SECOND / 10));
+    }
+
+    @Test
+    void onThrottled_CutsRateMultiplicativelyAndRecoversAdditively() {
+        AdaptiveRateLimiter limiter = newLimiter(10, Duration.ofSeconds(1));
+
+        limiter.onThrottled(0, Duration.ZERO);
+        assertEquals(5.0, limiter.getPermitsPerSecond());
+
+        limiter.onAccepted(SECOND);
+        assertEquals(6.0, limiter.getPermitsPerSecond());
+    }
+
+    @Test
+    void onThrottled_HonorsRetryAfter() {
+        AdaptiveRateLimiter limiter = newLimiter(10, Duration.ofSeconds(1));
+
+        limiter.onThrottled(0, Duration.ofSeconds(30));
+
+        assertEquals(30 * SECOND, limiter.reserve(0, Long.MAX_VALUE));
+    }
+
+    @Test
+    void onThrottled_DoublesProbeBackoffWithoutRetryAfter() {
+        AdaptiveRateLimiter limiter = newLimiter(10, Duration.ofSeconds(1));
+
+        limiter.onThrottled(0, null);
+        assertEquals(SECOND, limiter.reserve(0, Long.MAX_VALUE));
+
+        limiter.onThrottled(SECOND, null);
+        assertEquals(2 * SECOND, limiter.reserve(SECOND, Long.MAX_VALUE));
+    }
+
+    @Test
+    void acquire_ThrowsWhenNoPermitWithinMaxWait() {
+        AdaptiveRateLimiter limiter = newLimiter(10, Duration.ofMillis(10));
+        limiter.onThrottled(Duration.ofMinutes(1));
+
+        UpstreamRateLimitedException exception = assertThrows(UpstreamRateLimitedException.class, limiter::acquire);
+        assertTrue(exception.getRetryAfterSeconds() >= 59);
+    }
+
+    @Test
+    void sustainedLoad_LearnsServerRequestLimitAndStopsTrippingIt() {
+        AdaptiveRateLimiter limiter = newLimiter(50, Duration.ofDays(1));
+        SimulatedRequestLimit server = new SimulatedRequestLimit(5, 30 * SECOND);
+
+        long now = 0;
+        int throttledBeforeLearning = 0;
+        int throttledAfterLearning = 0;
+        int acceptedAfterLearning = 0;
+        long learnedAt = -1;
+        for (int request = 0; request < 500; request++) {
+            now += limiter.reserve(now, Long.MAX_VALUE);
+            boolean accepted = server.accept(now);
+            if (accepted) {
+                limiter.onAccepted(now);
+            } else {
+                limiter.onThrottled(now, null);
+            }
+
+            if (learnedAt < 0) {
+                throttledBeforeLearning += accepted ? 0 : 1;
+                // The first window admits five calls and later ones six, so learning ends once six is known
+                if (accepted && limiter.getLearnedBudget() == 6) {
+                    learnedAt = now;
+                }
+            } else if (accepted) {
+                acceptedAfterLearning++;
+            } else {
+                throttledAfterLearning++;
+            }
+        }
+
+        assertTrue(learnedAt > 0, "limiter should learn the per-window budget");
+        assertEquals(0, throttledAfterLearning);
+        // Six calls per 30 second cooldown is at most 12 per minute; pacing should keep most of that
+        double achievedPerMinute = acceptedAfterLearning / ((now - learnedAt) / (60.0 * SECOND));
+        assertTrue(achievedPerMinute > 10.0, "throughput per minute was " + achievedPerMinute);
+    }
+
+    private static AdaptiveRateLimiter newLimiter(double maxRate, Duration maxWait) {
+        return new AdaptiveRateLimiter(0.1, maxRate, 1, 0.5, Duration.ofSeconds(1), Duration.ofSeconds(60), maxWait);
+    }
+
+    /**
+     * Mirrors the burst cap the mock server applied before its rate limiter: after {@code limit} counted requests every
+     * request is rejected until {@code backoffNanos} have passed since the last counted one, then the counter starts
+     * over.
+     */
+    private static final class SimulatedRequestLimit {
+
+        private final int limit;
+        private final long backoffNanos;
+        private int count;
+        private long lastRequested;
+
+        SimulatedRequestLimit(int limit, long backoffNanos) {
+            this.limit = limit;
+            this.backoffNanos = backoffNanos;
+        }
+
+        boolean accept(long now) {
+            if (count >= limit) {
+                if (now - backoffNanos < lastRequested) {
+                    return false;
+                }
+                count = 0;
+                lastRequested = now;
+                return true;
+            }
+            count++;
+            lastRequested = now;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.reliaquest.api.client.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.custom.UpstreamUnavailableException;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofSeconds(10));
+
+        breaker.onFailure(0, breaker.tryAcquire(0), null);
+        breaker.onFailure(0, breaker.tryAcquire(0), null);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.onFailure(0, breaker.tryAcquire(0), null);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertNull(breaker.tryAcquire(5 * SECOND));
+    }
+
+    @Test
+    void successResetsConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker(2, Duration.ofSeconds(10));
+
+        breaker.onFailure(0, breaker.tryAcquire(0), null);
+        breaker.onSuccess(breaker.tryAcquire(0));
+        breaker.onFailure(0, breaker.tryAcquire(0), null);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void retryAfterOpensImmediatelyForRequestedDuration() {
+        CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofSeconds(10));
+
+        breaker.onFailure(0, breaker.tryAcquire(0), Duration.ofSeconds(45));
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertNull(breaker.tryAcquire(44 * SECOND));
+        assertNotNull(breaker.tryAcquire(45 * SECOND));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    void halfOpenLetsOneProbeThroughAtATime() {
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(10));
+        breaker.onFailure(0, breaker.tryAcquire(0), null);
+
+        CircuitBreaker.Permit probe = breaker.tryAcquire(10 * SECOND);
+        assertTrue(probe.probe());
+        assertNull(breaker.tryAcquire(10 * SECOND));
+        assertNull(breaker.tryAcquire(11 * SECOND));
+
+        breaker.onSuccess(probe);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertNotNull(breaker.tryAcquire(11 * SECOND));
+        assertNotNull(breaker.tryAcquire(11 * SECOND));
+    }
+
+    @Test
+    void failedProbeReopens() {
+        CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofSeconds(10));
+        breaker.onFailure(0, breaker.tryAcquire(0), Duration.ofSeconds(1));
+
+        CircuitBreaker.Permit probe = breaker.tryAcquire(SECOND);
+        breaker.onFailure(SECOND, probe, null);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertNull(breaker.tryAcquire(10 * SECOND));
+        assertNotNull(breaker.tryAcquire(11 * SECOND));
+    }
+
+    @Test
+    void ignoredProbeReleasesPermit() {
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(10));
+        breaker.onFailure(0, breaker.tryAcquire(0), null);
+
+        breaker.onIgnored(breaker.tryAcquire(10 * SECOND));
+
+        assertNotNull(breaker.tryAcquire(10 * SECOND));
+    }
+
+    @Test
+    void lateSuccessDoesNotCloseOpenBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(10));
+        CircuitBreaker.Permit late = breaker.tryAcquire(0);
+        breaker.onFailure(0, breaker.tryAcquire(0), null);
+
+        breaker.onSuccess(late);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void callStartedBeforeOpeningDoesNotDecideHalfOpenBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(10));
+        CircuitBreaker.Permit stale = breaker.tryAcquire(0);
+        breaker.onFailure(0, breaker.tryAcquire(0), Duration.ofSeconds(1));
+        CircuitBreaker.Permit probe = breaker.tryAcquire(SECOND);
+
+        // Still retrying when the probe was let through, it then succeeds, is ignored or fails
+        breaker.onSuccess(stale);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onIgnored(stale);
+        assertNull(breaker.tryAcquire(2 * SECOND));
+        breaker.onFailure(2 * SECOND, stale, null);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.onSuccess(probe);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void failureOfCallStartedBeforeClosingIsNotCounted() {
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(10));
+        CircuitBreaker.Permit stale = breaker.tryAcquire(0);
+        breaker.onFailure(0, breaker.tryAcquire(0), Duration.ofSeconds(1));
+        breaker.onSuccess(breaker.tryAcquire(SECOND));
+
+        breaker.onFailure(2 * SECOND, stale, null);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void acquirePermission_RejectsWhileOpen() {
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(30));
+        breaker.onFailure(breaker.acquirePermission(), null);
+
+        UpstreamUnavailableException exception =
+                assertThrows(UpstreamUnavailableException.class, breaker::acquirePermission);
+
+        assertTrue(exception.getRetryAfterSeconds() > 1);
+        assertEquals(1, breaker.getRejectedCount());
+    }
+}
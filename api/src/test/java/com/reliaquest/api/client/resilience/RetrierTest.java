@@ -0,0 +1,149 @@
+package com.reliaquest.api.client.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import feign.FeignException;
+import feign.Request;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class RetrierTest {
+
+    private static final RetryPolicy READ_POLICY =
+            new RetryPolicy(3, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(1), true);
+
+    private static final RetryPolicy WRITE_POLICY =
+            new RetryPolicy(3, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(1), false);
+
+    @Test
+    void execute_IdempotentServerError_IsRetriedUntilSuccess() {
+        Retrier retrier = new Retrier(new RetryBudget(0.2, 10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retrier.execute(READ_POLICY, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw serverError();
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, retrier.getRetryCount());
+    }
+
+    @Test
+    void execute_StopsAfterMaxAttempts() {
+        Retrier retrier = new Retrier(new RetryBudget(0.2, 10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(FeignException.class, () -> retrier.execute(READ_POLICY, () -> {
+            attempts.incrementAndGet();
+            throw serverError();
+        }));
+
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void execute_NonIdempotentServerError_IsNotRetried() {
+        Retrier retrier = new Retrier(new RetryBudget(0.2, 10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(FeignException.class, () -> retrier.execute(WRITE_POLICY, () -> {
+            attempts.incrementAndGet();
+            throw serverError();
+        }));
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void execute_NonIdempotentTooManyRequests_IsRetried() {
+        Retrier retrier = new Retrier(new RetryBudget(0.2, 10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retrier.execute(WRITE_POLICY, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw tooManyRequests("0");
+            }
+            return "created";
+        });
+
+        assertEquals("created", result);
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void execute_RetryAfterLongerThanAllowed_FailsImmediately() {
+        Retrier retrier = new Retrier(new RetryBudget(0.2, 10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        FeignException exception = assertThrows(FeignException.class, () -> retrier.execute(READ_POLICY, () -> {
+            attempts.incrementAndGet();
+            throw tooManyRequests("30");
+        }));
+
+        assertEquals(429, exception.status());
+        assertEquals(1, attempts.get());
+        assertEquals(0, retrier.getRetryCount());
+    }
+
+    @Test
+    void execute_BudgetExhausted_StopsRetrying() {
+        Retrier retrier = new Retrier(new RetryBudget(0, 1));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(FeignException.class, () -> retrier.execute(READ_POLICY, () -> {
+            attempts.incrementAndGet();
+            throw serverError();
+        }));
+
+        assertEquals(2, attempts.get());
+        assertEquals(1, retrier.getRetryCount());
+        assertEquals(1, retrier.getBudgetExhaustedCount());
+    }
+
+    @Test
+    void backoff_HonorsRetryAfterAndStaysWithinExponentialBound() {
+        RetryPolicy policy =
+                new RetryPolicy(5, Duration.ofMillis(100), Duration.ofMillis(300), Duration.ofSeconds(2), true);
+
+        assertEquals(Duration.ofSeconds(2), policy.backoff(1, Duration.ofSeconds(2)));
+        assertNull(policy.backoff(1, Duration.ofSeconds(3)));
+        for (int retry = 1; retry <= 4; retry++) {
+            Duration delay = policy.backoff(retry, null);
+            long bound = Math.min(300, 100L << (retry - 1));
+            assertTrue(delay.toMillis() <= bound, "retry " + retry + " waited " + delay);
+        }
+    }
+
+    @Test
+    void retryAfterHeader_ParsesDelaySecondsAndDates() {
+        assertEquals(Duration.ofSeconds(5), RetryAfterHeader.parse(headers("5")));
+        assertNull(RetryAfterHeader.parse(headers("soon")));
+        assertNull(RetryAfterHeader.parse(Map.of()));
+        assertEquals(Duration.ZERO, RetryAfterHeader.parse(headers("Wed, 21 Oct 2015 07:28:00 GMT")));
+    }
+
+    private static Map<String, Collection<String>> headers(String retryAfter) {
+        return Map.of("retry-after", List.of(retryAfter));
+    }
+
+    private static FeignException serverError() {
+        return new FeignException.InternalServerError("Internal Server Error", request(), null, Map.of());
+    }
+
+    private static FeignException tooManyRequests(String retryAfter) {
+        return new FeignException.TooManyRequests("Too Many Requests", request(), null, headers(retryAfter));
+    }
+
+    private static Request request() {
+        return Request.create(Request.HttpMethod.GET, "http://localhost", Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+}
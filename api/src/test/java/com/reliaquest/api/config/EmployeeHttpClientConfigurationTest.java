@@ -0,0 +1,67 @@
+package com.reliaquest.api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
+import org.apache.hc.core5.util.TimeValue;
+import org.junit.jupiter.api.Test;
+
+class EmployeeHttpClientConfigurationTest {
+
+    private final EmployeeHttpClientConfiguration configuration = new EmployeeHttpClientConfiguration();
+
+    @Test
+    void employeeConnectionManager_BindsPoolGauges() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        try (PoolingHttpClientConnectionManager connectionManager = configuration.employeeConnectionManager(
+                7, 7, Duration.ofSeconds(2), Duration.ofMinutes(10), meterRegistry)) {
+            assertEquals(7, connectionManager.getMaxTotal());
+            assertEquals(7, connectionManager.getDefaultMaxPerRoute());
+            assertEquals(7.0, meterRegistry.get("employee.client.connections.max").gauge().value());
+            for (String state : new String[] {"leased", "idle", "pending"}) {
+                assertEquals(
+                        0.0,
+                        meterRegistry
+                                .get("employee.client.connections")
+                                .tag("state", state)
+                                .gauge()
+                                .value());
+            }
+        }
+    }
+
+    @Test
+    void keepAliveStrategy_UsesShorterServerTimeout() {
+        ConnectionKeepAliveStrategy strategy =
+                EmployeeHttpClientConfiguration.keepAliveStrategy(TimeValue.ofSeconds(30));
+        BasicClassicHttpResponse response = new BasicClassicHttpResponse(200);
+        response.addHeader("Keep-Alive", "timeout=5");
+
+        assertEquals(
+                5000,
+                strategy.getKeepAliveDuration(response, HttpClientContext.create()).toMilliseconds());
+    }
+
+    @Test
+    void keepAliveStrategy_CapsLongerOrMissingServerTimeout() {
+        ConnectionKeepAliveStrategy strategy =
+                EmployeeHttpClientConfiguration.keepAliveStrategy(TimeValue.ofSeconds(30));
+        BasicClassicHttpResponse longTimeout = new BasicClassicHttpResponse(200);
+        longTimeout.addHeader("Keep-Alive", "timeout=300");
+
+        assertEquals(
+                30000,
+                strategy.getKeepAliveDuration(longTimeout, HttpClientContext.create()).toMilliseconds());
+        assertEquals(
+                30000,
+                strategy.getKeepAliveDuration(new BasicClassicHttpResponse(200), HttpClientContext.create())
+                        .toMilliseconds());
+    }
+}
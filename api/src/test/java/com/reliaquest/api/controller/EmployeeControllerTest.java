@@ -2,10 +2,12 @@ package com.reliaquest.api.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.openMocks;
 
 import com.reliaquest.api.dto.CreateRequest;
+import com.reliaquest.api.dto.SalaryRank;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.interfaces.EmployeeService;
 import com.reliaquest.api.testdata.EmployeeTestDataHolder;
@@ -100,6 +102,56 @@ class EmployeeControllerTest {
         verify(employeeService, times(1)).getHighestSalaryOfEmployees();
     }
 
+    @Test
+    void testGetLowestSalaryOfEmployees() {
+        when(employeeService.getLowestSalaryOfEmployees()).thenReturn(Optional.of(200000));
+
+        ResponseEntity<Integer> response = employeeController.getLowestSalaryOfEmployees();
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(Integer.valueOf(200000), response.getBody());
+    }
+
+    @Test
+    void testGetEmployeesBySalaryRange() {
+        when(employeeService.getEmployeesBySalaryRange(100000, 300000)).thenReturn(mockEmployees);
+
+        ResponseEntity<List<Employee>> response = employeeController.getEmployeesBySalaryRange(100000, 300000);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(mockEmployees, response.getBody());
+    }
+
+    @Test
+    void testGetEmployeesBySalaryRange_BadRequest() {
+        ResponseEntity<List<Employee>> response = employeeController.getEmployeesBySalaryRange(300000, 100000);
+
+        assertEquals(400, response.getStatusCode().value());
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void testGetSalaryAtPercentile() {
+        when(employeeService.getSalaryAtPercentile(90)).thenReturn(Optional.of(500000));
+
+        ResponseEntity<Integer> response = employeeController.getSalaryAtPercentile(90);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(Integer.valueOf(500000), response.getBody());
+        assertEquals(400, employeeController.getSalaryAtPercentile(101).getStatusCode().value());
+    }
+
+    @Test
+    void testGetSalaryRank() {
+        SalaryRank salaryRank = new SalaryRank(300000, 1, 3, 100.0 / 3);
+        when(employeeService.getSalaryRank(300000)).thenReturn(salaryRank);
+
+        ResponseEntity<SalaryRank> response = employeeController.getSalaryRank(300000);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertSame(salaryRank, response.getBody());
+    }
+
     @Test
     void testGetTopTenHighestEarningEmployeeNames() {
         List<String> mockNames = Arrays.asList("Rajesh", "Ravi");
@@ -115,6 +167,20 @@ class EmployeeControllerTest {
         verify(employeeService, times(1)).getTopTenHighestEarningEmployeeNames();
     }
 
+    @Test
+    void testGetTopHighestEarningEmployeeNames() {
+        List<String> mockNames = Arrays.asList("Rajesh", "Ravi", "Ramesh");
+
+        when(employeeService.getTopHighestEarningEmployeeNames(3)).thenReturn(mockNames);
+
+        ResponseEntity<List<String>> response = employeeController.getTopHighestEarningEmployeeNames(3);
+
+        assertNotNull(response);
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(mockNames, response.getBody());
+        verify(employeeService, times(1)).getTopHighestEarningEmployeeNames(3);
+    }
+
     @Test
     void testCreateEmployee() {
         Employee mockEmployee = mockEmployees.get(0);
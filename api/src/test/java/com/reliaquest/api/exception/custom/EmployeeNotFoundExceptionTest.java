@@ -21,4 +21,12 @@ public class EmployeeNotFoundExceptionTest {
 
         assertNull(exception.getMessage());
     }
+
+    @Test
+    void testEmployeeNotFoundExceptionWithoutStackTrace() {
+        EmployeeNotFoundException exception = EmployeeNotFoundException.withoutStackTrace("Employee not found");
+
+        assertEquals("Employee not found", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+    }
 }
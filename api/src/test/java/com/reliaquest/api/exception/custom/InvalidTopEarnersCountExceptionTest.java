@@ -0,0 +1,17 @@
+package com.reliaquest.api.exception.custom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class InvalidTopEarnersCountExceptionTest {
+
+    @Test
+    void testInvalidTopEarnersCountExceptionMessage() {
+        String expectedMessage = "Number of top earners must be between 1 and 100";
+
+        InvalidTopEarnersCountException exception = new InvalidTopEarnersCountException(expectedMessage);
+
+        assertEquals(expectedMessage, exception.getMessage());
+    }
+}
@@ -0,0 +1,47 @@
+package com.reliaquest.api.exception.custom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+public class UpstreamRateLimitedExceptionTest {
+
+    @Test
+    void testUpstreamRateLimitedExceptionWithMessageAndRetryAfter() {
+        String expectedMessage = "Rate limited";
+        Duration retryAfter = Duration.ofSeconds(5);
+
+        UpstreamRateLimitedException exception = new UpstreamRateLimitedException(expectedMessage, retryAfter);
+
+        assertEquals(expectedMessage, exception.getMessage());
+        assertEquals(retryAfter, exception.getRetryAfter());
+        assertEquals(5, exception.getRetryAfterSeconds());
+    }
+
+    @Test
+    void testUpstreamRateLimitedExceptionRoundsRetryAfterUp() {
+        UpstreamRateLimitedException exception = new UpstreamRateLimitedException(null, Duration.ofMillis(1200));
+
+        assertEquals(2, exception.getRetryAfterSeconds());
+        assertNull(exception.getMessage());
+    }
+
+    @Test
+    void testUpstreamRateLimitedExceptionNeverAdvertisesZeroSeconds() {
+        UpstreamRateLimitedException exception = new UpstreamRateLimitedException(null, Duration.ZERO);
+
+        assertEquals(1, exception.getRetryAfterSeconds());
+    }
+
+    @Test
+    void testUpstreamRateLimitedExceptionWithCause() {
+        RuntimeException cause = new RuntimeException("429");
+
+        UpstreamRateLimitedException exception =
+                new UpstreamRateLimitedException("Rate limited", Duration.ofSeconds(3), cause);
+
+        assertSame(cause, exception.getCause());
+        assertEquals(3, exception.getRetryAfterSeconds());
+    }
+}
@@ -0,0 +1,21 @@
+package com.reliaquest.api.exception.custom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+public class UpstreamUnavailableExceptionTest {
+
+    @Test
+    void testUpstreamUnavailableExceptionWithMessageAndRetryAfter() {
+        String expectedMessage = "Unavailable";
+        Duration retryAfter = Duration.ofMillis(4500);
+
+        UpstreamUnavailableException exception = new UpstreamUnavailableException(expectedMessage, retryAfter);
+
+        assertEquals(expectedMessage, exception.getMessage());
+        assertEquals(retryAfter, exception.getRetryAfter());
+        assertEquals(5, exception.getRetryAfterSeconds());
+    }
+}
@@ -1,27 +1,36 @@
 package com.reliaquest.api.service;
 
+import static com.reliaquest.api.testdata.EmployeeClientStubs.stubAllEmployees;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.openMocks;
 
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.cache.NameSearchMode;
+import com.reliaquest.api.cache.NegativeLookupCache;
 import com.reliaquest.api.client.EmployeeClient;
 import com.reliaquest.api.constants.ErrorMessages;
 import com.reliaquest.api.dto.CreateRequest;
 import com.reliaquest.api.dto.DeleteRequest;
+import com.reliaquest.api.dto.SalaryRank;
 import com.reliaquest.api.exception.custom.EmployeeAlreadyDeletedException;
 import com.reliaquest.api.exception.custom.EmployeeCreationException;
 import com.reliaquest.api.exception.custom.EmployeeNotFoundException;
+import com.reliaquest.api.exception.custom.InvalidTopEarnersCountException;
+import com.reliaquest.api.exception.custom.UpstreamUnavailableException;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeResponse;
 import com.reliaquest.api.testdata.EmployeeTestDataHolder;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.http.ResponseEntity;
 
 class EmployeeServiceImplTest {
 
@@ -29,10 +38,13 @@ class EmployeeServiceImplTest {
 
     private static final Integer EXPECTED_EMPLOYEE_SALARY = 500000;
 
+    private static final String UNKNOWN_ID = "9f1c2d3e-4b5a-4c6d-8e7f-0a1b2c3d4e5f";
+
     @Mock
     private EmployeeClient employeeClient;
 
-    @InjectMocks
+    private EmployeeSnapshotCache snapshotCache;
+
     private EmployeeServiceImpl employeeService;
 
     private AutoCloseable mocks;
@@ -44,6 +56,16 @@ class EmployeeServiceImplTest {
     @BeforeEach
     void setUp() {
         mocks = openMocks(this);
+        snapshotCache = new EmployeeSnapshotCache(
+                employeeClient,
+                Duration.ofSeconds(30),
+                Duration.ofSeconds(10),
+                Duration.ofMinutes(10),
+                Runnable::run,
+                Clock.systemUTC());
+        NegativeLookupCache negativeLookupCache = new NegativeLookupCache(Duration.ofSeconds(5), 100);
+        employeeService =
+                new EmployeeServiceImpl(employeeClient, snapshotCache, negativeLookupCache, NameSearchMode.EXACT, 100);
         mockEmployees = EmployeeTestDataHolder.getMockEmployees();
         mockEmployee = mockEmployees.get(0);
     }
@@ -56,23 +78,77 @@ class EmployeeServiceImplTest {
     @Test
     void getEmployees_Success() {
         EmployeeResponse<List<Employee>> mockResponse = new EmployeeResponse<>(mockEmployees, "success");
-        when(employeeClient.getAllEmployees()).thenReturn(mockResponse);
+        stubAllEmployees(employeeClient, mockResponse);
 
         List<Employee> employees = employeeService.getEmployees();
         assertEquals(3, employees.size());
         assertEquals(EXPECTED_EMPLOYEE_NAME, employees.get(0).getEmployee_name());
     }
 
+    @Test
+    void getEmployees_ServedFromSnapshot() {
+        EmployeeResponse<List<Employee>> mockResponse = new EmployeeResponse<>(mockEmployees, "success");
+        stubAllEmployees(employeeClient, mockResponse);
+
+        employeeService.getEmployees();
+        employeeService.getHighestSalaryOfEmployees();
+        employeeService.getTopTenHighestEarningEmployeeNames();
+
+        verify(employeeClient, times(1)).getAllEmployeesIfChanged(any());
+    }
+
     @Test
     void getEmployees_ThrowsEmployeeNotFoundException() {
         EmployeeResponse<List<Employee>> mockResponse = new EmployeeResponse<>(Collections.emptyList(), "success");
-        when(employeeClient.getAllEmployees()).thenReturn(mockResponse);
+        stubAllEmployees(employeeClient, mockResponse);
 
         EmployeeNotFoundException exception =
                 assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployees());
         assertEquals(ErrorMessages.NO_EMPLOYEES_FOUND, exception.getMessage());
     }
 
+    @Test
+    void getEmployeesByNameSearch_Success() {
+        stubAllEmployees(employeeClient, new EmployeeResponse<>(mockEmployees, "success"));
+
+        List<Employee> employees = employeeService.getEmployeesByNameSearch("mes");
+
+        assertEquals(1, employees.size());
+        assertEquals("Ramesh", employees.get(0).getEmployee_name());
+    }
+
+    @Test
+    void getEmployeesByNameSearch_NoMatch_ThrowsEmployeeNotFoundException() {
+        stubAllEmployees(employeeClient, new EmployeeResponse<>(mockEmployees, "success"));
+
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployeesByNameSearch("rajesh"));
+    }
+
+    @Test
+    void getEmployeesByNameSearch_ColdCache_PushesSearchDown() {
+        Employee namesake = new Employee(
+                "0b6f3f8e-6a53-4a5e-9d43-3f4c1b8a2c11", "RAMESH", 100000, 40, "Director", "ramesh2@gmail.com");
+        when(employeeClient.findEmployees("mes", null, null))
+                .thenReturn(new EmployeeResponse<>(List.of(mockEmployees.get(2), namesake), "success"));
+
+        List<Employee> employees = coldCacheService().getEmployeesByNameSearch("mes");
+
+        assertEquals(List.of(mockEmployees.get(2)), employees);
+        verify(employeeClient, never()).getAllEmployeesIfChanged(any());
+    }
+
+    @Test
+    void getEmployeesByNameSearch_ColdCache_FallsBackToSnapshotWhenQueryFails() {
+        when(employeeClient.findEmployees(any(), any(), any()))
+                .thenThrow(new UpstreamUnavailableException("unavailable", Duration.ofSeconds(5)));
+        stubAllEmployees(employeeClient, new EmployeeResponse<>(mockEmployees, "success"));
+
+        List<Employee> employees = coldCacheService().getEmployeesByNameSearch("mes");
+
+        assertEquals(1, employees.size());
+        verify(employeeClient, times(1)).getAllEmployeesIfChanged(any());
+    }
+
     @Test
     void getEmployeeById_Success() {
         String id = mockEmployee.getId();
@@ -84,6 +160,16 @@ class EmployeeServiceImplTest {
         assertEquals(EXPECTED_EMPLOYEE_NAME, employee.getEmployee_name());
     }
 
+    @Test
+    void getEmployeeById_ServedFromSnapshot() {
+        stubAllEmployees(employeeClient, new EmployeeResponse<>(mockEmployees, "success"));
+
+        Employee employee = employeeService.getEmployeeById(mockEmployee.getId());
+
+        assertSame(mockEmployee, employee);
+        verify(employeeClient, never()).getEmployeeById(anyString());
+    }
+
     @Test
     void getEmployeeById_ThrowsEmployeeNotFoundException() {
         String id = "1";
@@ -95,6 +181,63 @@ class EmployeeServiceImplTest {
         assertTrue(exception.getMessage().contains("Employee with ID 1 not found"));
     }
 
+    @Test
+    void getEmployeeById_UpstreamUnavailable_ServedFromLastKnownGood() {
+        EmployeeResponse<List<Employee>> mockResponse = new EmployeeResponse<>(mockEmployees, "success");
+        stubAllEmployees(employeeClient, mockResponse);
+        when(employeeClient.getEmployeeById(mockEmployee.getId()))
+                .thenThrow(new UpstreamUnavailableException("unavailable", Duration.ofSeconds(5)));
+
+        employeeService.getEmployees();
+        Employee employee = employeeService.getEmployeeById(mockEmployee.getId());
+
+        assertEquals(EXPECTED_EMPLOYEE_NAME, employee.getEmployee_name());
+    }
+
+    @Test
+    void getEmployeeById_UpstreamUnavailable_WithoutSnapshot_Throws() {
+        String id = UNKNOWN_ID;
+        when(employeeClient.getEmployeeById(id))
+                .thenThrow(new UpstreamUnavailableException("unavailable", Duration.ofSeconds(5)));
+
+        assertThrows(UpstreamUnavailableException.class, () -> employeeService.getEmployeeById(id));
+    }
+
+    @Test
+    void getEmployeeById_MalformedId_NotFoundWithoutRemoteCall() {
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployeeById("not-a-uuid"));
+
+        verify(employeeClient, never()).getEmployeeById(anyString());
+    }
+
+    @Test
+    void getEmployeeById_RepeatedUnknownId_CallsRemoteOnce() {
+        stubAllEmployees(employeeClient, new EmployeeResponse<>(mockEmployees, "success"));
+        when(employeeClient.getEmployeeById(UNKNOWN_ID)).thenReturn(new EmployeeResponse<>(null, "failure"));
+
+        for (int i = 0; i < 3; i++) {
+            EmployeeNotFoundException exception =
+                    assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployeeById(UNKNOWN_ID));
+            assertEquals(0, exception.getStackTrace().length);
+        }
+
+        verify(employeeClient, times(1)).getEmployeeById(UNKNOWN_ID);
+    }
+
+    @Test
+    void getEmployeeById_UnknownIdAfterListVersionConfirmed_CallsRemoteOnce() {
+        when(employeeClient.getAllEmployeesIfChanged(any()))
+                .thenReturn(ResponseEntity.ok().eTag("W/\"5\"").body(new EmployeeResponse<>(mockEmployees, "success")));
+        when(employeeClient.getEmployeeById(UNKNOWN_ID)).thenReturn(new EmployeeResponse<>(null, "failure"));
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployeeById(UNKNOWN_ID));
+
+        // As on every heartbeat of the event stream
+        snapshotCache.confirmListVersion(5);
+
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployeeById(UNKNOWN_ID));
+        verify(employeeClient, times(1)).getEmployeeById(UNKNOWN_ID);
+    }
+
     @Test
     void createEmployee_Success() {
         CreateRequest createRequest = EmployeeTestDataHolder.getMockCreateRequest();
@@ -107,6 +250,24 @@ class EmployeeServiceImplTest {
         assertEquals(EXPECTED_EMPLOYEE_NAME, createdEmployee.getEmployee_name());
     }
 
+    @Test
+    void createEmployee_AddsToSnapshotWithoutReload() {
+        CreateRequest createRequest = EmployeeTestDataHolder.getMockCreateRequest();
+        Employee createdEmployee =
+                new Employee("0b8ac9e8-4bb4-4c39-8d6e-4c2b4e8a5f31", "Suresh", 400000, 35, "Lead", "suresh@gmail.com");
+        stubAllEmployees(employeeClient, new EmployeeResponse<>(mockEmployees, "success"));
+        when(employeeClient.createEmployee(createRequest))
+                .thenReturn(new EmployeeResponse<>(createdEmployee, "success"));
+
+        employeeService.getEmployees();
+        employeeService.createEmployee(createRequest);
+
+        assertEquals(4, employeeService.getEmployees().size());
+        assertSame(createdEmployee, employeeService.getEmployeeById(createdEmployee.getId()));
+        verify(employeeClient, times(1)).getAllEmployeesIfChanged(any());
+        verify(employeeClient, never()).getEmployeeById(anyString());
+    }
+
     @Test
     void createEmployee_ThrowsEmployeeCreationException() {
         CreateRequest createRequest = EmployeeTestDataHolder.getMockCreateRequest();
@@ -133,6 +294,20 @@ class EmployeeServiceImplTest {
         assertEquals(EXPECTED_EMPLOYEE_NAME, deletedEmployeeName);
     }
 
+    @Test
+    void deleteEmployeeById_RemovesFromSnapshotWithoutReload() {
+        String id = mockEmployee.getId();
+        DeleteRequest deleteRequest = new DeleteRequest(mockEmployee.getEmployee_name());
+        stubAllEmployees(employeeClient, new EmployeeResponse<>(mockEmployees, "success"));
+        when(employeeClient.deleteEmployeeByName(deleteRequest)).thenReturn(new EmployeeResponse<>(true, "success"));
+
+        employeeService.deleteEmployeeById(id);
+
+        assertEquals(2, employeeService.getEmployees().size());
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployeeById(id));
+        verify(employeeClient, times(1)).getAllEmployeesIfChanged(any());
+    }
+
     @Test
     void deleteEmployeeById_ThrowsEmployeeAlreadyDeletedException() {
         String id = mockEmployee.getId();
@@ -150,20 +325,119 @@ class EmployeeServiceImplTest {
     @Test
     void getHighestSalaryOfEmployees_Success() {
         EmployeeResponse<List<Employee>> mockResponse = new EmployeeResponse<>(mockEmployees, "success");
-        when(employeeClient.getAllEmployees()).thenReturn(mockResponse);
+        stubAllEmployees(employeeClient, mockResponse);
 
         Optional<Integer> highestSalary = employeeService.getHighestSalaryOfEmployees();
         assertTrue(highestSalary.isPresent());
         assertEquals(EXPECTED_EMPLOYEE_SALARY, highestSalary.get());
     }
 
+    @Test
+    void getLowestSalaryOfEmployees_Success() {
+        stubAllEmployees(employeeClient, new EmployeeResponse<>(mockEmployees, "success"));
+
+        assertEquals(Optional.of(200000), employeeService.getLowestSalaryOfEmployees());
+    }
+
+    @Test
+    void getHighestSalaryOfEmployees_ThrowsEmployeeNotFoundException() {
+        stubAllEmployees(employeeClient, new EmployeeResponse<>(Collections.emptyList(), "success"));
+
+        EmployeeNotFoundException exception =
+                assertThrows(EmployeeNotFoundException.class, () -> employeeService.getHighestSalaryOfEmployees());
+        assertEquals(ErrorMessages.NO_EMPLOYEES_TO_CALCULATE_HIGHEST_SALARY, exception.getMessage());
+    }
+
+    @Test
+    void getEmployeesBySalaryRange_Success() {
+        stubAllEmployees(employeeClient, new EmployeeResponse<>(mockEmployees, "success"));
+
+        List<Employee> employees = employeeService.getEmployeesBySalaryRange(200000, 300000);
+
+        assertEquals(List.of("Ravi", "Ramesh"), employees.stream().map(Employee::getEmployee_name).toList());
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployeesBySalaryRange(1, 2));
+    }
+
+    @Test
+    void getSalaryAtPercentile_UsesNearestRank() {
+        stubAllEmployees(employeeClient, new EmployeeResponse<>(mockEmployees, "success"));
+
+        assertEquals(Optional.of(200000), employeeService.getSalaryAtPercentile(0));
+        assertEquals(Optional.of(300000), employeeService.getSalaryAtPercentile(50));
+        assertEquals(Optional.of(500000), employeeService.getSalaryAtPercentile(100));
+    }
+
+    @Test
+    void getSalaryRank_Success() {
+        stubAllEmployees(employeeClient, new EmployeeResponse<>(mockEmployees, "success"));
+
+        SalaryRank rank = employeeService.getSalaryRank(300000);
+
+        assertEquals(1, rank.getEmployeesBelow());
+        assertEquals(3, rank.getTotalEmployees());
+        assertEquals(100.0 / 3, rank.getPercentile(), 1e-9);
+    }
+
     @Test
     void getTopTenHighestEarningEmployeeNames_Success() {
         EmployeeResponse<List<Employee>> mockResponse = new EmployeeResponse<>(mockEmployees, "success");
-        when(employeeClient.getAllEmployees()).thenReturn(mockResponse);
+        stubAllEmployees(employeeClient, mockResponse);
 
         List<String> topEarningNames = employeeService.getTopTenHighestEarningEmployeeNames();
         assertEquals(3, topEarningNames.size());
         assertEquals(EXPECTED_EMPLOYEE_NAME, topEarningNames.get(0));
     }
+
+    @Test
+    void getTopHighestEarningEmployeeNames_ReturnsRequestedCount() {
+        stubAllEmployees(employeeClient, new EmployeeResponse<>(mockEmployees, "success"));
+
+        assertEquals(List.of("Rajesh", "Ramesh"), employeeService.getTopHighestEarningEmployeeNames(2));
+    }
+
+    @Test
+    void getTopHighestEarningEmployeeNames_IncludesCreatedEmployee() {
+        Employee created = new Employee(
+                "0b6f3f8e-6a53-4a5e-9d43-3f4c1b8a2c11", "Suresh", 900000, 40, "Director", "suresh@gmail.com");
+        stubAllEmployees(employeeClient, new EmployeeResponse<>(mockEmployees, "success"));
+        when(employeeClient.createEmployee(any())).thenReturn(new EmployeeResponse<>(created, "success"));
+
+        employeeService.getTopTenHighestEarningEmployeeNames();
+        employeeService.createEmployee(EmployeeTestDataHolder.getMockCreateRequest());
+
+        assertEquals(List.of("Suresh", "Rajesh"), employeeService.getTopHighestEarningEmployeeNames(2));
+        verify(employeeClient, times(1)).getAllEmployeesIfChanged(any());
+    }
+
+    @Test
+    void getTopHighestEarningEmployeeNames_ColdCache_PushesRankingDown() {
+        when(employeeClient.findEmployees(null, "salary:desc", 2))
+                .thenReturn(new EmployeeResponse<>(List.of(mockEmployees.get(0), mockEmployees.get(2)), "success"));
+
+        assertEquals(List.of("Rajesh", "Ramesh"), coldCacheService().getTopHighestEarningEmployeeNames(2));
+        verify(employeeClient, never()).getAllEmployeesIfChanged(any());
+    }
+
+    @Test
+    void getTopHighestEarningEmployeeNames_RejectsCountOutOfRange() {
+        assertThrows(InvalidTopEarnersCountException.class, () -> employeeService.getTopHighestEarningEmployeeNames(0));
+        assertThrows(
+                InvalidTopEarnersCountException.class, () -> employeeService.getTopHighestEarningEmployeeNames(101));
+        verifyNoInteractions(employeeClient);
+    }
+
+    /**
+     * @return a service whose cache never runs its background loads, so it stays cold until a read has to load it
+     */
+    private EmployeeServiceImpl coldCacheService() {
+        EmployeeSnapshotCache snapshotCache = new EmployeeSnapshotCache(
+                employeeClient,
+                Duration.ofSeconds(30),
+                Duration.ofSeconds(10),
+                Duration.ofMinutes(10),
+                task -> {},
+                Clock.systemUTC());
+        NegativeLookupCache negativeLookupCache = new NegativeLookupCache(Duration.ofSeconds(5), 100);
+        return new EmployeeServiceImpl(employeeClient, snapshotCache, negativeLookupCache, NameSearchMode.EXACT, 100);
+    }
 }
@@ -0,0 +1,25 @@
+package com.reliaquest.api.testdata;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.client.EmployeeClient;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeResponse;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Stubbing shared by the tests that mock {@link EmployeeClient}.
+ */
+public final class EmployeeClientStubs {
+
+    private EmployeeClientStubs() {}
+
+    /**
+     * Answers every full or conditional fetch of the employees with the given response, without an ETag.
+     */
+    public static void stubAllEmployees(EmployeeClient employeeClient, EmployeeResponse<List<Employee>> response) {
+        when(employeeClient.getAllEmployeesIfChanged(any())).thenReturn(ResponseEntity.ok(response));
+    }
+}
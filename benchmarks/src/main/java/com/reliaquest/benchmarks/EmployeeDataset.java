@@ -0,0 +1,81 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic employee data for benchmarks. The same size always yields the same employees, so results of different
+ * runs compare like with like.
+ */
+public final class EmployeeDataset {
+
+    private static final String[] FIRST_NAMES = {
+        "Anna", "Bill", "Carla", "David", "Elena", "Frank", "Grace", "Hiro", "Ines", "Jamal",
+        "Kim", "Luis", "Maria", "Noah", "Olga", "Priya", "Quinn", "Rajesh", "Sofia", "Tom"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Anderson", "Brown", "Chen", "Diaz", "Evans", "Fischer", "Garcia", "Hansen", "Ito", "Johnson",
+        "Kumar", "Lopez", "Martin", "Nguyen", "Okafor", "Patel", "Rossi", "Smith", "Tanaka", "Weber"
+    };
+
+    private static final String[] TITLES = {
+        "Engineer", "Senior Engineer", "Manager", "Director", "Analyst", "Designer", "Accountant", "Recruiter"
+    };
+
+    private EmployeeDataset() {}
+
+    /**
+     * @param size the number of employees
+     * @return the employees as the api module receives them
+     */
+    public static List<Employee> employees(int size) {
+        return employeeStream(size).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * @param size the number of employees
+     * @return the same employees as {@link #employees(int)}, as the server module stores them
+     */
+    public static List<MockEmployee> mockEmployees(int size) {
+        return mockEmployeeStream(size).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * @param size the number of employees
+     * @return the same employees as {@link #mockEmployees(int)}, generated as they are consumed, so that datasets too
+     *     large to hold twice can be loaded
+     */
+    public static Stream<MockEmployee> mockEmployeeStream(int size) {
+        return employeeStream(size).map(employee -> MockEmployee.builder()
+                .id(UUID.fromString(employee.getId()))
+                .name(employee.getEmployee_name())
+                .salary(employee.getEmployee_salary())
+                .age(employee.getEmployee_age())
+                .title(employee.getEmployee_title())
+                .email(employee.getEmployee_email())
+                .build());
+    }
+
+    private static Stream<Employee> employeeStream(int size) {
+        Random random = new Random(size);
+        return IntStream.range(0, size).mapToObj(i -> {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            return new Employee(
+                    new UUID(random.nextLong(), random.nextLong()).toString(),
+                    firstName + " " + lastName,
+                    30000 + random.nextInt(470000),
+                    16 + random.nextInt(55),
+                    TITLES[random.nextInt(TITLES.length)],
+                    (firstName + "." + lastName + i).toLowerCase() + "@company.com");
+        });
+    }
+}
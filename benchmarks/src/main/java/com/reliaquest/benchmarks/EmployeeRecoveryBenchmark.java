@@ -0,0 +1,99 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.EmployeeChangeLog;
+import com.reliaquest.server.service.EmployeeJournal;
+import com.reliaquest.server.service.HeapEmployeeStore;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Startup recovery of the mock server's employees from a snapshot and the journal of the changes made since, as with
+ * {@code mock.employees.journal.directory} set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class EmployeeRecoveryBenchmark {
+
+    @Param({"1000000"})
+    private int size;
+
+    /**
+     * Journal entries written after the snapshot, two per employee deleted and added back.
+     */
+    @Param({"0", "100000"})
+    private int journalEntries;
+
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        Path written = Files.createTempDirectory("employee-journal");
+        directory = Files.createTempDirectory("employee-recovery");
+        EmployeeChangeLog changeLog = new EmployeeChangeLog(1000);
+        HeapEmployeeStore store = new HeapEmployeeStore(EmployeeDataset.mockEmployeeStream(size), changeLog);
+        EmployeeJournal journal = EmployeeJournal.open(written, Integer.MAX_VALUE);
+        journal.start(store, changeLog);
+        List<MockEmployee> sample = EmployeeDataset.mockEmployeeStream(size)
+                .limit(journalEntries / 2)
+                .toList();
+        for (MockEmployee employee : sample) {
+            Optional<MockEmployee> deleted = store.removeFirstByName(employee.getName());
+            deleted.ifPresent(store::add);
+        }
+        journal.awaitDurable(changeLog.getVersion());
+        if (journalEntries == 0) {
+            // Waits for the snapshot of the seeded employees, which no change was journaled after
+            journal.close();
+        }
+        // Otherwise copied before closing, as the journal is snapshotted on close
+        try (Stream<Path> files = Files.list(written)) {
+            for (Path file : files.toList()) {
+                Files.copy(file, directory.resolve(file.getFileName()));
+            }
+        }
+        journal.close();
+        delete(written);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        delete(directory);
+    }
+
+    @Benchmark
+    public List<MockEmployee> recover() throws IOException {
+        return EmployeeJournal.open(directory, Integer.MAX_VALUE).takeRecovered();
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
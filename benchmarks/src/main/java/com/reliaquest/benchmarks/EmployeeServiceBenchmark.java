@@ -0,0 +1,112 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.cache.NameSearchMode;
+import com.reliaquest.api.cache.NegativeLookupCache;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeServiceImpl;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Read paths of {@link EmployeeServiceImpl} against a warm snapshot, next to the object-list computations they
+ * replaced, so the gain of the snapshot indexes and columns can be read off one report.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class EmployeeServiceBenchmark {
+
+    @Param({"50", "1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"Ann", "Maria Chen"})
+    private String searchString;
+
+    private List<Employee> employees;
+
+    private EmployeeSnapshotCache snapshotCache;
+
+    private EmployeeServiceImpl employeeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = EmployeeDataset.employees(size);
+        snapshotCache = new EmployeeSnapshotCache(
+                new InMemoryEmployeeClient(employees),
+                Duration.ofDays(1),
+                Duration.ofSeconds(1),
+                Duration.ofDays(1),
+                Runnable::run,
+                Clock.systemUTC());
+        employeeService = new EmployeeServiceImpl(
+                null, snapshotCache, new NegativeLookupCache(Duration.ofSeconds(5), 10000), NameSearchMode.EXACT, 100);
+
+        // Load the snapshot and build its indexes, so that measurements start from the steady state
+        employeeService.getEmployeesByNameSearch(searchString);
+        employeeService.getHighestSalaryOfEmployees();
+        employeeService.getTopTenHighestEarningEmployeeNames();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        snapshotCache.shutdown();
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesByNameSearch() {
+        return employeeService.getEmployeesByNameSearch(searchString);
+    }
+
+    @Benchmark
+    public Optional<Integer> getHighestSalaryOfEmployees() {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public List<String> getTopTenHighestEarningEmployeeNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames();
+    }
+
+    @Benchmark
+    public List<Employee> objectListNameSearch() {
+        return employees.stream()
+                .filter(employee -> employee.getEmployee_name().contains(searchString))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Optional<Integer> objectListHighestSalary() {
+        return employees.stream().map(Employee::getEmployee_salary).reduce(Integer::max);
+    }
+
+    @Benchmark
+    public List<String> objectListTopTenHighestEarningEmployeeNames() {
+        return employees.stream()
+                .sorted(Comparator.comparing(Employee::getEmployee_salary).reversed())
+                .limit(10)
+                .map(Employee::getEmployee_name)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,134 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.EmployeeListVersion;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeQuery;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.EmployeeChangeLog;
+import com.reliaquest.server.service.EmployeeStore;
+import com.reliaquest.server.service.HeapEmployeeStore;
+import com.reliaquest.server.service.OffHeapEmployeeStore;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The heap and off-heap storage engines of the mock server on large datasets.
+ *
+ * <p>{@link #findById} reports the heap the loaded store retains after a full collection, as the
+ * {@code retainedHeapMegabytes} counter. Run with {@code -prof gc} to compare the time spent collecting during lookups
+ * and writes, which grows with the heap the collector has to trace.
+ * The off-heap engine also loads 10,000,000 employees within these heap settings:
+ * {@code -p engine=OFF_HEAP -p size=10000000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms8g", "-Xmx8g", "-XX:MaxDirectMemorySize=4g"})
+public class EmployeeStoreBenchmark {
+
+    // Employees whose ids and names are looked up, taken from the start of the dataset
+    private static final int SAMPLE_SIZE = 4096;
+
+    @Param({"1000000", "3000000"})
+    private int size;
+
+    @Param({"HEAP", "OFF_HEAP"})
+    private EmployeeStore.Engine engine;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private MockEmployee[] sample;
+
+    private EmployeeStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sample = EmployeeDataset.mockEmployeeStream(size).limit(SAMPLE_SIZE).toArray(MockEmployee[]::new);
+        EmployeeChangeLog changeLog = new EmployeeChangeLog(1000);
+        Stream<MockEmployee> employees = EmployeeDataset.mockEmployeeStream(size);
+        store = switch (engine) {
+            case HEAP -> new HeapEmployeeStore(employees, changeLog);
+            case OFF_HEAP -> new OffHeapEmployeeStore(employees, changeLog);
+        };
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById(RetainedHeap retainedHeap) {
+        return store.findById(sample[random.nextInt(SAMPLE_SIZE)].getId());
+    }
+
+    /**
+     * Deletes the first employee with a random name and adds it back at the end of the list.
+     */
+    @Benchmark
+    public Optional<MockEmployee> deleteAndAdd() {
+        Optional<MockEmployee> deleted = store.removeFirstByName(sample[random.nextInt(SAMPLE_SIZE)].getName());
+        deleted.ifPresent(store::add);
+        return deleted;
+    }
+
+    @Benchmark
+    public EmployeePage findTopTenBySalary() {
+        return store.find(new EmployeeQuery(null, null, null, EmployeeQuery.Sort.SALARY_DESC, 10, null));
+    }
+
+    /**
+     * The full list after a write, which the heap engine shares with the previous version and the off-heap engine
+     * copies from its records.
+     */
+    @Benchmark
+    public EmployeeListVersion getCurrentAfterWrite() {
+        deleteAndAdd();
+        return store.getCurrent();
+    }
+
+    /**
+     * Iterates the full list after a write, as the mock server serializes it, without keeping it.
+     */
+    @Benchmark
+    public long readCurrentAfterWrite(Blackhole blackhole) {
+        deleteAndAdd();
+        return store.readCurrent(list -> {
+            list.employees().forEach(blackhole::consume);
+            return list.version();
+        });
+    }
+
+    /**
+     * The heap retained after a full collection, measured before each iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RetainedHeap {
+
+        public long retainedHeapMegabytes;
+
+        @Setup(Level.Iteration)
+        public void measure() {
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            memory.gc();
+            memory.gc();
+            retainedHeapMegabytes = memory.getHeapMemoryUsage().getUsed() >> 20;
+        }
+    }
+}
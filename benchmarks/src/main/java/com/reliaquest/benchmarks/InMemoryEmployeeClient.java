@@ -0,0 +1,114 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.client.EmployeeClient;
+import com.reliaquest.api.dto.CreateRequest;
+import com.reliaquest.api.dto.DeleteRequest;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeeResponse;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Employee client that serves a list from memory, so benchmarks measure the api module rather than HTTP.
+ * Like the mock server, it answers a conditional fetch of the unchanged list with 304 Not Modified, filters and sorts
+ * searches and deletes the first employee with a name. It keeps no change log, so every write requires a resync.
+ */
+class InMemoryEmployeeClient implements EmployeeClient {
+
+    private static final String STATUS = "Successfully processed request.";
+
+    private volatile List<Employee> employees;
+
+    private volatile long listVersion = 1;
+
+    InMemoryEmployeeClient(List<Employee> employees) {
+        this.employees = List.copyOf(employees);
+    }
+
+    @Override
+    public EmployeeResponse<List<Employee>> getAllEmployees() {
+        return new EmployeeResponse<>(employees, STATUS);
+    }
+
+    @Override
+    public synchronized ResponseEntity<EmployeeResponse<List<Employee>>> getAllEmployeesIfChanged(String eTag) {
+        String current = "W/\"" + listVersion + "\"";
+        if (current.equals(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build();
+        }
+        return ResponseEntity.ok().eTag(current).body(getAllEmployees());
+    }
+
+    @Override
+    public EmployeeResponse<EmployeeChanges> getChangesSince(long since) {
+        long version = listVersion;
+        return new EmployeeResponse<>(new EmployeeChanges(version, since != version, List.of()), STATUS);
+    }
+
+    @Override
+    public EmployeeResponse<List<Employee>> findEmployees(String nameContains, String sort, Integer limit) {
+        Stream<Employee> matches = employees.stream();
+        if (nameContains != null) {
+            String search = nameContains.toLowerCase(Locale.ROOT);
+            matches = matches.filter(employee -> employee.getEmployee_name() != null
+                    && employee.getEmployee_name().toLowerCase(Locale.ROOT).contains(search));
+        }
+        if (sort != null) {
+            Comparator<Employee> bySalary = Comparator.comparingInt(Employee::getEmployee_salary);
+            matches = matches.sorted(sort.equalsIgnoreCase("salary:desc") ? bySalary.reversed() : bySalary);
+        }
+        if (limit != null) {
+            matches = matches.limit(limit);
+        }
+        return new EmployeeResponse<>(matches.toList(), STATUS);
+    }
+
+    /**
+     * Answers an unknown id with no data, which the api treats like the service's 404.
+     */
+    @Override
+    public EmployeeResponse<Employee> getEmployeeById(String id) {
+        Employee found = employees.stream()
+                .filter(employee -> employee.getId().equals(id))
+                .findFirst()
+                .orElse(null);
+        return new EmployeeResponse<>(found, STATUS);
+    }
+
+    @Override
+    public synchronized EmployeeResponse<Employee> createEmployee(CreateRequest createRequest) {
+        Employee created = new Employee(
+                UUID.randomUUID().toString(),
+                createRequest.getName(),
+                createRequest.getSalary(),
+                createRequest.getAge(),
+                createRequest.getTitle(),
+                createRequest.getName().toLowerCase(Locale.ROOT).replace(' ', '.') + "@company.com");
+        List<Employee> updated = new ArrayList<>(employees);
+        updated.add(created);
+        employees = List.copyOf(updated);
+        listVersion++;
+        return new EmployeeResponse<>(created, STATUS);
+    }
+
+    @Override
+    public synchronized EmployeeResponse<Boolean> deleteEmployeeByName(DeleteRequest deleteRequest) {
+        List<Employee> updated = new ArrayList<>(employees);
+        for (int i = 0; i < updated.size(); i++) {
+            if (deleteRequest.getName().equalsIgnoreCase(updated.get(i).getEmployee_name())) {
+                updated.remove(i);
+                employees = List.copyOf(updated);
+                listVersion++;
+                return new EmployeeResponse<>(true, STATUS);
+            }
+        }
+        return new EmployeeResponse<>(false, STATUS);
+    }
+}
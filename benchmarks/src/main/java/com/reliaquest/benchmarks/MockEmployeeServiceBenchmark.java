@@ -0,0 +1,115 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeQuery;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.EmployeeChangeLog;
+import com.reliaquest.server.service.EmployeeJournal;
+import com.reliaquest.server.service.EmployeeStore;
+import com.reliaquest.server.service.HeapEmployeeStore;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookups, queries and deletes of the mock server's {@link MockEmployeeService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class MockEmployeeServiceBenchmark {
+
+    @Param({"50", "1000", "100000", "1000000"})
+    private int size;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private List<MockEmployee> mockEmployees;
+
+    private EmployeeStore store;
+
+    private MockEmployeeService mockEmployeeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mockEmployees = EmployeeDataset.mockEmployees(size);
+        EmployeeChangeLog changeLog = new EmployeeChangeLog(1000);
+        store = new HeapEmployeeStore(mockEmployees.stream(), changeLog);
+        mockEmployeeService = new MockEmployeeService(new Faker(), store, changeLog, EmployeeJournal.disabled());
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById() {
+        return mockEmployeeService.findById(randomEmployee().getId());
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findByUnknownId() {
+        return mockEmployeeService.findById(new UUID(random.nextLong(), random.nextLong()));
+    }
+
+    /**
+     * The query behind the top earners when the api's cache is cold: ten employees from the salary index.
+     */
+    @Benchmark
+    public EmployeePage findTopTenBySalary() {
+        return mockEmployeeService.find(new EmployeeQuery(null, null, null, EmployeeQuery.Sort.SALARY_DESC, 10, null));
+    }
+
+    /**
+     * The query behind a name search when the api's cache is cold, looked up in the name index.
+     */
+    @Benchmark
+    public EmployeePage findByName() {
+        String name = randomEmployee().getName();
+        String part = name.substring(0, Math.min(name.length(), 5));
+        return mockEmployeeService.find(new EmployeeQuery(part, null, null, EmployeeQuery.Sort.LIST, null, null));
+    }
+
+    /**
+     * Deletes a random employee by name and puts the deleted one back at the end of the list, so the store keeps its
+     * employees across invocations. Since names repeat in the dataset, the delete may remove a namesake instead.
+     */
+    @Benchmark
+    public Optional<MockEmployee> delete() {
+        DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+        input.setName(randomEmployee().getName());
+
+        Optional<MockEmployee> deleted = mockEmployeeService.delete(input);
+        deleted.ifPresent(store::add);
+        return deleted;
+    }
+
+    /**
+     * A list read right after a write, which only takes the version the write published.
+     */
+    @Benchmark
+    public List<MockEmployee> getMockEmployeesAfterDelete() {
+        delete();
+        return mockEmployeeService.getMockEmployees();
+    }
+
+    private MockEmployee randomEmployee() {
+        return mockEmployees.get(random.nextInt(mockEmployees.size()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.reliaquest.loadtest;
+
+/**
+ * The endpoints of {@code IEmployeeController}, named after its methods.
+ */
+enum Endpoint {
+    GET_ALL_EMPLOYEES("getAllEmployees"),
+    GET_EMPLOYEES_BY_NAME_SEARCH("getEmployeesByNameSearch"),
+    GET_EMPLOYEE_BY_ID("getEmployeeById"),
+    GET_HIGHEST_SALARY_OF_EMPLOYEES("getHighestSalaryOfEmployees"),
+    GET_TOP_TEN_HIGHEST_EARNING_EMPLOYEE_NAMES("getTopTenHighestEarningEmployeeNames"),
+    CREATE_EMPLOYEE("createEmployee"),
+    DELETE_EMPLOYEE_BY_ID("deleteEmployeeById");
+
+    private final String methodName;
+
+    Endpoint(String methodName) {
+        this.methodName = methodName;
+    }
+
+    String methodName() {
+        return methodName;
+    }
+
+    static Endpoint fromMethodName(String methodName) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.methodName.equals(methodName)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint: " + methodName);
+    }
+}
@@ -0,0 +1,195 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests arrive at the configured rate regardless of how many earlier requests are still
+ * in flight, as independent users would, so a slow api builds up a backlog instead of slowing the load down.
+ *
+ * <p>Lookups use the ids and names the server started with. Deletes remove employees created earlier in the run,
+ * leaving the seed data in place; while none are left, a delete asks for an unknown id and is answered with 404.
+ */
+final class LoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final LoadTestSettings settings;
+    private final URI baseUri;
+    private final List<String> employeeIds;
+    private final List<String> employeeNames;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentLinkedQueue<String> createdIds = new ConcurrentLinkedQueue<>();
+    private final AtomicLong createdCount = new AtomicLong();
+
+    /**
+     * @param settings the settings of the run
+     * @param baseUri the base URI of the api's employee endpoints
+     * @param employeeIds the ids of the employees the server started with
+     * @param employeeNames the names of the employees the server started with
+     */
+    LoadGenerator(LoadTestSettings settings, URI baseUri, List<String> employeeIds, List<String> employeeNames) {
+        this.settings = settings;
+        this.baseUri = baseUri;
+        this.employeeIds = employeeIds;
+        this.employeeNames = employeeNames;
+    }
+
+    /**
+     * Generates traffic for the warm-up and the measured duration, then waits for the requests still in flight.
+     *
+     * @return the statistics of the requests scheduled after the warm-up
+     */
+    LoadReport run() throws InterruptedException {
+        LoadReport report = new LoadReport();
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        // Counted rather than registered with a Phaser, which is limited to 65535 parties
+        AtomicInteger inFlight = new AtomicInteger();
+
+        long startNanos = System.nanoTime();
+        long warmupNanos = settings.warmup().toNanos();
+        long endNanos = warmupNanos + settings.duration().toNanos();
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+
+        // Offsets from the start; exponential gaps between arrivals make them a Poisson process
+        double offsetNanos = 0;
+        while (true) {
+            offsetNanos += -Math.log(1 - random.nextDouble()) * meanGapNanos;
+            if (offsetNanos >= endNanos) {
+                break;
+            }
+            long scheduledNanos = startNanos + (long) offsetNanos;
+            waitUntil(scheduledNanos);
+
+            Endpoint endpoint = settings.mix().next(random);
+            boolean measured = offsetNanos >= warmupNanos;
+            inFlight.incrementAndGet();
+            httpClient
+                    .sendAsync(request(endpoint, random), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        try {
+                            if (measured) {
+                                report.record(endpoint, System.nanoTime() - scheduledNanos, response);
+                            }
+                            if (endpoint == Endpoint.CREATE_EMPLOYEE && response != null) {
+                                rememberCreated(response);
+                            }
+                        } finally {
+                            if (inFlight.decrementAndGet() == 0) {
+                                synchronized (inFlight) {
+                                    inFlight.notifyAll();
+                                }
+                            }
+                        }
+                    });
+        }
+
+        awaitDrained(inFlight);
+        return report;
+    }
+
+    private static void awaitDrained(AtomicInteger inFlight) throws InterruptedException {
+        long deadlineNanos = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        synchronized (inFlight) {
+            long remaining;
+            while (inFlight.get() > 0 && (remaining = deadlineNanos - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(inFlight, remaining);
+            }
+        }
+        if (inFlight.get() > 0) {
+            System.err.printf("%d requests still in flight after %s%n", inFlight.get(), DRAIN_TIMEOUT);
+        }
+    }
+
+    private HttpRequest request(Endpoint endpoint, SplittableRandom random) {
+        return switch (endpoint) {
+            case GET_ALL_EMPLOYEES -> get("");
+            case GET_EMPLOYEES_BY_NAME_SEARCH -> get("/search/" + encode(searchString(random)));
+            case GET_EMPLOYEE_BY_ID -> get("/" + employeeIds.get(random.nextInt(employeeIds.size())));
+            case GET_HIGHEST_SALARY_OF_EMPLOYEES -> get("/highestSalary");
+            case GET_TOP_TEN_HIGHEST_EARNING_EMPLOYEE_NAMES -> get("/topTenHighestEarningEmployeeNames");
+            case CREATE_EMPLOYEE -> HttpRequest.newBuilder(baseUri)
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(createBody(random)))
+                    .build();
+            case DELETE_EMPLOYEE_BY_ID -> HttpRequest.newBuilder(URI.create(baseUri + "/" + idToDelete()))
+                    .timeout(REQUEST_TIMEOUT)
+                    .DELETE()
+                    .build();
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    /**
+     * @return the first three letters of a random seed employee's name
+     */
+    private String searchString(SplittableRandom random) {
+        String name = employeeNames.get(random.nextInt(employeeNames.size()));
+        return name.substring(0, Math.min(3, name.length()));
+    }
+
+    private String createBody(SplittableRandom random) {
+        // Unique names, since the server deletes the first employee with the given name
+        String name = "Load Test " + createdCount.incrementAndGet();
+        int salary = 30000 + random.nextInt(470000);
+        int age = 16 + random.nextInt(60);
+        return "{\"name\":\"%s\",\"salary\":%d,\"age\":%d,\"title\":\"Load Tester\"}".formatted(name, salary, age);
+    }
+
+    private String idToDelete() {
+        String id = createdIds.poll();
+        return id != null ? id : UUID.randomUUID().toString();
+    }
+
+    private void rememberCreated(HttpResponse<String> response) {
+        if (response.statusCode() != 201) {
+            return;
+        }
+        try {
+            JsonNode id = objectMapper.readTree(response.body()).get("id");
+            if (id != null) {
+                createdIds.add(id.asText());
+            }
+        } catch (Exception e) {
+            System.err.println("Could not read the id of a created employee: " + e.getMessage());
+        }
+    }
+
+    private static String encode(String pathSegment) {
+        return URLEncoder.encode(pathSegment, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static void waitUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.reliaquest.loadtest;
+
+import java.io.PrintStream;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency and status statistics of the measured requests, per endpoint and in total.
+ *
+ * <p>Latencies are taken from the moment a request was scheduled to be sent, not from when it was actually sent, so a
+ * stalled generator or a saturated connection pool shows up as latency instead of hiding it (coordinated omission).
+ */
+final class LoadReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<Endpoint, EndpointStatistics> statistics = new EnumMap<>(Endpoint.class);
+    private final EndpointStatistics total = new EndpointStatistics();
+
+    LoadReport() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            statistics.put(endpoint, new EndpointStatistics());
+        }
+    }
+
+    /**
+     * @param endpoint the endpoint that was called
+     * @param latencyNanos the time from the scheduled send to the completed response or failure
+     * @param response the response, or null if the request failed
+     */
+    void record(Endpoint endpoint, long latencyNanos, HttpResponse<?> response) {
+        int status = response == null ? 0 : response.statusCode();
+        statistics.get(endpoint).record(latencyNanos, status);
+        total.record(latencyNanos, status);
+    }
+
+    /**
+     * Prints one line per endpoint that received traffic, and the total.
+     *
+     * @param measured how long traffic was measured, to compute throughput
+     * @param out where to print
+     */
+    void print(Duration measured, PrintStream out) {
+        String format = "%-38s %8s %8s %9s %9s %9s %9s %7s %7s %7s %7s%n";
+        out.printf(
+                format,
+                "endpoint",
+                "count",
+                "req/s",
+                "p50 ms",
+                "p99 ms",
+                "p999 ms",
+                "max ms",
+                "429 %",
+                "5xx %",
+                "4xx %",
+                "failed");
+        statistics.forEach((endpoint, endpointStatistics) -> {
+            if (endpointStatistics.count() > 0) {
+                endpointStatistics.print(endpoint.methodName(), measured, format, out);
+            }
+        });
+        total.print("total", measured, format, out);
+    }
+
+    private static final class EndpointStatistics {
+
+        private final Histogram latencies = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private long throttled;
+        private long serverErrors;
+        private long clientErrors;
+        private long failures;
+
+        synchronized void record(long latencyNanos, int status) {
+            latencies.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+            if (status == 0) {
+                failures++;
+            } else if (status == 429) {
+                throttled++;
+            } else if (status >= 500) {
+                serverErrors++;
+            } else if (status >= 400) {
+                clientErrors++;
+            }
+        }
+
+        synchronized long count() {
+            return latencies.getTotalCount();
+        }
+
+        synchronized void print(String name, Duration measured, String format, PrintStream out) {
+            long count = latencies.getTotalCount();
+            out.printf(
+                    format,
+                    name,
+                    count,
+                    String.format("%.1f", count / (measured.toNanos() / 1e9)),
+                    millis(latencies.getValueAtPercentile(50)),
+                    millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getValueAtPercentile(99.9)),
+                    millis(latencies.getMaxValue()),
+                    percent(throttled, count),
+                    percent(serverErrors, count),
+                    percent(clientErrors, count),
+                    failures);
+        }
+
+        private static String millis(long micros) {
+            return String.format("%.2f", micros / 1000.0);
+        }
+
+        private static String percent(long part, long count) {
+            return count == 0 ? "-" : String.format("%.2f", 100.0 * part / count);
+        }
+    }
+}
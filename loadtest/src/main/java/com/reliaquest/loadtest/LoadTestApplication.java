@@ -0,0 +1,67 @@
+package com.reliaquest.loadtest;
+
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.server.ServerApplication;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the server and api applications in this JVM on random ports, points api at server, drives api with the
+ * configured traffic and prints the resulting report.
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+
+        try (ConfigurableApplicationContext server = start(
+                        ServerApplication.class,
+                        settings.serverConfig(),
+                        "--mock.employees.max=" + settings.employees(),
+                        "--mock.employees.seed=" + settings.seed(),
+                        "--mock.rate-limit.seed=" + settings.seed());
+                ConfigurableApplicationContext api = start(
+                        ApiApplication.class,
+                        settings.apiConfig(),
+                        "--employee.client.url=" + employeeUri(server))) {
+
+            List<MockEmployee> seedEmployees =
+                    List.copyOf(server.getBean(MockEmployeeService.class).getMockEmployees());
+            List<String> ids = seedEmployees.stream()
+                    .map(mockEmployee -> mockEmployee.getId().toString())
+                    .toList();
+            List<String> names =
+                    seedEmployees.stream().map(MockEmployee::getName).toList();
+
+            System.out.printf(
+                    "Offering %.1f req/s (Poisson arrivals) for %s after a %s warm-up, against %d seed employees%n"
+                            + "Traffic mix: %s%n",
+                    settings.rate(), settings.duration(), settings.warmup(), settings.employees(), settings.mix());
+
+            LoadReport report = new LoadGenerator(settings, employeeUri(api), ids, names).run();
+            report.print(settings.duration(), System.out);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(
+            Class<?> application, String configLocation, String... extraArguments) {
+        List<String> arguments = new ArrayList<>(
+                List.of("--server.port=0", "--spring.main.banner-mode=off", "--logging.level.com.reliaquest=WARN"));
+        if (configLocation != null) {
+            arguments.add("--spring.config.location=file:" + configLocation);
+        }
+        arguments.addAll(List.of(extraArguments));
+        return new SpringApplicationBuilder(application).run(arguments.toArray(String[]::new));
+    }
+
+    private static URI employeeUri(ConfigurableApplicationContext context) {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return URI.create("http://localhost:" + port + "/api/v1/employee");
+    }
+}
@@ -0,0 +1,46 @@
+package com.reliaquest.loadtest;
+
+import java.time.Duration;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Settings of a load test run, read from {@code loadtest.*} system properties.
+ *
+ * @param rate the offered load, in requests per second; arrivals follow a Poisson process at this rate whether or not
+ *     earlier requests have completed
+ * @param warmup how long traffic runs before it is measured
+ * @param duration how long traffic is measured
+ * @param employees how many employees the server starts with
+ * @param mix the relative weights of the endpoints
+ * @param seed the seed of the traffic, of the server's employees and of its rate limits, so a run can be repeated
+ * @param apiConfig the path of the api module's application.yml, or null to run on defaults
+ * @param serverConfig the path of the server module's application.yml, or null to run on defaults
+ */
+record LoadTestSettings(
+        double rate,
+        Duration warmup,
+        Duration duration,
+        int employees,
+        TrafficMix mix,
+        long seed,
+        String apiConfig,
+        String serverConfig) {
+
+    LoadTestSettings {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + rate);
+        }
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Double.parseDouble(System.getProperty("loadtest.rate", "100")),
+                DurationStyle.detectAndParse(System.getProperty("loadtest.warmup", "5s")),
+                DurationStyle.detectAndParse(System.getProperty("loadtest.duration", "30s")),
+                Integer.parseInt(System.getProperty("loadtest.employees", "50")),
+                TrafficMix.parse(System.getProperty("loadtest.mix", TrafficMix.DEFAULT)),
+                Long.parseLong(System.getProperty("loadtest.seed", "42")),
+                System.getProperty("loadtest.api.config"),
+                System.getProperty("loadtest.server.config"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.reliaquest.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Relative weights of the endpoints in the generated traffic.
+ */
+final class TrafficMix {
+
+    static final String DEFAULT = "getAllEmployees=10,getEmployeesByNameSearch=20,getEmployeeById=40,"
+            + "getHighestSalaryOfEmployees=10,getTopTenHighestEarningEmployeeNames=10,createEmployee=5,"
+            + "deleteEmployeeById=5";
+
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+
+    private TrafficMix(Map<Endpoint, Integer> weights) {
+        this.endpoints = weights.keySet().toArray(Endpoint[]::new);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += weights.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * @param mix comma-separated {@code <endpoint>=<weight>} pairs, naming endpoints by their
+     *     {@code IEmployeeController} method
+     * @return the traffic mix
+     */
+    static TrafficMix parse(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Traffic mix entries must look like <endpoint>=<weight>: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Traffic mix weights must not be negative: " + entry);
+            }
+            if (weight > 0) {
+                weights.merge(Endpoint.fromMethodName(parts[0].trim()), weight, Integer::sum);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Traffic mix must give at least one endpoint a weight: " + mix);
+        }
+        return new TrafficMix(weights);
+    }
+
+    /**
+     * @param random the source of randomness
+     * @return an endpoint, drawn with the probability of its weight
+     */
+    Endpoint next(SplittableRandom random) {
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException("Draw outside of the cumulative weights");
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < endpoints.length; i++) {
+            int weight = cumulativeWeights[i] - (i == 0 ? 0 : cumulativeWeights[i - 1]);
+            description.append(i == 0 ? "" : ",").append(endpoints[i].methodName()).append('=').append(weight);
+        }
+        return description.toString();
+    }
+}
@@ -1,59 +1,163 @@
 package com.reliaquest.server.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
-import java.util.List;
+import com.reliaquest.server.service.EmployeeChangeLog;
+import com.reliaquest.server.service.EmployeeEventPublisher;
+import com.reliaquest.server.service.EmployeeJournal;
+import com.reliaquest.server.service.EmployeeStore;
+import com.reliaquest.server.service.HeapEmployeeStore;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import com.reliaquest.server.service.OffHeapEmployeeStore;
+import com.reliaquest.server.web.EmployeeListResponseCache;
+import com.reliaquest.server.web.ratelimit.RateLimitInterceptor;
+import com.reliaquest.server.web.ratelimit.RateLimiter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@RequiredArgsConstructor
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    // Larger datasets are not logged employee by employee, as logging would take longer than generating them
+    private static final int LOGGED_EMPLOYEES_MAX = 1000;
+
+    private final ObjectProvider<RateLimitInterceptor> rateLimitInterceptor;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
+    @Bean
+    public EmployeeChangeLog employeeChangeLog(@Value("${mock.employees.change-log.max-entries:1000}") int maxEntries) {
+        return new EmployeeChangeLog(maxEntries);
+    }
+
+    /*
+     * Without a directory, the employees are generated anew on every start and nothing is persisted.
+     */
+    @Bean(destroyMethod = "close")
+    public EmployeeJournal employeeJournal(
+            @Value("${mock.employees.journal.directory:}") String directory,
+            @Value("${mock.employees.journal.snapshot-every:100000}") int snapshotEvery)
+            throws IOException {
+        if (directory.isBlank()) {
+            return EmployeeJournal.disabled();
+        }
+        return EmployeeJournal.open(Path.of(directory), snapshotEvery);
+    }
+
+    /*
+     * Starts from the employees recovered by the journal, if any, and only generates them otherwise.
+     */
+    @Bean
+    public EmployeeStore employeeStore(
+            EmployeeChangeLog employeeChangeLog,
+            EmployeeJournal employeeJournal,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:}") Long seed,
+            @Value("${mock.employees.storage:heap}") EmployeeStore.Engine engine)
+            throws IOException {
+        final var recovered = employeeJournal.takeRecovered();
+        final var employees = recovered == null ? generateEmployees(maxEmployees, seed) : recovered.stream();
+        log.info(
+                "Storing {} {} employees with the {} engine.",
+                recovered == null ? maxEmployees : recovered.size(),
+                recovered == null ? "generated" : "recovered",
+                engine);
+        final var store = switch (engine) {
+            case HEAP -> new HeapEmployeeStore(employees, employeeChangeLog);
+            case OFF_HEAP -> new OffHeapEmployeeStore(employees, employeeChangeLog);
+        };
+        employeeJournal.start(store, employeeChangeLog);
+        return store;
+    }
+
+    /*
+     * The employees the store starts with, generated as the store takes them, so that an off-heap store never holds
+     * them all on the heap. Without a seed, a random one is logged so that the employees can be generated again.
+     */
+    private static Stream<MockEmployee> generateEmployees(int maxEmployees, Long seed) {
+        final var effectiveSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        log.info("Generating {} employees with seed {}.", maxEmployees, effectiveSeed);
+        final var employees = new MockEmployeeGenerator(Locale.getDefault(), effectiveSeed, EMAIL_TEMPLATE)
+                .generate(maxEmployees);
+        if (maxEmployees > LOGGED_EMPLOYEES_MAX) {
+            return employees;
+        }
+        return employees.peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee));
+    }
+
+    @Bean
+    public EmployeeListResponseCache employeeListResponseCache(
+            ObjectMapper objectMapper,
+            @Value("${server.compression.enabled:false}") boolean compressionEnabled,
+            @Value("${server.compression.min-response-size:2KB}") DataSize minResponseSize) {
+        return new EmployeeListResponseCache(objectMapper, compressionEnabled, minResponseSize.toBytes());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public EmployeeEventPublisher employeeEventPublisher(
+            EmployeeChangeLog employeeChangeLog,
+            @Value("${mock.employees.events.heartbeat:5s}") Duration heartbeat,
+            @Value("${mock.employees.events.timeout:10m}") Duration timeout,
+            @Value("${mock.employees.events.queue-capacity:1000}") int queueCapacity) {
+        return new EmployeeEventPublisher(employeeChangeLog, heartbeat, timeout, queueCapacity);
+    }
+
     /*
-     * This list is modifiable by design for CRUD operations.
+     * A limit or period left unset is drawn from the seed, between 5 and 10 requests per 30 to 90 seconds. Without a
+     * seed a random one is logged, so that the limits of any run can be applied again.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    @ConditionalOnProperty(name = "mock.rate-limit.enabled", matchIfMissing = true)
+    public RateLimitInterceptor rateLimitInterceptor(
+            @Value("${mock.rate-limit.algorithm:token-bucket}") RateLimiter.Algorithm algorithm,
+            @Value("${mock.rate-limit.key:global}") RateLimitInterceptor.Key key,
+            @Value("${mock.rate-limit.limit:}") Integer limit,
+            @Value("${mock.rate-limit.period:}") Duration period,
+            @Value("${mock.rate-limit.seed:}") Long seed,
+            @Value("${mock.rate-limit.max-keys:10000}") int maxKeys) {
+        final var effectiveSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        final var random = new SplittableRandom(effectiveSeed);
+        // Both are drawn whether or not they are set, so that a seed always yields the same values
+        final var seededLimit = random.nextInt(5, 10);
+        final var seededPeriod = Duration.ofSeconds(random.nextInt(30, 90));
+        final var effectiveLimit = limit != null ? limit : seededLimit;
+        final var effectivePeriod = period != null ? period : seededPeriod;
+        log.info(
+                "Rate limiting {} requests per {} by {} with {}, seed {}.",
+                effectiveLimit,
+                effectivePeriod,
+                key,
+                algorithm,
+                effectiveSeed);
+        return new RateLimitInterceptor(
+                RateLimiter.create(algorithm, effectiveLimit, effectivePeriod, maxKeys, System::nanoTime), key);
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        rateLimitInterceptor.ifAvailable(registry::addInterceptor);
     }
 }
@@ -2,22 +2,31 @@ package com.reliaquest.server.controller;
 
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeChanges;
+import com.reliaquest.server.model.EmployeeQuery;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.EmployeeEventPublisher;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.EmployeeListResponseCache;
 import jakarta.validation.Valid;
-import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/v1/employee")
@@ -26,9 +35,85 @@ public class MockEmployeeController {
 
     private final MockEmployeeService mockEmployeeService;
 
+    private final EmployeeEventPublisher employeeEventPublisher;
+
+    private final EmployeeListResponseCache employeeListResponseCache;
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /*
+     * Without query parameters, returns the full list with the weak tag of the list version as ETag, which /changes
+     * accepts as since. Spring answers a GET whose If-None-Match matches it with 304 Not Modified and no body. A weak
+     * tag keeps the response compressible. The body is written from the bytes cached for the list version, gzipped
+     * when the client accepts it.
+     *
+     * With any of them, returns the matching employees from the indexes of the service. A page that is not the last
+     * one carries the cursor of the next page in the X-Next-Cursor header.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<?> getEmployees(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestParam(value = "nameContains", required = false) String nameContains,
+            @RequestParam(value = "minSalary", required = false) Integer minSalary,
+            @RequestParam(value = "maxSalary", required = false) Integer maxSalary,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        if (nameContains == null
+                && minSalary == null
+                && maxSalary == null
+                && sort == null
+                && limit == null
+                && cursor == null) {
+            /*
+             * The list is serialized, if its version is not cached yet, while the store is read, and compressed after.
+             * The JSON and its version come from the same version of the list, so the ETag always matches the body.
+             */
+            final var current = mockEmployeeService.readCurrentList(employeeListResponseCache::get);
+            final var response = ResponseEntity.ok()
+                    .eTag("W/\"" + current.getVersion() + "\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING);
+            final var gzip = acceptsGzip(acceptEncoding) ? current.getGzip() : null;
+            if (gzip != null) {
+                return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+            }
+            return response.body(current.getJson());
+        }
+
+        final var order = sort == null ? EmployeeQuery.Sort.LIST : EmployeeQuery.Sort.parse(sort);
+        final var after = cursor == null ? null : EmployeeQuery.Cursor.decode(cursor);
+        if (order == null) {
+            return ResponseEntity.badRequest().body(Response.error("Unsupported sort: " + sort));
+        }
+        if (cursor != null && after == null) {
+            return ResponseEntity.badRequest().body(Response.error("Invalid cursor: " + cursor));
+        }
+        if (limit != null && limit < 1) {
+            return ResponseEntity.badRequest().body(Response.error("Limit must be at least 1"));
+        }
+
+        final var page = mockEmployeeService.find(
+                new EmployeeQuery(nameContains, minSalary, maxSalary, order, limit, after));
+        final var response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(Response.handledWith(page.employees()));
+    }
+
+    @GetMapping("/changes")
+    public Response<EmployeeChanges> getChanges(@RequestParam("since") long since) {
+        return Response.handledWith(mockEmployeeService.getChangesSince(since));
+    }
+
+    /*
+     * Streams creates and deletes as they happen. A client reconnecting with the Last-Event-ID header gets the
+     * changes it missed first, or a resync event if they are no longer known.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getEvents(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return employeeEventPublisher.subscribe(lastEventId);
     }
 
     @GetMapping("/{id}")
@@ -46,6 +131,46 @@ public class MockEmployeeController {
 
     @DeleteMapping()
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
-        return Response.handledWith(mockEmployeeService.delete(input));
+        return Response.handledWith(mockEmployeeService.delete(input).isPresent());
+    }
+
+    /*
+     * Whether gzip is among the accepted encodings with a quality above zero, by name or through *, as in RFC 9110. An
+     * encoding listed by name takes precedence over *, and a malformed quality refuses it, as an uncompressed response
+     * is always acceptable.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        var gzipQuality = -1.0;
+        var anyQuality = -1.0;
+        for (final var encoding : acceptEncoding.split(",")) {
+            final var parameters = encoding.split(";");
+            final var name = parameters[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzipQuality = Math.max(gzipQuality, qualityOf(parameters));
+            } else if (name.equals("*")) {
+                anyQuality = Math.max(anyQuality, qualityOf(parameters));
+            }
+        }
+        return gzipQuality >= 0 ? gzipQuality > 0 : anyQuality > 0;
+    }
+
+    // The q parameter among the parameters after the encoding, 1 if there is none, or 0 if it is not a number
+    private static double qualityOf(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            final var parameter = parameters[i].trim();
+            final var separator = parameter.indexOf('=');
+            if (separator > 0 && parameter.substring(0, separator).trim().equalsIgnoreCase("q")) {
+                try {
+                    final var quality = Double.parseDouble(parameter.substring(separator + 1).trim());
+                    return quality >= 0 && quality <= 1 ? quality : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
     }
 }
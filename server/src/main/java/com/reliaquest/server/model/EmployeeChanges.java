@@ -0,0 +1,18 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/*
+ * Changes after a given version, up to the current version. When the log no longer holds all of them,
+ * resyncRequired is set and the full list has to be fetched instead.
+ */
+public record EmployeeChanges(long version, boolean resyncRequired, List<EmployeeChange> changes) {
+
+    public static EmployeeChanges of(long version, List<EmployeeChange> changes) {
+        return new EmployeeChanges(version, false, changes);
+    }
+
+    public static EmployeeChanges resyncRequired(long version) {
+        return new EmployeeChanges(version, true, List.of());
+    }
+}
@@ -0,0 +1,9 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/*
+ * An immutable version of the employee list, with the change log version that the last create or delete in it was
+ * recorded as.
+ */
+public record EmployeeListVersion(long version, List<MockEmployee> employees) {}
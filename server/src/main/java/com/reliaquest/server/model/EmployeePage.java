@@ -0,0 +1,8 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/*
+ * The employees of one page of a query, and the cursor of the next page, or null if this is the last one.
+ */
+public record EmployeePage(List<MockEmployee> employees, String nextCursor) {}
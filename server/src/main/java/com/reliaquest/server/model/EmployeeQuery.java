@@ -0,0 +1,56 @@
+package com.reliaquest.server.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/*
+ * Filters, order and page of a query for employees. Null filters match every employee, a null limit returns every
+ * match, and a null cursor starts from the first match.
+ */
+public record EmployeeQuery(
+        String nameContains, Integer minSalary, Integer maxSalary, Sort sort, Integer limit, Cursor after) {
+
+    public enum Sort {
+        LIST,
+        SALARY_ASC,
+        SALARY_DESC;
+
+        // Parses salary, salary:asc or salary:desc, or returns null for any other order
+        public static Sort parse(String value) {
+            return switch (value) {
+                case "salary", "salary:asc" -> SALARY_ASC;
+                case "salary:desc" -> SALARY_DESC;
+                default -> null;
+            };
+        }
+    }
+
+    /*
+     * Position of the last employee of a page: its salary and its position in the list. Clients get it as an opaque
+     * string, to pass back unchanged for the next page of the same query.
+     */
+    public record Cursor(int salary, long sequence) {
+
+        public String encode() {
+            return Base64.getUrlEncoder()
+                    .withoutPadding()
+                    .encodeToString((salary + ":" + sequence).getBytes(StandardCharsets.US_ASCII));
+        }
+
+        // Returns null for a string that is not an encoded cursor
+        public static Cursor decode(String value) {
+            try {
+                final var decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.US_ASCII);
+                final var separator = decoded.indexOf(':');
+                if (separator < 0) {
+                    return null;
+                }
+                return new Cursor(
+                        Integer.parseInt(decoded.substring(0, separator)),
+                        Long.parseLong(decoded.substring(separator + 1)));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/*
+ * Immutable list of employees that shares its contents with the lists derived from it.
+ *
+ * The employees are kept in chunks of up to CHUNK_SIZE, ordered by the sequence the store gave them when they were
+ * added. Appending copies the last chunk and removing copies the chunk of the employee, while every other chunk is
+ * shared with the previous list; only the arrays of chunks and of their offsets are copied on each write. Chunks
+ * emptied by removals are dropped, and a chunk that shrinks below MERGE_THRESHOLD is merged with a neighbour the two
+ * fit in, so that deletes spread over the list do not leave it in many small chunks.
+ */
+final class ChunkedEmployeeList extends AbstractList<MockEmployee> implements RandomAccess {
+
+    static final int CHUNK_SIZE = 64;
+
+    static final int MERGE_THRESHOLD = CHUNK_SIZE / 4;
+
+    static final ChunkedEmployeeList EMPTY = new ChunkedEmployeeList(new Chunk[0], new int[0], 0);
+
+    private final Chunk[] chunks;
+
+    // The index of the first employee of each chunk, shared between lists with the same chunk boundaries
+    private final int[] offsets;
+
+    private final int size;
+
+    private ChunkedEmployeeList(Chunk[] chunks, int[] offsets, int size) {
+        this.chunks = chunks;
+        this.offsets = offsets;
+        this.size = size;
+    }
+
+    // Gives the employees the sequences from 0 in list order
+    static ChunkedEmployeeList of(List<MockEmployee> employees) {
+        final var chunks = new Chunk[(employees.size() + CHUNK_SIZE - 1) / CHUNK_SIZE];
+        final var offsets = new int[chunks.length];
+        for (int i = 0; i < chunks.length; i++) {
+            final var from = i * CHUNK_SIZE;
+            final var to = Math.min(from + CHUNK_SIZE, employees.size());
+            final var sequences = new long[to - from];
+            Arrays.setAll(sequences, index -> from + index);
+            chunks[i] = new Chunk(sequences, employees.subList(from, to).toArray(MockEmployee[]::new));
+            offsets[i] = from;
+        }
+        return new ChunkedEmployeeList(chunks, offsets, employees.size());
+    }
+
+    // The sequence must be greater than the ones of the employees in the list
+    ChunkedEmployeeList appended(long sequence, MockEmployee employee) {
+        final var last = chunks.length == 0 ? null : chunks[chunks.length - 1];
+        if (last == null || last.employees.length == CHUNK_SIZE) {
+            final var copy = Arrays.copyOf(chunks, chunks.length + 1);
+            copy[chunks.length] = new Chunk(new long[] {sequence}, new MockEmployee[] {employee});
+            final var newOffsets = Arrays.copyOf(offsets, offsets.length + 1);
+            newOffsets[offsets.length] = size;
+            return new ChunkedEmployeeList(copy, newOffsets, size + 1);
+        }
+        final var copy = chunks.clone();
+        copy[chunks.length - 1] = last.appended(sequence, employee);
+        return new ChunkedEmployeeList(copy, offsets, size + 1);
+    }
+
+    ChunkedEmployeeList removed(long sequence) {
+        final var chunkIndex = chunkOf(sequence);
+        if (chunkIndex < 0) {
+            return this;
+        }
+        final var chunk = chunks[chunkIndex];
+        final var position = Arrays.binarySearch(chunk.sequences, sequence);
+        if (position < 0) {
+            return this;
+        }
+        if (chunk.employees.length == 1) {
+            return replaced(chunkIndex, chunkIndex + 1, null);
+        }
+        final var shrunk = chunk.removed(position);
+        if (shrunk.employees.length < MERGE_THRESHOLD) {
+            if (chunkIndex > 0 && fitTogether(chunks[chunkIndex - 1], shrunk)) {
+                return replaced(chunkIndex - 1, chunkIndex + 1, chunks[chunkIndex - 1].merged(shrunk));
+            }
+            if (chunkIndex + 1 < chunks.length && fitTogether(shrunk, chunks[chunkIndex + 1])) {
+                return replaced(chunkIndex, chunkIndex + 2, shrunk.merged(chunks[chunkIndex + 1]));
+            }
+        }
+        return replaced(chunkIndex, chunkIndex + 1, shrunk);
+    }
+
+    int chunkCount() {
+        return chunks.length;
+    }
+
+    @Override
+    public MockEmployee get(int index) {
+        Objects.checkIndex(index, size);
+        final var found = Arrays.binarySearch(offsets, index);
+        final var chunkIndex = found >= 0 ? found : -found - 2;
+        return chunks[chunkIndex].employees[index - offsets[chunkIndex]];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Walks the chunks rather than looking up every index
+    @Override
+    public Iterator<MockEmployee> iterator() {
+        return new Iterator<>() {
+            private int chunkIndex;
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                return chunkIndex < chunks.length;
+            }
+
+            @Override
+            public MockEmployee next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final var employees = chunks[chunkIndex].employees;
+                final var employee = employees[position++];
+                if (position == employees.length) {
+                    chunkIndex++;
+                    position = 0;
+                }
+                return employee;
+            }
+        };
+    }
+
+    /*
+     * The list with the chunks from the first index up to the second one replaced by the given chunk, or removed if it
+     * is null, after one employee was removed from them. The offsets of the chunks that follow move down by one.
+     */
+    private ChunkedEmployeeList replaced(int from, int to, Chunk replacement) {
+        final var replacements = replacement == null ? 0 : 1;
+        final var length = chunks.length - (to - from) + replacements;
+        final var newChunks = new Chunk[length];
+        final var newOffsets = new int[length];
+        System.arraycopy(chunks, 0, newChunks, 0, from);
+        System.arraycopy(offsets, 0, newOffsets, 0, from);
+        if (replacement != null) {
+            newChunks[from] = replacement;
+            newOffsets[from] = offsets[from];
+        }
+        final var next = from + replacements;
+        System.arraycopy(chunks, to, newChunks, next, chunks.length - to);
+        for (int i = to; i < chunks.length; i++) {
+            newOffsets[next + i - to] = offsets[i] - 1;
+        }
+        return new ChunkedEmployeeList(newChunks, newOffsets, size - 1);
+    }
+
+    private static boolean fitTogether(Chunk first, Chunk second) {
+        return first.employees.length + second.employees.length <= CHUNK_SIZE;
+    }
+
+    // The last chunk whose first sequence is not after the given one, or -1 if there is none
+    private int chunkOf(long sequence) {
+        var low = 0;
+        var high = chunks.length - 1;
+        var found = -1;
+        while (low <= high) {
+            final var middle = (low + high) >>> 1;
+            if (chunks[middle].sequences[0] <= sequence) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+    private static final class Chunk {
+
+        private final long[] sequences;
+        private final MockEmployee[] employees;
+
+        private Chunk(long[] sequences, MockEmployee[] employees) {
+            this.sequences = sequences;
+            this.employees = employees;
+        }
+
+        private Chunk appended(long sequence, MockEmployee employee) {
+            final var length = employees.length;
+            final var newSequences = Arrays.copyOf(sequences, length + 1);
+            final var newEmployees = Arrays.copyOf(employees, length + 1);
+            newSequences[length] = sequence;
+            newEmployees[length] = employee;
+            return new Chunk(newSequences, newEmployees);
+        }
+
+        // The chunk must only hold employees of later sequences
+        private Chunk merged(Chunk next) {
+            final var length = employees.length;
+            final var newSequences = Arrays.copyOf(sequences, length + next.sequences.length);
+            final var newEmployees = Arrays.copyOf(employees, length + next.employees.length);
+            System.arraycopy(next.sequences, 0, newSequences, length, next.sequences.length);
+            System.arraycopy(next.employees, 0, newEmployees, length, next.employees.length);
+            return new Chunk(newSequences, newEmployees);
+        }
+
+        private Chunk removed(int position) {
+            final var length = employees.length - 1;
+            final var newSequences = new long[length];
+            final var newEmployees = new MockEmployee[length];
+            System.arraycopy(sequences, 0, newSequences, 0, position);
+            System.arraycopy(sequences, position + 1, newSequences, position, length - position);
+            System.arraycopy(employees, 0, newEmployees, 0, position);
+            System.arraycopy(employees, position + 1, newEmployees, position, length - position);
+            return new Chunk(newSequences, newEmployees);
+        }
+    }
+}
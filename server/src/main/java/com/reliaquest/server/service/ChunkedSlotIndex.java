@@ -0,0 +1,198 @@
+package com.reliaquest.server.service;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+
+/*
+ * Sorted sequence of record slots of the off-heap store, kept in chunks of up to CHUNK_SIZE ints.
+ *
+ * Inserting or removing a slot moves the slots after it within its chunk only, and shifts the offsets of the chunks
+ * after it, so that a write to an index of n slots costs about CHUNK_SIZE + n / CHUNK_SIZE instead of n. A full chunk
+ * is split in two, and a chunk that shrinks below MERGE_THRESHOLD is merged with a neighbour the two fit in. The order
+ * is the caller's: it inserts at the position it finds with partition, which binary searches the last slot of each
+ * chunk and then the slots of one chunk.
+ */
+final class ChunkedSlotIndex {
+
+    static final int CHUNK_SIZE = 4096;
+
+    static final int MERGE_THRESHOLD = CHUNK_SIZE / 4;
+
+    // Chunks are filled this far when loaded, so that the first inserts do not split them
+    private static final int LOAD_SIZE = CHUNK_SIZE * 3 / 4;
+
+    private int[][] chunks;
+
+    private int[] sizes;
+
+    // The position of the first slot of each chunk
+    private int[] offsets;
+
+    private int chunkCount;
+
+    private int size;
+
+    ChunkedSlotIndex() {
+        this(new int[0]);
+    }
+
+    // The slots must be sorted already
+    ChunkedSlotIndex(int[] sorted) {
+        chunkCount = (sorted.length + LOAD_SIZE - 1) / LOAD_SIZE;
+        final var capacity = Math.max(16, chunkCount * 2);
+        chunks = new int[capacity][];
+        sizes = new int[capacity];
+        offsets = new int[capacity];
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            final var from = chunk * LOAD_SIZE;
+            chunks[chunk] = new int[CHUNK_SIZE];
+            sizes[chunk] = Math.min(LOAD_SIZE, sorted.length - from);
+            offsets[chunk] = from;
+            System.arraycopy(sorted, from, chunks[chunk], 0, sizes[chunk]);
+        }
+        size = sorted.length;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int position) {
+        Objects.checkIndex(position, size);
+        final var chunk = chunkOf(position);
+        return chunks[chunk][position - offsets[chunk]];
+    }
+
+    // The position of the first slot that is not before, where all the slots before it are and none after it is
+    int partition(IntPredicate isBefore) {
+        var low = 0;
+        var high = chunkCount;
+        while (low < high) {
+            final var middle = (low + high) >>> 1;
+            if (isBefore.test(chunks[middle][sizes[middle] - 1])) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        if (low == chunkCount) {
+            return size;
+        }
+        final var chunk = chunks[low];
+        var first = 0;
+        var last = sizes[low];
+        while (first < last) {
+            final var middle = (first + last) >>> 1;
+            if (isBefore.test(chunk[middle])) {
+                first = middle + 1;
+            } else {
+                last = middle;
+            }
+        }
+        return offsets[low] + first;
+    }
+
+    void insert(int position, int slot) {
+        Objects.checkIndex(position, size + 1);
+        if (chunkCount == 0) {
+            insertChunk(0, new int[CHUNK_SIZE], 0);
+        }
+        var chunk = position == size ? chunkCount - 1 : chunkOf(position);
+        if (sizes[chunk] == CHUNK_SIZE) {
+            split(chunk);
+            if (position >= offsets[chunk + 1]) {
+                chunk++;
+            }
+        }
+        final var at = position - offsets[chunk];
+        System.arraycopy(chunks[chunk], at, chunks[chunk], at + 1, sizes[chunk] - at);
+        chunks[chunk][at] = slot;
+        sizes[chunk]++;
+        shiftOffsets(chunk + 1, 1);
+        size++;
+    }
+
+    void remove(int position) {
+        Objects.checkIndex(position, size);
+        final var chunk = chunkOf(position);
+        final var at = position - offsets[chunk];
+        System.arraycopy(chunks[chunk], at + 1, chunks[chunk], at, sizes[chunk] - at - 1);
+        sizes[chunk]--;
+        shiftOffsets(chunk + 1, -1);
+        size--;
+        if (sizes[chunk] == 0) {
+            removeChunk(chunk);
+        } else if (sizes[chunk] < MERGE_THRESHOLD) {
+            if (chunk + 1 < chunkCount && sizes[chunk] + sizes[chunk + 1] <= CHUNK_SIZE) {
+                merge(chunk);
+            } else if (chunk > 0 && sizes[chunk - 1] + sizes[chunk] <= CHUNK_SIZE) {
+                merge(chunk - 1);
+            }
+        }
+    }
+
+    int chunkCount() {
+        return chunkCount;
+    }
+
+    // The last chunk starting at or before the position
+    private int chunkOf(int position) {
+        var low = 0;
+        var high = chunkCount - 1;
+        while (low < high) {
+            final var middle = (low + high + 1) >>> 1;
+            if (offsets[middle] <= position) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private void split(int chunk) {
+        final var kept = sizes[chunk] / 2;
+        final var moved = new int[CHUNK_SIZE];
+        System.arraycopy(chunks[chunk], kept, moved, 0, sizes[chunk] - kept);
+        insertChunk(chunk + 1, moved, sizes[chunk] - kept);
+        offsets[chunk + 1] = offsets[chunk] + kept;
+        sizes[chunk] = kept;
+    }
+
+    // Moves the slots of the chunk after the given one into it
+    private void merge(int chunk) {
+        System.arraycopy(chunks[chunk + 1], 0, chunks[chunk], sizes[chunk], sizes[chunk + 1]);
+        sizes[chunk] += sizes[chunk + 1];
+        removeChunk(chunk + 1);
+    }
+
+    private void insertChunk(int chunk, int[] slots, int slotCount) {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+            sizes = Arrays.copyOf(sizes, chunkCount * 2);
+            offsets = Arrays.copyOf(offsets, chunkCount * 2);
+        }
+        System.arraycopy(chunks, chunk, chunks, chunk + 1, chunkCount - chunk);
+        System.arraycopy(sizes, chunk, sizes, chunk + 1, chunkCount - chunk);
+        System.arraycopy(offsets, chunk, offsets, chunk + 1, chunkCount - chunk);
+        chunks[chunk] = slots;
+        sizes[chunk] = slotCount;
+        offsets[chunk] = chunk == 0 ? 0 : offsets[chunk - 1] + sizes[chunk - 1];
+        chunkCount++;
+    }
+
+    private void removeChunk(int chunk) {
+        System.arraycopy(chunks, chunk + 1, chunks, chunk, chunkCount - chunk - 1);
+        System.arraycopy(sizes, chunk + 1, sizes, chunk, chunkCount - chunk - 1);
+        System.arraycopy(offsets, chunk + 1, offsets, chunk, chunkCount - chunk - 1);
+        chunkCount--;
+        chunks[chunkCount] = null;
+    }
+
+    private void shiftOffsets(int fromChunk, int by) {
+        for (int chunk = fromChunk; chunk < chunkCount; chunk++) {
+            offsets[chunk] += by;
+        }
+    }
+}
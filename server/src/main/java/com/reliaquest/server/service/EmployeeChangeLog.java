@@ -0,0 +1,80 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.EmployeeChanges;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/*
+ * Versioned log of the most recent creates and deletes, from which clients catch up on the changes since the
+ * version they last saw instead of fetching the full list. Each change gets the next version; the oldest
+ * changes are dropped once the log is full.
+ */
+public class EmployeeChangeLog {
+
+    private final int maxEntries;
+
+    // Starts from the clock, so that versions handed out before a restart are older than the new log
+    private final long initialVersion = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+
+    private final Deque<EmployeeChange> changes = new ArrayDeque<>();
+
+    private final List<Consumer<EmployeeChange>> listeners = new CopyOnWriteArrayList<>();
+
+    private long version = initialVersion;
+
+    public EmployeeChangeLog(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Change log must hold at least one entry");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /*
+     * Listeners are called while the log is locked, so they see the changes in version order; they must only hand
+     * the change off and never block. Returns the version after which the listener is called.
+     */
+    public synchronized long addListener(Consumer<EmployeeChange> listener) {
+        listeners.add(listener);
+        return version;
+    }
+
+    public void removeListener(Consumer<EmployeeChange> listener) {
+        listeners.remove(listener);
+    }
+
+    // Returns the version of the change
+    public synchronized long record(EmployeeChange.Type type, MockEmployee employee) {
+        if (changes.size() == maxEntries) {
+            changes.removeFirst();
+        }
+        final var change = new EmployeeChange(++version, type, employee);
+        changes.addLast(change);
+        listeners.forEach(listener -> listener.accept(change));
+        return version;
+    }
+
+    public synchronized EmployeeChanges changesSince(long since) {
+        // Versions of another run of the server, or ones the log has already dropped, cannot be caught up from
+        if (since < initialVersion || since > version) {
+            return EmployeeChanges.resyncRequired(version);
+        }
+        if (since == version) {
+            return EmployeeChanges.of(version, List.of());
+        }
+        long oldest = changes.getFirst().version();
+        if (since < oldest - 1) {
+            return EmployeeChanges.resyncRequired(version);
+        }
+        return EmployeeChanges.of(version, changes.stream().skip(since - oldest + 1).toList());
+    }
+}
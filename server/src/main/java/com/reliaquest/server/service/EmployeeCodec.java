@@ -0,0 +1,77 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/*
+ * Binary form of an employee in the journal and snapshots: the id, salary and age, each preceded by whether it is
+ * present, then name, title and email as UTF-8 preceded by their length, or -1 when null.
+ */
+final class EmployeeCodec {
+
+    private EmployeeCodec() {}
+
+    static void write(DataOutput out, MockEmployee employee) throws IOException {
+        out.writeLong(employee.getId().getMostSignificantBits());
+        out.writeLong(employee.getId().getLeastSignificantBits());
+        writeInteger(out, employee.getSalary());
+        writeInteger(out, employee.getAge());
+        writeString(out, employee.getName());
+        writeString(out, employee.getTitle());
+        writeString(out, employee.getEmail());
+    }
+
+    // Throws BufferUnderflowException if the buffer ends within the employee
+    static MockEmployee read(ByteBuffer in) {
+        final var id = new UUID(in.getLong(), in.getLong());
+        final var salary = readInteger(in);
+        final var age = readInteger(in);
+        return MockEmployee.builder()
+                .id(id)
+                .salary(salary)
+                .age(age)
+                .name(readString(in))
+                .title(readString(in))
+                .email(readString(in))
+                .build();
+    }
+
+    private static void writeInteger(DataOutput out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(ByteBuffer in) {
+        return in.get() == 0 ? null : in.getInt();
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        final var length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        final var bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
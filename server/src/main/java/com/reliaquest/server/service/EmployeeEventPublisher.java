@@ -0,0 +1,248 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.EmployeeChanges;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/*
+ * Pushes the changes of the change log to subscribers as server-sent events:
+ *
+ * - change: a create or delete, with the list version it produced as event id
+ * - heartbeat: the list version of the last change sent, so that a subscriber knows it has seen every change
+ * - resync: the changes since the subscriber's Last-Event-ID are no longer known, so it has to fetch the full list
+ *
+ * Subscriptions, changes and heartbeats are all handled on a single thread, which queues the events of every
+ * subscriber in version order and keeps slow subscribers from holding up creates and deletes. Each subscriber has
+ * its own bounded queue, written out on a delivery thread of its own while it has events, so that one slow
+ * subscriber does not hold up the others. A subscriber whose queue fills up is dropped; it reconnects with the
+ * Last-Event-ID of the last event it got and catches up from the change log.
+ */
+@Slf4j
+public class EmployeeEventPublisher {
+
+    private final EmployeeChangeLog changeLog;
+    private final long timeoutMillis;
+    private final int queueCapacity;
+    private final ScheduledExecutorService sender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final var thread = new Thread(runnable, "employee-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService delivery = Executors.newCachedThreadPool(runnable -> {
+        final var thread = new Thread(runnable, "employee-events-delivery");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Only accessed from the sender thread
+    private final List<Subscriber> subscribers = new ArrayList<>();
+    private long sentVersion;
+
+    public EmployeeEventPublisher(
+            EmployeeChangeLog changeLog, Duration heartbeat, Duration timeout, int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Event queue must hold at least one event");
+        }
+        this.changeLog = changeLog;
+        this.timeoutMillis = timeout.toMillis();
+        this.queueCapacity = queueCapacity;
+        final var version = changeLog.addListener(change -> execute(() -> sendChange(change)));
+        execute(() -> sentVersion = version);
+        sender.scheduleAtFixedRate(
+                this::sendHeartbeats, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * Replays the changes after lastEventId, when given, before any new change is sent to the subscriber.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        return subscribe(new SseEmitter(timeoutMillis), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, Long lastEventId) {
+        final var subscriber = new Subscriber(emitter);
+        emitter.onTimeout(emitter::complete);
+        emitter.onCompletion(() -> execute(() -> {
+            subscriber.close();
+            subscribers.remove(subscriber);
+        }));
+        execute(() -> open(subscriber, lastEventId));
+        return emitter;
+    }
+
+    public void shutdown() {
+        execute(() -> {
+            subscribers.forEach(Subscriber::close);
+            subscribers.clear();
+        });
+        sender.shutdown();
+        delivery.shutdown();
+    }
+
+    private void open(Subscriber subscriber, Long lastEventId) {
+        if (lastEventId != null) {
+            final EmployeeChanges changes = changeLog.changesSince(lastEventId);
+            // Changes after the last one sent are still queued and reach the subscriber once it is added
+            final var missed = changes.changes().stream()
+                    .filter(change -> change.version() <= sentVersion)
+                    .toList();
+            if (changes.resyncRequired() || missed.size() >= queueCapacity) {
+                // Too far behind to catch up through its queue, the full list is quicker anyway
+                if (!subscriber.offer(SseEmitter.event().name("resync").data(changes.version()))) {
+                    return;
+                }
+            } else {
+                for (final var change : missed) {
+                    subscriber.offer(changeEvent(change));
+                }
+            }
+        }
+        if (subscriber.offer(heartbeatEvent())) {
+            subscribers.add(subscriber);
+            log.debug("Added event subscriber, {} subscribed.", subscribers.size());
+        }
+    }
+
+    private void sendChange(EmployeeChange change) {
+        sentVersion = change.version();
+        // Built for each subscriber, as building an event is not thread-safe
+        subscribers.removeIf(subscriber -> !subscriber.offer(changeEvent(change)));
+    }
+
+    private void sendHeartbeats() {
+        subscribers.removeIf(subscriber -> !subscriber.offer(heartbeatEvent()));
+    }
+
+    private SseEmitter.SseEventBuilder changeEvent(EmployeeChange change) {
+        return SseEmitter.event()
+                .id(String.valueOf(change.version()))
+                .name("change")
+                .data(change);
+    }
+
+    private SseEmitter.SseEventBuilder heartbeatEvent() {
+        return SseEmitter.event()
+                .id(String.valueOf(sentVersion))
+                .name("heartbeat")
+                .data(sentVersion);
+    }
+
+    private void execute(Runnable task) {
+        try {
+            sender.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Event publisher is shut down, dropped event task.");
+        }
+    }
+
+    /*
+     * The events queued for one subscriber. At most one delivery task writes them out at a time, in queue order, and
+     * completes the emitter once the subscriber is closed, so the sender thread never waits for a send in progress.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> events = new ArrayDeque<>();
+        private boolean delivering;
+        private boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // Returns false once the subscriber is closed, or is dropped as its queue is full
+        private boolean offer(SseEmitter.SseEventBuilder event) {
+            synchronized (this) {
+                if (closed) {
+                    return false;
+                }
+                if (events.size() == queueCapacity) {
+                    log.debug("Dropped event subscriber, {} events behind.", events.size());
+                    close();
+                    return false;
+                }
+                events.add(event);
+                if (delivering) {
+                    return true;
+                }
+                delivering = true;
+            }
+            deliver();
+            return true;
+        }
+
+        private void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                events.clear();
+                if (delivering) {
+                    // Completed by the delivery task once its send returns
+                    return;
+                }
+                delivering = true;
+            }
+            deliver();
+        }
+
+        private void deliver() {
+            try {
+                delivery.execute(this::deliverQueued);
+            } catch (RejectedExecutionException e) {
+                emitter.complete();
+            }
+        }
+
+        private void deliverQueued() {
+            while (true) {
+                final SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    event = events.poll();
+                    if (event == null) {
+                        delivering = false;
+                        if (!closed) {
+                            return;
+                        }
+                    }
+                }
+                if (event == null) {
+                    emitter.complete();
+                    return;
+                }
+                if (!send(event)) {
+                    synchronized (this) {
+                        closed = true;
+                        events.clear();
+                        delivering = false;
+                    }
+                    return;
+                }
+            }
+        }
+
+        private boolean send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropped event subscriber: {}", e.getMessage());
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeQuery;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/*
+ * Immutable indexes that employee queries are answered from, instead of scanning the whole list:
+ *
+ * - the employees by sequence, their position in the list given by the store, which only grows as employees are added
+ * - the employees by salary, and employees of the same salary in list order
+ * - the employees whose lower-cased name contains each string of three characters, in list order
+ *
+ * A query reads the employees from the most selective index that applies, checks each one against the remaining
+ * filters, and stops once the page is full when the index already yields them in the requested order. Name
+ * filters shorter than three characters are not looked up, as they match most names anyway.
+ *
+ * Adding or removing an employee returns a new index that shares all but a few chunks with this one, see
+ * SortedEmployees. The strings of three characters are spread over GRAM_BUCKETS maps, and a write copies only the maps
+ * of the strings in the employee's name. An index can therefore be published along with the list version it belongs
+ * to and queried without locking while later writes derive newer ones.
+ */
+public final class EmployeeIndex {
+
+    public static final EmployeeIndex EMPTY =
+            new EmployeeIndex(SortedEmployees.EMPTY, SortedEmployees.EMPTY, buckets());
+
+    private static final int GRAM_LENGTH = 3;
+
+    private static final int GRAM_BUCKETS = 1024;
+
+    // Keyed by 0, so that they are in sequence order
+    private final SortedEmployees bySequence;
+    private final SortedEmployees bySalary;
+    private final Map<String, SortedEmployees>[] byNameGram;
+
+    private EmployeeIndex(
+            SortedEmployees bySequence, SortedEmployees bySalary, Map<String, SortedEmployees>[] byNameGram) {
+        this.bySequence = bySequence;
+        this.bySalary = bySalary;
+        this.byNameGram = byNameGram;
+    }
+
+    // Gives the employees the sequences from 0 in list order, as ChunkedEmployeeList.of does
+    public static EmployeeIndex of(List<MockEmployee> employees) {
+        final var count = employees.size();
+        final var sequences = new long[count];
+        Arrays.setAll(sequences, sequence -> sequence);
+        final var listed = employees.toArray(MockEmployee[]::new);
+        final var bySequence = SortedEmployees.of(new int[count], sequences, listed);
+
+        final var bySalaryOrder = new long[count];
+        for (int i = 0; i < count; i++) {
+            bySalaryOrder[i] = (long) salaryOf(listed[i]) << 32 | i;
+        }
+        Arrays.parallelSort(bySalaryOrder);
+        final var salaries = new int[count];
+        final var salarySequences = new long[count];
+        final var salaryEmployees = new MockEmployee[count];
+        for (int i = 0; i < count; i++) {
+            salaries[i] = (int) (bySalaryOrder[i] >> 32);
+            salarySequences[i] = (int) bySalaryOrder[i];
+            salaryEmployees[i] = listed[(int) bySalaryOrder[i]];
+        }
+        final var bySalary = SortedEmployees.of(salaries, salarySequences, salaryEmployees);
+
+        final var sequencesByGram = new HashMap<String, Postings>();
+        for (int i = 0; i < count; i++) {
+            for (final var gram : gramsOf(nameOf(listed[i]))) {
+                sequencesByGram.computeIfAbsent(gram, ignored -> new Postings()).add(i);
+            }
+        }
+        final var byNameGram = buckets();
+        sequencesByGram.forEach(
+                (gram, postings) -> byNameGram[bucketOf(gram)].put(gram, postings.toEmployees(listed)));
+        return new EmployeeIndex(bySequence, bySalary, byNameGram);
+    }
+
+    // The sequence is the one the store keeps the employee under, so cursors and the list agree on positions
+    public EmployeeIndex added(long sequence, MockEmployee employee) {
+        if (bySequence.find(0, sequence) != null) {
+            throw new IllegalArgumentException("Sequence " + sequence + " is already indexed");
+        }
+        final var byNameGram = this.byNameGram.clone();
+        final var copied = new boolean[GRAM_BUCKETS];
+        for (final var gram : gramsOf(nameOf(employee))) {
+            final var bucket = writableBucket(byNameGram, copied, gram);
+            bucket.put(gram, bucket.getOrDefault(gram, SortedEmployees.EMPTY).inserted(0, sequence, employee));
+        }
+        return new EmployeeIndex(
+                bySequence.inserted(0, sequence, employee),
+                bySalary.inserted(salaryOf(employee), sequence, employee),
+                byNameGram);
+    }
+
+    public EmployeeIndex removed(long sequence) {
+        final var employee = bySequence.find(0, sequence);
+        if (employee == null) {
+            return this;
+        }
+        final var byNameGram = this.byNameGram.clone();
+        final var copied = new boolean[GRAM_BUCKETS];
+        for (final var gram : gramsOf(nameOf(employee))) {
+            final var bucket = writableBucket(byNameGram, copied, gram);
+            final var postings = bucket.get(gram).removed(0, sequence);
+            if (postings.size() == 0) {
+                bucket.remove(gram);
+            } else {
+                bucket.put(gram, postings);
+            }
+        }
+        return new EmployeeIndex(
+                bySequence.removed(0, sequence), bySalary.removed(salaryOf(employee), sequence), byNameGram);
+    }
+
+    public EmployeePage find(EmployeeQuery query) {
+        final var order = orderOf(query.sort());
+        final var nameContains = query.nameContains() == null || query.nameContains().isBlank()
+                ? null
+                : query.nameContains().toLowerCase(Locale.ROOT);
+        final var minSalary = query.minSalary() == null ? Integer.MIN_VALUE : query.minSalary();
+        final var maxSalary = query.maxSalary() == null ? Integer.MAX_VALUE : query.maxSalary();
+        final var limit = query.limit() == null ? Integer.MAX_VALUE : query.limit();
+        final var after = query.after() == null
+                ? null
+                : new Hit(query.after().salary(), query.after().sequence(), null);
+
+        final Iterator<Hit> candidates;
+        final boolean ordered;
+        if (nameContains != null && nameContains.length() >= GRAM_LENGTH) {
+            final var listOrder = query.sort() == EmployeeQuery.Sort.LIST;
+            candidates = byNameCandidates(nameContains, listOrder && after != null ? after.sequence() : -1);
+            ordered = listOrder;
+        } else if (query.sort() != EmployeeQuery.Sort.LIST || query.minSalary() != null || query.maxSalary() != null) {
+            final var salaryOrder = query.sort() != EmployeeQuery.Sort.LIST;
+            final var descending = query.sort() == EmployeeQuery.Sort.SALARY_DESC;
+            candidates = bySalaryCandidates(minSalary, maxSalary, descending, salaryOrder ? after : null);
+            ordered = salaryOrder;
+        } else {
+            final var from = after == null ? -1 : after.sequence();
+            candidates = hitsOf(bySequence, bySequence.positionOf(0, from + 1), bySequence.size());
+            ordered = true;
+        }
+
+        final var hits = new ArrayList<Hit>();
+        while (candidates.hasNext() && (!ordered || hits.size() <= limit)) {
+            final var hit = candidates.next();
+            if (hit.salary() >= minSalary
+                    && hit.salary() <= maxSalary
+                    && (nameContains == null || nameOf(hit.employee()).contains(nameContains))
+                    && (after == null || order.compare(hit, after) > 0)) {
+                hits.add(hit);
+            }
+        }
+        if (!ordered) {
+            hits.sort(order);
+        }
+
+        if (hits.size() <= limit) {
+            return new EmployeePage(hits.stream().map(Hit::employee).toList(), null);
+        }
+        final var page = hits.subList(0, limit);
+        final var last = page.get(limit - 1);
+        return new EmployeePage(
+                page.stream().map(Hit::employee).toList(),
+                new EmployeeQuery.Cursor(last.salary(), last.sequence()).encode());
+    }
+
+    /*
+     * Employees whose names contain every gram of the search string, in list order, read from the smallest posting
+     * list. They still have to be checked against the full string.
+     */
+    private Iterator<Hit> byNameCandidates(String nameContains, long afterSequence) {
+        SortedEmployees smallest = null;
+        for (final var gram : gramsOf(nameContains)) {
+            final var postings = byNameGram[bucketOf(gram)].get(gram);
+            if (postings == null) {
+                return Collections.emptyIterator();
+            }
+            if (smallest == null || postings.size() < smallest.size()) {
+                smallest = postings;
+            }
+        }
+        return hitsOf(smallest, smallest.positionOf(0, afterSequence + 1), smallest.size());
+    }
+
+    /*
+     * Employees within the salary range in salary order, starting right after the cursor of a query in salary order
+     * when ascending and from the salary of the cursor when descending. Employees of the same salary come in list order
+     * either way, so that descending walks the salaries down and each of them up.
+     */
+    private Iterator<Hit> bySalaryCandidates(int minSalary, int maxSalary, boolean descending, Hit after) {
+        if (minSalary > maxSalary) {
+            return Collections.emptyIterator();
+        }
+        var from = bySalary.positionOf(minSalary, Long.MIN_VALUE);
+        var to = bySalary.positionOf(maxSalary, Long.MAX_VALUE);
+        if (after != null) {
+            if (descending) {
+                // The remaining ones of the cursor's own salary are left to the filter
+                to = Math.min(to, bySalary.positionOf(after.salary(), Long.MAX_VALUE));
+            } else {
+                from = Math.max(from, bySalary.positionOf(after.salary(), after.sequence() + 1));
+            }
+        }
+        if (!descending) {
+            return hitsOf(bySalary, from, to);
+        }
+        final var lowest = from;
+        return Stream.iterate(to, groupEnd -> groupEnd > lowest, groupEnd -> salaryStart(lowest, groupEnd))
+                .flatMap(groupEnd -> bySalary.stream(salaryStart(lowest, groupEnd), groupEnd))
+                .map(entry -> new Hit(entry.key(), entry.sequence(), entry.employee()))
+                .iterator();
+    }
+
+    // The position of the first employee with the salary of the one before the given position, but not below lowest
+    private int salaryStart(int lowest, int end) {
+        return Math.max(lowest, bySalary.positionOf(bySalary.keyAt(end - 1), Long.MIN_VALUE));
+    }
+
+    private static Iterator<Hit> hitsOf(SortedEmployees employees, int from, int to) {
+        return employees.stream(from, to)
+                .map(entry -> new Hit(salaryOf(entry.employee()), entry.sequence(), entry.employee()))
+                .iterator();
+    }
+
+    // The bucket of the gram in the given copy of the buckets, copying it first if this write has not yet
+    private static Map<String, SortedEmployees> writableBucket(
+            Map<String, SortedEmployees>[] buckets, boolean[] copied, String gram) {
+        final var bucket = bucketOf(gram);
+        if (!copied[bucket]) {
+            buckets[bucket] = new HashMap<>(buckets[bucket]);
+            copied[bucket] = true;
+        }
+        return buckets[bucket];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, SortedEmployees>[] buckets() {
+        final Map<String, SortedEmployees>[] buckets = new Map[GRAM_BUCKETS];
+        Arrays.setAll(buckets, ignored -> new HashMap<>());
+        return buckets;
+    }
+
+    private static int bucketOf(String gram) {
+        return gram.hashCode() & (GRAM_BUCKETS - 1);
+    }
+
+    private static Comparator<Hit> orderOf(EmployeeQuery.Sort sort) {
+        final Comparator<Hit> bySequence = Comparator.comparingLong(Hit::sequence);
+        final Comparator<Hit> bySalary = Comparator.comparingInt(Hit::salary);
+        return switch (sort) {
+            case LIST -> bySequence;
+            case SALARY_ASC -> bySalary.thenComparing(bySequence);
+            case SALARY_DESC -> bySalary.reversed().thenComparing(bySequence);
+        };
+    }
+
+    private static Set<String> gramsOf(String value) {
+        final var grams = new HashSet<String>();
+        for (int start = 0; start + GRAM_LENGTH <= value.length(); start++) {
+            grams.add(value.substring(start, start + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static int salaryOf(MockEmployee employee) {
+        return Objects.requireNonNullElse(employee.getSalary(), 0);
+    }
+
+    private static String nameOf(MockEmployee employee) {
+        return employee.getName() == null ? "" : employee.getName().toLowerCase(Locale.ROOT);
+    }
+
+    private record Hit(int salary, long sequence, MockEmployee employee) {}
+
+    // The sequences of the employees with a gram in their name, collected in list order while loading
+    private static final class Postings {
+
+        private int[] sequences = new int[4];
+        private int size;
+
+        private void add(int sequence) {
+            if (size == sequences.length) {
+                sequences = Arrays.copyOf(sequences, size * 2);
+            }
+            sequences[size++] = sequence;
+        }
+
+        private SortedEmployees toEmployees(MockEmployee[] listed) {
+            final var longSequences = new long[size];
+            final var employees = new MockEmployee[size];
+            for (int i = 0; i < size; i++) {
+                longSequences[i] = sequences[i];
+                employees[i] = listed[sequences[i]];
+            }
+            return SortedEmployees.of(new int[size], longSequences, employees);
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.EmployeeListVersion;
+import com.reliaquest.server.model.MockEmployee;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Persists the employees across restarts in a directory, as a snapshot of the list plus a journal of the creates and
+ * deletes made since.
+ *
+ * Every change recorded in the change log is appended to the journal by a single writer thread, which writes all the
+ * changes queued while it was syncing the previous ones and syncs them together. A create or delete waits in
+ * awaitDurable until its change is synced, so that one sync covers many concurrent writes.
+ *
+ * Every snapshotEvery changes the writer renames the journal aside and starts a new one, and a snapshot thread saves
+ * the list of the store, while the writer keeps appending. The list may be ahead of the journal: changes have
+ * consecutive versions and journal sequences, so the snapshot records the sequence of the last change in the list.
+ * Once the snapshot is in place the journal renamed aside is deleted. On start without a snapshot, or with a journal
+ * still renamed aside, and on shutdown, the writer saves the snapshot itself and empties the journal.
+ *
+ * On startup the snapshot, the journal renamed aside if any, and the journal are mapped and replayed, skipping the
+ * entries the snapshot holds. A journal entry cut short by a crash, or whose checksum does not match, ends the journal
+ * and is truncated; the writes it held were never acknowledged.
+ *
+ * Snapshot: magic, format, sequence of the last change in it, count, the employees, CRC32 of everything before.
+ * Journal entry: payload length, CRC32 of the payload, payload of type, sequence and employee.
+ */
+@Slf4j
+public class EmployeeJournal {
+
+    static final String SNAPSHOT_FILE = "employees.snapshot";
+    static final String JOURNAL_FILE = "employees.journal";
+    static final String ROTATED_JOURNAL_FILE = "employees.journal.old";
+
+    private static final int SNAPSHOT_MAGIC = 0x454d5053;
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static final int SNAPSHOT_HEADER = 20;
+    private static final int ENTRY_HEADER = 8;
+    private static final int MAX_BATCH = 4096;
+
+    private final Path directory;
+    private final int snapshotEvery;
+    private final BlockingQueue<EmployeeChange> pending = new LinkedBlockingQueue<>();
+    private final Consumer<EmployeeChange> listener = pending::add;
+    private final Object durability = new Object();
+
+    // Null once taken by the store, or when nothing was persisted
+    private List<MockEmployee> recovered;
+
+    private EmployeeStore store;
+    private EmployeeChangeLog changeLog;
+    private FileChannel journal;
+    private Thread writer;
+    private volatile boolean running;
+
+    // Only accessed from the writer thread, once started
+    private long sequence;
+    private long journaledVersion;
+    private int sinceSnapshot;
+    private Thread snapshotter;
+
+    // Set by the snapshot thread, for the writer to fail with
+    private volatile IOException snapshotFailure;
+
+    // Guarded by durability
+    private long durableVersion;
+    private IOException failure;
+
+    private EmployeeJournal(Path directory, int snapshotEvery) {
+        this.directory = directory;
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    // A journal that persists nothing, for a server whose employees are generated on every start
+    public static EmployeeJournal disabled() {
+        return new EmployeeJournal(null, Integer.MAX_VALUE);
+    }
+
+    // Recovers the employees persisted in the directory, which is created if missing
+    public static EmployeeJournal open(Path directory, int snapshotEvery) throws IOException {
+        if (snapshotEvery < 1) {
+            throw new IllegalArgumentException("Journal must be snapshotted after at least one change");
+        }
+        Files.createDirectories(directory);
+        final var journal = new EmployeeJournal(directory, snapshotEvery);
+        journal.recover();
+        return journal;
+    }
+
+    /*
+     * The employees recovered on open, or null if nothing was persisted yet. The list is handed over only once, so that
+     * it can be collected once the store holds the employees.
+     */
+    public List<MockEmployee> takeRecovered() {
+        final var employees = recovered;
+        recovered = null;
+        return employees;
+    }
+
+    /*
+     * Journals the changes of the store from now on. A store that was not recovered is snapshotted first, so that the
+     * employees it was seeded with are kept.
+     */
+    public synchronized void start(EmployeeStore store, EmployeeChangeLog changeLog) throws IOException {
+        if (directory == null) {
+            return;
+        }
+        final var snapshotFirst = !Files.exists(directory.resolve(SNAPSHOT_FILE))
+                || Files.exists(directory.resolve(ROTATED_JOURNAL_FILE));
+        this.store = store;
+        this.changeLog = changeLog;
+        this.journal = openJournal();
+        final var version = changeLog.addListener(listener);
+        journaledVersion = version;
+        synchronized (durability) {
+            durableVersion = version;
+        }
+        running = true;
+        writer = new Thread(() -> write(snapshotFirst), "employee-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /*
+     * Throws IllegalStateException if changes can no longer be journaled, so that a create or delete fails before
+     * changing the store.
+     */
+    public void checkWritable() {
+        if (directory == null) {
+            return;
+        }
+        synchronized (durability) {
+            if (failure != null) {
+                throw failedWith(failure);
+            }
+        }
+    }
+
+    /*
+     * Waits until the changes up to the version are synced to the journal. Throws IllegalStateException if the
+     * journal failed, as the change is then kept in memory only.
+     */
+    public void awaitDurable(long version) {
+        if (directory == null) {
+            return;
+        }
+        synchronized (durability) {
+            while (durableVersion < version) {
+                if (failure != null) {
+                    throw failedWith(failure);
+                }
+                try {
+                    durability.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the employee journal", e);
+                }
+            }
+        }
+    }
+
+    // Changes recorded but not journaled yet
+    int queuedChanges() {
+        return pending.size();
+    }
+
+    // Journals the changes still queued and saves a snapshot
+    public synchronized void close() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    private void write(boolean snapshotFirst) {
+        final var batch = new ArrayList<EmployeeChange>();
+        IOException failed = null;
+        try {
+            if (snapshotFirst) {
+                snapshot();
+            }
+            while (running || !pending.isEmpty()) {
+                final var first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.clear();
+                batch.add(first);
+                pending.drainTo(batch, MAX_BATCH - 1);
+                append(batch);
+                if (snapshotFailure != null) {
+                    throw snapshotFailure;
+                }
+                if (sinceSnapshot >= snapshotEvery && (snapshotter == null || !snapshotter.isAlive())) {
+                    startSnapshot();
+                }
+            }
+            if (snapshotter != null) {
+                snapshotter.join();
+            }
+            if (snapshotFailure != null) {
+                throw snapshotFailure;
+            }
+            if (sinceSnapshot > 0 || Files.exists(directory.resolve(ROTATED_JOURNAL_FILE))) {
+                snapshot();
+            }
+            journal.close();
+        } catch (IOException e) {
+            log.error("Employee journal failed, creates and deletes are no longer persisted.", e);
+            failed = e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Changes made from now on can never be synced, so their writers must not wait for them, nor be queued
+            changeLog.removeListener(listener);
+            synchronized (durability) {
+                failure = failed != null ? failed : new IOException("Employee journal is closed");
+                durability.notifyAll();
+            }
+            pending.clear();
+        }
+    }
+
+    // Writes the changes with a single write and sync
+    private void append(List<EmployeeChange> changes) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        final var entry = new ByteArrayOutputStream();
+        final var payload = new DataOutputStream(entry);
+        final var out = new DataOutputStream(bytes);
+        final var crc = new CRC32();
+        for (final var change : changes) {
+            entry.reset();
+            payload.writeByte(change.type().ordinal());
+            payload.writeLong(++sequence);
+            EmployeeCodec.write(payload, change.employee());
+            crc.reset();
+            crc.update(entry.toByteArray());
+            out.writeInt(entry.size());
+            out.writeInt((int) crc.getValue());
+            entry.writeTo(out);
+        }
+        writeFully(journal, ByteBuffer.wrap(bytes.toByteArray()));
+        journal.force(false);
+
+        sinceSnapshot += changes.size();
+        journaledVersion = changes.get(changes.size() - 1).version();
+        synchronized (durability) {
+            durableVersion = journaledVersion;
+            durability.notifyAll();
+        }
+    }
+
+    // Saves a snapshot of the list from the writer thread, which appends nothing meanwhile, and empties the journal
+    private void snapshot() throws IOException {
+        writeSnapshot(journaledVersion, sequence);
+        journal.truncate(0);
+        journal.force(true);
+        Files.deleteIfExists(directory.resolve(ROTATED_JOURNAL_FILE));
+        sinceSnapshot = 0;
+    }
+
+    /*
+     * Renames the journal aside and saves a snapshot of the list on another thread. Entries appended meanwhile go to
+     * a new journal, and the snapshot holds at least the entries renamed aside, which are deleted once it is in place.
+     */
+    private void startSnapshot() throws IOException {
+        journal.close();
+        Files.move(
+                directory.resolve(JOURNAL_FILE),
+                directory.resolve(ROTATED_JOURNAL_FILE),
+                StandardCopyOption.ATOMIC_MOVE);
+        journal = openJournal();
+        syncDirectory();
+        sinceSnapshot = 0;
+
+        final var fromVersion = journaledVersion;
+        final var fromSequence = sequence;
+        snapshotter = new Thread(
+                () -> {
+                    try {
+                        writeSnapshot(fromVersion, fromSequence);
+                        Files.delete(directory.resolve(ROTATED_JOURNAL_FILE));
+                    } catch (IOException e) {
+                        snapshotFailure = e;
+                    }
+                },
+                "employee-journal-snapshot");
+        snapshotter.setDaemon(true);
+        snapshotter.start();
+    }
+
+    /*
+     * Writes the list of the store, once its version has caught up with the given one, to a new file and renames it
+     * over the snapshot. The store publishes a version of its list only after recording its change, so its version
+     * may be behind the journal for a moment. Changes were journaled in version order from the given version and
+     * sequence on, so the sequence of the last change in the list follows from its version.
+     */
+    private void writeSnapshot(long fromVersion, long fromSequence) throws IOException {
+        while (store.readCurrent(EmployeeListVersion::version) < fromVersion) {
+            Thread.onSpinWait();
+        }
+        final var started = System.nanoTime();
+        final var snapshot = directory.resolve(SNAPSHOT_FILE);
+        final var written = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        final Saved saved;
+        try (final var channel = FileChannel.open(
+                written, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final var checked = new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), new CRC32());
+            final var out = new DataOutputStream(checked);
+            // Read in place: the off-heap store locks its writes out meanwhile, the heap store reads an immutable list
+            saved = store.readCurrent(list -> {
+                final var lastSequence = fromSequence + list.version() - fromVersion;
+                try {
+                    out.writeInt(SNAPSHOT_MAGIC);
+                    out.writeInt(SNAPSHOT_FORMAT);
+                    out.writeLong(lastSequence);
+                    out.writeInt(list.employees().size());
+                    for (final var employee : list.employees()) {
+                        EmployeeCodec.write(out, employee);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return new Saved(list.employees().size(), lastSequence);
+            });
+            out.writeLong(checked.getChecksum().getValue());
+            out.flush();
+            channel.force(true);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Files.move(written, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+        log.info(
+                "Saved snapshot of {} employees up to change {} in {} ms.",
+                saved.employees(),
+                saved.sequence(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void recover() throws IOException {
+        final var snapshot = directory.resolve(SNAPSHOT_FILE);
+        final var rotatedJournal = directory.resolve(ROTATED_JOURNAL_FILE);
+        final var journalFile = directory.resolve(JOURNAL_FILE);
+        if (!Files.exists(snapshot)) {
+            // A journal without snapshot only holds changes to employees generated on a start that never completed
+            Files.deleteIfExists(rotatedJournal);
+            Files.deleteIfExists(journalFile);
+            return;
+        }
+
+        final var started = System.nanoTime();
+        final var employees = new LinkedHashMap<UUID, MockEmployee>();
+        try (final var channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            if (channel.size() < SNAPSHOT_HEADER + Long.BYTES) {
+                throw new IllegalStateException(
+                        "Employee snapshot " + snapshot + " is corrupt: only " + channel.size() + " bytes long");
+            }
+            final var in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            final var crc = new CRC32();
+            crc.update(in.slice(0, in.limit() - Long.BYTES));
+            if (in.getInt() != SNAPSHOT_MAGIC
+                    || in.getInt() != SNAPSHOT_FORMAT
+                    || in.getLong(in.limit() - Long.BYTES) != crc.getValue()) {
+                throw new IllegalStateException("Employee snapshot " + snapshot + " is corrupt");
+            }
+            sequence = in.getLong();
+            final var count = in.getInt();
+            in.limit(in.limit() - Long.BYTES);
+            try {
+                for (int i = 0; i < count; i++) {
+                    final var employee = EmployeeCodec.read(in);
+                    employees.put(employee.getId(), employee);
+                }
+            } catch (BufferUnderflowException e) {
+                throw new IllegalStateException(
+                        "Employee snapshot " + snapshot + " is corrupt: it ends before its " + count + " employees",
+                        e);
+            }
+        }
+        final var fromSnapshot = employees.size();
+
+        // Entries renamed aside come before the ones in the journal, and the snapshot may hold all of them
+        var replayed = 0;
+        for (final var file : List.of(rotatedJournal, journalFile)) {
+            if (Files.exists(file)) {
+                replayed += replay(file, employees);
+            }
+        }
+
+        recovered = new ArrayList<>(employees.values());
+        log.info(
+                "Recovered {} employees from a snapshot of {} and {} journaled changes in {} ms.",
+                recovered.size(),
+                fromSnapshot,
+                replayed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    // Replays the entries of a journal up to the first one cut short or corrupt, which is truncated
+    private int replay(Path file, LinkedHashMap<UUID, MockEmployee> employees) throws IOException {
+        var replayed = 0;
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final var in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            var end = 0;
+            while (in.remaining() >= ENTRY_HEADER) {
+                final var length = in.getInt();
+                final var checksum = in.getInt();
+                if (length < 0 || length > in.remaining()) {
+                    break;
+                }
+                final var payload = in.slice(in.position(), length);
+                final var crc = new CRC32();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                in.position(in.position() + length);
+                end = in.position();
+                replayed += replay(payload, employees) ? 1 : 0;
+            }
+            if (end < channel.size()) {
+                log.warn("Truncating employee journal {} after {} of {} bytes.", file, end, channel.size());
+                channel.truncate(end);
+                channel.force(true);
+            }
+        }
+        return replayed;
+    }
+
+    // Applies an entry unless the snapshot holds it already
+    private boolean replay(ByteBuffer payload, LinkedHashMap<UUID, MockEmployee> employees) {
+        try {
+            final var type = EmployeeChange.Type.values()[payload.get()];
+            final var entrySequence = payload.getLong();
+            if (entrySequence <= sequence) {
+                return false;
+            }
+            final var employee = EmployeeCodec.read(payload);
+            switch (type) {
+                case CREATED -> employees.put(employee.getId(), employee);
+                case DELETED -> employees.remove(employee.getId());
+            }
+            sequence = entrySequence;
+            return true;
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalStateException("Employee journal entry " + (sequence + 1) + " is malformed", e);
+        }
+    }
+
+    private FileChannel openJournal() throws IOException {
+        return FileChannel.open(
+                directory.resolve(JOURNAL_FILE),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    // Makes the renames of the snapshot and journal durable; not every platform can open a directory for that
+    private void syncDirectory() {
+        try (final var channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("Could not sync journal directory: {}", e.getMessage());
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static IllegalStateException failedWith(IOException failure) {
+        return new IllegalStateException("Employee journal failed: " + failure.getMessage(), failure);
+    }
+
+    private record Saved(int employees, long sequence) {}
+}
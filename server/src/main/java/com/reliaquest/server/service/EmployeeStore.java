@@ -0,0 +1,48 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.EmployeeListVersion;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeQuery;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/*
+ * Storage engine of the employees behind MockEmployeeService, selected with mock.employees.storage.
+ *
+ * Every create and delete is recorded in the change log while the store is locked, so the versions of the list
+ * follow the versions of the log.
+ */
+public interface EmployeeStore {
+
+    enum Engine {
+        HEAP,
+        OFF_HEAP
+    }
+
+    Optional<MockEmployee> findById(UUID id);
+
+    // The current list with the change log version of the last create or delete in it
+    EmployeeListVersion getCurrent();
+
+    /*
+     * Passes the current list to the reader and returns what it returns, for readers of the whole list that need not
+     * keep it. The list may only be read during the call: the off-heap store reads each employee from its record as
+     * the list is iterated, and locks writes out until the reader returns.
+     */
+    <T> T readCurrent(Function<EmployeeListVersion, T> reader);
+
+    default List<MockEmployee> getAll() {
+        return getCurrent().employees();
+    }
+
+    EmployeePage find(EmployeeQuery query);
+
+    // Throws IllegalArgumentException if an employee with the same id is stored already
+    void add(MockEmployee employee);
+
+    // Removes the first employee in list order whose name equals the given one, ignoring case
+    Optional<MockEmployee> removeFirstByName(String name);
+}
@@ -0,0 +1,129 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.EmployeeListVersion;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeQuery;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/*
+ * Store of the employees as objects on the heap, the default engine.
+ *
+ * Lookups by id read a ConcurrentHashMap without locking. Writes are serialized on the store, which keeps the
+ * employees by case-folded name in step, so deleting by name removes the first employee with that name in constant
+ * time instead of scanning the list.
+ *
+ * The list is versioned: every create or delete records its change and publishes a new immutable version of the
+ * list, carrying the change log version of that change, before the store is unlocked. Readers take the current
+ * version without locking and keep reading it while later writes publish newer ones; a version is reclaimed once
+ * the last reader holding it is done. New versions share all but one chunk of employees with the previous one.
+ *
+ * The query index is immutable too and is published together with the list version of the same write, so that queries
+ * neither wait for writes nor return employees the list they are paged against does not hold.
+ */
+public class HeapEmployeeStore implements EmployeeStore {
+
+    private final EmployeeChangeLog changeLog;
+
+    private final Map<UUID, MockEmployee> byId = new ConcurrentHashMap<>();
+
+    // Guarded by this
+    private final Map<UUID, Long> sequences = new HashMap<>();
+    private final Map<String, LinkedHashSet<MockEmployee>> byName = new HashMap<>();
+    private ChunkedEmployeeList list;
+    private EmployeeIndex index;
+    private long nextSequence;
+
+    private volatile Published current;
+
+    public HeapEmployeeStore(Stream<MockEmployee> employees, EmployeeChangeLog changeLog) {
+        this.changeLog = changeLog;
+        synchronized (this) {
+            final var loaded = employees.toList();
+            list = ChunkedEmployeeList.of(loaded);
+            index = EmployeeIndex.of(loaded);
+            loaded.forEach(this::put);
+            publish(changeLog.getVersion());
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(UUID id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    @Override
+    public EmployeeListVersion getCurrent() {
+        return current.list();
+    }
+
+    @Override
+    public <T> T readCurrent(Function<EmployeeListVersion, T> reader) {
+        return reader.apply(current.list());
+    }
+
+    @Override
+    public EmployeePage find(EmployeeQuery query) {
+        return current.index().find(query);
+    }
+
+    @Override
+    public synchronized void add(MockEmployee employee) {
+        final var sequence = put(employee);
+        final var version = changeLog.record(EmployeeChange.Type.CREATED, employee);
+        list = list.appended(sequence, employee);
+        index = index.added(sequence, employee);
+        publish(version);
+    }
+
+    @Override
+    public synchronized Optional<MockEmployee> removeFirstByName(String name) {
+        final var folded = name.toLowerCase(Locale.ROOT);
+        final var namesakes = byName.get(folded);
+        if (namesakes == null) {
+            return Optional.empty();
+        }
+        final var employee = namesakes.iterator().next();
+        namesakes.remove(employee);
+        if (namesakes.isEmpty()) {
+            byName.remove(folded);
+        }
+        byId.remove(employee.getId());
+        final long sequence = sequences.remove(employee.getId());
+        final var version = changeLog.record(EmployeeChange.Type.DELETED, employee);
+        list = list.removed(sequence);
+        index = index.removed(sequence);
+        publish(version);
+        return Optional.of(employee);
+    }
+
+    private void publish(long version) {
+        current = new Published(new EmployeeListVersion(version, list), index);
+    }
+
+    // Keeps the employee by id and name, giving it the next sequence
+    private long put(MockEmployee employee) {
+        if (byId.putIfAbsent(employee.getId(), employee) != null) {
+            throw new IllegalArgumentException("Employee " + employee.getId() + " is already stored");
+        }
+        final var sequence = nextSequence++;
+        sequences.put(employee.getId(), sequence);
+        byName.computeIfAbsent(foldedNameOf(employee), ignored -> new LinkedHashSet<>()).add(employee);
+        return sequence;
+    }
+
+    private static String foldedNameOf(MockEmployee employee) {
+        return employee.getName() == null ? "" : employee.getName().toLowerCase(Locale.ROOT);
+    }
+
+    private record Published(EmployeeListVersion list, EmployeeIndex index) {}
+}
@@ -0,0 +1,74 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import net.datafaker.Faker;
+
+/*
+ * Generates the employees the server starts with, the same ones for the same seed.
+ *
+ * The employees are generated in chunks, each with its own Faker and Random seeded from the seed and the index of the
+ * chunk, so chunks are generated on all cores at once yet never depend on which thread generated them or in what order.
+ * The seed of each chunk is mixed from both, as Randoms with consecutive seeds start out correlated.
+ * The chunks are generated a window at a time and emitted in order, so a store taking them one by one never has more
+ * than a window of them on the heap.
+ */
+public class MockEmployeeGenerator {
+
+    private static final int CHUNK_SIZE = 4096;
+
+    // The increment of SplittableRandom, whose first outputs of seeds this far apart are independent
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final Locale locale;
+    private final long seed;
+    private final String emailTemplate;
+
+    public MockEmployeeGenerator(Locale locale, long seed, String emailTemplate) {
+        this.locale = locale;
+        this.seed = seed;
+        this.emailTemplate = emailTemplate;
+    }
+
+    public Stream<MockEmployee> generate(int count) {
+        final var chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        final var window = Math.max(1, ForkJoinPool.getCommonPoolParallelism()) * 4;
+        return IntStream.iterate(0, first -> first < chunks, first -> first + window)
+                .mapToObj(first -> IntStream.range(first, Math.min(first + window, chunks))
+                        .parallel()
+                        .mapToObj(chunk -> generateChunk(chunk, Math.min(CHUNK_SIZE, count - chunk * CHUNK_SIZE)))
+                        .toList())
+                .flatMap(List::stream)
+                .flatMap(List::stream);
+    }
+
+    private List<MockEmployee> generateChunk(int chunk, int size) {
+        // The output of SplittableRandom for the seed advanced by the chunk, so that no two chunks share a stream
+        final var random = new Random(new SplittableRandom(seed + chunk * GOLDEN_GAMMA).nextLong());
+        final var faker = new Faker(locale, random);
+        return IntStream.range(0, size)
+                .mapToObj(ignored -> MockEmployee.builder()
+                        .id(randomUuid(random))
+                        .name(faker.name().fullName())
+                        .salary(random.nextInt(30000, 500000))
+                        .age(random.nextInt(16, 70))
+                        .title(faker.job().title())
+                        .email(emailTemplate.formatted(faker.twitter().userName().toLowerCase()))
+                        .build())
+                .toList();
+    }
+
+    // A version 4 UUID like UUID.randomUUID, but from the seeded Random
+    private static UUID randomUuid(Random random) {
+        final var msb = random.nextLong() & ~0xf000L | 0x4000L;
+        final var lsb = random.nextLong() & ~(0xcL << 60) | 0x8L << 60;
+        return new UUID(msb, lsb);
+    }
+}
@@ -3,12 +3,15 @@ package com.reliaquest.server.service;
 import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeChanges;
+import com.reliaquest.server.model.EmployeeListVersion;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeQuery;
 import com.reliaquest.server.model.MockEmployee;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.function.Function;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,37 +25,59 @@ public class MockEmployeeService {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final EmployeeStore store;
+
+    private final EmployeeChangeLog changeLog;
+
+    private final EmployeeJournal journal;
+
+    // An immutable snapshot, unaffected by later creates and deletes
+    public List<MockEmployee> getMockEmployees() {
+        return store.getAll();
+    }
+
+    // Passes the list with the version of the last create or successful delete in it to the reader, see EmployeeStore
+    public <T> T readCurrentList(Function<EmployeeListVersion, T> reader) {
+        return store.readCurrent(reader);
+    }
+
+    public EmployeeChanges getChangesSince(long version) {
+        return changeLog.changesSince(version);
+    }
+
+    public EmployeePage find(@NonNull EmployeeQuery query) {
+        return store.find(query);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return store.findById(uuid);
     }
 
+    /*
+     * Creates and deletes fail with IllegalStateException, leaving the store unchanged, once the journal can no longer
+     * persist them. Should the journal fail while syncing the change, it fails the same way after the store applied
+     * it, so the change is kept in memory only.
+     */
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
+        journal.checkWritable();
         final var mockEmployee = MockEmployee.from(
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        store.add(mockEmployee);
+        // Waits for the latest change, which is this one or a later one synced with it
+        journal.awaitDurable(changeLog.getVersion());
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
-    public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
-        }
-
-        return false;
+    public Optional<MockEmployee> delete(@NonNull DeleteMockEmployeeInput input) {
+        journal.checkWritable();
+        final var mockEmployee = store.removeFirstByName(input.getName());
+        mockEmployee.ifPresent(employee -> {
+            journal.awaitDurable(changeLog.getVersion());
+            log.debug("Removed employee: {}", employee);
+        });
+        return mockEmployee;
     }
 }
@@ -0,0 +1,706 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.EmployeeListVersion;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeQuery;
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/*
+ * Store of the employees as fixed-size records in direct buffers, for datasets too large to keep as objects on the
+ * heap without long garbage collection pauses.
+ *
+ * Each record takes RECORD_SIZE bytes of a slab of SLAB_RECORDS records: the id, the sequence the employee was added
+ * with, salary and age, the links of the list and of the employees with the same name, and the name, title and email
+ * in UTF-8. The rare employee whose strings do not fit in the record keeps them on the heap instead. Slots of deleted
+ * employees are reused before new slabs are allocated.
+ *
+ * Employees are found by id through an open-addressing table of slots, and by name through a table of the first and
+ * last slot of each hash of a case-folded name, from which the employees with that hash are chained in list order.
+ * Queries in salary order walk the slots sorted by salary and sequence, from the first employee after the cursor or the
+ * minimum salary, so they stop once the page is full. The tables of ids and names are arrays of ints, which the
+ * collector does not have to trace, and the salary index is chunks of ints that each write moves only one of. It is
+ * sorted once when the store is loaded rather than as each employee is put.
+ *
+ * Reads take a shared lock instead of an immutable version, and employees are only materialized as objects when
+ * read. The full list is never kept on the heap: readers of it iterate the records under the lock.
+ */
+public class OffHeapEmployeeStore implements EmployeeStore {
+
+    private static final int SLAB_SHIFT = 16;
+
+    static final int RECORD_SIZE = 192;
+    static final int SLAB_RECORDS = 1 << SLAB_SHIFT;
+
+    // Offsets of the fields of a record
+    private static final int ID_MSB = 0;
+    private static final int ID_LSB = 8;
+    private static final int SEQUENCE = 16;
+    private static final int SALARY = 24;
+    private static final int AGE = 28;
+    private static final int PREVIOUS = 32;
+    private static final int NEXT = 36;
+    private static final int NEXT_NAMESAKE = 40;
+    private static final int FLAGS = 44;
+    private static final int NAME_LENGTH = 46;
+    private static final int TITLE_LENGTH = 48;
+    private static final int EMAIL_LENGTH = 50;
+    private static final int STRINGS = 52;
+
+    // Flags of the fields that are null, and of the records whose strings are kept on the heap
+    private static final int NO_SALARY = 1;
+    private static final int NO_AGE = 1 << 1;
+    private static final int NO_NAME = 1 << 2;
+    private static final int NO_TITLE = 1 << 3;
+    private static final int NO_EMAIL = 1 << 4;
+    private static final int OVERFLOW = 1 << 5;
+
+    private static final int NONE = -1;
+
+    private final EmployeeChangeLog changeLog;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private final Map<Integer, String[]> overflow = new HashMap<>();
+    private int allocatedSlots;
+    private int freeSlot = NONE;
+    private int head = NONE;
+    private int tail = NONE;
+    private int size;
+    private long nextSequence;
+    private long version;
+
+    // Slots plus one by id, 0 where empty
+    private int[] idTable = new int[16];
+
+    // The first and last slot plus one by name hash, 0 where empty
+    private int[] nameHashes = new int[16];
+    private int[] firstNamesakes = new int[16];
+    private int[] lastNamesakes = new int[16];
+    private int nameCount;
+
+    // Slots sorted by salary, with null salaries as zero, then by sequence
+    private ChunkedSlotIndex bySalary;
+
+    public OffHeapEmployeeStore(Stream<MockEmployee> employees, EmployeeChangeLog changeLog) {
+        this.changeLog = changeLog;
+        lock.writeLock().lock();
+        try {
+            employees.forEachOrdered(this::put);
+            bySalary = new ChunkedSlotIndex(slotsBySalary());
+            version = changeLog.getVersion();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(UUID id) {
+        lock.readLock().lock();
+        try {
+            final var slot = slotOf(id);
+            return slot == NONE ? Optional.empty() : Optional.of(read(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // A copy materialized on every call, which readers of the whole list avoid with readCurrent
+    @Override
+    public EmployeeListVersion getCurrent() {
+        return readCurrent(list -> new EmployeeListVersion(list.version(), List.copyOf(list.employees())));
+    }
+
+    @Override
+    public <T> T readCurrent(Function<EmployeeListVersion, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(new EmployeeListVersion(version, new RecordList()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Queries in salary order walk the salary index from the first employee they can return. Queries in list order
+     * walk the list and stop once the page is full, unless their salary range holds so few employees that sorting
+     * the ones in it by sequence is cheaper than walking the list until enough of them are found.
+     */
+    @Override
+    public EmployeePage find(EmployeeQuery query) {
+        final var nameContains = query.nameContains() == null || query.nameContains().isBlank()
+                ? null
+                : query.nameContains().toLowerCase(Locale.ROOT);
+        final var minSalary = query.minSalary() == null ? Integer.MIN_VALUE : query.minSalary();
+        final var maxSalary = query.maxSalary() == null ? Integer.MAX_VALUE : query.maxSalary();
+        final var limit = query.limit() == null ? Integer.MAX_VALUE : query.limit();
+        final var after = query.after() == null
+                ? null
+                : new Hit(query.after().salary(), query.after().sequence(), NONE);
+
+        lock.readLock().lock();
+        try {
+            final var hits = new ArrayList<Hit>();
+            final var lowest = firstAfter(minSalary, NONE);
+            final var end = firstAfter(maxSalary, Long.MAX_VALUE);
+            switch (query.sort()) {
+                case SALARY_ASC -> {
+                    final var from =
+                            after == null ? lowest : Math.max(lowest, firstAfter(after.salary(), after.sequence()));
+                    for (int position = from; position < end && hits.size() <= limit; position++) {
+                        collect(bySalary.get(position), nameContains, hits);
+                    }
+                }
+                case SALARY_DESC -> {
+                    // Walks the salaries down, and the employees with each salary up in sequence
+                    var to = after == null || after.salary() > maxSalary
+                            ? end
+                            : firstAfter(after.salary(), Long.MAX_VALUE);
+                    while (to > lowest && hits.size() <= limit) {
+                        final var salary = salaryAt(bySalary.get(to - 1));
+                        final var from = firstAfter(salary, NONE);
+                        final var start = after != null && salary == after.salary()
+                                ? firstAfter(salary, after.sequence())
+                                : from;
+                        for (int position = start; position < to && hits.size() <= limit; position++) {
+                            collect(bySalary.get(position), nameContains, hits);
+                        }
+                        to = from;
+                    }
+                }
+                case LIST -> {
+                    final var inRange = end - lowest;
+                    // Walking the list finds a page after about limit * size / inRange employees
+                    if ((long) inRange * inRange < (long) Math.min(limit, size) * size) {
+                        findInListOrder(lowest, end, nameContains, after, limit, hits);
+                    } else {
+                        for (int slot = head; slot != NONE && hits.size() <= limit; slot = intAt(slot, NEXT)) {
+                            final var salary = salaryAt(slot);
+                            if (salary >= minSalary
+                                    && salary <= maxSalary
+                                    && (after == null || longAt(slot, SEQUENCE) > after.sequence())) {
+                                collect(slot, nameContains, hits);
+                            }
+                        }
+                    }
+                }
+            }
+
+            final var page = hits.size() <= limit ? hits : hits.subList(0, limit);
+            final var employees = page.stream().map(hit -> read(hit.slot())).toList();
+            if (hits.size() <= limit) {
+                return new EmployeePage(employees, null);
+            }
+            final var last = page.get(limit - 1);
+            return new EmployeePage(employees, new EmployeeQuery.Cursor(last.salary(), last.sequence()).encode());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(MockEmployee employee) {
+        lock.writeLock().lock();
+        try {
+            insertSalary(put(employee));
+            version = changeLog.record(EmployeeChange.Type.CREATED, employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> removeFirstByName(String name) {
+        final var folded = name.toLowerCase(Locale.ROOT);
+        final var hash = folded.hashCode();
+        lock.writeLock().lock();
+        try {
+            final var index = nameIndexOf(hash);
+            if (index == NONE) {
+                return Optional.empty();
+            }
+            // Names with the same hash share the chain, so the name of each employee is compared
+            var previous = NONE;
+            var slot = firstNamesakes[index] - 1;
+            while (slot != NONE && !foldedNameAt(slot).equals(folded)) {
+                previous = slot;
+                slot = intAt(slot, NEXT_NAMESAKE);
+            }
+            if (slot == NONE) {
+                return Optional.empty();
+            }
+
+            final var employee = read(slot);
+            final var nextNamesake = intAt(slot, NEXT_NAMESAKE);
+            if (previous == NONE) {
+                firstNamesakes[index] = nextNamesake + 1;
+            } else {
+                putInt(previous, NEXT_NAMESAKE, nextNamesake);
+            }
+            if (lastNamesakes[index] - 1 == slot) {
+                lastNamesakes[index] = previous + 1;
+            }
+            if (firstNamesakes[index] == 0) {
+                removeName(index);
+            }
+            removeId(slot);
+            removeSalary(slot);
+            unlink(slot);
+            overflow.remove(slot);
+            putInt(slot, NEXT, freeSlot);
+            freeSlot = slot;
+            size--;
+
+            version = changeLog.record(EmployeeChange.Type.DELETED, employee);
+            return Optional.of(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Slots taken from slabs so far, including the free ones of deleted employees
+    int allocatedSlots() {
+        lock.readLock().lock();
+        try {
+            return allocatedSlots;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Puts the employee in every table but the salary index
+    private int put(MockEmployee employee) {
+        if (slotOf(employee.getId()) != NONE) {
+            throw new IllegalArgumentException("Employee " + employee.getId() + " is already stored");
+        }
+        final var slot = allocate();
+        write(slot, employee, nextSequence++);
+
+        putInt(slot, PREVIOUS, tail);
+        putInt(slot, NEXT, NONE);
+        if (tail == NONE) {
+            head = slot;
+        } else {
+            putInt(tail, NEXT, slot);
+        }
+        tail = slot;
+
+        insertId(slot);
+        appendNamesake(slot);
+        size++;
+        return slot;
+    }
+
+    /*
+     * Slots are allocated in sequence order while the store is loaded, so sorting by salary and then slot sorts by
+     * salary and then sequence. Both are packed in a long, so that the sort compares primitives.
+     */
+    private int[] slotsBySalary() {
+        final var keys = new long[size];
+        for (int slot = 0; slot < size; slot++) {
+            keys[slot] = (long) salaryAt(slot) << 32 | slot;
+        }
+        Arrays.parallelSort(keys);
+        final var slots = new int[size];
+        for (int position = 0; position < size; position++) {
+            slots[position] = (int) keys[position];
+        }
+        return slots;
+    }
+
+    // Sorts the employees in the salary range by sequence, keeping the page and one more employee in a heap
+    private void findInListOrder(int from, int to, String nameContains, Hit after, int limit, List<Hit> hits) {
+        final var bounded = new PriorityQueue<>(Comparator.comparingLong(Hit::sequence).reversed());
+        for (int position = from; position < to; position++) {
+            final var slot = bySalary.get(position);
+            final var sequence = longAt(slot, SEQUENCE);
+            if ((after != null && sequence <= after.sequence())
+                    || (bounded.size() > limit && sequence > bounded.peek().sequence())
+                    || (nameContains != null && !foldedNameAt(slot).contains(nameContains))) {
+                continue;
+            }
+            bounded.add(new Hit(salaryAt(slot), sequence, slot));
+            if (bounded.size() > (long) limit + 1) {
+                bounded.poll();
+            }
+        }
+        hits.addAll(bounded);
+        hits.sort(Comparator.comparingLong(Hit::sequence));
+    }
+
+    private void collect(int slot, String nameContains, List<Hit> hits) {
+        if (nameContains == null || foldedNameAt(slot).contains(nameContains)) {
+            hits.add(new Hit(salaryAt(slot), longAt(slot, SEQUENCE), slot));
+        }
+    }
+
+    // The position of the first employee in the salary index that sorts after the given salary and sequence
+    private int firstAfter(int salary, long sequence) {
+        return bySalary.partition(slot -> {
+            final var compared = Integer.compare(salaryAt(slot), salary);
+            return compared < 0 || (compared == 0 && longAt(slot, SEQUENCE) <= sequence);
+        });
+    }
+
+    // The employee has the highest sequence, so it goes after all the others with its salary
+    private void insertSalary(int slot) {
+        bySalary.insert(firstAfter(salaryAt(slot), Long.MAX_VALUE), slot);
+    }
+
+    private void removeSalary(int slot) {
+        bySalary.remove(firstAfter(salaryAt(slot), longAt(slot, SEQUENCE) - 1));
+    }
+
+    private int allocate() {
+        if (freeSlot != NONE) {
+            final var slot = freeSlot;
+            freeSlot = intAt(slot, NEXT);
+            return slot;
+        }
+        if (allocatedSlots == slabs.size() * SLAB_RECORDS) {
+            slabs.add(ByteBuffer.allocateDirect(SLAB_RECORDS * RECORD_SIZE));
+        }
+        return allocatedSlots++;
+    }
+
+    private void unlink(int slot) {
+        final var previous = intAt(slot, PREVIOUS);
+        final var next = intAt(slot, NEXT);
+        if (previous == NONE) {
+            head = next;
+        } else {
+            putInt(previous, NEXT, next);
+        }
+        if (next == NONE) {
+            tail = previous;
+        } else {
+            putInt(next, PREVIOUS, previous);
+        }
+    }
+
+    private void write(int slot, MockEmployee employee, long sequence) {
+        final var slab = slabOf(slot);
+        final var at = offsetOf(slot);
+        slab.putLong(at + ID_MSB, employee.getId().getMostSignificantBits());
+        slab.putLong(at + ID_LSB, employee.getId().getLeastSignificantBits());
+        slab.putLong(at + SEQUENCE, sequence);
+        slab.putInt(at + NEXT_NAMESAKE, NONE);
+
+        var flags = 0;
+        if (employee.getSalary() == null) {
+            flags |= NO_SALARY;
+        } else {
+            slab.putInt(at + SALARY, employee.getSalary());
+        }
+        if (employee.getAge() == null) {
+            flags |= NO_AGE;
+        } else {
+            slab.putInt(at + AGE, employee.getAge());
+        }
+        flags |= employee.getName() == null ? NO_NAME : 0;
+        flags |= employee.getTitle() == null ? NO_TITLE : 0;
+        flags |= employee.getEmail() == null ? NO_EMAIL : 0;
+
+        final var name = bytesOf(employee.getName());
+        final var title = bytesOf(employee.getTitle());
+        final var email = bytesOf(employee.getEmail());
+        if (STRINGS + name.length + title.length + email.length > RECORD_SIZE) {
+            flags |= OVERFLOW;
+            overflow.put(slot, new String[] {employee.getName(), employee.getTitle(), employee.getEmail()});
+        } else {
+            slab.putShort(at + NAME_LENGTH, (short) name.length);
+            slab.putShort(at + TITLE_LENGTH, (short) title.length);
+            slab.putShort(at + EMAIL_LENGTH, (short) email.length);
+            slab.put(at + STRINGS, name);
+            slab.put(at + STRINGS + name.length, title);
+            slab.put(at + STRINGS + name.length + title.length, email);
+        }
+        slab.put(at + FLAGS, (byte) flags);
+    }
+
+    private MockEmployee read(int slot) {
+        final var slab = slabOf(slot);
+        final var at = offsetOf(slot);
+        final var flags = slab.get(at + FLAGS);
+        final String name;
+        final String title;
+        final String email;
+        if ((flags & OVERFLOW) != 0) {
+            final var strings = overflow.get(slot);
+            name = strings[0];
+            title = strings[1];
+            email = strings[2];
+        } else {
+            final var nameLength = slab.getShort(at + NAME_LENGTH);
+            final var titleLength = slab.getShort(at + TITLE_LENGTH);
+            name = (flags & NO_NAME) != 0 ? null : stringAt(slab, at + STRINGS, nameLength);
+            title = (flags & NO_TITLE) != 0 ? null : stringAt(slab, at + STRINGS + nameLength, titleLength);
+            email = (flags & NO_EMAIL) != 0
+                    ? null
+                    : stringAt(slab, at + STRINGS + nameLength + titleLength, slab.getShort(at + EMAIL_LENGTH));
+        }
+        return MockEmployee.builder()
+                .id(idAt(slot))
+                .name(name)
+                .salary((flags & NO_SALARY) != 0 ? null : slab.getInt(at + SALARY))
+                .age((flags & NO_AGE) != 0 ? null : slab.getInt(at + AGE))
+                .title(title)
+                .email(email)
+                .build();
+    }
+
+    private String foldedNameAt(int slot) {
+        final var slab = slabOf(slot);
+        final var at = offsetOf(slot);
+        final var flags = slab.get(at + FLAGS);
+        final String name;
+        if ((flags & NO_NAME) != 0) {
+            name = "";
+        } else if ((flags & OVERFLOW) != 0) {
+            name = overflow.get(slot)[0];
+        } else {
+            name = stringAt(slab, at + STRINGS, slab.getShort(at + NAME_LENGTH));
+        }
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    // Null salaries sort as zero, as in the index of the heap store
+    private int salaryAt(int slot) {
+        final var slab = slabOf(slot);
+        final var at = offsetOf(slot);
+        return (slab.get(at + FLAGS) & NO_SALARY) != 0 ? 0 : slab.getInt(at + SALARY);
+    }
+
+    private UUID idAt(int slot) {
+        return new UUID(longAt(slot, ID_MSB), longAt(slot, ID_LSB));
+    }
+
+    private int slotOf(UUID id) {
+        final var mask = idTable.length - 1;
+        for (int index = hashOf(id) & mask; ; index = (index + 1) & mask) {
+            final var slot = idTable[index] - 1;
+            if (slot == NONE) {
+                return NONE;
+            }
+            if (longAt(slot, ID_MSB) == id.getMostSignificantBits()
+                    && longAt(slot, ID_LSB) == id.getLeastSignificantBits()) {
+                return slot;
+            }
+        }
+    }
+
+    private void insertId(int slot) {
+        if ((size + 1) * 2L > idTable.length) {
+            final var old = idTable;
+            idTable = new int[old.length * 2];
+            for (final var entry : old) {
+                if (entry != 0) {
+                    insertId(entry - 1, idTable);
+                }
+            }
+        }
+        insertId(slot, idTable);
+    }
+
+    private void insertId(int slot, int[] table) {
+        final var mask = table.length - 1;
+        var index = hashOf(idAt(slot)) & mask;
+        while (table[index] != 0) {
+            index = (index + 1) & mask;
+        }
+        table[index] = slot + 1;
+    }
+
+    // Shifts the entries after the removed one back, so that lookups never stop at a gap before their entry
+    private void removeId(int slot) {
+        final var mask = idTable.length - 1;
+        var index = hashOf(idAt(slot)) & mask;
+        while (idTable[index] != slot + 1) {
+            index = (index + 1) & mask;
+        }
+        idTable[index] = 0;
+        for (int next = (index + 1) & mask; idTable[next] != 0; next = (next + 1) & mask) {
+            final var home = hashOf(idAt(idTable[next] - 1)) & mask;
+            if (isOutside(home, index, next)) {
+                idTable[index] = idTable[next];
+                idTable[next] = 0;
+                index = next;
+            }
+        }
+    }
+
+    private int nameIndexOf(int hash) {
+        final var mask = nameHashes.length - 1;
+        for (int index = mix(hash) & mask; firstNamesakes[index] != 0; index = (index + 1) & mask) {
+            if (nameHashes[index] == hash) {
+                return index;
+            }
+        }
+        return NONE;
+    }
+
+    private void appendNamesake(int slot) {
+        final var hash = foldedNameAt(slot).hashCode();
+        final var index = nameIndexOf(hash);
+        if (index != NONE) {
+            putInt(lastNamesakes[index] - 1, NEXT_NAMESAKE, slot);
+            lastNamesakes[index] = slot + 1;
+            return;
+        }
+        if ((nameCount + 1) * 2L > nameHashes.length) {
+            final var oldHashes = nameHashes;
+            final var oldFirst = firstNamesakes;
+            final var oldLast = lastNamesakes;
+            nameHashes = new int[oldHashes.length * 2];
+            firstNamesakes = new int[oldHashes.length * 2];
+            lastNamesakes = new int[oldHashes.length * 2];
+            for (int old = 0; old < oldHashes.length; old++) {
+                if (oldFirst[old] != 0) {
+                    insertName(oldHashes[old], oldFirst[old], oldLast[old]);
+                }
+            }
+        }
+        insertName(hash, slot + 1, slot + 1);
+        nameCount++;
+    }
+
+    private void insertName(int hash, int first, int last) {
+        final var mask = nameHashes.length - 1;
+        var index = mix(hash) & mask;
+        while (firstNamesakes[index] != 0) {
+            index = (index + 1) & mask;
+        }
+        nameHashes[index] = hash;
+        firstNamesakes[index] = first;
+        lastNamesakes[index] = last;
+    }
+
+    private void removeName(int index) {
+        final var mask = nameHashes.length - 1;
+        firstNamesakes[index] = 0;
+        for (int next = (index + 1) & mask; firstNamesakes[next] != 0; next = (next + 1) & mask) {
+            if (isOutside(mix(nameHashes[next]) & mask, index, next)) {
+                nameHashes[index] = nameHashes[next];
+                firstNamesakes[index] = firstNamesakes[next];
+                lastNamesakes[index] = lastNamesakes[next];
+                firstNamesakes[next] = 0;
+                index = next;
+            }
+        }
+        nameCount--;
+    }
+
+    // Whether an entry at next, probed from home, may move back to the gap, as home is not cyclically in (gap, next]
+    private static boolean isOutside(int home, int gap, int next) {
+        return gap <= next ? home <= gap || home > next : home <= gap && home > next;
+    }
+
+    private ByteBuffer slabOf(int slot) {
+        return slabs.get(slot >>> SLAB_SHIFT);
+    }
+
+    private static int offsetOf(int slot) {
+        return (slot & (SLAB_RECORDS - 1)) * RECORD_SIZE;
+    }
+
+    private int intAt(int slot, int field) {
+        return slabOf(slot).getInt(offsetOf(slot) + field);
+    }
+
+    private long longAt(int slot, int field) {
+        return slabOf(slot).getLong(offsetOf(slot) + field);
+    }
+
+    private void putInt(int slot, int field, int value) {
+        slabOf(slot).putInt(offsetOf(slot) + field, value);
+    }
+
+    private static String stringAt(ByteBuffer slab, int at, int length) {
+        final var bytes = new byte[length];
+        slab.get(at, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytesOf(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int hashOf(UUID id) {
+        return mix(Long.hashCode(id.getMostSignificantBits() ^ id.getLeastSignificantBits()));
+    }
+
+    private static int mix(int hash) {
+        final var mixed = hash * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+
+    private record Hit(int salary, long sequence, int slot) {}
+
+    /*
+     * The current list read from the records, which is only valid while the lock is held. Employees are read as the
+     * list is iterated; getting one by index walks the list up to it.
+     */
+    private final class RecordList extends AbstractList<MockEmployee> {
+
+        private final int size = OffHeapEmployeeStore.this.size;
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public MockEmployee get(int index) {
+            Objects.checkIndex(index, size);
+            var slot = head;
+            for (int skipped = 0; skipped < index; skipped++) {
+                slot = intAt(slot, NEXT);
+            }
+            return read(slot);
+        }
+
+        @Override
+        public Iterator<MockEmployee> iterator() {
+            return new Iterator<>() {
+
+                private int slot = head;
+
+                @Override
+                public boolean hasNext() {
+                    return slot != NONE;
+                }
+
+                @Override
+                public MockEmployee next() {
+                    if (slot == NONE) {
+                        throw new NoSuchElementException();
+                    }
+                    final var employee = read(slot);
+                    slot = intAt(slot, NEXT);
+                    return employee;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/*
+ * Immutable sequence of employees sorted by an int key and then by the sequence the store gave them, which shares its
+ * contents with the sequences derived from it.
+ *
+ * As in ChunkedEmployeeList, the employees are kept in chunks of up to CHUNK_SIZE. Inserting or removing one copies its
+ * chunk and the arrays of chunks and of their offsets, while every other chunk is shared. A chunk that grows past
+ * CHUNK_SIZE is split in two, and a chunk that shrinks below MERGE_THRESHOLD is merged with a neighbour the two fit in.
+ * Chunks are larger than the list's: inserts land anywhere and leave chunks half full when they split, and a write
+ * to the index inserts into several sequences, so shorter arrays of chunks matter more than smaller chunks.
+ */
+final class SortedEmployees {
+
+    static final int CHUNK_SIZE = 512;
+
+    static final int MERGE_THRESHOLD = CHUNK_SIZE / 4;
+
+    static final SortedEmployees EMPTY = new SortedEmployees(new Chunk[0], new int[0], 0);
+
+    private final Chunk[] chunks;
+
+    // The position of the first employee of each chunk
+    private final int[] offsets;
+
+    private final int size;
+
+    private SortedEmployees(Chunk[] chunks, int[] offsets, int size) {
+        this.chunks = chunks;
+        this.offsets = offsets;
+        this.size = size;
+    }
+
+    // The arrays must be of the same length and sorted by key and then sequence
+    static SortedEmployees of(int[] keys, long[] sequences, MockEmployee[] employees) {
+        final var chunks = new Chunk[(employees.length + CHUNK_SIZE - 1) / CHUNK_SIZE];
+        final var offsets = new int[chunks.length];
+        for (int i = 0; i < chunks.length; i++) {
+            final var from = i * CHUNK_SIZE;
+            final var to = Math.min(from + CHUNK_SIZE, employees.length);
+            chunks[i] = new Chunk(
+                    Arrays.copyOfRange(keys, from, to),
+                    Arrays.copyOfRange(sequences, from, to),
+                    Arrays.copyOfRange(employees, from, to));
+            offsets[i] = from;
+        }
+        return new SortedEmployees(chunks, offsets, employees.length);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int chunkCount() {
+        return chunks.length;
+    }
+
+    // The number of employees before the given key and sequence, which is where one with them would be inserted
+    int positionOf(int key, long sequence) {
+        var low = 0;
+        var high = chunks.length;
+        while (low < high) {
+            final var middle = (low + high) >>> 1;
+            final var chunk = chunks[middle];
+            final var last = chunk.employees.length - 1;
+            if (compare(chunk.keys[last], chunk.sequences[last], key, sequence) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        if (low == chunks.length) {
+            return size;
+        }
+        final var chunk = chunks[low];
+        var first = 0;
+        var last = chunk.employees.length;
+        while (first < last) {
+            final var middle = (first + last) >>> 1;
+            if (compare(chunk.keys[middle], chunk.sequences[middle], key, sequence) < 0) {
+                first = middle + 1;
+            } else {
+                last = middle;
+            }
+        }
+        return offsets[low] + first;
+    }
+
+    int keyAt(int position) {
+        Objects.checkIndex(position, size);
+        final var chunkIndex = chunkAt(position);
+        return chunks[chunkIndex].keys[position - offsets[chunkIndex]];
+    }
+
+    // The employee with the given key and sequence, or null if there is none
+    MockEmployee find(int key, long sequence) {
+        final var position = positionOf(key, sequence);
+        if (position == size) {
+            return null;
+        }
+        final var chunkIndex = chunkAt(position);
+        final var chunk = chunks[chunkIndex];
+        final var at = position - offsets[chunkIndex];
+        return chunk.keys[at] == key && chunk.sequences[at] == sequence ? chunk.employees[at] : null;
+    }
+
+    // The employees from the first position up to the second one, walking the chunks rather than every position
+    Stream<Entry> stream(int from, int to) {
+        if (from >= to) {
+            return Stream.empty();
+        }
+        return IntStream.rangeClosed(chunkAt(from), chunkAt(to - 1)).boxed().flatMap(chunkIndex -> {
+            final var chunk = chunks[chunkIndex];
+            final var start = Math.max(0, from - offsets[chunkIndex]);
+            final var end = Math.min(chunk.employees.length, to - offsets[chunkIndex]);
+            return IntStream.range(start, end).mapToObj(chunk::entryAt);
+        });
+    }
+
+    // The key and sequence must not be in the sequence yet
+    SortedEmployees inserted(int key, long sequence, MockEmployee employee) {
+        if (chunks.length == 0) {
+            final var chunk = new Chunk(new int[] {key}, new long[] {sequence}, new MockEmployee[] {employee});
+            return new SortedEmployees(new Chunk[] {chunk}, new int[] {0}, 1);
+        }
+        final var position = positionOf(key, sequence);
+        // Appends go to the last chunk rather than to a new one
+        final var chunkIndex = position == size ? chunks.length - 1 : chunkAt(position);
+        final var grown = chunks[chunkIndex].inserted(position - offsets[chunkIndex], key, sequence, employee);
+        if (grown.employees.length <= CHUNK_SIZE) {
+            return replaced(chunkIndex, chunkIndex + 1, 1, grown);
+        }
+        final var half = grown.employees.length / 2;
+        return replaced(chunkIndex, chunkIndex + 1, 1, grown.slice(0, half), grown.slice(half, grown.employees.length));
+    }
+
+    SortedEmployees removed(int key, long sequence) {
+        final var position = positionOf(key, sequence);
+        if (position == size) {
+            return this;
+        }
+        final var chunkIndex = chunkAt(position);
+        final var chunk = chunks[chunkIndex];
+        final var at = position - offsets[chunkIndex];
+        if (chunk.keys[at] != key || chunk.sequences[at] != sequence) {
+            return this;
+        }
+        if (chunk.employees.length == 1) {
+            return replaced(chunkIndex, chunkIndex + 1, -1);
+        }
+        final var shrunk = chunk.removed(at);
+        if (shrunk.employees.length < MERGE_THRESHOLD) {
+            if (chunkIndex > 0 && fitTogether(chunks[chunkIndex - 1], shrunk)) {
+                return replaced(chunkIndex - 1, chunkIndex + 1, -1, chunks[chunkIndex - 1].merged(shrunk));
+            }
+            if (chunkIndex + 1 < chunks.length && fitTogether(shrunk, chunks[chunkIndex + 1])) {
+                return replaced(chunkIndex, chunkIndex + 2, -1, shrunk.merged(chunks[chunkIndex + 1]));
+            }
+        }
+        return replaced(chunkIndex, chunkIndex + 1, -1, shrunk);
+    }
+
+    // The chunk holding the position
+    private int chunkAt(int position) {
+        final var found = Arrays.binarySearch(offsets, position);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    /*
+     * The sequence with the chunks from the first index up to the second one replaced by the given chunks, after the
+     * size changed by the given difference. The offsets of the chunks that follow move by it too.
+     */
+    private SortedEmployees replaced(int from, int to, int difference, Chunk... replacements) {
+        final var length = chunks.length - (to - from) + replacements.length;
+        final var newChunks = new Chunk[length];
+        final var newOffsets = new int[length];
+        System.arraycopy(chunks, 0, newChunks, 0, from);
+        System.arraycopy(offsets, 0, newOffsets, 0, from);
+        var offset = from < offsets.length ? offsets[from] : size;
+        for (int i = 0; i < replacements.length; i++) {
+            newChunks[from + i] = replacements[i];
+            newOffsets[from + i] = offset;
+            offset += replacements[i].employees.length;
+        }
+        final var next = from + replacements.length;
+        System.arraycopy(chunks, to, newChunks, next, chunks.length - to);
+        for (int i = to; i < chunks.length; i++) {
+            newOffsets[next + i - to] = offsets[i] + difference;
+        }
+        return new SortedEmployees(newChunks, newOffsets, size + difference);
+    }
+
+    private static boolean fitTogether(Chunk first, Chunk second) {
+        return first.employees.length + second.employees.length <= CHUNK_SIZE;
+    }
+
+    private static int compare(int key, long sequence, int otherKey, long otherSequence) {
+        final var compared = Integer.compare(key, otherKey);
+        return compared != 0 ? compared : Long.compare(sequence, otherSequence);
+    }
+
+    record Entry(int key, long sequence, MockEmployee employee) {}
+
+    private static final class Chunk {
+
+        private final int[] keys;
+        private final long[] sequences;
+        private final MockEmployee[] employees;
+
+        private Chunk(int[] keys, long[] sequences, MockEmployee[] employees) {
+            this.keys = keys;
+            this.sequences = sequences;
+            this.employees = employees;
+        }
+
+        private Entry entryAt(int position) {
+            return new Entry(keys[position], sequences[position], employees[position]);
+        }
+
+        private Chunk inserted(int position, int key, long sequence, MockEmployee employee) {
+            final var length = employees.length;
+            final var newKeys = new int[length + 1];
+            final var newSequences = new long[length + 1];
+            final var newEmployees = new MockEmployee[length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, position);
+            System.arraycopy(sequences, 0, newSequences, 0, position);
+            System.arraycopy(employees, 0, newEmployees, 0, position);
+            newKeys[position] = key;
+            newSequences[position] = sequence;
+            newEmployees[position] = employee;
+            System.arraycopy(keys, position, newKeys, position + 1, length - position);
+            System.arraycopy(sequences, position, newSequences, position + 1, length - position);
+            System.arraycopy(employees, position, newEmployees, position + 1, length - position);
+            return new Chunk(newKeys, newSequences, newEmployees);
+        }
+
+        private Chunk removed(int position) {
+            final var length = employees.length - 1;
+            final var newKeys = new int[length];
+            final var newSequences = new long[length];
+            final var newEmployees = new MockEmployee[length];
+            System.arraycopy(keys, 0, newKeys, 0, position);
+            System.arraycopy(keys, position + 1, newKeys, position, length - position);
+            System.arraycopy(sequences, 0, newSequences, 0, position);
+            System.arraycopy(sequences, position + 1, newSequences, position, length - position);
+            System.arraycopy(employees, 0, newEmployees, 0, position);
+            System.arraycopy(employees, position + 1, newEmployees, position, length - position);
+            return new Chunk(newKeys, newSequences, newEmployees);
+        }
+
+        // The chunk must only hold employees that sort after the ones of this one
+        private Chunk merged(Chunk next) {
+            final var length = employees.length;
+            final var newKeys = Arrays.copyOf(keys, length + next.keys.length);
+            final var newSequences = Arrays.copyOf(sequences, length + next.sequences.length);
+            final var newEmployees = Arrays.copyOf(employees, length + next.employees.length);
+            System.arraycopy(next.keys, 0, newKeys, length, next.keys.length);
+            System.arraycopy(next.sequences, 0, newSequences, length, next.sequences.length);
+            System.arraycopy(next.employees, 0, newEmployees, length, next.employees.length);
+            return new Chunk(newKeys, newSequences, newEmployees);
+        }
+
+        private Chunk slice(int from, int to) {
+            return new Chunk(
+                    Arrays.copyOfRange(keys, from, to),
+                    Arrays.copyOfRange(sequences, from, to),
+                    Arrays.copyOfRange(employees, from, to));
+        }
+    }
+}
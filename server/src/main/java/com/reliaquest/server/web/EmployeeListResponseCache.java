@@ -0,0 +1,116 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.EmployeeListVersion;
+import com.reliaquest.server.model.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * The serialized response of the full employee list, for the current version of the list.
+ *
+ * Reading the list is by far the most frequent request, and serializing and compressing it dominated its cost. The
+ * JSON is serialized on the first read of each version, and compressed on the first read of it that accepts gzip;
+ * every other read of that version writes the same bytes. A version replaced by a create or delete is only dropped
+ * once a newer one is read, so bursts of writes without reads never serialize anything.
+ *
+ * The list is only read while it is serialized, so it may be one the store lets be read during a call only. Callers
+ * compress the serialized list afterwards, outside that call.
+ *
+ * Responses smaller than the minimum size are never compressed, like the ones compressed by the server itself.
+ */
+@Slf4j
+public class EmployeeListResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final boolean compressionEnabled;
+    private final long minCompressedSize;
+
+    private volatile Serialized entry;
+
+    public EmployeeListResponseCache(ObjectMapper objectMapper, boolean compressionEnabled, long minCompressedSize) {
+        this.objectMapper = objectMapper;
+        this.compressionEnabled = compressionEnabled;
+        this.minCompressedSize = minCompressedSize;
+    }
+
+    /*
+     * Concurrent first reads of a version serialize it once. A reader still holding an older version serializes it
+     * for itself rather than replacing the newer entry.
+     */
+    public Serialized get(EmployeeListVersion list) {
+        final var current = entry;
+        if (current != null && current.version == list.version()) {
+            return current;
+        }
+        if (current != null && current.version > list.version()) {
+            return new Serialized(list.version(), serialize(list));
+        }
+        synchronized (this) {
+            if (entry == null || entry.version < list.version()) {
+                entry = new Serialized(list.version(), serialize(list));
+                log.debug("Serialized employee list version {} into {} bytes.", list.version(), entry.json.length);
+            }
+            return entry.version == list.version() ? entry : new Serialized(list.version(), serialize(list));
+        }
+    }
+
+    private byte[] serialize(EmployeeListVersion list) {
+        try {
+            return objectMapper.writeValueAsBytes(Response.handledWith(list.employees()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize employee list", e);
+        }
+    }
+
+    private static byte[] compress(byte[] json) {
+        final var compressed = new ByteArrayOutputStream(json.length / 4);
+        try (final var gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    // The list of one version as JSON, compressed on its first read that accepts gzip
+    public final class Serialized {
+
+        @Getter
+        private final long version;
+
+        @Getter
+        private final byte[] json;
+
+        // Guarded by this until set
+        private volatile byte[] gzip;
+
+        private Serialized(long version, byte[] json) {
+            this.version = version;
+            this.json = json;
+        }
+
+        // Null when the response is not worth compressing
+        public byte[] getGzip() {
+            if (!compressionEnabled || json.length < minCompressedSize) {
+                return null;
+            }
+            var compressed = gzip;
+            if (compressed == null) {
+                synchronized (this) {
+                    compressed = gzip;
+                    if (compressed == null) {
+                        compressed = compress(json);
+                        gzip = compressed;
+                    }
+                }
+            }
+            return compressed;
+        }
+    }
+}
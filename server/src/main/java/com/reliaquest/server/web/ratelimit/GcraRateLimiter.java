@@ -0,0 +1,51 @@
+package com.reliaquest.server.web.ratelimit;
+
+import java.util.function.LongSupplier;
+
+/*
+ * Generic cell rate algorithm: each request moves the theoretical arrival time of the next one on by period / limit,
+ * starting from now if it is in the past. A request that would move it more than a period ahead of now is rejected.
+ * A key is idle once its theoretical arrival time is past.
+ */
+final class GcraRateLimiter implements RateLimiter {
+
+    private final int limit;
+    private final long periodNanos;
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+    private final KeyedStates<Long> arrivals;
+
+    GcraRateLimiter(int limit, long periodNanos, int maxKeys, LongSupplier nanoClock) {
+        this.limit = limit;
+        this.periodNanos = periodNanos;
+        this.intervalNanos = periodNanos / limit;
+        this.nanoClock = nanoClock;
+        this.arrivals = new KeyedStates<>(maxKeys, (arrival, now) -> arrival <= now);
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key) {
+        final var now = nanoClock.getAsLong();
+        while (true) {
+            final var arrival = arrivals.get(key, now, now);
+            final var current = arrival.get();
+            if (current == null) {
+                continue;
+            }
+            final long theoretical = current;
+            final var next = Math.max(theoretical, now) + intervalNanos;
+            // How far ahead of now the arrivals run, which is also how long until the whole limit is available again
+            final var backlog = next - now;
+            if (backlog > periodNanos) {
+                return RateLimitDecision.reject(limit, backlog - periodNanos, theoretical - now);
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return RateLimitDecision.allow(limit, (int) ((periodNanos - backlog) / intervalNanos), backlog);
+            }
+        }
+    }
+
+    int keyCount() {
+        return arrivals.size();
+    }
+}
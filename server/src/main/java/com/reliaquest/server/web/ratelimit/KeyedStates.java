@@ -0,0 +1,87 @@
+package com.reliaquest.server.web.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * The state of each key of a rate limiter, for keys of clients or routes that come and go, of which at most maxKeys are
+ * kept apart.
+ *
+ * Known keys are looked up without locking, while new keys are added one at a time. Once the map holds maxKeys keys,
+ * a new key first evicts every key whose state is idle: as good as the state of a new key, so that evicting it changes
+ * no decision. A state is evicted by replacing it with null by compare-and-set, so a request that updated it
+ * concurrently either wins and keeps the key, or finds null and looks the key up again.
+ *
+ * New keys that still find no room share one overflow state, so that clients sending ever new keys cannot grow the
+ * map and are limited together instead. A sweep visits every key, so one that frees fewer keys than it keeps is not
+ * repeated until as many more requests of keys without room as the difference have been turned away, which keeps the
+ * cost of a sweep per request constant.
+ */
+final class KeyedStates<S> {
+
+    interface Idleness<S> {
+        boolean isIdle(S state, long now);
+    }
+
+    private final int maxKeys;
+    private final Idleness<S> idleness;
+    private final Map<String, AtomicReference<S>> states = new ConcurrentHashMap<>();
+
+    // Guarded by this
+    private AtomicReference<S> overflow;
+    private int turnAwaysBeforeSweep;
+
+    KeyedStates(int maxKeys, Idleness<S> idleness) {
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("Rate limiter must keep at least one key: " + maxKeys);
+        }
+        this.maxKeys = maxKeys;
+        this.idleness = idleness;
+    }
+
+    // The state of the key, whose value is null once evicted
+    AtomicReference<S> get(String key, S initial, long now) {
+        final var state = states.get(key);
+        return state != null ? state : add(key, initial, now);
+    }
+
+    // The keys kept apart, not counting the overflow state
+    int size() {
+        return states.size();
+    }
+
+    private synchronized AtomicReference<S> add(String key, S initial, long now) {
+        final var state = states.get(key);
+        if (state != null) {
+            return state;
+        }
+        if (states.size() >= maxKeys && !sweep(now)) {
+            if (overflow == null) {
+                overflow = new AtomicReference<>(initial);
+            }
+            return overflow;
+        }
+        final var added = new AtomicReference<>(initial);
+        states.put(key, added);
+        return added;
+    }
+
+    // Whether the sweep, if due, left room for another key
+    private boolean sweep(long now) {
+        if (turnAwaysBeforeSweep > 0) {
+            turnAwaysBeforeSweep--;
+            return false;
+        }
+        final var before = states.size();
+        for (final var entry : states.entrySet()) {
+            final var state = entry.getValue().get();
+            if (state != null && idleness.isIdle(state, now) && entry.getValue().compareAndSet(state, null)) {
+                states.remove(entry.getKey(), entry.getValue());
+            }
+        }
+        final var kept = states.size();
+        turnAwaysBeforeSweep = Math.max(0, kept - (before - kept));
+        return kept < maxKeys;
+    }
+}
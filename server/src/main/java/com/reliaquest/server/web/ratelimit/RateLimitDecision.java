@@ -0,0 +1,16 @@
+package com.reliaquest.server.web.ratelimit;
+
+/*
+ * Whether a request is allowed, with what the limiter tells the client: the limit, the requests remaining right after
+ * this one, how long until a rejected request would be allowed and how long until the whole limit is available again.
+ */
+public record RateLimitDecision(boolean allowed, int limit, int remaining, long retryAfterNanos, long resetNanos) {
+
+    static RateLimitDecision allow(int limit, int remaining, long resetNanos) {
+        return new RateLimitDecision(true, limit, Math.max(0, remaining), 0, Math.max(0, resetNanos));
+    }
+
+    static RateLimitDecision reject(int limit, long retryAfterNanos, long resetNanos) {
+        return new RateLimitDecision(false, limit, 0, Math.max(1, retryAfterNanos), Math.max(0, resetNanos));
+    }
+}
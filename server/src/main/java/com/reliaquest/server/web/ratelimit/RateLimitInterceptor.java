@@ -0,0 +1,83 @@
+package com.reliaquest.server.web.ratelimit;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/*
+ * Limits requests per key with the rate limiter and tells the client where it stands on every response:
+ *
+ * - X-RateLimit-Limit: the requests allowed per period
+ * - X-RateLimit-Remaining: the requests left right after this one
+ * - X-RateLimit-Reset: seconds until the whole limit is available again
+ * - Retry-After: on 429 only, seconds until a request would be allowed
+ *
+ * Seconds are rounded up, so that a client waiting this long is never rejected again for the same reason.
+ *
+ * Asynchronous requests such as the event stream are dispatched again once their result is ready, and that dispatch
+ * passes through the interceptor too. It is the same request, already counted and possibly committed, so it is let
+ * through untouched.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    // Unmatched paths are whatever clients send, so a key each would let any client add keys at will
+    static final String UNMATCHED_ROUTE_KEY = "unmatched";
+
+    public enum Key {
+        // One limit shared by all requests
+        GLOBAL,
+        // A limit per client address
+        CLIENT,
+        // A limit per method and route pattern, and one shared by all requests no route matches
+        ROUTE
+    }
+
+    private final RateLimiter rateLimiter;
+    private final Key key;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, Key key) {
+        this.rateLimiter = rateLimiter;
+        this.key = key;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        final var decision = rateLimiter.tryAcquire(keyOf(request));
+        response.setHeader(LIMIT_HEADER, String.valueOf(decision.limit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(toSeconds(decision.resetNanos())));
+        if (decision.allowed()) {
+            return true;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(toSeconds(decision.retryAfterNanos())));
+        return false;
+    }
+
+    private String keyOf(HttpServletRequest request) {
+        return switch (key) {
+            case GLOBAL -> "";
+            case CLIENT -> request.getRemoteAddr();
+            case ROUTE -> {
+                final var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                yield pattern != null ? request.getMethod() + " " + pattern : UNMATCHED_ROUTE_KEY;
+            }
+        };
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,41 @@
+package com.reliaquest.server.web.ratelimit;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/*
+ * Allows up to limit requests per period for every key, without locking: the state of each key is a single value
+ * replaced by compare-and-set, so concurrent requests never pass on the same remaining request.
+ *
+ * - TOKEN_BUCKET: a bucket of limit tokens refilled continuously over the period, each request taking one
+ * - SLIDING_WINDOW: the requests of the current window plus those of the previous one, weighted by how much of it the
+ *   sliding window still covers
+ * - GCRA: the theoretical arrival time of the next request, which may run ahead of the clock by at most the period
+ *
+ * At most maxKeys keys are limited apart. Once that many are held, idle ones are evicted to make room for new keys,
+ * and new keys that find none share one limit.
+ */
+public interface RateLimiter {
+
+    enum Algorithm {
+        TOKEN_BUCKET,
+        SLIDING_WINDOW,
+        GCRA
+    }
+
+    RateLimitDecision tryAcquire(String key);
+
+    static RateLimiter create(Algorithm algorithm, int limit, Duration period, int maxKeys, LongSupplier nanoClock) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Rate limit must allow at least one request: " + limit);
+        }
+        if (period.isNegative() || period.toNanos() < limit) {
+            throw new IllegalArgumentException("Rate limit period is too short: " + period);
+        }
+        return switch (algorithm) {
+            case TOKEN_BUCKET -> new TokenBucketRateLimiter(limit, period.toNanos(), maxKeys, nanoClock);
+            case SLIDING_WINDOW -> new SlidingWindowRateLimiter(limit, period.toNanos(), maxKeys, nanoClock);
+            case GCRA -> new GcraRateLimiter(limit, period.toNanos(), maxKeys, nanoClock);
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.reliaquest.server.web.ratelimit;
+
+import java.util.function.LongSupplier;
+
+/*
+ * Counts the requests of fixed windows of one period per key. The requests in the sliding period before now are
+ * estimated as those of the current window plus those of the previous one, in proportion to the part of the previous
+ * window the sliding period still covers. A request that would take the estimate over the limit is rejected. A key is
+ * idle once neither window it is in counts any request.
+ */
+final class SlidingWindowRateLimiter implements RateLimiter {
+
+    private final int limit;
+    private final long periodNanos;
+    private final LongSupplier nanoClock;
+    private final KeyedStates<Window> windows;
+
+    SlidingWindowRateLimiter(int limit, long periodNanos, int maxKeys, LongSupplier nanoClock) {
+        this.limit = limit;
+        this.periodNanos = periodNanos;
+        this.nanoClock = nanoClock;
+        this.windows = new KeyedStates<>(maxKeys, (window, now) -> {
+            final var rolled = roll(window, now);
+            return rolled.previous() == 0 && rolled.current() == 0;
+        });
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key) {
+        final var now = nanoClock.getAsLong();
+        while (true) {
+            final var window = windows.get(key, new Window(now, 0, 0), now);
+            final var current = window.get();
+            if (current == null) {
+                continue;
+            }
+            final var rolled = roll(current, now);
+            // Another request may have rolled the window after this one read the clock
+            final var elapsed = Math.max(0, now - rolled.start());
+            final var estimate = rolled.previous() * (double) (periodNanos - elapsed) / periodNanos + rolled.current();
+            if (estimate + 1 > limit) {
+                return RateLimitDecision.reject(
+                        limit, nanosUntilAllowed(rolled, elapsed), nanosUntilExpired(rolled, elapsed));
+            }
+            final var counted = new Window(rolled.start(), rolled.previous(), rolled.current() + 1);
+            if (window.compareAndSet(current, counted)) {
+                return RateLimitDecision.allow(
+                        limit, (int) (limit - estimate - 1), nanosUntilExpired(counted, elapsed));
+            }
+        }
+    }
+
+    int keyCount() {
+        return windows.size();
+    }
+
+    private Window roll(Window window, long now) {
+        final var elapsed = now - window.start();
+        if (elapsed < periodNanos) {
+            return window;
+        }
+        if (elapsed < 2 * periodNanos) {
+            return new Window(window.start() + periodNanos, window.current(), 0);
+        }
+        return new Window(now - elapsed % periodNanos, 0, 0);
+    }
+
+    // How long until the weight of the previous window, or of this one once it is the previous, leaves room
+    private long nanosUntilAllowed(Window window, long elapsed) {
+        if (window.current() + 1 <= limit) {
+            final var room = (double) (limit - window.current() - 1) / window.previous();
+            return (long) Math.ceil(periodNanos * (1 - room)) - elapsed;
+        }
+        final var room = (double) (limit - 1) / window.current();
+        return periodNanos - elapsed + (long) Math.ceil(periodNanos * (1 - room));
+    }
+
+    private long nanosUntilExpired(Window window, long elapsed) {
+        if (window.current() > 0) {
+            return 2 * periodNanos - elapsed;
+        }
+        return window.previous() > 0 ? periodNanos - elapsed : 0;
+    }
+
+    private record Window(long start, int previous, int current) {}
+}
@@ -0,0 +1,57 @@
+package com.reliaquest.server.web.ratelimit;
+
+import java.util.function.LongSupplier;
+
+/*
+ * A bucket of limit tokens per key, starting full and refilled at limit tokens per period. Each request takes a token,
+ * and is rejected when less than one is left. A key is idle once its bucket is full again.
+ */
+final class TokenBucketRateLimiter implements RateLimiter {
+
+    private final int limit;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+    private final KeyedStates<Bucket> buckets;
+
+    TokenBucketRateLimiter(int limit, long periodNanos, int maxKeys, LongSupplier nanoClock) {
+        this.limit = limit;
+        this.tokensPerNano = (double) limit / periodNanos;
+        this.nanoClock = nanoClock;
+        this.buckets = new KeyedStates<>(maxKeys, (bucket, now) -> tokensOf(bucket, now) >= limit);
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key) {
+        final var now = nanoClock.getAsLong();
+        while (true) {
+            final var bucket = buckets.get(key, new Bucket(limit, now), now);
+            final var current = bucket.get();
+            if (current == null) {
+                continue;
+            }
+            // Another request may have refilled the bucket after this one read the clock
+            final var refilledAt = Math.max(current.refilledAt(), now);
+            final var tokens = tokensOf(current, refilledAt);
+            if (tokens < 1) {
+                return RateLimitDecision.reject(limit, nanosToRefill(1 - tokens), nanosToRefill(limit - tokens));
+            }
+            if (bucket.compareAndSet(current, new Bucket(tokens - 1, refilledAt))) {
+                return RateLimitDecision.allow(limit, (int) (tokens - 1), nanosToRefill(limit - tokens + 1));
+            }
+        }
+    }
+
+    int keyCount() {
+        return buckets.size();
+    }
+
+    private double tokensOf(Bucket bucket, long now) {
+        return Math.min(limit, bucket.tokens() + Math.max(0, now - bucket.refilledAt()) * tokensPerNano);
+    }
+
+    private long nanosToRefill(double tokens) {
+        return (long) Math.ceil(tokens / tokensPerNano);
+    }
+
+    private record Bucket(double tokens, long refilledAt) {}
+}
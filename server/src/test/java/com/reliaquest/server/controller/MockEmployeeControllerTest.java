@@ -0,0 +1,122 @@
+package com.reliaquest.server.controller;
+
+import static com.reliaquest.server.testdata.MockEmployeeTestData.employee;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeQuery;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.EmployeeEventPublisher;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.EmployeeListResponseCache;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.http.ResponseEntity;
+
+class MockEmployeeControllerTest {
+
+    @Mock
+    private MockEmployeeService mockEmployeeService;
+
+    @Mock
+    private EmployeeEventPublisher employeeEventPublisher;
+
+    @Mock
+    private EmployeeListResponseCache employeeListResponseCache;
+
+    @InjectMocks
+    private MockEmployeeController mockEmployeeController;
+
+    private AutoCloseable mocks;
+
+    @BeforeEach
+    void setUp() {
+        mocks = openMocks(this);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    @Test
+    void getEmployees_RejectsUnsupportedSort() {
+        ResponseEntity<?> response = mockEmployeeController.getEmployees(null, null, null, null, "name", null, null);
+
+        assertBadRequest(response, "Unsupported sort: name");
+    }
+
+    @Test
+    void getEmployees_RejectsInvalidCursor() {
+        ResponseEntity<?> response =
+                mockEmployeeController.getEmployees(null, null, null, null, null, null, "not a cursor");
+
+        assertBadRequest(response, "Invalid cursor: not a cursor");
+    }
+
+    @Test
+    void getEmployees_RejectsLimitBelowOne() {
+        ResponseEntity<?> response = mockEmployeeController.getEmployees(null, null, null, null, null, 0, null);
+
+        assertBadRequest(response, "Limit must be at least 1");
+    }
+
+    @Test
+    void getEmployees_PassesQueryToServiceAndReturnsNextCursor() {
+        MockEmployee mockEmployee = employee("Rajesh", 500000);
+        EmployeeQuery.Cursor after = new EmployeeQuery.Cursor(400000, 12);
+        EmployeeQuery query = new EmployeeQuery("raj", 100000, null, EmployeeQuery.Sort.SALARY_DESC, 1, after);
+        when(mockEmployeeService.find(query)).thenReturn(new EmployeePage(List.of(mockEmployee), "next"));
+
+        ResponseEntity<?> response = mockEmployeeController.getEmployees(
+                null, "raj", 100000, null, "salary:desc", 1, after.encode());
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("next", response.getHeaders().getFirst(MockEmployeeController.NEXT_CURSOR_HEADER));
+        assertEquals(Response.handledWith(List.of(mockEmployee)), response.getBody());
+    }
+
+    @Test
+    void acceptsGzip_AcceptsGzipByNameOrWildcard() {
+        assertTrue(MockEmployeeController.acceptsGzip("gzip"));
+        assertTrue(MockEmployeeController.acceptsGzip("GZip"));
+        assertTrue(MockEmployeeController.acceptsGzip("x-gzip"));
+        assertTrue(MockEmployeeController.acceptsGzip("deflate, gzip;q=0.5, br"));
+        assertTrue(MockEmployeeController.acceptsGzip("br;q=1.0, gzip;q=0.8, *;q=0.1"));
+        assertTrue(MockEmployeeController.acceptsGzip("*"));
+        assertTrue(MockEmployeeController.acceptsGzip("br, *;q=0.1"));
+    }
+
+    @Test
+    void acceptsGzip_RefusesGzipWithQualityZero() {
+        assertFalse(MockEmployeeController.acceptsGzip("gzip;q=0"));
+        assertFalse(MockEmployeeController.acceptsGzip("gzip; Q=0.000"));
+        assertFalse(MockEmployeeController.acceptsGzip("gzip;level=9;q=0"));
+        assertFalse(MockEmployeeController.acceptsGzip("*;q=0"));
+        assertFalse(MockEmployeeController.acceptsGzip("gzip;q=0, *"));
+        assertFalse(MockEmployeeController.acceptsGzip("gzip;q=none"));
+        assertFalse(MockEmployeeController.acceptsGzip("gzip;q=2"));
+    }
+
+    @Test
+    void acceptsGzip_RefusesMissingGzip() {
+        assertFalse(MockEmployeeController.acceptsGzip(null));
+        assertFalse(MockEmployeeController.acceptsGzip(""));
+        assertFalse(MockEmployeeController.acceptsGzip("identity"));
+        assertFalse(MockEmployeeController.acceptsGzip("deflate, br"));
+        assertFalse(MockEmployeeController.acceptsGzip("gzipped"));
+    }
+
+    private void assertBadRequest(ResponseEntity<?> response, String error) {
+        assertEquals(400, response.getStatusCode().value());
+        assertEquals(Response.error(error), response.getBody());
+        verifyNoInteractions(mockEmployeeService);
+    }
+}
@@ -0,0 +1,53 @@
+package com.reliaquest.server.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+
+class EmployeeQueryTest {
+
+    @Test
+    void cursor_DecodesWhatItEncodes() {
+        for (EmployeeQuery.Cursor cursor : new EmployeeQuery.Cursor[] {
+            new EmployeeQuery.Cursor(0, 0),
+            new EmployeeQuery.Cursor(250000, 41),
+            new EmployeeQuery.Cursor(-1, Long.MAX_VALUE),
+            new EmployeeQuery.Cursor(Integer.MIN_VALUE, 7)
+        }) {
+            assertEquals(cursor, EmployeeQuery.Cursor.decode(cursor.encode()));
+        }
+    }
+
+    @Test
+    void cursor_EncodesUrlSafeWithoutPadding() {
+        String encoded = new EmployeeQuery.Cursor(123456, 987654321L).encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    }
+
+    @Test
+    void cursor_DecodesInvalidStringsToNull() {
+        assertNull(EmployeeQuery.Cursor.decode(""));
+        assertNull(EmployeeQuery.Cursor.decode("not a cursor!"));
+        assertNull(EmployeeQuery.Cursor.decode(encode("12345")));
+        assertNull(EmployeeQuery.Cursor.decode(encode("salary:1")));
+        assertNull(EmployeeQuery.Cursor.decode(encode("1:sequence")));
+        assertNull(EmployeeQuery.Cursor.decode(encode("1:")));
+        assertNull(EmployeeQuery.Cursor.decode(encode("99999999999:1")));
+    }
+
+    @Test
+    void sort_ParsesSalaryOrders() {
+        assertEquals(EmployeeQuery.Sort.SALARY_ASC, EmployeeQuery.Sort.parse("salary"));
+        assertEquals(EmployeeQuery.Sort.SALARY_ASC, EmployeeQuery.Sort.parse("salary:asc"));
+        assertEquals(EmployeeQuery.Sort.SALARY_DESC, EmployeeQuery.Sort.parse("salary:desc"));
+        assertNull(EmployeeQuery.Sort.parse("name"));
+        assertNull(EmployeeQuery.Sort.parse("SALARY"));
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+    }
+}
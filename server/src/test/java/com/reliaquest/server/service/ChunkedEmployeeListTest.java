@@ -0,0 +1,156 @@
+package com.reliaquest.server.service;
+
+import static com.reliaquest.server.testdata.MockEmployeeTestData.employee;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class ChunkedEmployeeListTest {
+
+    @Test
+    void of_KeepsListOrder() {
+        List<MockEmployee> employees = employees(200);
+
+        ChunkedEmployeeList list = ChunkedEmployeeList.of(employees);
+
+        assertList(employees, list);
+        assertEquals(4, list.chunkCount());
+    }
+
+    @Test
+    void appended_AddsAtEndAndLeavesPreviousListUnchanged() {
+        List<MockEmployee> employees = employees(ChunkedEmployeeList.CHUNK_SIZE);
+        ChunkedEmployeeList list = ChunkedEmployeeList.of(employees);
+        MockEmployee added = employee("Added", 1000);
+
+        ChunkedEmployeeList appended = list.appended(employees.size(), added);
+
+        List<MockEmployee> expected = new ArrayList<>(employees);
+        expected.add(added);
+        assertList(expected, appended);
+        assertEquals(2, appended.chunkCount());
+        assertList(employees, list);
+    }
+
+    @Test
+    void removed_RemovesBySequenceAndLeavesPreviousListUnchanged() {
+        List<MockEmployee> employees = employees(100);
+        ChunkedEmployeeList list = ChunkedEmployeeList.of(employees);
+
+        ChunkedEmployeeList removed = list.removed(70).removed(0);
+
+        List<MockEmployee> expected = new ArrayList<>(employees);
+        expected.remove(70);
+        expected.remove(0);
+        assertList(expected, removed);
+        assertList(employees, list);
+    }
+
+    @Test
+    void removed_IgnoresUnknownSequence() {
+        ChunkedEmployeeList list = ChunkedEmployeeList.of(employees(10)).removed(3);
+
+        assertSame(list, list.removed(3));
+        assertSame(list, list.removed(-1));
+        assertSame(list, list.removed(10));
+        assertSame(ChunkedEmployeeList.EMPTY, ChunkedEmployeeList.EMPTY.removed(0));
+    }
+
+    @Test
+    void removed_DropsEmptiedChunk() {
+        ChunkedEmployeeList list = ChunkedEmployeeList.of(employees(10));
+        for (int sequence = 0; sequence < 10; sequence++) {
+            list = list.removed(sequence);
+        }
+
+        assertList(List.of(), list);
+        assertEquals(0, list.chunkCount());
+    }
+
+    @Test
+    void removed_MergesShrunkenChunkWithNeighbour() {
+        int chunkSize = ChunkedEmployeeList.CHUNK_SIZE;
+        List<MockEmployee> employees = employees(3 * chunkSize);
+        ChunkedEmployeeList list = ChunkedEmployeeList.of(employees);
+        List<MockEmployee> expected = new ArrayList<>(employees);
+
+        // Shrinks the first two chunks to half and then the second one below the threshold, so the two fit in one
+        for (int sequence = chunkSize / 2; sequence < chunkSize; sequence++) {
+            list = list.removed(sequence);
+            expected.remove(employees.get(sequence));
+        }
+        int kept = ChunkedEmployeeList.MERGE_THRESHOLD;
+        for (int sequence = chunkSize; sequence < 2 * chunkSize - kept; sequence++) {
+            list = list.removed(sequence);
+            expected.remove(employees.get(sequence));
+        }
+        assertEquals(3, list.chunkCount());
+        list = list.removed(2 * chunkSize - kept);
+        expected.remove(employees.get(2 * chunkSize - kept));
+
+        assertEquals(2, list.chunkCount());
+        assertList(expected, list);
+    }
+
+    @Test
+    void appendedAndRemoved_MatchArrayList() {
+        Random random = new Random(7);
+        List<MockEmployee> employees = employees(500);
+        ChunkedEmployeeList list = ChunkedEmployeeList.of(employees);
+        List<MockEmployee> expected = new ArrayList<>(employees);
+        List<Long> sequences = new ArrayList<>(LongStream.range(0, 500).boxed().toList());
+        long nextSequence = 500;
+
+        for (int i = 0; i < 5000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) == 0) {
+                MockEmployee added = employee("Added " + i, i);
+                list = list.appended(nextSequence, added);
+                sequences.add(nextSequence++);
+                expected.add(added);
+            } else {
+                int position = random.nextInt(expected.size());
+                list = list.removed(sequences.remove(position));
+                expected.remove(position);
+            }
+            if (i % 100 == 0) {
+                assertList(expected, list);
+            }
+        }
+
+        assertList(expected, list);
+        int minimumChunks = (expected.size() + ChunkedEmployeeList.CHUNK_SIZE - 1) / ChunkedEmployeeList.CHUNK_SIZE;
+        assertTrue(list.chunkCount() <= 4 * minimumChunks, list.chunkCount() + " chunks");
+    }
+
+    @Test
+    void get_RejectsIndexOutOfRange() {
+        ChunkedEmployeeList list = ChunkedEmployeeList.of(employees(3));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+        assertThrows(NoSuchElementException.class, () -> ChunkedEmployeeList.EMPTY.iterator().next());
+    }
+
+    private static void assertList(List<MockEmployee> expected, ChunkedEmployeeList list) {
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), list.get(i));
+        }
+        List<MockEmployee> iterated = new ArrayList<>();
+        list.iterator().forEachRemaining(iterated::add);
+        assertEquals(expected, iterated);
+    }
+
+    private static List<MockEmployee> employees(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> employee("Employee " + i, i))
+                .toList();
+    }
+}
@@ -0,0 +1,105 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ChunkedSlotIndexTest {
+
+    @Test
+    void new_LoadsSortedSlotsLeavingRoomInChunks() {
+        int[] sorted = IntStream.range(0, 10_000).map(slot -> slot * 2).toArray();
+
+        ChunkedSlotIndex index = new ChunkedSlotIndex(sorted);
+
+        assertIndex(IntStream.of(sorted).boxed().toList(), index);
+        assertEquals(4, index.chunkCount());
+        index.insert(1, 1);
+        assertEquals(4, index.chunkCount());
+    }
+
+    @Test
+    void insert_SplitsFullChunks() {
+        ChunkedSlotIndex index = new ChunkedSlotIndex();
+        List<Integer> expected = new ArrayList<>();
+
+        for (int slot = 0; slot < 3 * ChunkedSlotIndex.CHUNK_SIZE; slot++) {
+            insertSorted(index, expected, slot);
+        }
+
+        assertIndex(expected, index);
+        assertEquals(5, index.chunkCount());
+    }
+
+    @Test
+    void remove_MergesShrunkenChunksAndDropsEmptyOnes() {
+        int[] sorted = IntStream.range(0, 3 * ChunkedSlotIndex.CHUNK_SIZE).toArray();
+        ChunkedSlotIndex index = new ChunkedSlotIndex(sorted);
+        List<Integer> expected = new ArrayList<>(IntStream.of(sorted).boxed().toList());
+
+        // Leaves one slot in every 16, so that most chunks shrink below the merge threshold
+        for (int position = expected.size() - 1; position >= 0; position--) {
+            if (position % 16 != 0) {
+                index.remove(position);
+                expected.remove(position);
+            }
+        }
+
+        assertIndex(expected, index);
+        assertEquals(1, index.chunkCount());
+        while (!expected.isEmpty()) {
+            index.remove(0);
+            expected.remove(0);
+        }
+        assertEquals(0, index.size());
+        assertEquals(0, index.chunkCount());
+    }
+
+    @Test
+    void insertAndRemove_MatchSortedList() {
+        Random random = new Random(42);
+        ChunkedSlotIndex index = new ChunkedSlotIndex();
+        List<Integer> expected = new ArrayList<>();
+
+        for (int i = 0; i < 50_000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                insertSorted(index, expected, random.nextInt(100_000));
+            } else {
+                int position = random.nextInt(expected.size());
+                index.remove(position);
+                expected.remove(position);
+            }
+        }
+
+        assertIndex(expected, index);
+    }
+
+    @Test
+    void partition_FindsFirstSlotNotBefore() {
+        ChunkedSlotIndex index = new ChunkedSlotIndex(IntStream.range(0, 10_000).toArray());
+
+        assertEquals(0, index.partition(slot -> false));
+        assertEquals(5000, index.partition(slot -> slot < 5000));
+        assertEquals(10_000, index.partition(slot -> true));
+        assertEquals(0, new ChunkedSlotIndex().partition(slot -> true));
+    }
+
+    // Inserts after the equal slots, as the store inserts after the employees with the same salary
+    private static void insertSorted(ChunkedSlotIndex index, List<Integer> expected, int slot) {
+        int position = index.partition(other -> other <= slot);
+        index.insert(position, slot);
+        expected.add(position, slot);
+    }
+
+    private static void assertIndex(List<Integer> expected, ChunkedSlotIndex index) {
+        assertEquals(expected.size(), index.size());
+        for (int position = 0; position < expected.size(); position++) {
+            assertEquals((int) expected.get(position), index.get(position));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> index.get(expected.size()));
+    }
+}
@@ -0,0 +1,122 @@
+package com.reliaquest.server.service;
+
+import static com.reliaquest.server.testdata.MockEmployeeTestData.employee;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.EmployeeChanges;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+class EmployeeChangeLogTest {
+
+    @Test
+    void changesSince_CurrentVersionIsEmpty() {
+        EmployeeChangeLog changeLog = new EmployeeChangeLog(10);
+        long initialVersion = changeLog.getVersion();
+
+        EmployeeChanges unchanged = changeLog.changesSince(initialVersion);
+        changeLog.record(EmployeeChange.Type.CREATED, employee("Rajesh", 500000));
+        EmployeeChanges afterRecord = changeLog.changesSince(changeLog.getVersion());
+
+        assertEquals(EmployeeChanges.of(initialVersion, List.of()), unchanged);
+        assertEquals(EmployeeChanges.of(initialVersion + 1, List.of()), afterRecord);
+    }
+
+    @Test
+    void changesSince_ReturnsChangesAfterVersion() {
+        EmployeeChangeLog changeLog = new EmployeeChangeLog(10);
+        long initialVersion = changeLog.getVersion();
+        MockEmployee created = employee("Rajesh", 500000);
+        MockEmployee deleted = employee("Ravi", 200000);
+        changeLog.record(EmployeeChange.Type.CREATED, created);
+        changeLog.record(EmployeeChange.Type.CREATED, deleted);
+        changeLog.record(EmployeeChange.Type.DELETED, deleted);
+
+        EmployeeChanges all = changeLog.changesSince(initialVersion);
+        EmployeeChanges lastTwo = changeLog.changesSince(initialVersion + 1);
+
+        assertFalse(all.resyncRequired());
+        assertEquals(initialVersion + 3, all.version());
+        assertEquals(
+                List.of(
+                        new EmployeeChange(initialVersion + 1, EmployeeChange.Type.CREATED, created),
+                        new EmployeeChange(initialVersion + 2, EmployeeChange.Type.CREATED, deleted),
+                        new EmployeeChange(initialVersion + 3, EmployeeChange.Type.DELETED, deleted)),
+                all.changes());
+        assertEquals(all.changes().subList(1, 3), lastTwo.changes());
+    }
+
+    @Test
+    void changesSince_RequiresResyncBeforeInitialVersion() {
+        EmployeeChangeLog changeLog = new EmployeeChangeLog(10);
+        long initialVersion = changeLog.getVersion();
+        changeLog.record(EmployeeChange.Type.CREATED, employee("Rajesh", 500000));
+
+        assertEquals(EmployeeChanges.resyncRequired(initialVersion + 1), changeLog.changesSince(initialVersion - 1));
+        assertTrue(changeLog.changesSince(0).resyncRequired());
+    }
+
+    @Test
+    void changesSince_RequiresResyncAfterCurrentVersion() {
+        EmployeeChangeLog changeLog = new EmployeeChangeLog(10);
+
+        assertTrue(changeLog.changesSince(changeLog.getVersion() + 1).resyncRequired());
+    }
+
+    @Test
+    void changesSince_RequiresResyncOnceChangesAreDropped() {
+        EmployeeChangeLog changeLog = new EmployeeChangeLog(2);
+        long initialVersion = changeLog.getVersion();
+        for (int i = 0; i < 3; i++) {
+            changeLog.record(EmployeeChange.Type.CREATED, employee("Employee " + i, 1000));
+        }
+
+        EmployeeChanges dropped = changeLog.changesSince(initialVersion);
+        EmployeeChanges oldestKept = changeLog.changesSince(initialVersion + 1);
+        EmployeeChanges newest = changeLog.changesSince(initialVersion + 2);
+
+        assertTrue(dropped.resyncRequired());
+        assertEquals(
+                List.of(initialVersion + 2, initialVersion + 3),
+                oldestKept.changes().stream().map(EmployeeChange::version).toList());
+        assertEquals(
+                List.of(initialVersion + 3),
+                newest.changes().stream().map(EmployeeChange::version).toList());
+    }
+
+    @Test
+    void addListener_CallsListenerWithLaterChangesInOrder() {
+        EmployeeChangeLog changeLog = new EmployeeChangeLog(10);
+        changeLog.record(EmployeeChange.Type.CREATED, employee("Before", 1000));
+        List<Long> versions = new ArrayList<>();
+
+        long registeredAt = changeLog.addListener(change -> versions.add(change.version()));
+        changeLog.record(EmployeeChange.Type.CREATED, employee("After", 1000));
+        changeLog.record(EmployeeChange.Type.DELETED, employee("After", 1000));
+
+        assertEquals(List.of(registeredAt + 1, registeredAt + 2), versions);
+    }
+
+    @Test
+    void removeListener_StopsCallingListener() {
+        EmployeeChangeLog changeLog = new EmployeeChangeLog(10);
+        List<Long> versions = new ArrayList<>();
+        Consumer<EmployeeChange> listener = change -> versions.add(change.version());
+        long registeredAt = changeLog.addListener(listener);
+        changeLog.record(EmployeeChange.Type.CREATED, employee("Before", 1000));
+
+        changeLog.removeListener(listener);
+        changeLog.record(EmployeeChange.Type.CREATED, employee("After", 1000));
+
+        assertEquals(List.of(registeredAt + 1), versions);
+    }
+
+    @Test
+    void constructor_RejectsEmptyLog() {
+        assertThrows(IllegalArgumentException.class, () -> new EmployeeChangeLog(0));
+    }
+}
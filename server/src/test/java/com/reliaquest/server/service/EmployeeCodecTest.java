@@ -0,0 +1,61 @@
+package com.reliaquest.server.service;
+
+import static com.reliaquest.server.testdata.MockEmployeeTestData.employee;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class EmployeeCodecTest {
+
+    @Test
+    void read_ReadsWhatWriteWrote() throws IOException {
+        List<MockEmployee> employees = List.of(
+                employee("Ravi Kumar", 250000),
+                employee("J\u00fcrgen \u00c5str\u00f6m", -1),
+                MockEmployee.builder().id(UUID.randomUUID()).name("").build(),
+                employee(null, null));
+        ByteBuffer in = ByteBuffer.wrap(write(employees.toArray(MockEmployee[]::new)));
+
+        for (MockEmployee employee : employees) {
+            assertEquals(employee, EmployeeCodec.read(in));
+        }
+        assertFalse(in.hasRemaining());
+    }
+
+    @Test
+    void read_ThrowsWhenBufferEndsWithinEmployee() throws IOException {
+        byte[] bytes = write(employee("Ravi Kumar", 250000));
+
+        for (int length = 0; length < bytes.length; length++) {
+            ByteBuffer in = ByteBuffer.wrap(Arrays.copyOf(bytes, length));
+            assertThrows(BufferUnderflowException.class, () -> EmployeeCodec.read(in));
+        }
+    }
+
+    @Test
+    void read_ThrowsOnStringLongerThanBuffer() throws IOException {
+        byte[] bytes = write(employee("Ravi", 250000));
+        // The name length follows the id, and the salary and age with their presence flags
+        ByteBuffer.wrap(bytes).putInt(16 + 5 + 5, Integer.MAX_VALUE);
+
+        assertThrows(BufferUnderflowException.class, () -> EmployeeCodec.read(ByteBuffer.wrap(bytes)));
+    }
+
+    private static byte[] write(MockEmployee... employees) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (MockEmployee employee : employees) {
+            EmployeeCodec.write(out, employee);
+        }
+        return bytes.toByteArray();
+    }
+}
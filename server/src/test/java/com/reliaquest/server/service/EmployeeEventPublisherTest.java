@@ -0,0 +1,226 @@
+package com.reliaquest.server.service;
+
+import static com.reliaquest.server.testdata.MockEmployeeTestData.employee;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.EmployeeChange;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class EmployeeEventPublisherTest {
+
+    private static final Duration HEARTBEAT = Duration.ofHours(1);
+    private static final Duration TIMEOUT = Duration.ofMinutes(1);
+    private static final Pattern EVENT = Pattern.compile("event:(\\w+)");
+    private static final Pattern ID = Pattern.compile("id:(\\d+)");
+
+    private EmployeeChangeLog changeLog;
+
+    private long initialVersion;
+
+    private EmployeeEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = new EmployeeChangeLog(100);
+        initialVersion = changeLog.getVersion();
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.shutdown();
+    }
+
+    @Test
+    void subscribe_SendsHeartbeatThenChanges() throws InterruptedException {
+        publisher = new EmployeeEventPublisher(changeLog, HEARTBEAT, TIMEOUT, 10);
+        TestEmitter emitter = new TestEmitter();
+
+        publisher.subscribe(emitter, null);
+        record(2);
+
+        assertEquals(
+                List.of(
+                        "heartbeat:" + initialVersion,
+                        "change:" + (initialVersion + 1),
+                        "change:" + (initialVersion + 2)),
+                emitter.take(3));
+    }
+
+    @Test
+    void subscribe_ReplaysChangesAfterLastEventId() throws InterruptedException {
+        publisher = new EmployeeEventPublisher(changeLog, HEARTBEAT, TIMEOUT, 10);
+        record(3);
+        TestEmitter emitter = new TestEmitter();
+
+        publisher.subscribe(emitter, initialVersion + 1);
+
+        assertEquals(
+                List.of(
+                        "change:" + (initialVersion + 2),
+                        "change:" + (initialVersion + 3),
+                        "heartbeat:" + (initialVersion + 3)),
+                emitter.take(3));
+    }
+
+    @Test
+    void subscribe_RequiresResyncForUnknownLastEventId() throws InterruptedException {
+        publisher = new EmployeeEventPublisher(changeLog, HEARTBEAT, TIMEOUT, 10);
+        TestEmitter emitter = new TestEmitter();
+
+        publisher.subscribe(emitter, initialVersion - 1);
+
+        assertEquals(List.of("resync", "heartbeat:" + initialVersion), emitter.take(2));
+    }
+
+    @Test
+    void subscribe_RequiresResyncWhenMissedChangesDoNotFitQueue() throws InterruptedException {
+        publisher = new EmployeeEventPublisher(changeLog, HEARTBEAT, TIMEOUT, 3);
+        record(3);
+        TestEmitter emitter = new TestEmitter();
+
+        publisher.subscribe(emitter, initialVersion);
+
+        assertEquals(List.of("resync", "heartbeat:" + (initialVersion + 3)), emitter.take(2));
+    }
+
+    @Test
+    void send_SlowSubscriberDoesNotHoldUpOthers() throws InterruptedException {
+        publisher = new EmployeeEventPublisher(changeLog, HEARTBEAT, TIMEOUT, 10);
+        TestEmitter slow = new TestEmitter(new CountDownLatch(1));
+        TestEmitter fast = new TestEmitter();
+        publisher.subscribe(slow, null);
+        publisher.subscribe(fast, null);
+
+        record(3);
+
+        assertEquals(4, fast.take(4).size());
+        assertTrue(slow.events.isEmpty());
+        slow.release.countDown();
+        assertEquals(
+                List.of(
+                        "heartbeat:" + initialVersion,
+                        "change:" + (initialVersion + 1),
+                        "change:" + (initialVersion + 2),
+                        "change:" + (initialVersion + 3)),
+                slow.take(4));
+    }
+
+    @Test
+    void send_DropsSubscriberWhoseQueueIsFull() throws InterruptedException {
+        publisher = new EmployeeEventPublisher(changeLog, HEARTBEAT, TIMEOUT, 2);
+        TestEmitter slow = new TestEmitter(new CountDownLatch(1));
+        publisher.subscribe(slow, null);
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+
+        // The heartbeat is being sent, two changes fill the queue and the third one overflows it
+        record(3);
+        // Subscribed after the changes were handed to the subscribers, as the sender thread keeps them in order
+        TestEmitter later = new TestEmitter();
+        publisher.subscribe(later, null);
+        assertEquals(List.of("heartbeat:" + (initialVersion + 3)), later.take(1));
+        slow.release.countDown();
+
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("heartbeat:" + initialVersion), slow.take(1));
+        assertTrue(slow.events.isEmpty());
+    }
+
+    @Test
+    void shutdown_CompletesSubscribers() throws InterruptedException {
+        publisher = new EmployeeEventPublisher(changeLog, HEARTBEAT, TIMEOUT, 10);
+        TestEmitter emitter = new TestEmitter();
+        publisher.subscribe(emitter, null);
+        emitter.take(1);
+
+        publisher.shutdown();
+
+        assertTrue(emitter.completed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void constructor_RejectsEmptyQueue() {
+        publisher = new EmployeeEventPublisher(changeLog, HEARTBEAT, TIMEOUT, 1);
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new EmployeeEventPublisher(changeLog, HEARTBEAT, TIMEOUT, 0));
+    }
+
+    private void record(int count) {
+        for (int i = 0; i < count; i++) {
+            changeLog.record(EmployeeChange.Type.CREATED, employee("Employee " + i, 1000));
+        }
+    }
+
+    /*
+     * Emitter that keeps the name and id of each event sent, and can hold sends until it is released.
+     */
+    private static class TestEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch release;
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        TestEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        TestEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            String text = builder.build().stream()
+                    .map(data -> String.valueOf(data.getData()))
+                    .collect(Collectors.joining());
+            Matcher name = EVENT.matcher(text);
+            Matcher id = ID.matcher(text);
+            assertTrue(name.find(), text);
+            events.add(id.find() ? name.group(1) + ":" + id.group(1) : name.group(1));
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            completed.countDown();
+        }
+
+        List<String> take(int count) throws InterruptedException {
+            List<String> taken = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                String event = events.poll(5, TimeUnit.SECONDS);
+                assertNotNull(event, "Event " + i + " of " + count + " after " + taken);
+                taken.add(event);
+            }
+            return taken;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.reliaquest.server.service;
+
+import static com.reliaquest.server.testdata.MockEmployeeTestData.employee;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeQuery;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class EmployeeIndexTest {
+
+    @Test
+    void find_PagesThroughListInOrder() {
+        List<MockEmployee> employees = employees(10);
+        EmployeeIndex index = indexOf(employees);
+
+        List<MockEmployee> paged = pageThrough(index, null, EmployeeQuery.Sort.LIST, 3);
+
+        assertEquals(employees, paged);
+    }
+
+    @Test
+    void find_ContinuesFromCursorAcrossInsertsAndDeletes() {
+        List<MockEmployee> employees = employees(10);
+        EmployeeIndex index = indexOf(employees);
+        EmployeePage first = index.find(query(null, EmployeeQuery.Sort.LIST, 4, null));
+
+        // One employee of the first page and one of the next are deleted, and one is added at the end
+        MockEmployee added = employee("Added Employee", 1000);
+        EmployeeIndex changed = index.removed(1).removed(5).added(10, added);
+        EmployeePage second = changed.find(query(null, EmployeeQuery.Sort.LIST, 100, first.nextCursor()));
+
+        assertEquals(employees.subList(0, 4), first.employees());
+        List<MockEmployee> expected = new ArrayList<>(employees.subList(4, 10));
+        expected.remove(employees.get(5));
+        expected.add(added);
+        assertEquals(expected, second.employees());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void find_OrdersSalaryTiesByListPosition() {
+        List<MockEmployee> employees = List.of(
+                employee("Tie A", 500),
+                employee("Low", 100),
+                employee("Tie B", 500),
+                employee("High", 900),
+                employee("Tie C", 500),
+                employee("Tie D", 500));
+        EmployeeIndex index = indexOf(employees);
+
+        List<MockEmployee> ascending = pageThrough(index, null, EmployeeQuery.Sort.SALARY_ASC, 2);
+        List<MockEmployee> descending = pageThrough(index, null, EmployeeQuery.Sort.SALARY_DESC, 2);
+
+        assertEquals(names("Low", "Tie A", "Tie B", "Tie C", "Tie D", "High"), namesOf(ascending));
+        assertEquals(names("High", "Tie A", "Tie B", "Tie C", "Tie D", "Low"), namesOf(descending));
+    }
+
+    @Test
+    void find_ContinuesWithinSalaryTieAcrossInsertsAndDeletes() {
+        List<MockEmployee> employees = List.of(
+                employee("Tie A", 500), employee("Tie B", 500), employee("Tie C", 500), employee("Tie D", 500));
+        EmployeeIndex index = indexOf(employees);
+        EmployeePage first = index.find(query(null, EmployeeQuery.Sort.SALARY_ASC, 2, null));
+
+        // A new employee of the same salary comes after the existing ones, one of a lower salary before the cursor
+        EmployeeIndex changed =
+                index.removed(2).added(4, employee("Tie E", 500)).added(5, employee("Lower", 400));
+        EmployeePage second = changed.find(query(null, EmployeeQuery.Sort.SALARY_ASC, 10, first.nextCursor()));
+
+        assertEquals(names("Tie A", "Tie B"), namesOf(first.employees()));
+        assertEquals(names("Tie D", "Tie E"), namesOf(second.employees()));
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void find_MatchesScanOfRandomQueries() {
+        Random random = new Random(42);
+        List<MockEmployee> indexed = employees(300);
+        EmployeeIndex index = indexOf(indexed);
+        List<MockEmployee> employees = new ArrayList<>(indexed);
+        for (int i = 0; i < 50; i++) {
+            MockEmployee removed = employees.remove(random.nextInt(employees.size()));
+            index = index.removed(indexed.indexOf(removed));
+        }
+        EmployeeIndex queried = index;
+
+        for (String nameContains : new String[] {null, "a", "an", "ann", "smith", "zzz"}) {
+            for (EmployeeQuery.Sort sort : EmployeeQuery.Sort.values()) {
+                Integer minSalary = random.nextBoolean() ? null : random.nextInt(5) * 1000;
+                Integer maxSalary = random.nextBoolean() ? null : 5000 + random.nextInt(5) * 1000;
+                List<MockEmployee> expected = employees.stream()
+                        .filter(employee -> nameContains == null
+                                || employee.getName().toLowerCase().contains(nameContains))
+                        .filter(employee -> minSalary == null || employee.getSalary() >= minSalary)
+                        .filter(employee -> maxSalary == null || employee.getSalary() <= maxSalary)
+                        .sorted(comparatorOf(sort, employees))
+                        .toList();
+                EmployeeQuery query = new EmployeeQuery(nameContains, minSalary, maxSalary, sort, null, null);
+
+                assertEquals(expected, pageThrough(queried, query, 7), String.valueOf(query));
+            }
+        }
+    }
+
+    @Test
+    void find_ReturnsNoCursorWhenLastPageIsFull() {
+        EmployeeIndex index = indexOf(employees(4));
+
+        EmployeePage page = index.find(query(null, EmployeeQuery.Sort.LIST, 4, null));
+
+        assertEquals(4, page.employees().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void find_ReturnsNothingForEmptySalaryRange() {
+        EmployeeIndex index = indexOf(employees(10));
+
+        EmployeePage page = index.find(new EmployeeQuery(null, 5000, 4000, EmployeeQuery.Sort.LIST, null, null));
+
+        assertTrue(page.employees().isEmpty());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void find_MatchesIndexBuiltOneEmployeeAtATime() {
+        List<MockEmployee> employees = employees(300);
+        EmployeeIndex loaded = EmployeeIndex.of(employees);
+
+        for (String nameContains : new String[] {null, "ann", "smith"}) {
+            for (EmployeeQuery.Sort sort : EmployeeQuery.Sort.values()) {
+                EmployeeQuery query = new EmployeeQuery(nameContains, 2000, 8000, sort, null, null);
+
+                assertEquals(
+                        pageThrough(indexOf(employees), query, 11),
+                        pageThrough(loaded, query, 11),
+                        String.valueOf(query));
+            }
+        }
+    }
+
+    @Test
+    void addedAndRemoved_LeaveIndexTheyWereDerivedFromUnchanged() {
+        List<MockEmployee> employees = employees(100);
+        EmployeeIndex index = EmployeeIndex.of(employees);
+
+        EmployeeIndex changed = index.removed(0).removed(50).added(100, employee("Annabelle Added", 1000));
+
+        assertEquals(employees, pageThrough(index, null, EmployeeQuery.Sort.LIST, 30));
+        assertEquals(99, pageThrough(changed, null, EmployeeQuery.Sort.LIST, 30).size());
+        assertEquals(
+                pageThrough(indexOf(employees), "annabelle", EmployeeQuery.Sort.SALARY_DESC, 30),
+                pageThrough(index, "annabelle", EmployeeQuery.Sort.SALARY_DESC, 30));
+    }
+
+    @Test
+    void added_RejectsIndexedSequence() {
+        EmployeeIndex index = indexOf(employees(3));
+
+        assertThrows(IllegalArgumentException.class, () -> index.added(2, employee("Duplicate", 100)));
+    }
+
+    @Test
+    void removed_IgnoresUnknownSequence() {
+        List<MockEmployee> employees = employees(3);
+        EmployeeIndex index = indexOf(employees);
+
+        EmployeeIndex removed = index.removed(3);
+
+        assertSame(index, removed);
+        assertEquals(employees, removed.find(query(null, EmployeeQuery.Sort.LIST, null, null)).employees());
+    }
+
+    // Built one employee at a time, as the store does for employees added after loading
+    private static EmployeeIndex indexOf(List<MockEmployee> employees) {
+        EmployeeIndex index = EmployeeIndex.EMPTY;
+        for (int sequence = 0; sequence < employees.size(); sequence++) {
+            index = index.added(sequence, employees.get(sequence));
+        }
+        return index;
+    }
+
+    private static List<MockEmployee> pageThrough(
+            EmployeeIndex index, String nameContains, EmployeeQuery.Sort sort, int limit) {
+        return pageThrough(index, new EmployeeQuery(nameContains, null, null, sort, null, null), limit);
+    }
+
+    private static List<MockEmployee> pageThrough(EmployeeIndex index, EmployeeQuery query, int limit) {
+        List<MockEmployee> employees = new ArrayList<>();
+        String cursor = null;
+        do {
+            EmployeePage page = index.find(new EmployeeQuery(
+                    query.nameContains(),
+                    query.minSalary(),
+                    query.maxSalary(),
+                    query.sort(),
+                    limit,
+                    cursor == null ? null : EmployeeQuery.Cursor.decode(cursor)));
+            assertTrue(page.employees().size() <= limit);
+            employees.addAll(page.employees());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return employees;
+    }
+
+    private static EmployeeQuery query(String nameContains, EmployeeQuery.Sort sort, Integer limit, String cursor) {
+        return new EmployeeQuery(
+                nameContains, null, null, sort, limit, cursor == null ? null : EmployeeQuery.Cursor.decode(cursor));
+    }
+
+    private static Comparator<MockEmployee> comparatorOf(
+            EmployeeQuery.Sort sort, List<MockEmployee> listOrder) {
+        Comparator<MockEmployee> byPosition = Comparator.comparingInt(listOrder::indexOf);
+        Comparator<MockEmployee> bySalary = Comparator.comparingInt(MockEmployee::getSalary);
+        return switch (sort) {
+            case LIST -> byPosition;
+            case SALARY_ASC -> bySalary.thenComparing(byPosition);
+            case SALARY_DESC -> bySalary.reversed().thenComparing(byPosition);
+        };
+    }
+
+    private static List<MockEmployee> employees(int count) {
+        String[] firstNames = {"Anna", "Annabelle", "Ravi", "Ramesh", "Joanna"};
+        String[] lastNames = {"Smith", "Kumar", "Sharma", "Hannah"};
+        return IntStream.range(0, count)
+                .mapToObj(i -> employee(
+                        firstNames[i % firstNames.length] + " " + lastNames[i / firstNames.length % lastNames.length],
+                        (i * 7919) % 10 * 1000))
+                .toList();
+    }
+
+    private static List<String> names(String... names) {
+        return List.of(names);
+    }
+
+    private static List<String> namesOf(List<MockEmployee> employees) {
+        return employees.stream().map(MockEmployee::getName).toList();
+    }
+}
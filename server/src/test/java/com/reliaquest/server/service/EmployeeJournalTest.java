@@ -0,0 +1,245 @@
+package com.reliaquest.server.service;
+
+import static com.reliaquest.server.testdata.MockEmployeeTestData.employee;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EmployeeJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @TempDir
+    Path crashed;
+
+    private final EmployeeChangeLog changeLog = new EmployeeChangeLog(10);
+
+    private final HeapEmployeeStore store = new HeapEmployeeStore(employees(5), changeLog);
+
+    private EmployeeJournal journal;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void close_SavesDeletesAndReCreatesForNextOpen() throws Exception {
+        start(1000);
+        MockEmployee moved = store.removeFirstByName("employee 1").orElseThrow();
+        store.add(moved);
+        store.removeFirstByName("employee 3");
+        store.add(employee("Employee 3", 9000));
+        journal.awaitDurable(changeLog.getVersion());
+
+        journal.close();
+
+        assertEquals(store.getAll(), EmployeeJournal.open(directory, 1000).takeRecovered());
+        assertEquals(0, Files.size(directory.resolve(EmployeeJournal.JOURNAL_FILE)));
+    }
+
+    @Test
+    void open_ReplaysJournalAfterSnapshot() throws Exception {
+        start(1000);
+        store.add(store.removeFirstByName("employee 0").orElseThrow());
+        store.add(employee("Added", 1000));
+        journal.awaitDurable(changeLog.getVersion());
+
+        copy(directory, crashed);
+
+        assertEquals(store.getAll(), EmployeeJournal.open(crashed, 1000).takeRecovered());
+    }
+
+    @Test
+    void open_TruncatesEntryCutShort() throws Exception {
+        start(1000);
+        store.add(employee("Kept", 1000));
+        journal.awaitDurable(changeLog.getVersion());
+        List<MockEmployee> beforeLastChange = store.getAll();
+        long kept = Files.size(directory.resolve(EmployeeJournal.JOURNAL_FILE));
+        store.add(employee("Cut short", 2000));
+        journal.awaitDurable(changeLog.getVersion());
+        copy(directory, crashed);
+        Path crashedJournal = crashed.resolve(EmployeeJournal.JOURNAL_FILE);
+        try (FileChannel channel = FileChannel.open(crashedJournal, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        assertEquals(beforeLastChange, EmployeeJournal.open(crashed, 1000).takeRecovered());
+        assertEquals(kept, Files.size(crashedJournal));
+    }
+
+    @Test
+    void open_TruncatesFromEntryWithChecksumMismatch() throws Exception {
+        start(1000);
+        store.add(employee("Kept", 1000));
+        journal.awaitDurable(changeLog.getVersion());
+        List<MockEmployee> beforeCorruptChange = store.getAll();
+        long kept = Files.size(directory.resolve(EmployeeJournal.JOURNAL_FILE));
+        store.add(employee("Corrupt", 2000));
+        journal.awaitDurable(changeLog.getVersion());
+        store.add(employee("After corrupt", 3000));
+        journal.awaitDurable(changeLog.getVersion());
+        copy(directory, crashed);
+        Path crashedJournal = crashed.resolve(EmployeeJournal.JOURNAL_FILE);
+        byte[] bytes = Files.readAllBytes(crashedJournal);
+        // Flips a bit of the employee id in the payload, after the length, checksum, type and sequence
+        bytes[(int) kept + 8 + 1 + 8] ^= 1;
+        Files.write(crashedJournal, bytes);
+
+        assertEquals(beforeCorruptChange, EmployeeJournal.open(crashed, 1000).takeRecovered());
+        assertEquals(kept, Files.size(crashedJournal));
+    }
+
+    @Test
+    void open_SkipsEntriesSnapshotHoldsWhenJournalWasNotEmptied() throws Exception {
+        start(1000);
+        store.add(store.removeFirstByName("employee 1").orElseThrow());
+        store.add(employee("Added", 1000));
+        journal.awaitDurable(changeLog.getVersion());
+        byte[] journalBeforeSnapshot = Files.readAllBytes(directory.resolve(EmployeeJournal.JOURNAL_FILE));
+
+        // As if the server stopped after renaming the snapshot into place, but before emptying the journal
+        journal.close();
+        Files.write(directory.resolve(EmployeeJournal.JOURNAL_FILE), journalBeforeSnapshot);
+
+        assertEquals(store.getAll(), EmployeeJournal.open(directory, 1000).takeRecovered());
+    }
+
+    @Test
+    void open_ReplaysJournalRenamedAsideBeforeJournal() throws Exception {
+        start(1000);
+        store.add(store.removeFirstByName("employee 2").orElseThrow());
+        journal.awaitDurable(changeLog.getVersion());
+        long rotated = Files.size(directory.resolve(EmployeeJournal.JOURNAL_FILE));
+        store.removeFirstByName("employee 2");
+        store.add(employee("Added", 1000));
+        journal.awaitDurable(changeLog.getVersion());
+        copy(directory, crashed);
+
+        // As if the server stopped while saving a snapshot, with the entries before it renamed aside
+        byte[] bytes = Files.readAllBytes(crashed.resolve(EmployeeJournal.JOURNAL_FILE));
+        Files.write(crashed.resolve(EmployeeJournal.ROTATED_JOURNAL_FILE), Arrays.copyOf(bytes, (int) rotated));
+        Files.write(
+                crashed.resolve(EmployeeJournal.JOURNAL_FILE),
+                Arrays.copyOfRange(bytes, (int) rotated, bytes.length));
+
+        EmployeeJournal reopened = EmployeeJournal.open(crashed, 1000);
+        List<MockEmployee> recovered = reopened.takeRecovered();
+        assertEquals(store.getAll(), recovered);
+
+        // Started from the recovered list, the journal folds the entries renamed aside into a new snapshot
+        EmployeeChangeLog recoveredLog = new EmployeeChangeLog(10);
+        HeapEmployeeStore recoveredStore = new HeapEmployeeStore(recovered.stream(), recoveredLog);
+        reopened.start(recoveredStore, recoveredLog);
+        recoveredStore.add(employee("After restart", 2000));
+        reopened.awaitDurable(recoveredLog.getVersion());
+        assertFalse(Files.exists(crashed.resolve(EmployeeJournal.ROTATED_JOURNAL_FILE)));
+        reopened.close();
+        assertEquals(recoveredStore.getAll(), EmployeeJournal.open(crashed, 1000).takeRecovered());
+    }
+
+    @Test
+    void start_SnapshotsWhileJournalingEverySnapshotEveryChanges() throws Exception {
+        start(3);
+        for (int i = 0; i < 30; i++) {
+            store.add(store.removeFirstByName("employee " + (i % 5)).orElseThrow());
+            store.add(employee("Added " + i, 1000 * i));
+            journal.awaitDurable(changeLog.getVersion());
+        }
+
+        journal.close();
+
+        assertEquals(store.getAll(), EmployeeJournal.open(directory, 3).takeRecovered());
+        assertFalse(Files.exists(directory.resolve(EmployeeJournal.ROTATED_JOURNAL_FILE)));
+    }
+
+    @Test
+    void close_StopsQueueingAndAcceptingChanges() throws Exception {
+        start(1000);
+
+        journal.close();
+        store.add(employee("After close", 1000));
+
+        assertEquals(0, journal.queuedChanges());
+        assertThrows(IllegalStateException.class, () -> journal.checkWritable());
+        assertThrows(IllegalStateException.class, () -> journal.awaitDurable(changeLog.getVersion()));
+    }
+
+    @Test
+    void open_RejectsSnapshotTooShortForItsHeader() throws IOException {
+        Files.write(directory.resolve(EmployeeJournal.SNAPSHOT_FILE), new byte[] {0x45, 0x4d, 0x50});
+
+        IllegalStateException thrown =
+                assertThrows(IllegalStateException.class, () -> EmployeeJournal.open(directory, 1000));
+        assertTrue(thrown.getMessage().contains("is corrupt"), thrown.getMessage());
+    }
+
+    @Test
+    void open_RejectsSnapshotEndingBeforeItsEmployees() throws Exception {
+        start(1000);
+        journal.close();
+        Path snapshot = directory.resolve(EmployeeJournal.SNAPSHOT_FILE);
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(snapshot));
+        // Claims one more employee than saved, with a checksum that matches
+        bytes.putInt(16, bytes.getInt(16) + 1);
+        CRC32 crc = new CRC32();
+        crc.update(bytes.array(), 0, bytes.capacity() - Long.BYTES);
+        bytes.putLong(bytes.capacity() - Long.BYTES, crc.getValue());
+        Files.write(snapshot, bytes.array());
+
+        IllegalStateException thrown =
+                assertThrows(IllegalStateException.class, () -> EmployeeJournal.open(directory, 1000));
+        assertTrue(thrown.getMessage().contains("is corrupt"), thrown.getMessage());
+    }
+
+    @Test
+    void open_RejectsSnapshotWithChecksumMismatch() throws Exception {
+        start(1000);
+        journal.close();
+        Path snapshot = directory.resolve(EmployeeJournal.SNAPSHOT_FILE);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(snapshot, bytes);
+
+        assertThrows(IllegalStateException.class, () -> EmployeeJournal.open(directory, 1000));
+    }
+
+    // Starts journaling the store, waiting for the snapshot of the employees it was seeded with
+    private void start(int snapshotEvery) throws IOException {
+        journal = EmployeeJournal.open(directory, snapshotEvery);
+        assertNull(journal.takeRecovered());
+        journal.start(store, changeLog);
+        store.add(employee("Started", 500));
+        journal.awaitDurable(changeLog.getVersion());
+    }
+
+    private static Stream<MockEmployee> employees(int count) {
+        return IntStream.range(0, count).mapToObj(i -> employee("Employee " + i, 1000 * i));
+    }
+
+    private static void copy(Path from, Path to) throws IOException {
+        try (Stream<Path> files = Files.list(from)) {
+            for (Path file : files.toList()) {
+                Files.copy(file, to.resolve(file.getFileName()));
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.reliaquest.server.service;
+
+import static com.reliaquest.server.testdata.MockEmployeeTestData.employee;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeQuery;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class HeapEmployeeStoreTest {
+
+    @Test
+    void removeFirstByName_IgnoresCaseInListOrder() {
+        MockEmployee first = employee("Ravi Kumar", 1000);
+        MockEmployee other = employee("Rajesh", 2000);
+        MockEmployee second = employee("RAVI KUMAR", 3000);
+        HeapEmployeeStore store = new HeapEmployeeStore(Stream.of(first, other, second), new EmployeeChangeLog(10));
+
+        assertEquals(Optional.of(first), store.removeFirstByName("ravi kumar"));
+        assertEquals(Optional.of(second), store.removeFirstByName("Ravi Kumar"));
+        assertEquals(Optional.empty(), store.removeFirstByName("ravi kumar"));
+        assertEquals(List.of(other), store.getAll());
+        assertEquals(Optional.empty(), store.findById(first.getId()));
+    }
+
+    @Test
+    void removeFirstByName_RemovesReAddedEmployeeLast() {
+        MockEmployee first = employee("Ravi", 1000);
+        MockEmployee second = employee("ravi", 2000);
+        HeapEmployeeStore store = new HeapEmployeeStore(Stream.of(first, second), new EmployeeChangeLog(10));
+
+        store.add(store.removeFirstByName("Ravi").orElseThrow());
+
+        assertEquals(List.of(second, first), store.getAll());
+        assertEquals(Optional.of(second), store.removeFirstByName("RAVI"));
+    }
+
+    @Test
+    void add_RejectsStoredId() {
+        MockEmployee stored = employee("Ravi", 1000);
+        HeapEmployeeStore store = new HeapEmployeeStore(Stream.of(stored), new EmployeeChangeLog(10));
+
+        assertThrows(IllegalArgumentException.class, () -> store.add(stored));
+        assertEquals(List.of(stored), store.getAll());
+    }
+
+    @Test
+    void getCurrent_CarriesChangeLogVersionOfLastWrite() {
+        EmployeeChangeLog changeLog = new EmployeeChangeLog(10);
+        HeapEmployeeStore store = new HeapEmployeeStore(Stream.of(employee("Ravi", 1000)), changeLog);
+        long initialVersion = store.getCurrent().version();
+
+        store.add(employee("Rajesh", 2000));
+        store.removeFirstByName("ravi");
+
+        assertEquals(changeLog.getVersion(), store.getCurrent().version());
+        assertEquals(initialVersion + 2, store.getCurrent().version());
+    }
+
+    @Test
+    void find_PagesInListOrderAfterDeletesAndAdds() {
+        List<MockEmployee> employees = IntStream.range(0, 200)
+                .mapToObj(i -> employee("Employee " + i, 1000 * (i % 7)))
+                .toList();
+        HeapEmployeeStore store = new HeapEmployeeStore(employees.stream(), new EmployeeChangeLog(10));
+        for (int i = 0; i < 200; i += 3) {
+            store.removeFirstByName("employee " + i);
+        }
+        for (int i = 0; i < 20; i++) {
+            store.add(employee("Added " + i, 500));
+        }
+
+        List<MockEmployee> paged = new ArrayList<>();
+        EmployeeQuery.Cursor cursor = null;
+        do {
+            EmployeePage page = store.find(new EmployeeQuery(null, null, null, EmployeeQuery.Sort.LIST, 16, cursor));
+            paged.addAll(page.employees());
+            cursor = page.nextCursor() == null ? null : EmployeeQuery.Cursor.decode(page.nextCursor());
+        } while (cursor != null);
+
+        assertEquals(store.getAll(), paged);
+    }
+
+    @Test
+    void find_ReadsPublishedVersionWithoutWaitingForWriteInProgress() throws Exception {
+        MockEmployee stored = employee("Ravi", 1000);
+        MockEmployee added = employee("Rajesh", 2000);
+        CountDownLatch recording = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Holds the write after it has taken the store and before it publishes its version
+        EmployeeChangeLog changeLog = new EmployeeChangeLog(10) {
+            @Override
+            public long record(EmployeeChange.Type type, MockEmployee employee) {
+                recording.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.record(type, employee);
+            }
+        };
+        HeapEmployeeStore store = new HeapEmployeeStore(Stream.of(stored), changeLog);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> write = executor.submit(() -> store.add(added));
+            assertTrue(recording.await(5, TimeUnit.SECONDS));
+
+            Future<EmployeePage> page = executor.submit(
+                    () -> store.find(new EmployeeQuery(null, null, null, EmployeeQuery.Sort.LIST, null, null)));
+
+            assertEquals(List.of(stored), page.get(5, TimeUnit.SECONDS).employees());
+            assertEquals(List.of(stored), store.getAll());
+            release.countDown();
+            write.get(5, TimeUnit.SECONDS);
+            assertEquals(
+                    List.of(stored, added),
+                    store.find(new EmployeeQuery(null, null, null, EmployeeQuery.Sort.LIST, null, null))
+                            .employees());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void addAndRemove_ConcurrentWritersKeepListIdsAndIndexInStep() throws Exception {
+        int threads = 8;
+        int perThread = 500;
+        EmployeeChangeLog changeLog = new EmployeeChangeLog(10);
+        HeapEmployeeStore store = new HeapEmployeeStore(Stream.empty(), changeLog);
+        long initialVersion = changeLog.getVersion();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> removedCounts = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < threads; thread++) {
+                int writer = thread;
+                removedCounts.add(executor.submit(() -> {
+                    int removed = 0;
+                    for (int i = 0; i < perThread; i++) {
+                        // Every writer adds and removes the same names, so removals race with the adds of others
+                        store.add(employee("Shared " + (i % 10), writer * perThread + i));
+                        if (i % 2 == 1 && store.removeFirstByName("SHARED " + (i % 10)).isPresent()) {
+                            removed++;
+                        }
+                    }
+                    return removed;
+                }));
+            }
+            int removed = 0;
+            for (Future<Integer> count : removedCounts) {
+                removed += count.get();
+            }
+
+            List<MockEmployee> remaining = store.getAll();
+            assertEquals(threads * perThread - removed, remaining.size());
+            assertEquals(initialVersion + threads * perThread + removed, store.getCurrent().version());
+            Set<MockEmployee> unique = new HashSet<>(remaining);
+            assertEquals(remaining.size(), unique.size());
+            for (MockEmployee employee : remaining) {
+                assertEquals(Optional.of(employee), store.findById(employee.getId()));
+            }
+            assertEquals(
+                    remaining,
+                    store.find(new EmployeeQuery(null, null, null, EmployeeQuery.Sort.LIST, null, null))
+                            .employees());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeGeneratorTest {
+
+    // Spans three chunks, the last one partial
+    private static final int COUNT = 2 * 4096 + 100;
+
+    @Test
+    void generate_SameSeedGeneratesSameEmployees() {
+        List<MockEmployee> first = generator(42).generate(COUNT).toList();
+        List<MockEmployee> second = generator(42).generate(COUNT).toList();
+
+        assertEquals(COUNT, first.size());
+        assertEquals(first, second);
+    }
+
+    @Test
+    void generate_FewerEmployeesAreFirstOfMore() {
+        List<MockEmployee> more = generator(42).generate(COUNT).toList();
+
+        assertEquals(more.subList(0, 10), generator(42).generate(10).toList());
+    }
+
+    @Test
+    void generate_ChunksAndNearbySeedsShareNoEmployees() {
+        List<MockEmployee> employees = generator(42).generate(COUNT).toList();
+        List<MockEmployee> nearby = generator(43).generate(COUNT).toList();
+
+        Set<UUID> ids = new HashSet<>();
+        employees.forEach(employee -> ids.add(employee.getId()));
+        nearby.forEach(employee -> ids.add(employee.getId()));
+        assertEquals(2 * COUNT, ids.size());
+        assertNotEquals(salaries(employees, 0), salaries(employees, 4096));
+        assertNotEquals(salaries(employees, 0), salaries(nearby, 0));
+    }
+
+    private static MockEmployeeGenerator generator(long seed) {
+        return new MockEmployeeGenerator(Locale.ROOT, seed, "%s@company.com");
+    }
+
+    private static List<Integer> salaries(List<MockEmployee> employees, int from) {
+        return employees.subList(from, from + 16).stream()
+                .map(MockEmployee::getSalary)
+                .toList();
+    }
+}
@@ -0,0 +1,74 @@
+package com.reliaquest.server.service;
+
+import static com.reliaquest.server.testdata.MockEmployeeTestData.employee;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeeServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final MockEmployee stored = employee("Ravi", 1000);
+
+    private final EmployeeChangeLog changeLog = new EmployeeChangeLog(10);
+
+    private final HeapEmployeeStore store = new HeapEmployeeStore(Stream.of(stored), changeLog);
+
+    private EmployeeJournal journal;
+
+    private MockEmployeeService mockEmployeeService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        journal = EmployeeJournal.open(directory, 1000);
+        journal.start(store, changeLog);
+        mockEmployeeService = new MockEmployeeService(new Faker(), store, changeLog, journal);
+    }
+
+    @Test
+    void delete_WaitsUntilJournaled() throws Exception {
+        DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+        input.setName("ravi");
+
+        assertEquals(Optional.of(stored), mockEmployeeService.delete(input));
+
+        journal.close();
+        assertEquals(List.of(), EmployeeJournal.open(directory, 1000).takeRecovered());
+    }
+
+    @Test
+    void create_FailsWithoutChangingStoreOnceJournalIsClosed() throws Exception {
+        journal.close();
+        CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+        input.setName("Rajesh");
+        input.setSalary(2000);
+        input.setAge(30);
+        input.setTitle("Engineer");
+
+        assertThrows(IllegalStateException.class, () -> mockEmployeeService.create(input));
+        assertEquals(List.of(stored), store.getAll());
+        assertEquals(store.getCurrent().version(), changeLog.getVersion());
+    }
+
+    @Test
+    void delete_FailsWithoutChangingStoreOnceJournalIsClosed() throws Exception {
+        journal.close();
+        DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+        input.setName("ravi");
+
+        assertThrows(IllegalStateException.class, () -> mockEmployeeService.delete(input));
+        assertEquals(List.of(stored), store.getAll());
+    }
+}
@@ -0,0 +1,213 @@
+package com.reliaquest.server.service;
+
+import static com.reliaquest.server.testdata.MockEmployeeTestData.employee;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.EmployeeListVersion;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeQuery;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class OffHeapEmployeeStoreTest {
+
+    @Test
+    void removeFirstByName_IgnoresCaseInListOrder() {
+        MockEmployee first = employee("Ravi Kumar", 1000);
+        MockEmployee other = employee("Rajesh", 2000);
+        MockEmployee second = employee("RAVI KUMAR", 3000);
+        OffHeapEmployeeStore store =
+                new OffHeapEmployeeStore(Stream.of(first, other, second), new EmployeeChangeLog(10));
+
+        assertEquals(Optional.of(first), store.removeFirstByName("ravi kumar"));
+        assertEquals(Optional.of(second), store.removeFirstByName("Ravi Kumar"));
+        assertEquals(Optional.empty(), store.removeFirstByName("ravi kumar"));
+        assertEquals(List.of(other), store.getAll());
+        assertEquals(Optional.empty(), store.findById(first.getId()));
+    }
+
+    @Test
+    void removeFirstByName_RemovesReAddedEmployeeLast() {
+        MockEmployee first = employee("Ravi", 1000);
+        MockEmployee second = employee("ravi", 2000);
+        OffHeapEmployeeStore store = new OffHeapEmployeeStore(Stream.of(first, second), new EmployeeChangeLog(10));
+
+        store.add(store.removeFirstByName("Ravi").orElseThrow());
+
+        assertEquals(List.of(second, first), store.getAll());
+        assertEquals(Optional.of(first), store.findById(first.getId()));
+        assertEquals(Optional.of(second), store.removeFirstByName("RAVI"));
+        assertEquals(Optional.of(first), store.removeFirstByName("RAVI"));
+        assertEquals(List.of(), store.getAll());
+    }
+
+    @Test
+    void removeFirstByName_ComparesNamesWithCollidingHashes() {
+        assertEquals("a~".hashCode(), "b_".hashCode());
+        MockEmployee first = employee("a~", 1000);
+        MockEmployee colliding = employee("b_", 2000);
+        MockEmployee second = employee("A~", 3000);
+        OffHeapEmployeeStore store =
+                new OffHeapEmployeeStore(Stream.of(first, colliding, second), new EmployeeChangeLog(10));
+
+        assertEquals(Optional.of(colliding), store.removeFirstByName("B_"));
+        assertEquals(Optional.empty(), store.removeFirstByName("b_"));
+        assertEquals(Optional.of(first), store.removeFirstByName("a~"));
+        store.add(colliding);
+        assertEquals(Optional.of(second), store.removeFirstByName("a~"));
+        assertEquals(Optional.empty(), store.removeFirstByName("a~"));
+        assertEquals(List.of(colliding), store.getAll());
+    }
+
+    @Test
+    void add_ReusesSlotsOfDeletedEmployees() {
+        List<MockEmployee> employees = IntStream.range(0, 10)
+                .mapToObj(i -> employee("Employee " + i, 1000 * i))
+                .toList();
+        OffHeapEmployeeStore store = new OffHeapEmployeeStore(employees.stream(), new EmployeeChangeLog(10));
+        for (int i = 0; i < 10; i += 2) {
+            store.removeFirstByName("employee " + i);
+        }
+
+        List<MockEmployee> added = IntStream.range(0, 5)
+                .mapToObj(i -> employee("Added " + i, 500 * i))
+                .toList();
+        added.forEach(store::add);
+
+        assertEquals(10, store.allocatedSlots());
+        List<MockEmployee> expected = new ArrayList<>();
+        for (int i = 1; i < 10; i += 2) {
+            expected.add(employees.get(i));
+        }
+        expected.addAll(added);
+        assertEquals(expected, store.getAll());
+        for (MockEmployee employee : expected) {
+            assertEquals(Optional.of(employee), store.findById(employee.getId()));
+        }
+        assertEquals(Optional.empty(), store.findById(employees.get(0).getId()));
+    }
+
+    @Test
+    void add_KeepsStringsTooLongForRecordOnHeap() {
+        MockEmployee overflowing = MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name("Ravi \u00e9\u00e8 ".repeat(20))
+                .salary(1000)
+                .age(30)
+                .title("Principal Engineer ".repeat(10))
+                .email("ravi@company.com")
+                .build();
+        MockEmployee other = employee("Rajesh", 2000);
+        OffHeapEmployeeStore store = new OffHeapEmployeeStore(Stream.of(overflowing, other), new EmployeeChangeLog(10));
+
+        assertEquals(Optional.of(overflowing), store.findById(overflowing.getId()));
+        assertEquals(
+                List.of(overflowing),
+                store.find(new EmployeeQuery("\u00e9\u00e8", null, null, EmployeeQuery.Sort.LIST, null, null))
+                        .employees());
+        assertEquals(Optional.of(overflowing), store.removeFirstByName(overflowing.getName().toUpperCase()));
+
+        // The slot of the overflowing employee is reused for one whose strings fit in the record
+        MockEmployee reusing = employee("Ravi", 3000);
+        store.add(reusing);
+        store.add(overflowing);
+        assertEquals(List.of(other, reusing, overflowing), store.getAll());
+        assertEquals(3, store.allocatedSlots());
+    }
+
+    @Test
+    void add_KeepsNullFields() {
+        MockEmployee empty = MockEmployee.builder().id(UUID.randomUUID()).build();
+        MockEmployee unpaid = employee("Ravi", null);
+        MockEmployee paid = employee("Rajesh", -100);
+        OffHeapEmployeeStore store =
+                new OffHeapEmployeeStore(Stream.of(empty, unpaid, paid), new EmployeeChangeLog(10));
+
+        assertEquals(Optional.of(empty), store.findById(empty.getId()));
+        assertEquals(List.of(empty, unpaid, paid), store.getAll());
+        // Null salaries sort as zero
+        assertEquals(
+                List.of(paid, empty, unpaid),
+                store.find(new EmployeeQuery(null, null, null, EmployeeQuery.Sort.SALARY_ASC, null, null))
+                        .employees());
+        assertEquals(
+                List.of(empty, unpaid),
+                store.find(new EmployeeQuery(null, 0, 0, EmployeeQuery.Sort.LIST, null, null))
+                        .employees());
+        assertEquals(Optional.of(empty), store.removeFirstByName(""));
+    }
+
+    @Test
+    void readCurrent_ReadsListOfLastWrite() {
+        EmployeeChangeLog changeLog = new EmployeeChangeLog(10);
+        MockEmployee first = employee("Ravi", 1000);
+        MockEmployee second = employee("Rajesh", 2000);
+        OffHeapEmployeeStore store = new OffHeapEmployeeStore(Stream.of(first), changeLog);
+
+        store.add(second);
+        store.removeFirstByName("ravi");
+
+        EmployeeListVersion current = store.readCurrent(list -> new EmployeeListVersion(
+                list.version(), List.of(list.employees().get(0), list.employees().iterator().next())));
+        assertEquals(new EmployeeListVersion(changeLog.getVersion(), List.of(second, second)), current);
+        assertEquals(1, (int) store.readCurrent(list -> list.employees().size()));
+        assertEquals(new EmployeeListVersion(changeLog.getVersion(), List.of(second)), store.getCurrent());
+    }
+
+    @Test
+    void find_MatchesHeapStore() {
+        SplittableRandom random = new SplittableRandom(7);
+        List<MockEmployee> employees = IntStream.range(0, 500)
+                .mapToObj(i -> employee("Employee " + random.nextInt(100), salaryOf(random)))
+                .toList();
+        HeapEmployeeStore heap = new HeapEmployeeStore(employees.stream(), new EmployeeChangeLog(10));
+        OffHeapEmployeeStore offHeap = new OffHeapEmployeeStore(employees.stream(), new EmployeeChangeLog(10));
+        for (int i = 0; i < 300; i++) {
+            String name = "employee " + random.nextInt(100);
+            Optional<MockEmployee> removed = heap.removeFirstByName(name);
+            assertEquals(removed, offHeap.removeFirstByName(name));
+            MockEmployee added = random.nextBoolean()
+                    ? removed.orElseGet(() -> employee(name, salaryOf(random)))
+                    : employee("Added " + i, salaryOf(random));
+            heap.add(added);
+            offHeap.add(added);
+        }
+        assertEquals(heap.getAll(), offHeap.getAll());
+
+        for (EmployeeQuery.Sort sort : EmployeeQuery.Sort.values()) {
+            for (int i = 0; i < 50; i++) {
+                Integer minSalary = random.nextBoolean() ? null : salaryOf(random);
+                Integer maxSalary = random.nextBoolean() ? null : salaryOf(random);
+                String nameContains = random.nextInt(4) == 0 ? "" + random.nextInt(10) : null;
+                Integer limit = random.nextInt(4) == 0 ? null : 1 + random.nextInt(40);
+                EmployeeQuery query = new EmployeeQuery(nameContains, minSalary, maxSalary, sort, limit, null);
+
+                assertEquals(pages(heap, query), pages(offHeap, query), query.toString());
+            }
+        }
+    }
+
+    // Salaries from few distinct values, so that pages often end within employees with the same salary
+    private static Integer salaryOf(SplittableRandom random) {
+        return random.nextInt(10) == 0 ? null : 1000 * random.nextInt(-5, 20);
+    }
+
+    private static List<EmployeePage> pages(EmployeeStore store, EmployeeQuery query) {
+        List<EmployeePage> pages = new ArrayList<>();
+        EmployeeQuery.Cursor cursor = null;
+        do {
+            EmployeePage page = store.find(new EmployeeQuery(
+                    query.nameContains(), query.minSalary(), query.maxSalary(), query.sort(), query.limit(), cursor));
+            pages.add(page);
+            cursor = page.nextCursor() == null ? null : EmployeeQuery.Cursor.decode(page.nextCursor());
+        } while (cursor != null);
+        return pages;
+    }
+}
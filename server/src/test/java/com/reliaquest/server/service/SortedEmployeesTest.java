@@ -0,0 +1,155 @@
+package com.reliaquest.server.service;
+
+import static com.reliaquest.server.testdata.MockEmployeeTestData.employee;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class SortedEmployeesTest {
+
+    private static final Comparator<SortedEmployees.Entry> ORDER = Comparator.comparingInt(SortedEmployees.Entry::key)
+            .thenComparingLong(SortedEmployees.Entry::sequence);
+
+    @Test
+    void of_KeepsGivenOrderInFullChunks() {
+        List<SortedEmployees.Entry> entries = entries(3 * SortedEmployees.CHUNK_SIZE + 8, 1);
+
+        SortedEmployees sorted = of(entries);
+
+        assertSorted(entries, sorted);
+        assertEquals(4, sorted.chunkCount());
+    }
+
+    @Test
+    void inserted_SortsByKeyThenSequenceAndLeavesPreviousUnchanged() {
+        SortedEmployees sorted = SortedEmployees.EMPTY;
+        List<SortedEmployees.Entry> expected = new ArrayList<>();
+        for (SortedEmployees.Entry entry : entries(3 * SortedEmployees.CHUNK_SIZE, 5)) {
+            sorted = sorted.inserted(entry.key(), entry.sequence(), entry.employee());
+            expected.add(entry);
+        }
+        SortedEmployees before = sorted;
+
+        MockEmployee added = employee("Added", 2);
+        SortedEmployees after = sorted.inserted(2, 1000, added);
+
+        expected.sort(ORDER);
+        assertSorted(expected, before);
+        expected.add(new SortedEmployees.Entry(2, 1000, added));
+        expected.sort(ORDER);
+        assertSorted(expected, after);
+    }
+
+    @Test
+    void removed_MergesShrunkenChunksAndDropsEmptyOnes() {
+        List<SortedEmployees.Entry> entries = entries(3 * SortedEmployees.CHUNK_SIZE, 1);
+        SortedEmployees sorted = of(entries);
+        List<SortedEmployees.Entry> expected = new ArrayList<>(entries);
+
+        // Shrinks the first chunk and then the middle one below the threshold, so that the two fit in one
+        int chunkSize = SortedEmployees.CHUNK_SIZE;
+        for (int i = 0; i < SortedEmployees.MERGE_THRESHOLD; i++) {
+            sorted = removed(sorted, expected, entries.get(i));
+        }
+        for (int i = chunkSize; i < 2 * chunkSize - SortedEmployees.MERGE_THRESHOLD; i++) {
+            sorted = removed(sorted, expected, entries.get(i));
+        }
+        assertEquals(3, sorted.chunkCount());
+        sorted = removed(sorted, expected, entries.get(2 * chunkSize - SortedEmployees.MERGE_THRESHOLD));
+
+        assertSorted(expected, sorted);
+        assertEquals(2, sorted.chunkCount());
+        for (SortedEmployees.Entry entry : new ArrayList<>(expected)) {
+            sorted = removed(sorted, expected, entry);
+        }
+        assertEquals(0, sorted.size());
+        assertEquals(0, sorted.chunkCount());
+    }
+
+    @Test
+    void removed_IgnoresAbsentEntries() {
+        SortedEmployees sorted = of(entries(10, 1));
+
+        assertSame(sorted, sorted.removed(0, 3));
+        assertSame(sorted, sorted.removed(9, 10));
+        assertSame(SortedEmployees.EMPTY, SortedEmployees.EMPTY.removed(0, 0));
+    }
+
+    @Test
+    void insertedAndRemoved_MatchSortedList() {
+        Random random = new Random(11);
+        SortedEmployees sorted = SortedEmployees.EMPTY;
+        List<SortedEmployees.Entry> expected = new ArrayList<>();
+
+        for (int sequence = 0; sequence < 5000; sequence++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                SortedEmployees.Entry entry =
+                        new SortedEmployees.Entry(random.nextInt(50), sequence, employee("Employee " + sequence, 0));
+                sorted = sorted.inserted(entry.key(), entry.sequence(), entry.employee());
+                expected.add(entry);
+                expected.sort(ORDER);
+            } else {
+                sorted = removed(sorted, expected, expected.get(random.nextInt(expected.size())));
+            }
+            if (sequence % 100 == 0) {
+                assertSorted(expected, sorted);
+            }
+        }
+
+        assertSorted(expected, sorted);
+        int minimumChunks = (expected.size() + SortedEmployees.CHUNK_SIZE - 1) / SortedEmployees.CHUNK_SIZE;
+        assertTrue(sorted.chunkCount() <= 4 * minimumChunks, sorted.chunkCount() + " chunks");
+    }
+
+    @Test
+    void positionOf_CountsEntriesBefore() {
+        SortedEmployees sorted = of(entries(300, 30));
+
+        assertEquals(0, sorted.positionOf(Integer.MIN_VALUE, 0));
+        assertEquals(30, sorted.positionOf(1, Long.MIN_VALUE));
+        assertEquals(33, sorted.positionOf(1, 33));
+        assertEquals(60, sorted.positionOf(1, Long.MAX_VALUE));
+        assertEquals(300, sorted.positionOf(Integer.MAX_VALUE, 0));
+        assertEquals(1, sorted.keyAt(30));
+        assertThrows(IndexOutOfBoundsException.class, () -> sorted.keyAt(300));
+    }
+
+    private static SortedEmployees removed(
+            SortedEmployees sorted, List<SortedEmployees.Entry> expected, SortedEmployees.Entry entry) {
+        expected.remove(entry);
+        return sorted.removed(entry.key(), entry.sequence());
+    }
+
+    private static void assertSorted(List<SortedEmployees.Entry> expected, SortedEmployees sorted) {
+        assertEquals(expected.size(), sorted.size());
+        assertEquals(expected, sorted.stream(0, sorted.size()).toList());
+        for (SortedEmployees.Entry entry : expected) {
+            assertSame(entry.employee(), sorted.find(entry.key(), entry.sequence()));
+        }
+        if (!expected.isEmpty()) {
+            int from = expected.size() / 3;
+            int to = expected.size() - from / 2;
+            assertEquals(expected.subList(from, to), sorted.stream(from, to).toList());
+        }
+    }
+
+    private static SortedEmployees of(List<SortedEmployees.Entry> entries) {
+        return SortedEmployees.of(
+                entries.stream().mapToInt(SortedEmployees.Entry::key).toArray(),
+                entries.stream().mapToLong(SortedEmployees.Entry::sequence).toArray(),
+                entries.stream().map(SortedEmployees.Entry::employee).toArray(MockEmployee[]::new));
+    }
+
+    // Sorted entries with the sequences from 0 and the given number of them for each key, from 0
+    private static List<SortedEmployees.Entry> entries(int count, int perKey) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new SortedEmployees.Entry(i / perKey, i, employee("Employee " + i, i)))
+                .toList();
+    }
+}
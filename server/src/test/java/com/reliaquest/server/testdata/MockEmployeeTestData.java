@@ -0,0 +1,18 @@
+package com.reliaquest.server.testdata;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.UUID;
+
+public class MockEmployeeTestData {
+
+    public static MockEmployee employee(String name, Integer salary) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .age(30)
+                .title("Engineer")
+                .email(name == null ? null : name.toLowerCase().replace(' ', '.') + "@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.reliaquest.server.web;
+
+import static com.reliaquest.server.testdata.MockEmployeeTestData.employee;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.EmployeeListVersion;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+class EmployeeListResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void get_SerializesEachVersionOnce() throws IOException {
+        EmployeeListResponseCache cache = new EmployeeListResponseCache(objectMapper, true, 0);
+        EmployeeListVersion list = version(1, employees(3));
+
+        byte[] json = cache.get(list).getJson();
+
+        assertSame(json, cache.get(list).getJson());
+        assertArrayEquals(objectMapper.writeValueAsBytes(Response.handledWith(list.employees())), json);
+    }
+
+    @Test
+    void get_ReplacesEntryWithNewerVersion() throws IOException {
+        EmployeeListResponseCache cache = new EmployeeListResponseCache(objectMapper, true, 0);
+        List<MockEmployee> employees = employees(3);
+        EmployeeListVersion older = version(1, employees.subList(0, 2));
+        EmployeeListVersion newer = version(2, employees);
+        byte[] olderJson = cache.get(older).getJson();
+
+        byte[] newerJson = cache.get(newer).getJson();
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(Response.handledWith(employees)), newerJson);
+        assertSame(newerJson, cache.get(newer).getJson());
+        assertNotSame(olderJson, cache.get(older).getJson());
+    }
+
+    @Test
+    void get_OlderVersionDoesNotReplaceNewerEntry() throws IOException {
+        EmployeeListResponseCache cache = new EmployeeListResponseCache(objectMapper, true, 0);
+        List<MockEmployee> employees = employees(3);
+        EmployeeListVersion older = version(1, employees.subList(0, 2));
+        EmployeeListVersion newer = version(2, employees);
+        byte[] newerJson = cache.get(newer).getJson();
+
+        byte[] olderJson = cache.get(older).getJson();
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(Response.handledWith(older.employees())), olderJson);
+        assertSame(newerJson, cache.get(newer).getJson());
+    }
+
+    @Test
+    void getGzip_CompressesEachVersionOnce() throws IOException {
+        EmployeeListResponseCache cache = new EmployeeListResponseCache(objectMapper, true, 0);
+        EmployeeListVersion list = version(1, employees(50));
+
+        byte[] gzip = cache.get(list).getGzip();
+
+        assertSame(gzip, cache.get(list).getGzip());
+        assertArrayEquals(cache.get(list).getJson(), decompress(gzip));
+        assertTrue(gzip.length < cache.get(list).getJson().length);
+    }
+
+    @Test
+    void getGzip_ReturnsNullBelowMinimumSize() {
+        EmployeeListVersion list = version(1, employees(3));
+        int size = new EmployeeListResponseCache(objectMapper, true, 0).get(list).getJson().length;
+
+        EmployeeListResponseCache atSize = new EmployeeListResponseCache(objectMapper, true, size);
+        EmployeeListResponseCache aboveSize = new EmployeeListResponseCache(objectMapper, true, size + 1);
+
+        assertNotNull(atSize.get(list).getGzip());
+        assertNull(aboveSize.get(list).getGzip());
+    }
+
+    @Test
+    void getGzip_ReturnsNullWhenCompressionIsDisabled() {
+        EmployeeListResponseCache cache = new EmployeeListResponseCache(objectMapper, false, 0);
+
+        assertNull(cache.get(version(1, employees(50))).getGzip());
+    }
+
+    private static EmployeeListVersion version(long version, List<MockEmployee> employees) {
+        return new EmployeeListVersion(version, employees);
+    }
+
+    private static List<MockEmployee> employees(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> employee("Employee " + i, 1000 * i))
+                .toList();
+    }
+
+    private static byte[] decompress(byte[] gzip) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return in.readAllBytes();
+        }
+    }
+}
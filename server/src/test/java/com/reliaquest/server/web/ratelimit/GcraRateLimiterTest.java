@@ -0,0 +1,68 @@
+package com.reliaquest.server.web.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class GcraRateLimiterTest {
+
+    private static final long PERIOD_NANOS = 4000;
+
+    private long now = 0;
+
+    @Test
+    void tryAcquire_AllowsLimitAtOnceThenRejectsUntilNextInterval() {
+        GcraRateLimiter rateLimiter = rateLimiter(10);
+
+        for (int remaining = 3; remaining >= 0; remaining--) {
+            assertEquals(
+                    new RateLimitDecision(true, 4, remaining, 0, 1000 * (4 - remaining)),
+                    rateLimiter.tryAcquire("key"));
+        }
+        assertEquals(new RateLimitDecision(false, 4, 0, 1000, PERIOD_NANOS), rateLimiter.tryAcquire("key"));
+
+        now = 999;
+        assertEquals(new RateLimitDecision(false, 4, 0, 1, PERIOD_NANOS - 999), rateLimiter.tryAcquire("key"));
+        now = 1000;
+        assertEquals(new RateLimitDecision(true, 4, 0, 0, PERIOD_NANOS), rateLimiter.tryAcquire("key"));
+    }
+
+    @Test
+    void tryAcquire_DoesNotMoveArrivalTimeOnRejection() {
+        GcraRateLimiter rateLimiter = rateLimiter(10);
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryAcquire("key");
+        }
+
+        now = 1000;
+
+        assertTrue(rateLimiter.tryAcquire("key").allowed());
+    }
+
+    @Test
+    void tryAcquire_EvictsKeysWithArrivalTimeInPastOnceMaxKeysAreHeld() {
+        GcraRateLimiter rateLimiter = rateLimiter(2);
+        rateLimiter.tryAcquire("a");
+        rateLimiter.tryAcquire("b");
+
+        now = 1000;
+        rateLimiter.tryAcquire("c");
+
+        assertEquals(1, rateLimiter.keyCount());
+    }
+
+    @Test
+    void tryAcquire_SharesOneLimitAmongKeysBeyondMaxKeys() {
+        GcraRateLimiter rateLimiter = rateLimiter(1);
+        rateLimiter.tryAcquire("a");
+
+        assertEquals(3, rateLimiter.tryAcquire("b").remaining());
+        assertEquals(2, rateLimiter.tryAcquire("c").remaining());
+        assertEquals(2, rateLimiter.tryAcquire("a").remaining());
+        assertEquals(1, rateLimiter.keyCount());
+    }
+
+    private GcraRateLimiter rateLimiter(int maxKeys) {
+        return new GcraRateLimiter(4, PERIOD_NANOS, maxKeys, () -> now);
+    }
+}
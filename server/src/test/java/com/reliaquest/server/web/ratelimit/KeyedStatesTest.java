@@ -0,0 +1,72 @@
+package com.reliaquest.server.web.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class KeyedStatesTest {
+
+    // A state is idle once the clock has reached it
+    private final KeyedStates<Long> states = new KeyedStates<>(2, (state, now) -> state <= now);
+
+    @Test
+    void get_KeepsStateOfEachKeyUpToMaxKeys() {
+        AtomicReference<Long> a = states.get("a", 10L, 0);
+        AtomicReference<Long> b = states.get("b", 10L, 0);
+
+        assertNotSame(a, b);
+        assertSame(a, states.get("a", 20L, 0));
+        assertEquals(10L, (long) states.get("a", 20L, 0).get());
+        assertEquals(2, states.size());
+    }
+
+    @Test
+    void get_SharesOneStateAmongKeysBeyondMaxKeys() {
+        AtomicReference<Long> a = states.get("a", 10L, 0);
+        states.get("b", 10L, 0);
+
+        AtomicReference<Long> c = states.get("c", 10L, 0);
+        AtomicReference<Long> d = states.get("d", 20L, 0);
+
+        assertSame(c, d);
+        assertNotSame(a, c);
+        assertEquals(10L, (long) d.get());
+        assertEquals(2, states.size());
+    }
+
+    @Test
+    void get_EvictsIdleKeysToMakeRoom() {
+        AtomicReference<Long> a = states.get("a", 10L, 0);
+        states.get("b", 30L, 0);
+
+        AtomicReference<Long> c = states.get("c", 30L, 20);
+
+        assertNull(a.get());
+        assertSame(c, states.get("c", 30L, 20));
+        assertNotSame(a, states.get("a", 30L, 20));
+        assertEquals(2, states.size());
+    }
+
+    @Test
+    void get_DefersSweepAfterOneThatFreedNothing() {
+        AtomicReference<Long> a = states.get("a", 10L, 0);
+        states.get("b", 10L, 0);
+        AtomicReference<Long> overflow = states.get("c", 10L, 0);
+
+        // The sweep that turned c away kept two keys, so two more new keys are turned away before the next one
+        assertSame(overflow, states.get("c", 10L, 20));
+        assertSame(overflow, states.get("d", 10L, 20));
+        assertEquals(10L, (long) a.get());
+        AtomicReference<Long> e = states.get("e", 30L, 20);
+
+        assertNull(a.get());
+        assertNotSame(overflow, e);
+        assertEquals(1, states.size());
+    }
+
+    @Test
+    void new_RejectsMaxKeysBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> new KeyedStates<Long>(0, (state, now) -> true));
+    }
+}
@@ -0,0 +1,116 @@
+package com.reliaquest.server.web.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.servlet.DispatcherType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class RateLimitInterceptorTest {
+
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final List<String> keys = new ArrayList<>();
+
+    private RateLimitDecision decision = RateLimitDecision.allow(4, 3, SECOND_NANOS);
+
+    private final RateLimiter rateLimiter = key -> {
+        keys.add(key);
+        return decision;
+    };
+
+    @Test
+    void preHandle_SetsLimitHeadersRoundingSecondsUp() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, RateLimitInterceptor.Key.GLOBAL);
+
+        assertEquals("0", reset(interceptor, 0));
+        assertEquals("1", reset(interceptor, 1));
+        assertEquals("1", reset(interceptor, SECOND_NANOS));
+        assertEquals("2", reset(interceptor, SECOND_NANOS + 1));
+    }
+
+    @Test
+    void preHandle_RejectsWithRetryAfterRoundedUp() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, RateLimitInterceptor.Key.GLOBAL);
+        decision = RateLimitDecision.reject(4, SECOND_NANOS + 1, 3 * SECOND_NANOS);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/employee"), response, null));
+
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("4", response.getHeader(RateLimitInterceptor.LIMIT_HEADER));
+        assertEquals("0", response.getHeader(RateLimitInterceptor.REMAINING_HEADER));
+        assertEquals("3", response.getHeader(RateLimitInterceptor.RESET_HEADER));
+    }
+
+    @Test
+    void preHandle_AllowsWithoutRetryAfter() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, RateLimitInterceptor.Key.GLOBAL);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/employee"), response, null));
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("3", response.getHeader(RateLimitInterceptor.REMAINING_HEADER));
+    }
+
+    @Test
+    void preHandle_KeysByClientAddress() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, RateLimitInterceptor.Key.CLIENT);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.setRemoteAddr("10.0.0.7");
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+
+        assertEquals(List.of("10.0.0.7"), keys);
+    }
+
+    @Test
+    void preHandle_KeysByMethodAndPatternSharingOneKeyAmongUnmatchedRoutes() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, RateLimitInterceptor.Key.ROUTE);
+        MockHttpServletRequest matched = new MockHttpServletRequest("GET", "/api/v1/employee/42");
+        matched.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/employee/{id}");
+
+        interceptor.preHandle(matched, new MockHttpServletResponse(), null);
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/a"), new MockHttpServletResponse(), null);
+        interceptor.preHandle(new MockHttpServletRequest("POST", "/b"), new MockHttpServletResponse(), null);
+
+        assertEquals(
+                List.of(
+                        "GET /api/v1/employee/{id}",
+                        RateLimitInterceptor.UNMATCHED_ROUTE_KEY,
+                        RateLimitInterceptor.UNMATCHED_ROUTE_KEY),
+                keys);
+    }
+
+    @Test
+    void preHandle_LetsAsyncDispatchThroughWithoutCountingIt() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, RateLimitInterceptor.Key.GLOBAL);
+        decision = RateLimitDecision.reject(4, SECOND_NANOS, SECOND_NANOS);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee/events");
+        request.setDispatcherType(DispatcherType.ASYNC);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, null));
+
+        assertTrue(keys.isEmpty());
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertNull(response.getHeader(RateLimitInterceptor.LIMIT_HEADER));
+    }
+
+    private String reset(RateLimitInterceptor interceptor, long resetNanos) {
+        decision = RateLimitDecision.allow(4, 3, resetNanos);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/employee"), response, null);
+        return response.getHeader(RateLimitInterceptor.RESET_HEADER);
+    }
+}
@@ -0,0 +1,87 @@
+package com.reliaquest.server.web.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowRateLimiterTest {
+
+    private static final long PERIOD_NANOS = 1000;
+
+    private long now = 0;
+
+    @Test
+    void tryAcquire_AllowsLimitPerWindowThenRejects() {
+        SlidingWindowRateLimiter rateLimiter = rateLimiter(10);
+
+        for (int remaining = 3; remaining >= 0; remaining--) {
+            assertEquals(
+                    new RateLimitDecision(true, 4, remaining, 0, 2 * PERIOD_NANOS), rateLimiter.tryAcquire("key"));
+        }
+        assertFalse(rateLimiter.tryAcquire("key").allowed());
+    }
+
+    @Test
+    void tryAcquire_RetriesOnceCurrentWindowIsPreviousAndWeighsLittleEnough() {
+        SlidingWindowRateLimiter rateLimiter = rateLimiter(10);
+        acquire(rateLimiter, 4);
+        now = 10;
+
+        // Three quarters of the next window in, the four requests weigh three
+        RateLimitDecision rejected = rateLimiter.tryAcquire("key");
+        assertEquals(new RateLimitDecision(false, 4, 0, 1240, 1990), rejected);
+
+        now += rejected.retryAfterNanos() - 1;
+        assertFalse(rateLimiter.tryAcquire("key").allowed());
+        now += 1;
+        assertTrue(rateLimiter.tryAcquire("key").allowed());
+    }
+
+    @Test
+    void tryAcquire_RetriesOncePreviousWindowWeighsLittleEnough() {
+        SlidingWindowRateLimiter rateLimiter = rateLimiter(10);
+        acquire(rateLimiter, 4);
+        now = PERIOD_NANOS;
+
+        RateLimitDecision rejected = rateLimiter.tryAcquire("key");
+        assertEquals(new RateLimitDecision(false, 4, 0, 250, 1000), rejected);
+
+        now += rejected.retryAfterNanos() - 1;
+        assertFalse(rateLimiter.tryAcquire("key").allowed());
+        now += 1;
+        assertTrue(rateLimiter.tryAcquire("key").allowed());
+    }
+
+    @Test
+    void tryAcquire_ForgetsWindowsMoreThanPeriodAgo() {
+        SlidingWindowRateLimiter rateLimiter = rateLimiter(10);
+        acquire(rateLimiter, 4);
+
+        now = 2 * PERIOD_NANOS + 500;
+
+        assertEquals(3, rateLimiter.tryAcquire("key").remaining());
+    }
+
+    @Test
+    void tryAcquire_EvictsKeysWithoutRequestsInEitherWindowOnceMaxKeysAreHeld() {
+        SlidingWindowRateLimiter rateLimiter = rateLimiter(2);
+        rateLimiter.tryAcquire("a");
+        rateLimiter.tryAcquire("b");
+
+        // Two windows later, the requests of a and b count in neither
+        now = 2 * PERIOD_NANOS;
+        rateLimiter.tryAcquire("c");
+
+        assertEquals(1, rateLimiter.keyCount());
+    }
+
+    private void acquire(SlidingWindowRateLimiter rateLimiter, int requests) {
+        for (int i = 0; i < requests; i++) {
+            assertTrue(rateLimiter.tryAcquire("key").allowed());
+        }
+    }
+
+    private SlidingWindowRateLimiter rateLimiter(int maxKeys) {
+        return new SlidingWindowRateLimiter(4, PERIOD_NANOS, maxKeys, () -> now);
+    }
+}
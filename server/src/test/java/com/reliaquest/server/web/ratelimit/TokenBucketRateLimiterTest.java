@@ -0,0 +1,73 @@
+package com.reliaquest.server.web.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+    // A token per 2^30 nanoseconds, which doubles hold exactly
+    private static final long PERIOD_NANOS = 1L << 32;
+
+    private static final long TOKEN_NANOS = PERIOD_NANOS / 4;
+
+    private long now = 1000;
+
+    @Test
+    void tryAcquire_AllowsBurstOfLimitThenRejects() {
+        TokenBucketRateLimiter rateLimiter = rateLimiter(10);
+
+        for (int remaining = 3; remaining >= 0; remaining--) {
+            assertEquals(
+                    new RateLimitDecision(true, 4, remaining, 0, TOKEN_NANOS * (4 - remaining)),
+                    rateLimiter.tryAcquire("key"));
+        }
+        assertEquals(new RateLimitDecision(false, 4, 0, TOKEN_NANOS, PERIOD_NANOS), rateLimiter.tryAcquire("key"));
+    }
+
+    @Test
+    void tryAcquire_RefillsLimitTokensPerPeriod() {
+        TokenBucketRateLimiter rateLimiter = rateLimiter(10);
+        for (int i = 0; i < 4; i++) {
+            rateLimiter.tryAcquire("key");
+        }
+
+        now += TOKEN_NANOS - 1;
+        assertEquals(
+                new RateLimitDecision(false, 4, 0, 1, PERIOD_NANOS - TOKEN_NANOS + 1), rateLimiter.tryAcquire("key"));
+        now += 1;
+        assertTrue(rateLimiter.tryAcquire("key").allowed());
+        assertFalse(rateLimiter.tryAcquire("key").allowed());
+    }
+
+    @Test
+    void tryAcquire_LimitsEachKeyOnItsOwn() {
+        TokenBucketRateLimiter rateLimiter = rateLimiter(10);
+        for (int i = 0; i < 4; i++) {
+            rateLimiter.tryAcquire("a");
+        }
+
+        assertFalse(rateLimiter.tryAcquire("a").allowed());
+        assertEquals(3, rateLimiter.tryAcquire("b").remaining());
+    }
+
+    @Test
+    void tryAcquire_EvictsKeysWithFullBucketsOnceMaxKeysAreHeld() {
+        TokenBucketRateLimiter rateLimiter = rateLimiter(2);
+        rateLimiter.tryAcquire("a");
+        rateLimiter.tryAcquire("b");
+        rateLimiter.tryAcquire("b");
+
+        now += TOKEN_NANOS;
+        rateLimiter.tryAcquire("c");
+
+        // Only the bucket of a is full again
+        assertEquals(2, rateLimiter.keyCount());
+        assertEquals(3, rateLimiter.tryAcquire("a").remaining());
+        assertEquals(2, rateLimiter.tryAcquire("b").remaining());
+    }
+
+    private TokenBucketRateLimiter rateLimiter(int maxKeys) {
+        return new TokenBucketRateLimiter(4, PERIOD_NANOS, maxKeys, () -> now);
+    }
+}